@@ -2,11 +2,9 @@ package com.cm.astb;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
-@EnableScheduling
 @EnableCaching
 public class AscenTubeApplication {
 
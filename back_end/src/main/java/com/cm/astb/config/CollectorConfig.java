@@ -0,0 +1,116 @@
+package com.cm.astb.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 데이터 수집(DataCollectorService) 전용 스레드 풀 설정.
+ * 사용자(채널) 단위 수집 작업은 collectorExecutor에서 병렬로 실행됩니다.
+ */
+@Configuration
+public class CollectorConfig {
+
+	@Value("${youtube.data-collection.parallelism:8}")
+	private int parallelism;
+
+	@Value("${youtube.data-collection.api-parallelism:16}")
+	private int apiParallelism;
+
+	@Value("${youtube.data-collection.first-login.parallelism:2}")
+	private int firstLoginParallelism;
+
+	@Value("${google.oauth.token-refresh.parallelism:4}")
+	private int tokenRefreshParallelism;
+
+	@Value("${spring.task.scheduling.pool.size:8}")
+	private int schedulingPoolSize;
+
+	/**
+	 * @Scheduled 작업을 실행하는 스케줄러.
+	 * 기본 스케줄러는 스레드가 하나뿐이라, 몇 시간 걸리는 야간 수집(02:00)이 도는 동안 토큰 선갱신, 작업 재개, hot 비디오 갱신,
+	 * 누적 시청 시간 보정, Reporting 보고서 수집이 모두 밀립니다. 예약 작업 수보다 많은 스레드를 두어 서로 막지 않게 합니다.
+	 */
+	@Bean(name = "taskScheduler")
+	public ThreadPoolTaskScheduler taskScheduler() {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(schedulingPoolSize);
+		scheduler.setThreadNamePrefix("scheduler-");
+		scheduler.setWaitForTasksToCompleteOnShutdown(false);
+		return scheduler;
+	}
+
+	/**
+	 * 사용자 단위 수집 작업을 실행하는 bounded 스레드 풀.
+	 * 동시에 실행되는 사용자 수는 youtube.data-collection.parallelism 으로 제한됩니다.
+	 */
+	@Bean(name = "collectorExecutor")
+	public ThreadPoolTaskExecutor collectorExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(parallelism);
+		executor.setMaxPoolSize(parallelism);
+		executor.setThreadNamePrefix("collector-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(60);
+		return executor;
+	}
+
+	/**
+	 * 수집 작업(CollectionJob) 자체를 백그라운드에서 실행하는 단일 스레드 풀.
+	 * 관리자 재시작처럼 요청 스레드에서 바로 응답해야 하는 경우 사용하며, 작업은 한 번에 하나씩 실행됩니다.
+	 */
+	@Bean(name = "collectionJobExecutor")
+	public ThreadPoolTaskExecutor collectionJobExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setThreadNamePrefix("collection-job-");
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+
+	/**
+	 * 신규 사용자의 첫 로그인 수집 작업을 실행하는 스레드 풀.
+	 * OAuth 콜백은 작업을 넣고 바로 응답하며, 관리자 재시작 작업(collectionJobExecutor) 뒤에서 기다리지 않도록 별도 풀을 사용합니다.
+	 */
+	@Bean(name = "firstLoginCollectionExecutor")
+	public ThreadPoolTaskExecutor firstLoginCollectionExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(firstLoginParallelism);
+		executor.setMaxPoolSize(firstLoginParallelism);
+		executor.setThreadNamePrefix("first-login-");
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+
+	/**
+	 * 한 사용자 수집 안에서 독립적인 YouTube API 호출(배치 통계 조회 등)을 동시에 실행하는 스레드 풀.
+	 * collectorExecutor 작업이 이 풀의 결과를 기다리므로, 교착을 피하기 위해 별도 풀로 분리합니다.
+	 */
+	@Bean(name = "youtubeApiExecutor")
+	public ThreadPoolTaskExecutor youtubeApiExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(apiParallelism);
+		executor.setMaxPoolSize(apiParallelism);
+		executor.setThreadNamePrefix("youtube-api-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		return executor;
+	}
+
+	/**
+	 * OAuth 액세스 토큰을 만료 전에 미리 갱신하는 스레드 풀 (TokenRefreshService).
+	 * 요청/수집 스레드가 토큰 갱신을 직접 하지 않도록 분리하며, 동시에 갱신하는 사용자 수를 제한합니다.
+	 */
+	@Bean(name = "tokenRefreshExecutor")
+	public ThreadPoolTaskExecutor tokenRefreshExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(tokenRefreshParallelism);
+		executor.setMaxPoolSize(tokenRefreshParallelism);
+		executor.setThreadNamePrefix("token-refresh-");
+		executor.setWaitForTasksToCompleteOnShutdown(false);
+		return executor;
+	}
+}
@@ -10,13 +10,20 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtubeAnalytics.v2.YouTubeAnalytics;
+import com.google.api.services.youtubereporting.YouTubeReporting;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class GoogleApiConfig {
@@ -41,9 +48,48 @@ public class GoogleApiConfig {
 	@Value("${google.tokens.directory.path}")
 	private String tokensDirectoryPath;
 
-	@Bean
-	public NetHttpTransport httpTransport() throws GeneralSecurityException, IOException {
-		return GoogleNetHttpTransport.newTrustedTransport();
+	@Value("${google.api.connect-timeout-ms:10000}")
+	private int connectTimeoutMs;
+
+	@Value("${google.api.read-timeout-ms:30000}")
+	private int readTimeoutMs;
+
+	@Value("${google.api.http.transport:pooled}")
+	private String httpTransportType;
+
+	@Value("${google.api.http.http2-enabled:true}")
+	private boolean http2Enabled;
+
+	@Value("${google.api.http.max-concurrent-per-host:64}")
+	private int maxConcurrentPerHost;
+
+	@Value("${google.api.http.keep-alive-seconds:300}")
+	private int keepAliveSeconds;
+
+	// 비어 있으면 클라이언트 라이브러리의 기본 주소(https://*.googleapis.com/)를 사용합니다.
+	@Value("${google.api.youtube.root-url:}")
+	private String youtubeRootUrl;
+
+	@Value("${google.api.youtube-analytics.root-url:}")
+	private String youtubeAnalyticsRootUrl;
+
+	@Value("${google.api.youtube-reporting.root-url:}")
+	private String youtubeReportingRootUrl;
+
+	/**
+	 * 모든 Google API 클라이언트(OAuth 토큰 교환/갱신 포함)가 공유하는 HttpTransport.
+	 * 기본값(pooled)은 연결 풀과 HTTP/2 를 쓰는 PooledHttpTransport 이며, google.api.http.transport=net 이면 이전처럼 NetHttpTransport 를 사용합니다.
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public HttpTransport httpTransport(MeterRegistry meterRegistry) throws GeneralSecurityException, IOException {
+		if ("net".equalsIgnoreCase(httpTransportType)) {
+			return GoogleNetHttpTransport.newTrustedTransport();
+		}
+		// HttpClient 연결 풀의 유휴 연결 유지 시간은 JDK 시스템 속성으로만 설정할 수 있으며, 첫 HttpClient 생성 전에 지정해야 합니다.
+		if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+			System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(keepAliveSeconds));
+		}
+		return new PooledHttpTransport(http2Enabled, connectTimeoutMs, maxConcurrentPerHost, meterRegistry);
 	}
 	@Bean
 	public GsonFactory jsonFactory() {
@@ -56,9 +102,60 @@ public class GoogleApiConfig {
 
 	// YouTube Data API 서비스를 초기화하는 Bean을 정의.
 	@Bean
-	@Primary public YouTube youtubeDataApi() { return new YouTube.Builder(new
-	NetHttpTransport(), new GsonFactory(), request -> {})
-	.setApplicationName(applicationName) .build(); }
+	@Primary public YouTube youtubeDataApi(HttpTransport httpTransport) { return youTubeBuilder(
+	httpTransport, new GsonFactory(), null)
+	.build(); }
+
+	/**
+	 * YouTube Data / Analytics / Reporting API 클라이언트 빌더. 타임아웃 initializer 와 애플리케이션 이름을 설정하고,
+	 * google.api.*.root-url 이 설정되어 있으면 그 주소로 요청합니다. (로컬 fake 서버를 쓰는 부하 테스트 등)
+	 *
+	 * @param credential 요청에 붙일 사용자 Credential. API 키로 호출하는 클라이언트는 null
+	 */
+	public YouTube.Builder youTubeBuilder(HttpTransport httpTransport, JsonFactory jsonFactory, HttpRequestInitializer credential) {
+		YouTube.Builder builder = new YouTube.Builder(httpTransport, jsonFactory, requestInitializer(credential))
+				.setApplicationName(applicationName);
+		if (StringUtils.hasText(youtubeRootUrl)) {
+			builder.setRootUrl(youtubeRootUrl);
+		}
+		return builder;
+	}
+
+	public YouTubeAnalytics.Builder youTubeAnalyticsBuilder(HttpTransport httpTransport, JsonFactory jsonFactory,
+			HttpRequestInitializer credential) {
+		YouTubeAnalytics.Builder builder = new YouTubeAnalytics.Builder(httpTransport, jsonFactory, requestInitializer(credential))
+				.setApplicationName(applicationName);
+		if (StringUtils.hasText(youtubeAnalyticsRootUrl)) {
+			builder.setRootUrl(youtubeAnalyticsRootUrl);
+		}
+		return builder;
+	}
+
+	public YouTubeReporting.Builder youTubeReportingBuilder(HttpTransport httpTransport, JsonFactory jsonFactory,
+			HttpRequestInitializer credential) {
+		YouTubeReporting.Builder builder = new YouTubeReporting.Builder(httpTransport, jsonFactory, requestInitializer(credential))
+				.setApplicationName(applicationName);
+		if (StringUtils.hasText(youtubeReportingRootUrl)) {
+			builder.setRootUrl(youtubeReportingRootUrl);
+		}
+		return builder;
+	}
+
+	/**
+	 * Google API 클라이언트의 HTTP 요청마다 연결/읽기 타임아웃을 설정하는 initializer.
+	 * 응답 없는 소켓이 수집 스레드를 붙잡지 않도록, 모든 클라이언트는 이 initializer로 만듭니다. (재시도는 GoogleApiExecutor가 담당)
+	 *
+	 * @param delegate 먼저 적용할 initializer (사용자 Credential 등). 없으면 null
+	 */
+	public HttpRequestInitializer requestInitializer(HttpRequestInitializer delegate) {
+		return request -> {
+			if (delegate != null) {
+				delegate.initialize(request);
+			}
+			request.setConnectTimeout(connectTimeoutMs);
+			request.setReadTimeout(readTimeoutMs);
+		};
+	}
 
 
 	// OAuth 2.0 인증 흐름을 위한 GoogleClientSecrets Bean
@@ -0,0 +1,258 @@
+package com.cm.astb.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * java.net.http.HttpClient 기반 Google API HttpTransport.
+ *
+ * NetHttpTransport(HttpURLConnection)와 달리 하나의 HttpClient 가 연결 풀을 관리하며, 서버가 지원하면 HTTP/2 로 한 연결에서 여러 요청을 동시에 보냅니다.
+ * 병렬 수집 스레드가 요청마다 TLS 핸드셰이크를 하지 않도록, 애플리케이션 전체에서 이 transport 하나를 공유합니다.
+ *
+ * - gzip: Google API 클라이언트가 Accept-Encoding: gzip 을 보내고 응답 압축을 직접 풀므로, 여기서는 응답 본문을 그대로 넘깁니다.
+ * - 호스트별 동시 요청 수: max-concurrent-per-host 를 넘는 요청은 응답 헤더를 받은 요청이 끝날 때까지 기다립니다.
+ * - 리다이렉트는 Google API 클라이언트가 처리하므로 HttpClient 에서는 따라가지 않습니다.
+ */
+public class PooledHttpTransport extends HttpTransport {
+
+	/** HttpClient 가 직접 설정하므로 요청 헤더로 넘길 수 없는 헤더 */
+	private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+	private static final Set<String> SUPPORTED_METHODS = Set.of("DELETE", "GET", "HEAD", "OPTIONS", "PATCH", "POST", "PUT");
+
+	private final HttpClient httpClient;
+	private final ExecutorService clientExecutor;
+	private final int maxConcurrentPerHost;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+	public PooledHttpTransport(boolean http2Enabled, int connectTimeoutMs, int maxConcurrentPerHost, MeterRegistry meterRegistry) {
+		this.maxConcurrentPerHost = maxConcurrentPerHost;
+		this.meterRegistry = meterRegistry;
+		this.clientExecutor = ExecutorServiceMetrics.monitor(meterRegistry,
+				Executors.newCachedThreadPool(daemonThreadFactory("google-http-")), "google.http.client");
+		this.httpClient = HttpClient.newBuilder()
+				.version(http2Enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofMillis(connectTimeoutMs))
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.executor(clientExecutor)
+				.build();
+	}
+
+	@Override
+	public boolean supportsMethod(String method) {
+		return SUPPORTED_METHODS.contains(method);
+	}
+
+	@Override
+	protected LowLevelHttpRequest buildRequest(String method, String url) {
+		return new PooledRequest(method, URI.create(url));
+	}
+
+	@Override
+	public void shutdown() {
+		clientExecutor.shutdownNow();
+	}
+
+	private Semaphore permitsFor(String host) {
+		return hostPermits.computeIfAbsent(host, key -> {
+			Semaphore permits = new Semaphore(maxConcurrentPerHost, true);
+			Gauge.builder("google.http.in_flight", permits, p -> maxConcurrentPerHost - p.availablePermits())
+					.description("HTTP requests to the host waiting for response headers")
+					.tag("host", key)
+					.register(meterRegistry);
+			Gauge.builder("google.http.queued", permits, Semaphore::getQueueLength)
+					.description("HTTP requests waiting for a per-host concurrency permit")
+					.tag("host", key)
+					.register(meterRegistry);
+			return permits;
+		});
+	}
+
+	private static ThreadFactory daemonThreadFactory(String prefix) {
+		AtomicInteger sequence = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private final class PooledRequest extends LowLevelHttpRequest {
+
+		private final String method;
+		private final URI uri;
+		private final List<String[]> headers = new ArrayList<>();
+		private Duration timeout;
+
+		private PooledRequest(String method, URI uri) {
+			this.method = method;
+			this.uri = uri;
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			headers.add(new String[] { name, value });
+		}
+
+		/**
+		 * HttpClient 는 요청별 연결 타임아웃이 없으므로(클라이언트 단위 connect-timeout 사용), 응답 헤더를 받을 때까지의 시간으로 연결+읽기 타임아웃을 적용합니다.
+		 */
+		@Override
+		public void setTimeout(int connectTimeout, int readTimeout) {
+			timeout = connectTimeout > 0 && readTimeout > 0 ? Duration.ofMillis((long) connectTimeout + readTimeout) : null;
+		}
+
+		@Override
+		public LowLevelHttpResponse execute() throws IOException {
+			java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri)
+					.method(method, bodyPublisher());
+			for (String[] header : headers) {
+				if (!RESTRICTED_HEADERS.contains(header[0].toLowerCase())) {
+					builder.header(header[0], header[1]);
+				}
+			}
+			if (getContentType() != null) {
+				builder.setHeader("Content-Type", getContentType());
+			}
+			if (getContentEncoding() != null) {
+				builder.setHeader("Content-Encoding", getContentEncoding());
+			}
+			if (timeout != null) {
+				builder.timeout(timeout);
+			}
+
+			String host = uri.getHost();
+			Semaphore permits = permitsFor(host);
+			long startNanos = System.nanoTime();
+			try {
+				permits.acquire();
+				try {
+					java.net.http.HttpResponse<InputStream> response = httpClient.send(builder.build(), BodyHandlers.ofInputStream());
+					meterRegistry.timer("google.http.requests", "host", host, "protocol", response.version().name())
+							.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+					return new PooledResponse(response);
+				} finally {
+					permits.release();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while calling " + host);
+			}
+		}
+
+		private BodyPublisher bodyPublisher() throws IOException {
+			if (getStreamingContent() == null) {
+				return BodyPublishers.noBody();
+			}
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			getStreamingContent().writeTo(content);
+			return BodyPublishers.ofByteArray(content.toByteArray());
+		}
+	}
+
+	private static final class PooledResponse extends LowLevelHttpResponse {
+
+		private final java.net.http.HttpResponse<InputStream> response;
+		private final List<String> headerNames = new ArrayList<>();
+		private final List<String> headerValues = new ArrayList<>();
+
+		private PooledResponse(java.net.http.HttpResponse<InputStream> response) {
+			this.response = response;
+			// HTTP/2 pseudo header(:status 등)는 제외합니다.
+			response.headers().map().forEach((name, values) -> {
+				if (!name.startsWith(":")) {
+					for (String value : values) {
+						headerNames.add(name);
+						headerValues.add(value);
+					}
+				}
+			});
+		}
+
+		@Override
+		public InputStream getContent() {
+			return response.body();
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return response.headers().firstValue("content-encoding").orElse(null);
+		}
+
+		@Override
+		public long getContentLength() {
+			return response.headers().firstValueAsLong("content-length").orElse(-1L);
+		}
+
+		@Override
+		public String getContentType() {
+			return response.headers().firstValue("content-type").orElse(null);
+		}
+
+		@Override
+		public String getStatusLine() {
+			return (response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ") + response.statusCode();
+		}
+
+		@Override
+		public int getStatusCode() {
+			return response.statusCode();
+		}
+
+		/**
+		 * HttpClient 는 reason phrase 를 제공하지 않습니다. (HTTP/2 에는 reason phrase 가 없음)
+		 */
+		@Override
+		public String getReasonPhrase() {
+			return null;
+		}
+
+		@Override
+		public int getHeaderCount() {
+			return headerNames.size();
+		}
+
+		@Override
+		public String getHeaderName(int index) {
+			return headerNames.get(index);
+		}
+
+		@Override
+		public String getHeaderValue(int index) {
+			return headerValues.get(index);
+		}
+
+		@Override
+		public void disconnect() throws IOException {
+			response.body().close();
+		}
+	}
+}
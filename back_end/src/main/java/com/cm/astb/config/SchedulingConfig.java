@@ -0,0 +1,16 @@
+package com.cm.astb.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업(야간 수집, 토큰 갱신, 보고서 적재 등)을 켜는 설정.
+ * youtube.scheduling.enabled=false 이면 스케줄 작업이 하나도 실행되지 않으므로, 테스트나 일회성 실행에서 끕니다.
+ * 스케줄러 스레드 풀은 CollectorConfig#taskScheduler 입니다.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "youtube.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -34,11 +34,14 @@ import com.cm.astb.service.ChannelAnalysisService;
 import com.cm.astb.service.ChannelService;
 import com.cm.astb.service.CommentAnalysisService;
 import com.cm.astb.service.KeywordAnalysisService;
+import com.cm.astb.service.SingleFlight;
 import com.cm.astb.service.VideoAnalysisService;
 import com.google.api.services.youtube.model.Channel;
 import com.google.api.services.youtube.model.ChannelListResponse;
 import com.google.api.services.youtube.model.Video;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @RestController
 @RequestMapping("/channel")
 public class ChannelController {
@@ -48,15 +51,23 @@ public class ChannelController {
 	private final ChannelAnalysisService channelAnalysisService;
 	private final KeywordAnalysisService keywordAnalysisService;
 	private final CommentAnalysisService commentAnalysisService;
+
+	// 여러 사용자가 같은 채널을 동시에 열면 채널 ID별로 YouTube 조회를 한 번만 실행하고 결과를 나눠 씁니다. (공개 채널 정보이므로 사용자 구분 없음)
+	private final SingleFlight<ChannelListResponse> channelInfoFlights;
+	private final SingleFlight<List<Video>> latestVideosFlights;
+	private final SingleFlight<List<Video>> popularVideosFlights;
 	
 	public ChannelController(ChannelService channelService, VideoAnalysisService videoAnalysisService,
 			ChannelAnalysisService channelAnalysisService, KeywordAnalysisService keywordAnalysisService,
-			CommentAnalysisService commentAnalysisService) {
+			CommentAnalysisService commentAnalysisService, MeterRegistry meterRegistry) {
 		this.channelService = channelService;
 		this.videoAnalysisService = videoAnalysisService;
 		this.channelAnalysisService = channelAnalysisService;
 		this.keywordAnalysisService = keywordAnalysisService;
 		this.commentAnalysisService = commentAnalysisService;
+		this.channelInfoFlights = new SingleFlight<>("channel-info", meterRegistry);
+		this.latestVideosFlights = new SingleFlight<>("channel-latest-videos", meterRegistry);
+		this.popularVideosFlights = new SingleFlight<>("channel-popular-videos", meterRegistry);
 	}
 
 	@GetMapping("/channel-info")
@@ -83,10 +94,14 @@ public class ChannelController {
 						.body(Map.of("error", "Can't load authorized user's ID."));
 			}
 
-			ChannelListResponse response = channelService.getChannelInfoById(userId, channelId);
+			String flightKey = channelId.trim();
+			ChannelListResponse response = channelInfoFlights.execute(flightKey,
+					() -> channelService.getChannelInfoById(userId, flightKey));
 
-			List<Video> latestVideos = channelService.getLatestVideosFromChannel(userId, response);
-			List<Video> popularVideos = channelService.getPopularVideosFromChannel(userId, channelId);
+			List<Video> latestVideos = latestVideosFlights.execute(flightKey,
+					() -> channelService.getLatestVideosFromChannel(userId, response));
+			List<Video> popularVideos = popularVideosFlights.execute(flightKey,
+					() -> channelService.getPopularVideosFromChannel(userId, flightKey));
 
 			if (response != null && response.getItems() != null && !response.isEmpty()) {
 				Channel channel = response.getItems().get(0);
@@ -0,0 +1,91 @@
+package com.cm.astb.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.service.CollectionJobService;
+import com.cm.astb.service.DataCollectorService;
+
+/**
+ * 데이터 수집 작업(체크포인트) 조회 및 재시작을 위한 관리자 API.
+ * youtube.data-collection.admin-user-id 로 설정된 사용자만 호출할 수 있습니다.
+ */
+@RestController
+@RequestMapping("/api/admin/collection-jobs")
+public class CollectionJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionJobController.class);
+
+    private final CollectionJobService collectionJobService;
+    private final DataCollectorService dataCollectorService;
+
+    @Value("${youtube.data-collection.admin-user-id}")
+    private String adminGoogleId;
+
+    public CollectionJobController(CollectionJobService collectionJobService, DataCollectorService dataCollectorService) {
+        this.collectionJobService = collectionJobService;
+        this.dataCollectorService = dataCollectorService;
+    }
+
+    /**
+     * 최근 수집 작업 목록을 조회합니다.
+     */
+    @GetMapping
+    public ResponseEntity<List<CollectionJob>> getRecentJobs(Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.ok(collectionJobService.findRecentJobs());
+    }
+
+    /**
+     * 수집 작업의 사용자별 진행 상황(단계, 상태, 마지막 오류)을 조회합니다.
+     */
+    @GetMapping("/{jobId}/items")
+    public ResponseEntity<List<CollectionJobItem>> getJobItems(@PathVariable Long jobId, Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.ok(collectionJobService.findItems(jobId));
+    }
+
+    /**
+     * 수집 작업을 재시작합니다. 기본적으로 완료되지 않은 사용자만 마지막 체크포인트부터 다시 수집하며,
+     * fromScratch=true 이면 모든 사용자를 처음 단계부터 다시 수집합니다.
+     */
+    @PostMapping("/{jobId}/restart")
+    public ResponseEntity<CollectionJob> restartJob(@PathVariable Long jobId,
+            @RequestParam(defaultValue = "false") boolean fromScratch, Principal principal) {
+        checkAdmin(principal);
+        try {
+            CollectionJob job = dataCollectorService.restartCollectionJob(jobId, fromScratch);
+            logger.info("[CollectionJobController] 수집 작업 {} 재시작 요청 (fromScratch={}).", jobId, fromScratch);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+    }
+
+    private void checkAdmin(Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        if (!adminGoogleId.equals(principal.getName())) {
+            logger.warn("[CollectionJobController] 관리자가 아닌 사용자({})의 수집 작업 API 호출이 거부되었습니다.", principal.getName());
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자만 사용할 수 있습니다.");
+        }
+    }
+}
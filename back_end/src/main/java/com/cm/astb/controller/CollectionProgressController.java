@@ -0,0 +1,57 @@
+package com.cm.astb.controller;
+
+import java.security.Principal;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cm.astb.dto.CollectionProgressDto;
+import com.cm.astb.service.CollectionProgressService;
+
+/**
+ * 로그인한 사용자의 첫 로그인 데이터 수집 진행 상황 API.
+ * 프론트엔드는 /me 를 폴링하거나 /me/stream (SSE)을 구독할 수 있습니다.
+ * 인증은 다른 API와 같이 Authorization 헤더로 하므로, SSE는 헤더를 보낼 수 있는 fetch 기반 클라이언트로 구독해야 합니다.
+ */
+@RestController
+@RequestMapping("/api/collection-progress")
+public class CollectionProgressController {
+
+    private final CollectionProgressService collectionProgressService;
+
+    public CollectionProgressController(CollectionProgressService collectionProgressService) {
+        this.collectionProgressService = collectionProgressService;
+    }
+
+    /**
+     * 현재 진행 상황(단계, 비디오 진행률, 전체 진행률, 남은 시간 추정치)을 조회합니다.
+     */
+    @GetMapping("/me")
+    public ResponseEntity<CollectionProgressDto> getMyProgress(Principal principal) {
+        String googleId = getGoogleId(principal);
+        return collectionProgressService.getProgress(googleId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 진행 상황을 Server-Sent Events("progress" 이벤트)로 구독합니다. 작업이 끝나면 스트림이 닫힙니다.
+     */
+    @GetMapping(value = "/me/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyProgress(Principal principal) {
+        return collectionProgressService.subscribe(getGoogleId(principal));
+    }
+
+    private String getGoogleId(Principal principal) {
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "로그인이 필요합니다.");
+        }
+        return principal.getName();
+    }
+}
@@ -28,8 +28,6 @@ import com.cm.astb.service.OAuthService;
 import com.cm.astb.service.UserService;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
 import com.google.api.services.youtube.model.ChannelListResponse;
@@ -41,20 +39,15 @@ public class OAuthController {
 	
 	private final OAuthService oAuthService;
 	private final GoogleApiConfig googleApiConfig;
-	private final NetHttpTransport httpTransport;
-	private final GsonFactory jsonFactory;
 	private final UserService userService;
 	private final DataCollectorService dataCollectorService;
 	private final JwtTokenProvider jwtTokenProvider;
 
-	public OAuthController(OAuthService oAuthService, GoogleApiConfig googleApiConfig, NetHttpTransport httpTransport,
-			GsonFactory jsonFactory, UserService userService, DataCollectorService dataCollectorService,
-			JwtTokenProvider jwtTokenProvider) {
+	public OAuthController(OAuthService oAuthService, GoogleApiConfig googleApiConfig, UserService userService,
+			DataCollectorService dataCollectorService, JwtTokenProvider jwtTokenProvider) {
 		super();
 		this.oAuthService = oAuthService;
 		this.googleApiConfig = googleApiConfig;
-		this.httpTransport = httpTransport;
-		this.jsonFactory = jsonFactory;
 		this.userService = userService;
 		this.dataCollectorService = dataCollectorService;
 		this.jwtTokenProvider = jwtTokenProvider;
@@ -96,6 +89,7 @@ public class OAuthController {
 		String profileImg = null;
 		String channelName = null;
 		String channelId = null;
+		Long collectionJobId = null;
 
 		try {
 			Map<String, Object> googleTokenResponse = oAuthService.exchangeCodeForTokens(code);
@@ -121,8 +115,7 @@ public class OAuthController {
 				throw new IllegalStateException("Critical user information (Google ID or Email) is missing after ID Token parsing");
 			}
 			
-			YouTube youTube = new YouTube.Builder(httpTransport, jsonFactory, credential)
-					.build();
+			YouTube youTube = oAuthService.getYouTubeService(credential);
 			ChannelListResponse channelListResponse = youTube.channels().list(Arrays.asList("snippet"))
 					.setMine(true)
 					.execute();
@@ -137,8 +130,14 @@ public class OAuthController {
 			}
 			
 			if (isNewUser && channelId != null && !channelId.isEmpty()) {
-                logger.info("User {} is a new user with channel {}. Triggering immediate data collection.", googleId, channelId);
-                dataCollectorService.collectDataForSingleUser(googleId);
+                logger.info("User {} is a new user with channel {}. Queueing first-login data collection.", googleId, channelId);
+                // 수집은 백그라운드에서 실행하고 바로 리다이렉트합니다. (진행 상황: /api/collection-progress/me)
+                try {
+                    collectionJobId = dataCollectorService.submitFirstLoginCollection(googleId).getJobId();
+                } catch (RuntimeException e) {
+                    // 수집 등록 실패로 로그인까지 실패시키지는 않습니다. (야간 배치에서 수집됨)
+                    logger.error("Failed to queue first-login data collection for user {}: {}", googleId, e.getMessage(), e);
+                }
             } else if (!isNewUser) {
                 logger.info("User {} is an existing user. Skipping immediate data collection (handled by daily scheduler).", googleId);
             } else {
@@ -157,6 +156,9 @@ public class OAuthController {
 					URLEncoder.encode(channelName != null ? channelName : "", StandardCharsets.UTF_8),
 					URLEncoder.encode(channelId != null ? channelId : "", StandardCharsets.UTF_8)
 					);
+			if (collectionJobId != null) {
+				redirectUrl += "&collectionJobId=" + collectionJobId;
+			}
 			return new RedirectView(redirectUrl);
 
 		} catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.cm.astb.security.CustomUserDetails;
+import com.cm.astb.service.QuotaExceededException;
 import com.cm.astb.service.YoutubeDataApiService;
 import com.google.api.services.youtube.model.ChannelListResponse;
 import com.google.api.services.youtube.model.SearchResult;
@@ -79,6 +80,8 @@ public class YoutubeDataApiController {
 			return ResponseEntity.ok(trendingVideos);
 		} catch (GeneralSecurityException e) {
 			return ResponseEntity.status(401).body(null);
+		} catch (QuotaExceededException e) {
+			return ResponseEntity.status(429).body(null);
 		} catch (IOException e) {
 			e.printStackTrace();
 			return ResponseEntity.status(500).body(null);
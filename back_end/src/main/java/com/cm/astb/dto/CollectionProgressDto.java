@@ -0,0 +1,35 @@
+package com.cm.astb.dto;
+
+import java.time.LocalDateTime;
+
+import com.cm.astb.entity.CollectionJobStatus;
+import com.cm.astb.entity.CollectionPhase;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 첫 로그인 수집 작업의 진행 상황. (프론트엔드 폴링/SSE 응답)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectionProgressDto {
+	private Long jobId;
+	private String googleId;
+	private String channelId;
+	private CollectionJobStatus status;
+	private CollectionPhase phase;           // 실행 중(또는 다음에 실행할) 단계
+	private int completedPhases;
+	private int totalPhases;
+	private Integer processedVideos;         // 현재 단계에서 처리한 비디오 수 (비디오 단계가 아니면 null)
+	private Integer totalVideos;
+	private int progressPercent;             // 전체 진행률 (0~100)
+	private Long estimatedRemainingSeconds;  // 남은 시간 추정치 (추정할 수 없으면 null)
+	private LocalDateTime startedAt;
+	private LocalDateTime updatedAt;
+	private String lastError;
+}
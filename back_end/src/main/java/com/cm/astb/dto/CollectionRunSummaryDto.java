@@ -0,0 +1,26 @@
+package com.cm.astb.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 한 번의 수집 실행(야간 배치, 단일 사용자 수집 등)에 대한 요약.
+ */
+@Data
+@Builder
+public class CollectionRunSummaryDto {
+	private String runName;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+	private int totalUsers;
+	private int succeeded;
+	private int failed;
+	private int timedOut;
+	private long wallTimeMillis;
+	private long totalUserTimeMillis; // 사용자별 소요시간 합계 (병렬 효과 비교용)
+	private List<UserCollectionResultDto> slowestUsers;
+	private List<UserCollectionResultDto> results;
+}
@@ -0,0 +1,25 @@
+package com.cm.astb.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * YouTube Reporting API가 생성한 보고서 파일 하나 (ReportSource가 반환).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportFileDto {
+	private String reportId;
+	private String jobId;
+	private String reportTypeId;
+	private LocalDate reportDate;        // 보고서가 다루는 날짜 (태평양 시간 기준)
+	private LocalDateTime createTime;    // 보고서 생성 시각 (UTC)
+	private String downloadUrl;
+}
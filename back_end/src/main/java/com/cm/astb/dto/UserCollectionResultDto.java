@@ -0,0 +1,22 @@
+package com.cm.astb.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 사용자(채널) 한 명에 대한 데이터 수집 결과.
+ */
+@Data
+@Builder
+public class UserCollectionResultDto {
+
+	public enum Status {
+		SUCCESS, FAILED, TIMED_OUT
+	}
+
+	private String googleId;
+	private String channelId;
+	private Status status;
+	private long elapsedMillis;
+	private String errorMessage;
+}
@@ -0,0 +1,21 @@
+package com.cm.astb.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 한 번의 비디오 통계 갱신 패스(야간/인기 비디오 수시 갱신)에서 조회할 비디오 목록과 갱신 등급별 집계.
+ */
+@Data
+@Builder
+public class VideoRefreshPlanDto {
+	private String channelId;
+	private String passName;                 // daily, hot
+	private int totalVideos;                 // 분류한 비디오 수
+	private List<String> videoKeys;          // 이번 패스에서 조회할 YouTube 비디오 ID
+	private Map<String, Integer> tierCounts; // 등급별 비디오 수 (HOT, WARM, COLD)
+	private Map<String, Integer> dueCounts;  // 등급별 이번 패스 조회 대상 수
+}
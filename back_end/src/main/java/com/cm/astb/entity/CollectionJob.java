@@ -0,0 +1,64 @@
+package com.cm.astb.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 데이터 수집 실행 한 번(예: 특정 날짜의 야간 수집)을 나타내는 작업.
+ * 사용자별 진행 상황은 CollectionJobItem에 단계(CollectionPhase) 단위로 저장되며,
+ * 중단된 작업은 같은 JOB_ID로 이어서 실행됩니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "TB_COLLECTION_JOB")
+public class CollectionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "JOB_ID")
+    private Long jobId;
+
+    @Column(name = "JOB_NAME", length = 50, nullable = false)
+    private String jobName;
+
+    // 분석 데이터 기준 날짜 (야간 수집의 경우 어제)
+    @Column(name = "TARGET_DATE", nullable = false)
+    private LocalDate targetDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 20, nullable = false)
+    private CollectionJobStatus status;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,76 @@
+package com.cm.astb.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 수집 작업(CollectionJob) 안에서 사용자(채널) 한 명의 진행 상황.
+ * PHASE에는 다음에 실행할 단계가 저장되므로, 재시작 시 이미 끝난 단계는 건너뜁니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "TB_COLLECTION_JOB_ITEM",
+       uniqueConstraints = @UniqueConstraint(name = "UK_COLLECTION_JOB_ITEM", columnNames = {"JOB_ID", "GOOGLE_ID"}))
+public class CollectionJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ITEM_ID")
+    private Long itemId;
+
+    @Column(name = "JOB_ID", nullable = false)
+    private Long jobId;
+
+    @Column(name = "GOOGLE_ID", length = 100, nullable = false)
+    private String googleId;
+
+    @Column(name = "CNL_ID", length = 100)
+    private String channelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "PHASE", length = 20, nullable = false)
+    private CollectionPhase phase;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 20, nullable = false)
+    private CollectionJobStatus status;
+
+    @Column(name = "ATTEMPTS", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "LAST_ERROR", length = 1000)
+    private String lastError;
+
+    @Column(name = "STARTED_AT")
+    private LocalDateTime startedAt;
+
+    @Column(name = "FINISHED_AT")
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.cm.astb.entity;
+
+/**
+ * 수집 작업(CollectionJob) 및 사용자별 작업 항목(CollectionJobItem)의 상태.
+ */
+public enum CollectionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.cm.astb.entity;
+
+/**
+ * 사용자(채널) 한 명에 대한 데이터 수집 단계.
+ * 수집은 선언 순서대로 진행되며, CollectionJobItem에는 "다음에 실행할 단계"가 저장됩니다.
+ */
+public enum CollectionPhase {
+    CHANNEL_STATS,   // TB_CHANNEL_STATS
+    VIDEO_METADATA,  // TB_VIDEO
+    VIDEO_STATS,     // TB_VIDEO_STATS
+    VIDEO_BREAKDOWN, // TB_AUDIENCE_STATS, TB_INFLOW_ROUTE, TB_DEVICE_ANALYSIS
+    DASHBOARD,       // TB_CHANNEL_DASHBOARD_STATS
+    DONE;
+
+    /**
+     * 이 단계가 끝난 뒤 실행할 단계를 반환합니다. DONE 이후는 DONE 입니다.
+     */
+    public CollectionPhase next() {
+        return this == DONE ? DONE : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,39 @@
+package com.cm.astb.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 수집 샤드 하나의 임대(lease) 상태.
+ * 사용자는 Google ID 해시로 샤드에 나뉘며, 샤드를 임대한 노드만 그 샤드 사용자의 예약 수집을 실행합니다.
+ * LEASE_UNTIL 이 지나도록 갱신되지 않은 샤드는 다른 노드가 가져갈 수 있습니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "TB_COLLECTION_SHARD_LEASE")
+public class CollectionShardLease {
+
+    @Id
+    @Column(name = "SHARD_NO")
+    private Integer shardNo;
+
+    @Column(name = "OWNER_ID", length = 100)
+    private String ownerId;
+
+    @Column(name = "LEASE_UNTIL")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
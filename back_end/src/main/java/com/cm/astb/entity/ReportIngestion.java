@@ -0,0 +1,60 @@
+package com.cm.astb.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이미 적재한 YouTube Reporting API 보고서 기록.
+ * 같은 보고서를 두 번 적재하지 않도록 하고, 다음 조회의 createdAfter 기준으로 사용합니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "TB_REPORT_INGESTION")
+public class ReportIngestion {
+
+    @Id
+    @Column(name = "REPORT_ID", length = 255)
+    private String reportId;
+
+    @Column(name = "GOOGLE_ID", length = 100, nullable = false)
+    private String googleId;
+
+    @Column(name = "REPORT_TYPE_ID", length = 50, nullable = false)
+    private String reportTypeId;
+
+    @Column(name = "JOB_ID", length = 100)
+    private String jobId;
+
+    @Column(name = "REPORT_DATE", nullable = false)
+    private LocalDate reportDate;
+
+    // 보고서 생성 시각 (UTC)
+    @Column(name = "REPORT_CREATE_TIME", nullable = false)
+    private LocalDateTime reportCreateTime;
+
+    @Column(name = "ROW_CNT")
+    private Long rowCount;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,10 +1,13 @@
 package com.cm.astb.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.cm.astb.entity.AgeGroup;
 import com.cm.astb.entity.AudienceStat;
@@ -15,4 +18,10 @@ public interface AudienceStatRepository extends JpaRepository<AudienceStat, Audi
 	List<AudienceStat> findById_VideoIdOrderById_StatsDateDesc(Integer videoId);
 	Optional<AudienceStat> findById_VideoIdAndId_GenderAndId_AgeGroupAndId_StatsDate(
 	        Integer videoId, Gender gender, AgeGroup ageGroup, LocalDateTime statsDate);
-}
\ No newline at end of file
+
+	/**
+	 * 주어진 비디오 중 해당 날짜의 행이 이미 있는 비디오 ID를 조회합니다. (배치 수집 시 이미 수집된 비디오 제외용)
+	 */
+	@Query("SELECT DISTINCT a.id.videoId FROM AudienceStat a WHERE a.id.videoId IN :videoIds AND a.id.statsDate = :statsDate")
+	List<Long> findVideoIdsByStatsDate(@Param("videoIds") Collection<Long> videoIds, @Param("statsDate") LocalDateTime statsDate);
+}
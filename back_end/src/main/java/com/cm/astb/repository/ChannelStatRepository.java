@@ -19,4 +19,15 @@ public interface ChannelStatRepository extends JpaRepository<ChannelStat, Channe
 
 	List<ChannelStat> findById_ChannelIdAndId_StatsDateBetweenOrderById_StatsDateAsc(String channelId,
 			LocalDateTime startDate, LocalDateTime endDate);
+
+	/**
+	 * 주어진 날짜 이전에서 누적 시청 시간이 채워진 가장 최근 통계를 조회합니다. (누적 시청 시간 증분 계산의 기준점)
+	 */
+	Optional<ChannelStat> findTopById_ChannelIdAndId_StatsDateBeforeAndTotalWatchTimeIsNotNullOrderById_StatsDateDesc(
+			String channelId, LocalDateTime statsDate);
+
+	/**
+	 * 누적 시청 시간이 채워진 가장 최근 통계를 조회합니다. (누적 시청 시간 재계산 대상)
+	 */
+	Optional<ChannelStat> findTopById_ChannelIdAndTotalWatchTimeIsNotNullOrderById_StatsDateDesc(String channelId);
 }
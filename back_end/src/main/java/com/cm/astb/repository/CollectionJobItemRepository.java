@@ -0,0 +1,22 @@
+package com.cm.astb.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.entity.CollectionJobStatus;
+
+@Repository
+public interface CollectionJobItemRepository extends JpaRepository<CollectionJobItem, Long> {
+
+	List<CollectionJobItem> findByJobIdOrderByItemIdAsc(Long jobId);
+
+	/**
+	 * 작업 안에서 아직 끝나지 않은(상태가 주어진 값이 아닌) 항목을 조회합니다.
+	 */
+	List<CollectionJobItem> findByJobIdAndStatusNotOrderByItemIdAsc(Long jobId, CollectionJobStatus status);
+
+	long countByJobIdAndStatusNot(Long jobId, CollectionJobStatus status);
+}
@@ -0,0 +1,43 @@
+package com.cm.astb.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobStatus;
+
+@Repository
+public interface CollectionJobRepository extends JpaRepository<CollectionJob, Long> {
+
+	/**
+	 * 같은 이름/기준 날짜로 가장 최근에 만들어진 작업을 조회합니다.
+	 */
+	Optional<CollectionJob> findTopByJobNameAndTargetDateOrderByJobIdDesc(String jobName, LocalDate targetDate);
+
+	/**
+	 * 이름이 같은 작업 중 가장 최근에 만들어진 작업을 조회합니다.
+	 */
+	Optional<CollectionJob> findTopByJobNameOrderByJobIdDesc(String jobName);
+
+	boolean existsByJobNameAndTargetDate(String jobName, LocalDate targetDate);
+
+	/**
+	 * 이름이 주어진 접두어로 시작하는 기준 날짜의 작업이 있는지 확인합니다. (샤드별 야간 수집 작업이 시작되었는지)
+	 */
+	boolean existsByJobNameStartingWithAndTargetDate(String jobNamePrefix, LocalDate targetDate);
+
+	/**
+	 * 기준 날짜가 주어진 날짜 이후이면서 상태가 주어진 목록에 포함되는 작업을 오래된 순으로 조회합니다.
+	 */
+	List<CollectionJob> findByStatusInAndTargetDateGreaterThanEqualOrderByJobIdAsc(Collection<CollectionJobStatus> statuses, LocalDate targetDate);
+
+	/**
+	 * 최근 작업 20개를 조회합니다. (관리자 화면)
+	 */
+	List<CollectionJob> findTop20ByOrderByJobIdDesc();
+}
@@ -0,0 +1,44 @@
+package com.cm.astb.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cm.astb.entity.CollectionShardLease;
+
+@Repository
+public interface CollectionShardLeaseRepository extends JpaRepository<CollectionShardLease, Integer> {
+
+	List<CollectionShardLease> findAllByOrderByShardNoAsc();
+
+	/**
+	 * 샤드 행이 없으면 만듭니다. 여러 노드가 동시에 시작해도 한 행만 남습니다.
+	 */
+	@Modifying
+	@Query(value = "INSERT IGNORE INTO TB_COLLECTION_SHARD_LEASE (SHARD_NO, UPDATED_AT) VALUES (:shardNo, :now)", nativeQuery = true)
+	int insertIfAbsent(@Param("shardNo") int shardNo, @Param("now") LocalDateTime now);
+
+	/**
+	 * 비어 있거나, 만료되었거나, 이미 자신이 가진 샤드의 임대를 조건부 UPDATE 한 번으로 가져오거나 연장합니다.
+	 *
+	 * @return 1이면 임대 성공, 0이면 다른 노드가 유효한 임대를 가지고 있음
+	 */
+	@Modifying
+	@Query("UPDATE CollectionShardLease l SET l.ownerId = :ownerId, l.leaseUntil = :leaseUntil, l.updatedAt = :now "
+			+ "WHERE l.shardNo = :shardNo AND (l.ownerId IS NULL OR l.ownerId = :ownerId OR l.leaseUntil IS NULL OR l.leaseUntil < :now)")
+	int tryAcquire(@Param("shardNo") int shardNo, @Param("ownerId") String ownerId, @Param("now") LocalDateTime now,
+			@Param("leaseUntil") LocalDateTime leaseUntil);
+
+	/**
+	 * 자신이 가진 샤드의 임대를 반납합니다.
+	 */
+	@Modifying
+	@Query("UPDATE CollectionShardLease l SET l.ownerId = NULL, l.leaseUntil = NULL, l.updatedAt = :now "
+			+ "WHERE l.shardNo = :shardNo AND l.ownerId = :ownerId")
+	int release(@Param("shardNo") int shardNo, @Param("ownerId") String ownerId, @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,13 @@
 package com.cm.astb.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.cm.astb.entity.DeviceAnalysis;
 import com.cm.astb.entity.DeviceAnalysisId;
@@ -15,4 +18,10 @@ public interface DeviceAnalysisRepository extends JpaRepository<DeviceAnalysis,
 
     Optional<DeviceAnalysis> findById_VideoIdAndId_DeviceTypeAndId_StatsDate(
         Integer videoId, DeviceType deviceType, LocalDateTime statsDate);
+
+	/**
+	 * 주어진 비디오 중 해당 날짜의 행이 이미 있는 비디오 ID를 조회합니다. (배치 수집 시 이미 수집된 비디오 제외용)
+	 */
+	@Query("SELECT DISTINCT d.id.videoId FROM DeviceAnalysis d WHERE d.id.videoId IN :videoIds AND d.id.statsDate = :statsDate")
+	List<Long> findVideoIdsByStatsDate(@Param("videoIds") Collection<Long> videoIds, @Param("statsDate") LocalDateTime statsDate);
 }
@@ -1,10 +1,13 @@
 // FavoriteChannelRepository.java
 package com.cm.astb.repository; // 실제 프로젝트의 리포지토리 패키지 경로에 맞게 수정해주세요.
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cm.astb.dto.FavoriteChannelDto;
@@ -45,6 +48,14 @@ public interface FavoriteChannelRepository extends JpaRepository<FavoriteChannel
      */
     Optional<FavoriteChannel> findByFavIdAndGoogleId(Long favId, String googleId);
 
+    /**
+     * 채널별로 관심 채널에 등록한 사용자 수를 [채널 ID, 사용자 수] 행으로 조회합니다.
+     * @param channelIds 집계할 채널 ID 목록
+     * @return [CNL_ID, 등록 수] 목록 (등록이 없는 채널은 포함되지 않음)
+     */
+    @Query("SELECT f.cnlId, COUNT(f) FROM FavoriteChannel f WHERE f.cnlId IN :channelIds GROUP BY f.cnlId")
+    List<Object[]> countByCnlIdIn(@Param("channelIds") Collection<String> channelIds);
+
     // 필요에 따라 다른 조회 메소드 추가 가능
     // 예: 사용자의 특정 채널 URL로 관심 채널 조회
     // Optional<FavoriteChannel> findByGoogleIdAndCnlUrl(String googleId, String cnlUrl);
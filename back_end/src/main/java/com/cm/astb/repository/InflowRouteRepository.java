@@ -1,10 +1,13 @@
 package com.cm.astb.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.cm.astb.entity.InflowRoute;
 import com.cm.astb.entity.InflowRouteId;
@@ -13,4 +16,10 @@ public interface InflowRouteRepository extends JpaRepository<InflowRoute, Inflow
 	List<InflowRoute> findById_VideoIdOrderById_StatsDateDesc(Integer videoId);
 	Optional<InflowRoute> findById_VideoIdAndId_InflowTypeAndId_StatsDate(
 	        Integer videoId, String inflowType, LocalDateTime statsDate);
+
+	/**
+	 * 주어진 비디오 중 해당 날짜의 행이 이미 있는 비디오 ID를 조회합니다. (배치 수집 시 이미 수집된 비디오 제외용)
+	 */
+	@Query("SELECT DISTINCT i.id.videoId FROM InflowRoute i WHERE i.id.videoId IN :videoIds AND i.id.statsDate = :statsDate")
+	List<Long> findVideoIdsByStatsDate(@Param("videoIds") Collection<Long> videoIds, @Param("statsDate") LocalDateTime statsDate);
 }
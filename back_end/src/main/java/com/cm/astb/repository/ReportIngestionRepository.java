@@ -0,0 +1,17 @@
+package com.cm.astb.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.cm.astb.entity.ReportIngestion;
+
+@Repository
+public interface ReportIngestionRepository extends JpaRepository<ReportIngestion, String> {
+
+	/**
+	 * 사용자/보고서 유형별로 가장 최근에 생성된(적재된) 보고서를 조회합니다.
+	 */
+	Optional<ReportIngestion> findTopByGoogleIdAndReportTypeIdOrderByReportCreateTimeDesc(String googleId, String reportTypeId);
+}
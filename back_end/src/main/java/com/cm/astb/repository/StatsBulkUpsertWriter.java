@@ -0,0 +1,196 @@
+package com.cm.astb.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cm.astb.entity.AudienceStat;
+import com.cm.astb.entity.ChannelStat;
+import com.cm.astb.entity.DeviceAnalysis;
+import com.cm.astb.entity.InflowRoute;
+import com.cm.astb.entity.VideoStat;
+
+/**
+ * 통계 엔티티(ChannelStat, VideoStat, AudienceStat, InflowRoute, DeviceAnalysis)를
+ * JDBC 배치 + MySQL INSERT ... ON DUPLICATE KEY UPDATE 로 한 번에 저장하는 writer.
+ * 복합키 엔티티를 JPA save()로 저장할 때 발생하는 행 단위 SELECT + INSERT/UPDATE를 피하기 위해 사용합니다.
+ * 갱신 시 새 값이 NULL인 컬럼은 기존 값을 유지합니다 (COALESCE).
+ * 호출한 쪽의 트랜잭션에 참여하며, 트랜잭션 밖에서 호출하면 메서드 호출 하나가 짧은 트랜잭션 하나로 커밋됩니다.
+ */
+@Repository
+public class StatsBulkUpsertWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(StatsBulkUpsertWriter.class);
+
+	private static final String CHANNEL_STATS_UPSERT_SQL =
+			"INSERT INTO TB_CHANNEL_STATS (CNL_ID, STATS_DATE, SUBSCRIBER_GAINED, DAILY_VIEWS_CNT, ESTIMATED_MIN_WATCHED, AVG_VIEW_DURATION, "
+			+ "SUBSCRIBER_CNT, TOTAL_VIEWS_CNT, TOTAL_WATCH_TIME, VIDEOS_CNT, CREATED_AT, UPDATED_AT) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE "
+			+ "SUBSCRIBER_GAINED = COALESCE(VALUES(SUBSCRIBER_GAINED), SUBSCRIBER_GAINED), "
+			+ "DAILY_VIEWS_CNT = COALESCE(VALUES(DAILY_VIEWS_CNT), DAILY_VIEWS_CNT), "
+			+ "ESTIMATED_MIN_WATCHED = COALESCE(VALUES(ESTIMATED_MIN_WATCHED), ESTIMATED_MIN_WATCHED), "
+			+ "AVG_VIEW_DURATION = COALESCE(VALUES(AVG_VIEW_DURATION), AVG_VIEW_DURATION), "
+			+ "SUBSCRIBER_CNT = COALESCE(VALUES(SUBSCRIBER_CNT), SUBSCRIBER_CNT), "
+			+ "TOTAL_VIEWS_CNT = COALESCE(VALUES(TOTAL_VIEWS_CNT), TOTAL_VIEWS_CNT), "
+			+ "TOTAL_WATCH_TIME = COALESCE(VALUES(TOTAL_WATCH_TIME), TOTAL_WATCH_TIME), "
+			+ "VIDEOS_CNT = COALESCE(VALUES(VIDEOS_CNT), VIDEOS_CNT), "
+			+ "UPDATED_AT = NOW()";
+
+	private static final String VIDEO_STATS_UPSERT_SQL =
+			"INSERT INTO TB_VIDEO_STATS (VIDEO_ID, STATS_DATE, VIEW_CNT, LIKE_CNT, CMT_CNT, AVG_WATCH_TIME, SUBSCRIBER_GAINED, CREATED_AT, UPDATED_AT) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE "
+			+ "VIEW_CNT = COALESCE(VALUES(VIEW_CNT), VIEW_CNT), "
+			+ "LIKE_CNT = COALESCE(VALUES(LIKE_CNT), LIKE_CNT), "
+			+ "CMT_CNT = COALESCE(VALUES(CMT_CNT), CMT_CNT), "
+			+ "AVG_WATCH_TIME = COALESCE(VALUES(AVG_WATCH_TIME), AVG_WATCH_TIME), "
+			+ "SUBSCRIBER_GAINED = COALESCE(VALUES(SUBSCRIBER_GAINED), SUBSCRIBER_GAINED), "
+			+ "UPDATED_AT = NOW()";
+
+	private static final String AUDIENCE_STATS_UPSERT_SQL =
+			"INSERT INTO TB_AUDIENCE_STATS (VIDEO_ID, GENDER, AGE_GROUP, STATS_DATE, WATCHING_RATIO, CREATED_AT, UPDATED_AT) "
+			+ "VALUES (?, ?, ?, ?, ?, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE "
+			+ "WATCHING_RATIO = COALESCE(VALUES(WATCHING_RATIO), WATCHING_RATIO), "
+			+ "UPDATED_AT = NOW()";
+
+	private static final String INFLOW_ROUTE_UPSERT_SQL =
+			"INSERT INTO TB_INFLOW_ROUTE (VIDEO_ID, INFLOW_TYPE, STATS_DATE, INFLOW_RATE, INFLOW_CNT, CREATED_AT, UPDATED_AT) "
+			+ "VALUES (?, ?, ?, ?, ?, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE "
+			+ "INFLOW_RATE = COALESCE(VALUES(INFLOW_RATE), INFLOW_RATE), "
+			+ "INFLOW_CNT = COALESCE(VALUES(INFLOW_CNT), INFLOW_CNT), "
+			+ "UPDATED_AT = NOW()";
+
+	private static final String DEVICE_ANALYSIS_UPSERT_SQL =
+			"INSERT INTO TB_DEVICE_ANALYSIS (VIDEO_ID, DEVICE_TYPE, STATS_DATE, WATCHING_RATIO, CREATED_AT, UPDATED_AT) "
+			+ "VALUES (?, ?, ?, ?, NOW(), NOW()) "
+			+ "ON DUPLICATE KEY UPDATE "
+			+ "WATCHING_RATIO = COALESCE(VALUES(WATCHING_RATIO), WATCHING_RATIO), "
+			+ "UPDATED_AT = NOW()";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Value("${youtube.data-collection.bulk-write.batch-size:500}")
+	private int batchSize;
+
+	public StatsBulkUpsertWriter(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Transactional
+	public int upsertChannelStats(List<ChannelStat> stats) {
+		return batchUpsert("TB_CHANNEL_STATS", CHANNEL_STATS_UPSERT_SQL, stats, (ps, stat) -> {
+			ps.setString(1, stat.getId().getChannelId());
+			setTimestamp(ps, 2, stat.getId().getStatsDate());
+			setInteger(ps, 3, stat.getSubscriberGained());
+			setLong(ps, 4, stat.getDailyViewsCnt());
+			setLong(ps, 5, stat.getEstimatedMinWatched());
+			setLong(ps, 6, stat.getAvgViewDuration());
+			setLong(ps, 7, stat.getSubscriberCnt());
+			setLong(ps, 8, stat.getTotalViewsCnt());
+			setLong(ps, 9, stat.getTotalWatchTime());
+			setLong(ps, 10, stat.getVideosCnt());
+		});
+	}
+
+	@Transactional
+	public int upsertVideoStats(List<VideoStat> stats) {
+		return batchUpsert("TB_VIDEO_STATS", VIDEO_STATS_UPSERT_SQL, stats, (ps, stat) -> {
+			ps.setLong(1, stat.getId().getVideoId());
+			setTimestamp(ps, 2, stat.getId().getStatsDate());
+			setLong(ps, 3, stat.getViewCount());
+			setInteger(ps, 4, stat.getLikeCount());
+			setInteger(ps, 5, stat.getCommentCount());
+			setInteger(ps, 6, stat.getAvgWatchTime());
+			setInteger(ps, 7, stat.getSubscriberGained());
+		});
+	}
+
+	@Transactional
+	public int upsertAudienceStats(List<AudienceStat> stats) {
+		return batchUpsert("TB_AUDIENCE_STATS", AUDIENCE_STATS_UPSERT_SQL, stats, (ps, stat) -> {
+			ps.setLong(1, stat.getId().getVideoId());
+			ps.setString(2, stat.getId().getGender().name());
+			ps.setString(3, stat.getId().getAgeGroup().getDbValue());
+			setTimestamp(ps, 4, stat.getId().getStatsDate());
+			setBigDecimal(ps, 5, stat.getWatchingRatio());
+		});
+	}
+
+	@Transactional
+	public int upsertInflowRoutes(List<InflowRoute> routes) {
+		return batchUpsert("TB_INFLOW_ROUTE", INFLOW_ROUTE_UPSERT_SQL, routes, (ps, route) -> {
+			ps.setLong(1, route.getId().getVideoId());
+			ps.setString(2, route.getId().getInflowType());
+			setTimestamp(ps, 3, route.getId().getStatsDate());
+			setBigDecimal(ps, 4, route.getInflowRate());
+			setInteger(ps, 5, route.getInflowCount());
+		});
+	}
+
+	@Transactional
+	public int upsertDeviceAnalyses(List<DeviceAnalysis> analyses) {
+		return batchUpsert("TB_DEVICE_ANALYSIS", DEVICE_ANALYSIS_UPSERT_SQL, analyses, (ps, analysis) -> {
+			ps.setLong(1, analysis.getId().getVideoId());
+			ps.setString(2, analysis.getId().getDeviceType().getDbValue());
+			setTimestamp(ps, 3, analysis.getId().getStatsDate());
+			setBigDecimal(ps, 4, analysis.getWatchingRatio());
+		});
+	}
+
+	private <T> int batchUpsert(String tableName, String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+		if (rows == null || rows.isEmpty()) {
+			return 0;
+		}
+
+		long startNanos = System.nanoTime();
+		jdbcTemplate.batchUpdate(sql, rows, Math.max(1, batchSize), setter);
+		long elapsedMillis = Math.max(1L, (System.nanoTime() - startNanos) / 1_000_000);
+
+		logger.info("Bulk upserted {} rows into {} in {} ms ({} rows/sec).", rows.size(), tableName, elapsedMillis,
+				rows.size() * 1000L / elapsedMillis);
+		return rows.size();
+	}
+
+	private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+		ps.setTimestamp(index, value != null ? Timestamp.valueOf(value) : null);
+	}
+
+	private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+		if (value != null) {
+			ps.setLong(index, value);
+		} else {
+			ps.setNull(index, Types.BIGINT);
+		}
+	}
+
+	private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+		if (value != null) {
+			ps.setInt(index, value);
+		} else {
+			ps.setNull(index, Types.INTEGER);
+		}
+	}
+
+	private static void setBigDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+		if (value != null) {
+			ps.setBigDecimal(index, value);
+		} else {
+			ps.setNull(index, Types.DECIMAL);
+		}
+	}
+}
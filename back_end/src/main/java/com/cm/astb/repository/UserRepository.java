@@ -1,8 +1,12 @@
 package com.cm.astb.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cm.astb.entity.User;
@@ -11,4 +15,10 @@ import com.cm.astb.entity.User;
 public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByGoogleId(String googleId);
 	Optional<User> findByMyChannelId(String channelId);
+
+	/**
+	 * 채널별 소유 사용자 수를 [채널 ID, 사용자 수] 행으로 조회합니다.
+	 */
+	@Query("SELECT u.myChannelId, COUNT(u) FROM User u WHERE u.myChannelId IN :channelIds GROUP BY u.myChannelId")
+	List<Object[]> countByMyChannelIdIn(@Param("channelIds") Collection<String> channelIds);
 }
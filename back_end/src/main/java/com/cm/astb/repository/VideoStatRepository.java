@@ -14,4 +14,9 @@ public interface VideoStatRepository extends JpaRepository<VideoStat, VideoStats
 	List<VideoStat> findById_VideoIdOrderById_StatsDateDesc(Integer videoId);
 	Optional<VideoStat> findById_VideoIdAndId_StatsDate(Integer videoId, LocalDateTime statsDate);
 	List<VideoStat> findByIdVideoIdInAndIdStatsDate(List<Long> videoIds, LocalDateTime statsDate);
+
+	/**
+	 * 주어진 비디오들의 statsDate 이후 통계 이력을 조회합니다. (갱신 주기 분류용 조회수 증가 속도 계산)
+	 */
+	List<VideoStat> findByIdVideoIdInAndIdStatsDateGreaterThanEqual(List<Long> videoIds, LocalDateTime statsDate);
 }
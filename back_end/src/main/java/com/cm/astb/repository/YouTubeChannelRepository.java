@@ -1,11 +1,16 @@
 package com.cm.astb.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cm.astb.entity.YouTubeChannel;
 
@@ -27,4 +32,12 @@ public interface YouTubeChannelRepository extends JpaRepository<YouTubeChannel,
      * @return 해당 채널 ID를 가진 YouTubeChannel 리스트
      */
     List<YouTubeChannel> findByChannelIdIn(List<String> channelIds);
+
+    /**
+     * 내용이 바뀌지 않은 채널(channels.list 304)의 갱신 시각만 한 번에 기록합니다.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE YouTubeChannel c SET c.updatedAt = :updatedAt WHERE c.channelId IN :channelIds")
+    int touchUpdatedAt(@Param("channelIds") Collection<String> channelIds, @Param("updatedAt") LocalDateTime updatedAt);
 }
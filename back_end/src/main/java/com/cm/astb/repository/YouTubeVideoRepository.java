@@ -1,18 +1,44 @@
 package com.cm.astb.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.cm.astb.entity.YouTubeVideo;
 
 public interface YouTubeVideoRepository extends JpaRepository<YouTubeVideo, Long>{
     Optional<YouTubeVideo> findById(Long videoId);
 	Optional<YouTubeVideo> findByVideoKey(String videoKey);
+	List<YouTubeVideo> findByVideoKeyIn(Collection<String> videoKeys);
 	List<YouTubeVideo> findByChannelId(String channelId);
 	List<YouTubeVideo> findByChannelIdOrderByUploadedAtDesc(String channelId);
 	long countByChannelId(String channelId);
 	List<YouTubeVideo> findByChannelIdAndUploadedAtBetweenOrderByUploadedAtAsc(String channelId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+	/**
+	 * 채널에 이미 저장된 비디오 키(YouTube 비디오 ID) 목록. 업로드 재생목록 증분 동기화에 사용합니다.
+	 */
+	@Query("SELECT v.videoKey FROM YouTubeVideo v WHERE v.channelId = :channelId")
+	List<String> findVideoKeysByChannelId(@Param("channelId") String channelId);
+
+	/**
+	 * 메타데이터 갱신 시점(updatedAt)이 기준보다 오래된 비디오를 오래된 순으로 조회합니다. (순환 메타데이터 갱신용)
+	 */
+	List<YouTubeVideo> findByChannelIdAndUpdatedAtBeforeOrderByUpdatedAtAsc(String channelId, LocalDateTime threshold, Pageable pageable);
+
+	/**
+	 * 내용이 바뀌지 않은 비디오(videos.list 304)의 갱신 시각만 한 번에 기록합니다. (순환 메타데이터 갱신 기준)
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE YouTubeVideo v SET v.updatedAt = :updatedAt WHERE v.videoKey IN :videoKeys")
+	int touchUpdatedAt(@Param("videoKeys") Collection<String> videoKeys, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -1,12 +1,7 @@
  package com.cm.astb.security;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.Base64;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
@@ -18,22 +13,36 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.cm.astb.entity.User;
 import com.cm.astb.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.api.client.util.store.AbstractDataStore;
 import com.google.api.client.util.store.DataStore;
 import com.google.api.client.util.store.DataStoreFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
 
+/**
+ * Google OAuth Credential 을 TB_USER.GOOGLE_CREDENTIAL_JSON 에 저장하는 DataStore.
+ *
+ * 읽은 값은 역직렬화한 객체 그대로 캐시에 두어, 같은 사용자의 Credential 을 다시 읽을 때 DB 조회와 역직렬화를 하지 않습니다.
+ * set/delete/clear 는 DB 와 캐시를 함께 바꿉니다. (write-through)
+ * 저장 형식은 StoredCredentialCodec 의 v2(JSON)이며, 이전 형식(Java 직렬화 + Base64)으로 저장된 행은 처음 읽을 때 v2 로 다시 저장합니다.
+ */
 public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 
 	private static final Logger logger = LoggerFactory.getLogger(GoogleCredentialDataStore.class);
 
 	private final UserRepository userRepository;
+	private final StoredCredentialCodec storedCredentialCodec;
+	private final Cache<String, Serializable> cache;
+	private final MeterRegistry meterRegistry;
 
-
-
-	public GoogleCredentialDataStore(DataStoreFactory dataStoreFactory, String id, UserRepository userRepository) {
+	public GoogleCredentialDataStore(DataStoreFactory dataStoreFactory, String id, UserRepository userRepository,
+			StoredCredentialCodec storedCredentialCodec, Cache<String, Serializable> cache, MeterRegistry meterRegistry) {
 		super(dataStoreFactory, id);
 		this.userRepository = userRepository;
+		this.storedCredentialCodec = storedCredentialCodec;
+		this.cache = cache;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Override
@@ -44,15 +53,10 @@ public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 
 		if(optionalUser.isPresent()) {
 			User user = optionalUser.get();
-
-			ByteArrayOutputStream bos = new ByteArrayOutputStream();
-			ObjectOutputStream oos = new ObjectOutputStream(bos);
-			oos.writeObject(value);
-			oos.close();
-			String credentialBase64 = Base64.getEncoder().encodeToString(bos.toByteArray());
-			user.setGoogleCredentialJson(credentialBase64);
+			user.setGoogleCredentialJson(storedCredentialCodec.encode(value));
 			userRepository.save(user);
-			logger.info("Google Credential saved (Base64) for user: {}", googleId);
+			cache.put(googleId, value);
+			logger.info("Google Credential saved for user: {}", googleId);
 
 			return this;
 		} else {
@@ -64,34 +68,53 @@ public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 
 	@Override
 	public Serializable get(String googleId) throws IOException {
-		logger.info("Getting Google RefreshToken for user: {}", googleId);
+		Serializable cached = cache.getIfPresent(googleId);
+		if (cached != null) {
+			return cached;
+		}
+		logger.info("Getting Google Credential from DB for user: {}", googleId);
 
 		Optional<User> optionalUser = userRepository.findByGoogleId(googleId);
 		if (optionalUser.isPresent()) {
 
 			User user = optionalUser.get();
-			String credentialBase64 = user.getGoogleCredentialJson();
-
-			if (credentialBase64 != null && !credentialBase64.isEmpty()) {
-
-				byte[] decodeBytes = Base64.getDecoder().decode(credentialBase64);
-				ByteArrayInputStream bis = new ByteArrayInputStream(decodeBytes);
-				ObjectInputStream ois = new ObjectInputStream(bis);
+			String storedCredential = user.getGoogleCredentialJson();
 
+			if (storedCredential != null && !storedCredential.isEmpty()) {
+				Serializable value;
 				try {
-					return (Serializable) ois.readObject();
-				} catch (ClassNotFoundException e) {
-					logger.error("Failed to deserialize Google Credential: Class not found for user {}",googleId,  e);
-					throw new IOException("Failed to deserialize Credential: " + e.getMessage(), e);
-				} finally {
-					ois.close();
+					value = storedCredentialCodec.decode(storedCredential);
+				} catch (IOException e) {
+					logger.error("Failed to deserialize Google Credential for user {}", googleId, e);
+					throw e;
 				}
+				if (!storedCredentialCodec.isV2(storedCredential)) {
+					migrate(user, value);
+				}
+				cache.put(googleId, value);
+				return value;
 			}
 		}
-		logger.warn("Google Credential (Base64) not found or empty for user: {}", googleId);
+		logger.warn("Google Credential not found or empty for user: {}", googleId);
 		return null;
 	}
 
+	// 이전 형식(Java 직렬화)으로 저장된 Credential 을 v2 형식으로 다시 저장합니다. 실패해도 읽은 값은 그대로 사용합니다.
+	private void migrate(User user, Serializable value) {
+		try {
+			String encoded = storedCredentialCodec.encode(value);
+			if (!storedCredentialCodec.isV2(encoded)) {
+				return; // StoredCredential 이 아닌 값은 이전 형식을 유지합니다.
+			}
+			user.setGoogleCredentialJson(encoded);
+			userRepository.save(user);
+			meterRegistry.counter("google.credential.store.migrated").increment();
+			logger.info("Migrated stored Google Credential of user {} to the v2 format.", user.getGoogleId());
+		} catch (Exception e) {
+			logger.warn("Failed to migrate stored Google Credential of user {}: {}", user.getGoogleId(), e.getMessage());
+		}
+	}
+
 	@Override
 	@Transactional	// DB changing
 	public DataStore<Serializable> delete(String googleId) throws IOException {
@@ -107,6 +130,7 @@ public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 		} else {
 			logger.warn("User with googleId {} not found whene trying to delete credential", googleId);
 		}
+		cache.invalidate(googleId);
 		return this;
 	}
 
@@ -116,6 +140,7 @@ public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 		logger.warn("clear() method is called. This will clear ALL Credentials in DB.");
 		userRepository.findAll().forEach(user -> user.setGoogleCredentialJson(null));	// Check the forEach() method.
 		userRepository.saveAll(userRepository.findAll());
+		cache.invalidateAll();
 		return this;
 	}
 
@@ -136,14 +161,8 @@ public class GoogleCredentialDataStore extends AbstractDataStore<Serializable>{
 				.filter(json -> json != null && !json.isEmpty())
 				.map(json -> {
 					try {
-						byte[] decodedBytes = Base64.getDecoder().decode(json);
-						ByteArrayInputStream bis = new ByteArrayInputStream(decodedBytes);
-						ObjectInputStream ois = new ObjectInputStream(bis);
-						Serializable obj = (Serializable) ois.readObject();
-						ois.close();
-
-						return obj;
-					} catch (IOException | ClassNotFoundException e) {
+						return storedCredentialCodec.decode(json);
+					} catch (IOException e) {
 						logger.error("Failed to deserialize credential in values(): {}", e.getMessage());
 						return null;
 					}
@@ -4,32 +4,56 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.cm.astb.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.api.client.util.store.DataStore;
 import com.google.api.client.util.store.DataStoreFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 @Component
 public class GoogleCredentialDataStoreFactory implements DataStoreFactory{
 
 	private final UserRepository userRepository;
+	private final StoredCredentialCodec storedCredentialCodec;
+	private final MeterRegistry meterRegistry;
 	private final ConcurrentMap<String, DataStore<? extends Serializable>> dataStoreMap = new ConcurrentHashMap<>();
 
-	public GoogleCredentialDataStoreFactory(UserRepository userRepository) {
+	@Value("${google.credential-store.cache.max-size:5000}")
+	private long cacheMaxSize;
+
+	@Value("${google.credential-store.cache.expire-after-write-minutes:30}")
+	private long cacheExpireAfterWriteMinutes;
+
+	public GoogleCredentialDataStoreFactory(UserRepository userRepository, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
 		this.userRepository = userRepository;
+		this.storedCredentialCodec = new StoredCredentialCodec(objectMapper);
+		this.meterRegistry = meterRegistry;
 	}
 
 	// Method creating certified id's new DataStore instance or load present DataStore instance from cache.
 	@Override
 	@SuppressWarnings("unchecked")
 	public <V extends Serializable> DataStore<V> getDataStore(String id) throws IOException {
-		DataStore<V> dataStore = (DataStore<V>) dataStoreMap.get(id);
-		if (dataStore == null) {
-			dataStore = (DataStore<V>) new GoogleCredentialDataStore(this, id, userRepository);
-			dataStoreMap.put(id, dataStore);	// load to cache.
-		}
-		return dataStore;
+		return (DataStore<V>) dataStoreMap.computeIfAbsent(id, this::createDataStore);
+	}
+
+	// DataStore마다 역직렬화한 Credential을 담는 캐시를 하나씩 둡니다. (다른 노드에서 바뀐 토큰은 expire-after-write 뒤 반영)
+	private GoogleCredentialDataStore createDataStore(String id) {
+		Cache<String, Serializable> cache = Caffeine.newBuilder()
+				.maximumSize(cacheMaxSize)
+				.expireAfterWrite(cacheExpireAfterWriteMinutes, TimeUnit.MINUTES)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "google.credential.store", "store", id);
+		return new GoogleCredentialDataStore(this, id, userRepository, storedCredentialCodec, cache, meterRegistry);
 	}
 }
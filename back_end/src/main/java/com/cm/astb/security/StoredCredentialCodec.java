@@ -0,0 +1,86 @@
+package com.cm.astb.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.auth.oauth2.StoredCredential;
+
+/**
+ * TB_USER.GOOGLE_CREDENTIAL_JSON 에 저장하는 Credential 의 직렬화 형식을 다룹니다.
+ *
+ * v2 형식: "v2:" + {"accessToken":..., "refreshToken":..., "expiresAt":...} JSON.
+ * 이전 형식(접두어 없음)은 StoredCredential 을 Java 직렬화한 뒤 Base64 로 인코딩한 값이며, 읽을 수는 있지만 새로 쓰지는 않습니다.
+ * StoredCredential 이 아닌 값은 이전 형식으로 저장합니다.
+ */
+public class StoredCredentialCodec {
+
+	static final String V2_PREFIX = "v2:";
+
+	private final ObjectMapper objectMapper;
+
+	public StoredCredentialCodec(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	public String encode(Serializable value) throws IOException {
+		if (!(value instanceof StoredCredential credential)) {
+			return encodeJavaSerialized(value);
+		}
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("accessToken", credential.getAccessToken());
+		json.put("refreshToken", credential.getRefreshToken());
+		json.put("expiresAt", credential.getExpirationTimeMilliseconds());
+		return V2_PREFIX + objectMapper.writeValueAsString(json);
+	}
+
+	public Serializable decode(String stored) throws IOException {
+		if (!isV2(stored)) {
+			return decodeJavaSerialized(stored);
+		}
+		JsonNode json = objectMapper.readTree(stored.substring(V2_PREFIX.length()));
+		StoredCredential credential = new StoredCredential();
+		credential.setAccessToken(textOrNull(json, "accessToken"));
+		credential.setRefreshToken(textOrNull(json, "refreshToken"));
+		JsonNode expiresAt = json.get("expiresAt");
+		credential.setExpirationTimeMilliseconds(expiresAt != null && !expiresAt.isNull() ? expiresAt.asLong() : null);
+		return credential;
+	}
+
+	/**
+	 * 저장된 값이 현재 형식(v2)인지 확인합니다. 이전 형식의 StoredCredential 은 읽을 때 v2 로 다시 저장합니다.
+	 */
+	public boolean isV2(String stored) {
+		return stored.startsWith(V2_PREFIX);
+	}
+
+	private static String textOrNull(JsonNode json, String field) {
+		JsonNode node = json.get(field);
+		return node != null && !node.isNull() ? node.asText() : null;
+	}
+
+	private static String encodeJavaSerialized(Serializable value) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(value);
+		}
+		return Base64.getEncoder().encodeToString(bos.toByteArray());
+	}
+
+	private static Serializable decodeJavaSerialized(String stored) throws IOException {
+		byte[] decodedBytes = Base64.getDecoder().decode(stored);
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(decodedBytes))) {
+			return (Serializable) ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Failed to deserialize Credential: " + e.getMessage(), e);
+		}
+	}
+}
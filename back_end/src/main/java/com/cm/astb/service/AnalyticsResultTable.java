@@ -0,0 +1,351 @@
+package com.cm.astb.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
+import com.google.api.services.youtubeAnalytics.v2.model.ResultTableColumnHeader;
+
+/**
+ * YouTube Analytics reports.query 응답(QueryResponse)을 열 단위로 담은 읽기 전용 표.
+ *
+ * columnHeaders 로 열 이름 → 인덱스를 한 번만 만들고, 행을 한 번 훑으면서 값을 열 배열로 옮깁니다.
+ * - METRIC 열: dataType 이 INTEGER 이면 long[], 그 밖(FLOAT 등)이면 double[]
+ * - DIMENSION 열: String[]. 같은 값(day, 트래픽 소스, 기기 유형 등)은 표 안에서 하나의 String 인스턴스를 공유합니다.
+ * 디코딩이 끝나면 QueryResponse(행마다 List 와 BigDecimal)는 버려도 되므로, 수집 중 오래 들고 있는 객체가 열 배열 몇 개로 줄어듭니다.
+ * 값은 getLong(row, column) 처럼 행/열 인덱스로 바로 읽으며 박싱하지 않습니다.
+ *
+ * 여러 페이지로 나눠 받는 리포트는 Builder 에 페이지를 차례로 append 해 하나의 표로 만듭니다.
+ */
+public final class AnalyticsResultTable {
+
+	private static final AnalyticsResultTable EMPTY = new Builder().build();
+
+	private final String[] columnNames;
+	private final Map<String, Integer> columnIndexes;
+	private final boolean[] dimensions;
+	/** 열별 값 배열. 열 종류에 따라 셋 중 하나만 채워집니다. */
+	private final long[][] longColumns;
+	private final double[][] doubleColumns;
+	private final String[][] stringColumns;
+	private final int rowCount;
+
+	private AnalyticsResultTable(String[] columnNames, Map<String, Integer> columnIndexes, boolean[] dimensions,
+			long[][] longColumns, double[][] doubleColumns, String[][] stringColumns, int rowCount) {
+		this.columnNames = columnNames;
+		this.columnIndexes = columnIndexes;
+		this.dimensions = dimensions;
+		this.longColumns = longColumns;
+		this.doubleColumns = doubleColumns;
+		this.stringColumns = stringColumns;
+		this.rowCount = rowCount;
+	}
+
+	/**
+	 * 응답 하나를 표로 디코딩합니다. 응답이 null 이거나 행이 없으면 행이 0개인 표를 돌려줍니다.
+	 */
+	public static AnalyticsResultTable from(QueryResponse response) {
+		if (response == null || response.getColumnHeaders() == null) {
+			return EMPTY;
+		}
+		return new Builder().append(response).build();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public int rowCount() {
+		return rowCount;
+	}
+
+	public boolean isEmpty() {
+		return rowCount == 0;
+	}
+
+	public int columnCount() {
+		return columnNames.length;
+	}
+
+	public String columnName(int column) {
+		return columnNames[column];
+	}
+
+	public boolean isDimension(int column) {
+		return dimensions[column];
+	}
+
+	/**
+	 * @return 열 인덱스. 응답에 해당 열이 없으면 -1
+	 */
+	public int columnIndex(String name) {
+		Integer index = columnIndexes.get(name);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * 열 인덱스를 돌려주며, 응답에 해당 열이 없으면 IllegalArgumentException 을 던집니다.
+	 */
+	public int requireColumn(String name) {
+		int index = columnIndex(name);
+		if (index < 0) {
+			throw new IllegalArgumentException("Column '" + name + "' is not in the analytics response: " + Arrays.toString(columnNames));
+		}
+		return index;
+	}
+
+	/**
+	 * METRIC 열의 값을 long 으로 읽습니다. double 열은 소수점 아래를 버립니다. (BigDecimal.longValue() 와 같음)
+	 */
+	public long getLong(int row, int column) {
+		checkRow(row);
+		if (longColumns[column] != null) {
+			return longColumns[column][row];
+		}
+		if (doubleColumns[column] != null) {
+			return (long) doubleColumns[column][row];
+		}
+		throw new IllegalStateException("Column '" + columnNames[column] + "' is a dimension column.");
+	}
+
+	public double getDouble(int row, int column) {
+		checkRow(row);
+		if (doubleColumns[column] != null) {
+			return doubleColumns[column][row];
+		}
+		if (longColumns[column] != null) {
+			return longColumns[column][row];
+		}
+		throw new IllegalStateException("Column '" + columnNames[column] + "' is a dimension column.");
+	}
+
+	/**
+	 * DIMENSION 열의 값을 읽습니다.
+	 */
+	public String getString(int row, int column) {
+		checkRow(row);
+		if (stringColumns[column] == null) {
+			throw new IllegalStateException("Column '" + columnNames[column] + "' is a metric column.");
+		}
+		return stringColumns[column][row];
+	}
+
+	/**
+	 * 열 종류에 맞는 박싱된 값(String, Long, Double)을 돌려줍니다. 값을 Map 이나 JSON 으로 그대로 넘길 때만 사용합니다.
+	 */
+	public Object getValue(int row, int column) {
+		checkRow(row);
+		if (stringColumns[column] != null) {
+			return stringColumns[column][row];
+		}
+		if (longColumns[column] != null) {
+			return longColumns[column][row];
+		}
+		return doubleColumns[column][row];
+	}
+
+	/**
+	 * METRIC 열 전체의 합계.
+	 */
+	public long sumLong(int column) {
+		long sum = 0;
+		for (int row = 0; row < rowCount; row++) {
+			sum += getLong(row, column);
+		}
+		return sum;
+	}
+
+	/**
+	 * DIMENSION 열 값 → 행 인덱스. 같은 값이 여러 행에 있으면 마지막 행을 씁니다.
+	 * 응답에 해당 열이 없으면 빈 맵을 돌려줍니다.
+	 */
+	public Map<String, Integer> rowIndexBy(String dimension) {
+		int column = columnIndex(dimension);
+		if (column < 0 || rowCount == 0) {
+			return Collections.emptyMap();
+		}
+		if (stringColumns[column] == null) {
+			throw new IllegalStateException("Column '" + dimension + "' is a metric column.");
+		}
+		String[] values = stringColumns[column];
+		Map<String, Integer> rowIndexes = new HashMap<>(rowCount * 4 / 3 + 1);
+		for (int row = 0; row < rowCount; row++) {
+			rowIndexes.put(values[row], row);
+		}
+		return rowIndexes;
+	}
+
+	private void checkRow(int row) {
+		if (row < 0 || row >= rowCount) {
+			throw new IndexOutOfBoundsException("Row " + row + " out of " + rowCount);
+		}
+	}
+
+	/**
+	 * 응답(페이지)을 차례로 받아 열 배열에 이어 붙입니다. 처음 append 한 응답의 columnHeaders 를 기준으로 하며,
+	 * 이후 페이지의 열 구성이 다르면 IllegalArgumentException 을 던집니다. 스레드 안전하지 않습니다.
+	 */
+	public static final class Builder {
+
+		private String[] columnNames = new String[0];
+		private Map<String, Integer> columnIndexes = Collections.emptyMap();
+		private boolean[] dimensions = new boolean[0];
+		private long[][] longColumns = new long[0][];
+		private double[][] doubleColumns = new double[0][];
+		private String[][] stringColumns = new String[0][];
+		private int rowCount;
+		/** DIMENSION 값의 대표 인스턴스 (표 단위 intern) */
+		private final Map<String, String> canonicalValues = new HashMap<>();
+
+		private Builder() {
+		}
+
+		public Builder append(QueryResponse response) {
+			if (response == null || response.getColumnHeaders() == null) {
+				return this;
+			}
+			List<List<Object>> rows = response.getRows();
+			if (columnIndexes.isEmpty()) {
+				initColumns(response.getColumnHeaders(), rows != null ? rows.size() : 0);
+			} else {
+				checkColumns(response.getColumnHeaders());
+			}
+			if (rows == null || rows.isEmpty()) {
+				return this;
+			}
+
+			ensureCapacity(rowCount + rows.size());
+			for (List<Object> row : rows) {
+				for (int column = 0; column < columnNames.length; column++) {
+					Object value = column < row.size() ? row.get(column) : null;
+					if (stringColumns[column] != null) {
+						stringColumns[column][rowCount] = canonical(value);
+					} else if (longColumns[column] != null) {
+						longColumns[column][rowCount] = toLong(value);
+					} else {
+						doubleColumns[column][rowCount] = toDouble(value);
+					}
+				}
+				rowCount++;
+			}
+			return this;
+		}
+
+		public AnalyticsResultTable build() {
+			int columns = columnNames.length;
+			long[][] builtLongs = new long[columns][];
+			double[][] builtDoubles = new double[columns][];
+			String[][] builtStrings = new String[columns][];
+			for (int column = 0; column < columns; column++) {
+				if (longColumns[column] != null) {
+					builtLongs[column] = trim(longColumns[column]);
+				} else if (doubleColumns[column] != null) {
+					builtDoubles[column] = trim(doubleColumns[column]);
+				} else {
+					builtStrings[column] = trim(stringColumns[column]);
+				}
+			}
+			return new AnalyticsResultTable(columnNames.clone(), columnIndexes, dimensions.clone(), builtLongs, builtDoubles,
+					builtStrings, rowCount);
+		}
+
+		private void initColumns(List<ResultTableColumnHeader> headers, int expectedRows) {
+			int columns = headers.size();
+			columnNames = new String[columns];
+			dimensions = new boolean[columns];
+			longColumns = new long[columns][];
+			doubleColumns = new double[columns][];
+			stringColumns = new String[columns][];
+			Map<String, Integer> indexes = new HashMap<>();
+			for (int column = 0; column < columns; column++) {
+				ResultTableColumnHeader header = headers.get(column);
+				columnNames[column] = header.getName();
+				indexes.put(header.getName(), column);
+				dimensions[column] = isDimension(header);
+				if (dimensions[column]) {
+					stringColumns[column] = new String[expectedRows];
+				} else if ("INTEGER".equals(header.getDataType())) {
+					longColumns[column] = new long[expectedRows];
+				} else {
+					doubleColumns[column] = new double[expectedRows];
+				}
+			}
+			columnIndexes = Collections.unmodifiableMap(indexes);
+		}
+
+		private void checkColumns(List<ResultTableColumnHeader> headers) {
+			boolean same = headers.size() == columnNames.length;
+			for (int column = 0; same && column < columnNames.length; column++) {
+				same = columnNames[column].equals(headers.get(column).getName());
+			}
+			if (!same) {
+				throw new IllegalArgumentException("Analytics response columns " + headers.stream().map(ResultTableColumnHeader::getName).toList()
+						+ " do not match " + Arrays.toString(columnNames));
+			}
+		}
+
+		private void ensureCapacity(int required) {
+			for (int column = 0; column < columnNames.length; column++) {
+				if (stringColumns[column] != null && stringColumns[column].length < required) {
+					stringColumns[column] = Arrays.copyOf(stringColumns[column], grow(stringColumns[column].length, required));
+				} else if (longColumns[column] != null && longColumns[column].length < required) {
+					longColumns[column] = Arrays.copyOf(longColumns[column], grow(longColumns[column].length, required));
+				} else if (doubleColumns[column] != null && doubleColumns[column].length < required) {
+					doubleColumns[column] = Arrays.copyOf(doubleColumns[column], grow(doubleColumns[column].length, required));
+				}
+			}
+		}
+
+		private static int grow(int current, int required) {
+			return Math.max(required, current + (current >> 1));
+		}
+
+		private String canonical(Object value) {
+			if (value == null) {
+				return null;
+			}
+			String text = value.toString();
+			String existing = canonicalValues.putIfAbsent(text, text);
+			return existing != null ? existing : text;
+		}
+
+		private long[] trim(long[] values) {
+			return values.length == rowCount ? values : Arrays.copyOf(values, rowCount);
+		}
+
+		private double[] trim(double[] values) {
+			return values.length == rowCount ? values : Arrays.copyOf(values, rowCount);
+		}
+
+		private String[] trim(String[] values) {
+			return values.length == rowCount ? values : Arrays.copyOf(values, rowCount);
+		}
+
+		/**
+		 * columnType 이 있으면 그대로 따르고, 없으면 dataType STRING 인 열을 DIMENSION 으로 봅니다.
+		 */
+		private static boolean isDimension(ResultTableColumnHeader header) {
+			if (header.getColumnType() != null) {
+				return "DIMENSION".equals(header.getColumnType());
+			}
+			return "STRING".equals(header.getDataType());
+		}
+
+		private static long toLong(Object value) {
+			if (value instanceof Number number) {
+				return number.longValue();
+			}
+			return value != null ? (long) Double.parseDouble(value.toString()) : 0L;
+		}
+
+		private static double toDouble(Object value) {
+			if (value instanceof Number number) {
+				return number.doubleValue();
+			}
+			return value != null ? Double.parseDouble(value.toString()) : 0d;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.entity.ChannelDashboardStat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
+
+/**
+ * 채널 대시보드 분포 통계(TB_CHANNEL_DASHBOARD_STATS)의 다섯 JSON 컬럼(성별, 연령대, 국가, 트래픽 소스, 기기)을 만드는 컴포넌트.
+ * 서로 독립적인 Analytics 쿼리 4개(성별/연령대, 국가, 트래픽 소스, 기기)를 youtubeApiExecutor에서 동시에 실행하므로,
+ * 채널당 소요 시간은 가장 느린 쿼리 하나 정도가 됩니다.
+ * 야간 수집(DataCollectorService 4단계)과 refreshOutdatedChannelInfo가 함께 사용합니다.
+ */
+@Service
+public class ChannelDashboardSnapshotService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChannelDashboardSnapshotService.class);
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	private final YoutubeAnalyticsService youtubeAnalyticsService;
+	private final ThreadPoolTaskExecutor youtubeApiExecutor;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Analytics 쿼리 하나 (checked exception을 던질 수 있음).
+	 */
+	@FunctionalInterface
+	private interface AnalyticsQuery {
+		QueryResponse execute() throws IOException, GeneralSecurityException;
+	}
+
+	public ChannelDashboardSnapshotService(YoutubeAnalyticsService youtubeAnalyticsService,
+			@Qualifier("youtubeApiExecutor") ThreadPoolTaskExecutor youtubeApiExecutor, ObjectMapper objectMapper) {
+		this.youtubeAnalyticsService = youtubeAnalyticsService;
+		this.youtubeApiExecutor = youtubeApiExecutor;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * 기간 내 채널 분포 통계를 조회해 dashboardStat의 다섯 JSON 컬럼을 채웁니다. (저장은 호출한 쪽에서 합니다.)
+	 * 쿼리 중 하나라도 실패하면 나머지 쿼리가 끝난 뒤 첫 번째 실패를 그대로 던집니다.
+	 *
+	 * @param dashboardStat 값을 채울 엔티티 (ID는 호출한 쪽에서 설정)
+	 * @param googleId      Analytics API 호출에 사용할 사용자 Google ID
+	 * @param channelId     대상 채널 ID
+	 * @param startDate     조회 시작일
+	 * @param endDate       조회 종료일
+	 * @return 값이 채워진 dashboardStat
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public ChannelDashboardStat populateSnapshot(ChannelDashboardStat dashboardStat, String googleId, String channelId,
+			LocalDate startDate, LocalDate endDate) throws IOException, GeneralSecurityException {
+		String start = startDate.format(DATE_FORMATTER);
+		String end = endDate.format(DATE_FORMATTER);
+		long startNanos = System.nanoTime();
+
+		CompletableFuture<QueryResponse> genderAgeFuture = submit(
+				() -> youtubeAnalyticsService.getChannelAudienceAnalytics(googleId, start, end, channelId));
+		CompletableFuture<QueryResponse> countryFuture = submit(
+				() -> youtubeAnalyticsService.getChannelCountryAnalytics(googleId, start, end, channelId));
+		CompletableFuture<QueryResponse> trafficSourceFuture = submit(
+				() -> youtubeAnalyticsService.getChannelTrafficSourceAnalytics(googleId, start, end, channelId));
+		CompletableFuture<QueryResponse> deviceFuture = submit(
+				() -> youtubeAnalyticsService.getChannelDeviceAnalytics(googleId, start, end, channelId));
+
+		QueryResponse genderAgeResponse = await(genderAgeFuture, countryFuture, trafficSourceFuture, deviceFuture);
+		QueryResponse countryResponse = countryFuture.join();
+		QueryResponse trafficSourceResponse = trafficSourceFuture.join();
+		QueryResponse deviceResponse = deviceFuture.join();
+
+		dashboardStat.setGenderDistributionJson(buildGenderDistributionJson(genderAgeResponse, channelId));
+		dashboardStat.setAgeGroupDistributionJson(buildAgeGroupDistributionJson(genderAgeResponse, channelId));
+		dashboardStat.setCountryDistributionJson(buildCountryDistributionJson(countryResponse, channelId));
+		dashboardStat.setTrafficSourceDistributionJson(buildTrafficSourceDistributionJson(trafficSourceResponse, channelId));
+		dashboardStat.setDeviceDistributionJson(buildDeviceDistributionJson(deviceResponse, channelId));
+
+		logger.debug("Built dashboard snapshot for channel {} ({} ~ {}) in {} ms.", channelId, start, end,
+				(System.nanoTime() - startNanos) / 1_000_000);
+		return dashboardStat;
+	}
+
+	private CompletableFuture<QueryResponse> submit(AnalyticsQuery query) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return query.execute();
+			} catch (IOException | GeneralSecurityException e) {
+				throw new CompletionException(e);
+			}
+		}, youtubeApiExecutor);
+	}
+
+	/**
+	 * 모든 쿼리가 끝날 때까지 기다린 뒤 첫 번째 쿼리 결과를 돌려줍니다. 실패한 쿼리가 있으면 원래 예외를 다시 던집니다.
+	 */
+	private QueryResponse await(CompletableFuture<QueryResponse> first, CompletableFuture<?>... others)
+			throws IOException, GeneralSecurityException {
+		CompletableFuture<?>[] all = new CompletableFuture<?>[others.length + 1];
+		all[0] = first;
+		System.arraycopy(others, 0, all, 1, others.length);
+		try {
+			CompletableFuture.allOf(all).join();
+			return first.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			} else if (cause instanceof GeneralSecurityException securityException) {
+				throw securityException;
+			} else if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw e;
+		}
+	}
+
+	private String buildGenderDistributionJson(QueryResponse genderAgeResponse, String channelId) throws JsonProcessingException {
+		if (!hasRows(genderAgeResponse)) {
+			logger.warn("No gender data found for channel {}", channelId);
+			return "[]";
+		}
+		// row: [gender, ageGroup, views]
+		Map<String, Long> genderViews = new HashMap<>();
+		long totalViewsForGender = 0;
+		for (List<Object> row : genderAgeResponse.getRows()) {
+			String gender = (String) row.get(0);
+			Long views = ((BigDecimal) row.get(2)).longValue();
+			genderViews.merge(gender, views, Long::sum);
+			totalViewsForGender += views;
+		}
+		List<Map<String, Object>> genderList = new ArrayList<>();
+		for (Map.Entry<String, Long> entry : genderViews.entrySet()) {
+			Map<String, Object> genderData = new HashMap<>();
+			genderData.put("gender", entry.getKey());
+			genderData.put("percentage", percentage(entry.getValue(), totalViewsForGender));
+			genderList.add(genderData);
+		}
+		return objectMapper.writeValueAsString(genderList);
+	}
+
+	private String buildAgeGroupDistributionJson(QueryResponse genderAgeResponse, String channelId) throws JsonProcessingException {
+		if (!hasRows(genderAgeResponse)) {
+			logger.warn("No age group data found for channel {}", channelId);
+			return "[]";
+		}
+		Map<String, Long> ageGroupViews = new HashMap<>();
+		long totalViewsForAgeGroup = 0;
+		for (List<Object> row : genderAgeResponse.getRows()) {
+			String ageGroup = (String) row.get(1);
+			Long views = ((BigDecimal) row.get(2)).longValue();
+			ageGroupViews.merge(ageGroup, views, Long::sum);
+			totalViewsForAgeGroup += views;
+		}
+		List<Map<String, Object>> ageGroupList = new ArrayList<>();
+		for (Map.Entry<String, Long> entry : ageGroupViews.entrySet()) {
+			String formattedAgeGroup = entry.getKey(); // "age13-17" -> "13-17", "age65-" -> "65+"
+			if (formattedAgeGroup.startsWith("age")) {
+				formattedAgeGroup = formattedAgeGroup.substring(3);
+			}
+			if (formattedAgeGroup.endsWith("_")) {
+				formattedAgeGroup = formattedAgeGroup.replace("_", "+");
+			}
+			Map<String, Object> ageGroupData = new HashMap<>();
+			ageGroupData.put("ageGroup", formattedAgeGroup);
+			ageGroupData.put("percentage", percentage(entry.getValue(), totalViewsForAgeGroup));
+			ageGroupList.add(ageGroupData);
+		}
+		return objectMapper.writeValueAsString(ageGroupList);
+	}
+
+	private String buildCountryDistributionJson(QueryResponse countryResponse, String channelId) throws JsonProcessingException {
+		if (!hasRows(countryResponse)) {
+			logger.warn("No country data found for channel {}", channelId);
+			return "[]";
+		}
+		long totalViewsForCountry = sumViews(countryResponse);
+		List<Map<String, Object>> countryList = new ArrayList<>();
+		for (List<Object> row : countryResponse.getRows()) {
+			Long viewsCount = ((BigDecimal) row.get(1)).longValue();
+			Map<String, Object> countryData = new HashMap<>();
+			countryData.put("country", (String) row.get(0)); // ISO 코드 (KR, US 등)
+			countryData.put("viewsCount", viewsCount);
+			countryData.put("percentage", percentage(viewsCount, totalViewsForCountry));
+			countryList.add(countryData);
+		}
+		return objectMapper.writeValueAsString(countryList);
+	}
+
+	private String buildTrafficSourceDistributionJson(QueryResponse trafficSourceResponse, String channelId) throws JsonProcessingException {
+		if (!hasRows(trafficSourceResponse)) {
+			logger.warn("No traffic source data found for channel {}", channelId);
+			return "[]";
+		}
+		long totalViewsForTraffic = sumViews(trafficSourceResponse);
+		List<Map<String, Object>> trafficList = new ArrayList<>();
+		for (List<Object> row : trafficSourceResponse.getRows()) {
+			Long views = ((BigDecimal) row.get(1)).longValue();
+			Map<String, Object> trafficData = new HashMap<>();
+			trafficData.put("sourceType", (String) row.get(0));
+			trafficData.put("percentage", percentage(views, totalViewsForTraffic));
+			trafficList.add(trafficData);
+		}
+		return objectMapper.writeValueAsString(trafficList);
+	}
+
+	private String buildDeviceDistributionJson(QueryResponse deviceResponse, String channelId) throws JsonProcessingException {
+		if (!hasRows(deviceResponse)) {
+			logger.warn("No device data found for channel {}", channelId);
+			return "[]";
+		}
+		long totalViewsForDevice = sumViews(deviceResponse);
+		List<Map<String, Object>> deviceList = new ArrayList<>();
+		for (List<Object> row : deviceResponse.getRows()) {
+			Long views = ((BigDecimal) row.get(1)).longValue();
+			Map<String, Object> deviceData = new HashMap<>();
+			deviceData.put("deviceType", (String) row.get(0)); // 예: "COMPUTER", "MOBILE"
+			deviceData.put("viewsCount", views);
+			deviceData.put("percentage", percentage(views, totalViewsForDevice));
+			deviceList.add(deviceData);
+		}
+		return objectMapper.writeValueAsString(deviceList);
+	}
+
+	private static boolean hasRows(QueryResponse response) {
+		return response != null && response.getRows() != null && !response.getRows().isEmpty();
+	}
+
+	// row: [dimension, views]
+	private static long sumViews(QueryResponse response) {
+		return response.getRows().stream()
+				.mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
+				.sum();
+	}
+
+	private static double percentage(long views, long totalViews) {
+		double percentage = (totalViews > 0) ? (double) views / totalViews * 100 : 0.0;
+		return BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue();
+	}
+}
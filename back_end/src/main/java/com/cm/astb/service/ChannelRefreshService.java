@@ -0,0 +1,191 @@
+package com.cm.astb.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.entity.YouTubeChannel;
+import com.cm.astb.repository.FavoriteChannelRepository;
+import com.cm.astb.repository.UserRepository;
+import com.cm.astb.repository.YouTubeChannelRepository;
+import com.google.api.services.youtube.model.Channel;
+
+/**
+ * TB_YT_CHANNEL 의 오래된 채널 정보를 channels.list 50개 단위 배치 호출로 갱신합니다.
+ *
+ * 갱신 대상(refresh queue)은 마지막 갱신 후 channel-update-days 가 지난 채널과 pinned-channel-ids 로 지정한 채널이며,
+ * 고정 채널 → 채널을 소유한 사용자 수 → 관심 채널로 등록한 사용자 수 → 오래된 순으로 정렬해 실행당 max-channels-per-run 개까지 처리합니다.
+ * 쿼터가 부족해 중간에 멈추더라도 많이 보는 채널부터 갱신되고, 남은 채널은 quota 가 초기화된 뒤(QuotaBudgetManager#deferUntilReset) 다시 갱신합니다.
+ */
+@Service
+public class ChannelRefreshService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChannelRefreshService.class);
+
+	private static final int CHANNELS_PER_REQUEST = 50;
+	private static final int COUNT_QUERY_CHUNK_SIZE = 1000;
+
+	private final ChannelService channelService;
+	private final YouTubeChannelRepository youTubeChannelRepository;
+	private final UserRepository userRepository;
+	private final FavoriteChannelRepository favoriteChannelRepository;
+	private final QuotaBudgetManager quotaBudgetManager;
+
+	@Value("${youtube.data-collection.channel-update-days}")
+	private int channelUpdateDays;
+
+	@Value("${youtube.data-collection.channel-refresh.pinned-channel-ids:}")
+	private List<String> pinnedChannelIds;
+
+	@Value("${youtube.data-collection.channel-refresh.max-channels-per-run:2000}")
+	private int maxChannelsPerRun;
+
+	public ChannelRefreshService(ChannelService channelService, YouTubeChannelRepository youTubeChannelRepository,
+			UserRepository userRepository, FavoriteChannelRepository favoriteChannelRepository, QuotaBudgetManager quotaBudgetManager) {
+		this.channelService = channelService;
+		this.youTubeChannelRepository = youTubeChannelRepository;
+		this.userRepository = userRepository;
+		this.favoriteChannelRepository = favoriteChannelRepository;
+		this.quotaBudgetManager = quotaBudgetManager;
+	}
+
+	/**
+	 * 갱신 대상 채널을 우선순위대로 50개씩 묶어 조회하고, 묶음마다 한 번에 저장합니다.
+	 * 한 묶음의 조회가 실패하면 이후 묶음은 다음 실행으로 미룹니다. 쿼터 부족으로 실패하면 다음 quota day 에 다시 실행합니다.
+	 *
+	 * @param googleId API 호출에 사용할 사용자 Google ID (관리자)
+	 * @return 이번 실행에서 갱신한 채널 (우선순위 순)
+	 */
+	public List<YouTubeChannel> refreshOutdatedChannels(String googleId) {
+		List<YouTubeChannel> queue = buildRefreshQueue();
+		if (queue.isEmpty()) {
+			logger.info("No outdated channels found in TB_YT_CHANNEL to refresh.");
+			return List.of();
+		}
+		logger.info("Refreshing {} channel(s) in {} channels.list request(s) using admin ID: {}", queue.size(),
+				(queue.size() + CHANNELS_PER_REQUEST - 1) / CHANNELS_PER_REQUEST, googleId);
+
+		List<YouTubeChannel> refreshedChannels = new ArrayList<>(queue.size());
+		for (int from = 0; from < queue.size(); from += CHANNELS_PER_REQUEST) {
+			List<YouTubeChannel> batch = queue.subList(from, Math.min(from + CHANNELS_PER_REQUEST, queue.size()));
+			Map<String, YouTubeChannel> channelsById = batch.stream()
+					.collect(Collectors.toMap(YouTubeChannel::getChannelId, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+			DataApiResponseCache.Result<List<Channel>> result;
+			try {
+				result = channelService.listChannels(googleId, new ArrayList<>(channelsById.keySet()), QuotaBudgetManager.Priority.LOW);
+			} catch (QuotaExceededException e) {
+				logger.warn("Quota budget exhausted after {} channel(s). Deferring remaining {} channel(s) until the quota resets: {}",
+						from, queue.size() - from, e.getMessage());
+				quotaBudgetManager.deferUntilReset("channel-refresh", () -> refreshOutdatedChannels(googleId));
+				break;
+			} catch (Exception e) {
+				logger.warn("channels.list failed for {} channel(s) (batch starting at {}). Deferring remaining {} channel(s) to the next run: {}",
+						batch.size(), from, queue.size() - from, e.getMessage());
+				break;
+			}
+
+			LocalDateTime now = LocalDateTime.now();
+			List<Channel> apiChannels = result.getResponse();
+			if (result.isNotModified()) {
+				// 같은 묶음의 마지막 조회 이후 바뀐 채널이 없으면 엔티티를 다시 매핑/저장하지 않고 갱신 시각만 기록합니다.
+				List<String> unchangedChannelIds = apiChannels.stream().map(Channel::getId).filter(channelsById::containsKey)
+						.collect(Collectors.toList());
+				youTubeChannelRepository.touchUpdatedAt(unchangedChannelIds, now);
+				unchangedChannelIds.forEach(channelId -> refreshedChannels.add(channelsById.remove(channelId)));
+				if (!channelsById.isEmpty()) {
+					logger.warn("{} channel(s) not returned by channels.list (deleted or private): {}", channelsById.size(), channelsById.keySet());
+				}
+				continue;
+			}
+			List<YouTubeChannel> channelsToSave = new ArrayList<>(apiChannels.size());
+			for (Channel apiChannel : apiChannels) {
+				YouTubeChannel channel = channelsById.remove(apiChannel.getId());
+				if (channel == null) {
+					continue;
+				}
+				channelService.applyChannelResource(channel, apiChannel);
+				channel.setUpdatedAt(now); // 값이 바뀌지 않은 채널도 갱신 시각은 남깁니다.
+				channelsToSave.add(channel);
+			}
+			if (!channelsById.isEmpty()) {
+				logger.warn("{} channel(s) not returned by channels.list (deleted or private): {}", channelsById.size(), channelsById.keySet());
+			}
+			youTubeChannelRepository.saveAll(channelsToSave);
+			refreshedChannels.addAll(channelsToSave);
+		}
+		logger.info("Refreshed {} of {} queued channel(s).", refreshedChannels.size(), queue.size());
+		return refreshedChannels;
+	}
+
+	/**
+	 * 갱신 대상 채널을 우선순위 순으로 만듭니다.
+	 */
+	List<YouTubeChannel> buildRefreshQueue() {
+		LocalDateTime threshold = LocalDateTime.now().minusDays(channelUpdateDays);
+		Map<String, YouTubeChannel> candidates = new LinkedHashMap<>();
+		for (YouTubeChannel channel : youTubeChannelRepository.findByUpdatedAtBefore(threshold)) {
+			candidates.put(channel.getChannelId(), channel);
+		}
+
+		Set<String> pinned = new LinkedHashSet<>();
+		for (String channelId : pinnedChannelIds) {
+			if (channelId != null && !channelId.isBlank()) {
+				pinned.add(channelId.trim());
+			}
+		}
+		List<String> missingPinned = pinned.stream().filter(id -> !candidates.containsKey(id)).collect(Collectors.toList());
+		if (!missingPinned.isEmpty()) {
+			List<YouTubeChannel> pinnedChannels = youTubeChannelRepository.findByChannelIdIn(missingPinned);
+			for (YouTubeChannel channel : pinnedChannels) {
+				candidates.put(channel.getChannelId(), channel);
+			}
+			if (pinnedChannels.size() < missingPinned.size()) {
+				logger.warn("Some pinned channels are not in TB_YT_CHANNEL and are skipped: {}", missingPinned.stream()
+						.filter(id -> !candidates.containsKey(id)).collect(Collectors.toList()));
+			}
+		}
+		if (candidates.isEmpty()) {
+			return List.of();
+		}
+
+		List<String> candidateIds = new ArrayList<>(candidates.keySet());
+		Map<String, Long> ownerCounts = countByChannel(candidateIds, userRepository::countByMyChannelIdIn);
+		Map<String, Long> favoriteCounts = countByChannel(candidateIds, favoriteChannelRepository::countByCnlIdIn);
+
+		Comparator<YouTubeChannel> priority = Comparator
+				.comparing((YouTubeChannel channel) -> !pinned.contains(channel.getChannelId()))
+				.thenComparing(channel -> ownerCounts.getOrDefault(channel.getChannelId(), 0L), Comparator.reverseOrder())
+				.thenComparing(channel -> favoriteCounts.getOrDefault(channel.getChannelId(), 0L), Comparator.reverseOrder())
+				.thenComparing(YouTubeChannel::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+		List<YouTubeChannel> queue = candidates.values().stream().sorted(priority).collect(Collectors.toList());
+		if (queue.size() > maxChannelsPerRun) {
+			logger.info("Refresh queue has {} channel(s); refreshing the top {} this run.", queue.size(), maxChannelsPerRun);
+			queue = new ArrayList<>(queue.subList(0, maxChannelsPerRun));
+		}
+		return queue;
+	}
+
+	// [채널 ID, 개수] 집계 쿼리를 IN 절 크기에 맞춰 나눠 실행합니다.
+	private static Map<String, Long> countByChannel(List<String> channelIds, Function<List<String>, List<Object[]>> countQuery) {
+		Map<String, Long> counts = new HashMap<>();
+		for (int from = 0; from < channelIds.size(); from += COUNT_QUERY_CHUNK_SIZE) {
+			for (Object[] row : countQuery.apply(channelIds.subList(from, Math.min(from + COUNT_QUERY_CHUNK_SIZE, channelIds.size())))) {
+				counts.put((String) row[0], ((Number) row[1]).longValue());
+			}
+		}
+		return counts;
+	}
+}
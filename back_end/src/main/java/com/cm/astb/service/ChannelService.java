@@ -17,10 +17,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cm.astb.config.GoogleApiConfig;
 import com.cm.astb.entity.YouTubeChannel;
 import com.cm.astb.repository.YouTubeChannelRepository;
 import com.google.api.client.auth.oauth2.Credential;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Channel;
@@ -44,6 +45,11 @@ public class ChannelService {
 	private static final Logger logger = LoggerFactory.getLogger(ChannelService.class);
 	private final OAuthService oAuthService;
 	private final YouTubeChannelRepository youTubeChannelRepository;
+	private final QuotaBudgetManager quotaBudgetManager;
+	private final GoogleApiExecutor googleApiExecutor;
+	private final HttpTransport httpTransport;
+	private final DataApiResponseCache dataApiResponseCache;
+	private final GoogleApiConfig googleApiConfig;
 	
 	@Value("${youtube.cache.channel-info.expiration.minutes}")
 	private long channelInfoCacheExpirationMinutes;
@@ -51,9 +57,16 @@ public class ChannelService {
 	@Value("${youtube.api.key}")
     private String apiKey;
 	
-	public ChannelService(OAuthService oAuthService, YouTubeChannelRepository youTubeChannelRepository) {
+	public ChannelService(OAuthService oAuthService, YouTubeChannelRepository youTubeChannelRepository,
+			QuotaBudgetManager quotaBudgetManager, GoogleApiExecutor googleApiExecutor, HttpTransport httpTransport,
+			DataApiResponseCache dataApiResponseCache, GoogleApiConfig googleApiConfig) {
 		this.oAuthService = oAuthService;
 		this.youTubeChannelRepository = youTubeChannelRepository;
+		this.quotaBudgetManager = quotaBudgetManager;
+		this.googleApiExecutor = googleApiExecutor;
+		this.httpTransport = httpTransport;
+		this.dataApiResponseCache = dataApiResponseCache;
+		this.googleApiConfig = googleApiConfig;
 	}
 
     // =                             [신규] 영상 정보 조회 메소드                        =
@@ -61,7 +74,7 @@ public class ChannelService {
     public Video getVideoInfo(String videoId) throws IOException {
         logger.info("Fetching public video info for ID: {} using API Key.", videoId);
 
-        YouTube youtubeService = new YouTube.Builder(new NetHttpTransport(), new GsonFactory(), request -> {})
+        YouTube youtubeService = googleApiConfig.youTubeBuilder(httpTransport, new GsonFactory(), null)
                 .setApplicationName("ascen-tube-video-info")
                 .build();
         
@@ -71,7 +84,8 @@ public class ChannelService {
         request.setKey(apiKey);
         request.setId(Arrays.asList(videoId));
         
-        VideoListResponse response = request.execute();
+        quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.NORMAL);
+        VideoListResponse response = dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL, request).getResponse();
         
         if (response != null && !response.getItems().isEmpty()) {
             return response.getItems().get(0);
@@ -101,7 +115,14 @@ public class ChannelService {
 		YouTube youTube = oAuthService.getYouTubeService(credential);
 		YouTube.Channels.List request = youTube.channels().list(Arrays.asList("snippet", "statistics", "contentDetails"));
 		request.setId(Arrays.asList(channelId));
-		ChannelListResponse apiResponse = request.execute();
+		quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.CHANNELS_LIST, QuotaBudgetManager.Priority.NORMAL);
+		DataApiResponseCache.Result<ChannelListResponse> result = dataApiResponseCache.execute(userId, request);
+		ChannelListResponse apiResponse = result.getResponse();
+		if (result.isNotModified() && optionalCachedChannel.isPresent()) {
+			// 마지막 조회 이후 바뀐 것이 없으면 엔티티를 다시 매핑/저장하지 않고 갱신 시각만 남깁니다. (캐시 만료 기준)
+			youTubeChannelRepository.touchUpdatedAt(List.of(channelId), LocalDateTime.now());
+			return apiResponse;
+		}
 		
 		if (apiResponse != null && apiResponse.getItems() != null && !apiResponse.getItems().isEmpty()) {
 			Channel apiChannel = apiResponse.getItems().get(0);
@@ -112,35 +133,72 @@ public class ChannelService {
 				channelInfoToSave = new YouTubeChannel();
 				channelInfoToSave.setChannelId(apiChannel.getId());
 			}
-			channelInfoToSave.setTitle(apiChannel.getSnippet().getTitle());
-			channelInfoToSave.setDescription(apiChannel.getSnippet().getDescription());
-			if (apiChannel.getSnippet().getCustomUrl() != null) {
-				channelInfoToSave.setChannelCustomUrl(apiChannel.getSnippet().getCustomUrl());
-			} else {
-				channelInfoToSave.setChannelCustomUrl("https://www.youtube.com/channel/" + apiChannel.getId());
-			}
-			if (apiChannel.getSnippet().getThumbnails() != null) {
-				channelInfoToSave.setThumbnailUrl(apiChannel.getSnippet().getThumbnails().getDefault().getUrl());
-			}
-			if (apiChannel.getSnippet().getPublishedAt() != null) {
-				channelInfoToSave.setYoutubePublishedAt(
-						LocalDateTime.parse(apiChannel.getSnippet().getPublishedAt().toStringRfc3339().substring(0, 19))
-				);
-			}
-			if (apiChannel.getStatistics() != null) {
-				channelInfoToSave.setViewCount(apiChannel.getStatistics().getViewCount().longValue());
-				channelInfoToSave.setSubscriberCount(apiChannel.getStatistics().getSubscriberCount().longValue());
-				channelInfoToSave.setVideoCount(apiChannel.getStatistics().getVideoCount().longValue());
-			}
-			if (apiChannel.getContentDetails() != null && apiChannel.getContentDetails().getRelatedPlaylists() != null &&
-	                apiChannel.getContentDetails().getRelatedPlaylists().getUploads() != null) {
-	                channelInfoToSave.setUploadsPlaylistId(apiChannel.getContentDetails().getRelatedPlaylists().getUploads());
-	            }
+			applyChannelResource(channelInfoToSave, apiChannel);
 			youTubeChannelRepository.save(channelInfoToSave);
 		}
 		return apiResponse;
 	}
 
+	/**
+	 * 채널 ID 목록을 channels.list 한 번으로 조회합니다. (최대 50개)
+	 *
+	 * @param userId     API 호출에 사용할 사용자 Google ID
+	 * @param channelIds 조회할 채널 ID (최대 50개)
+	 * @param priority   쿼터 우선순위
+	 * @return 조회된 채널 리소스 (삭제/비공개 채널은 포함되지 않음)와, 같은 목록의 마지막 조회 이후 바뀐 것이 없는지(304) 여부
+	 */
+	public DataApiResponseCache.Result<List<Channel>> listChannels(String userId, List<String> channelIds, QuotaBudgetManager.Priority priority) throws IOException, GeneralSecurityException {
+		if (channelIds.isEmpty()) {
+			return DataApiResponseCache.Result.of(Collections.emptyList(), false);
+		}
+		if (channelIds.size() > 50) {
+			throw new IllegalArgumentException("channels.list accepts at most 50 IDs per request: " + channelIds.size());
+		}
+		Credential credential = oAuthService.getCredential(userId);
+		if (credential == null || credential.getAccessToken() == null) {
+			throw new GeneralSecurityException("OAuth 인증이 필요합니다. 사용자(" + userId + ")의 Credential이 유효하지 않습니다.");
+		}
+		YouTube youTube = oAuthService.getYouTubeService(credential);
+		YouTube.Channels.List request = youTube.channels().list(Arrays.asList("snippet", "statistics", "contentDetails"));
+		request.setId(channelIds);
+		request.setMaxResults(50L);
+		quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.CHANNELS_LIST, priority);
+		DataApiResponseCache.Result<ChannelListResponse> result = dataApiResponseCache.execute(userId, request);
+		ChannelListResponse response = result.getResponse();
+		return DataApiResponseCache.Result.of(
+				response != null && response.getItems() != null ? response.getItems() : Collections.emptyList(), result.isNotModified());
+	}
+
+	/**
+	 * channels.list 응답의 채널 리소스(snippet, statistics, contentDetails)를 TB_YT_CHANNEL 엔티티에 반영합니다.
+	 */
+	void applyChannelResource(YouTubeChannel channelInfoToSave, Channel apiChannel) {
+		channelInfoToSave.setTitle(apiChannel.getSnippet().getTitle());
+		channelInfoToSave.setDescription(apiChannel.getSnippet().getDescription());
+		if (apiChannel.getSnippet().getCustomUrl() != null) {
+			channelInfoToSave.setChannelCustomUrl(apiChannel.getSnippet().getCustomUrl());
+		} else {
+			channelInfoToSave.setChannelCustomUrl("https://www.youtube.com/channel/" + apiChannel.getId());
+		}
+		if (apiChannel.getSnippet().getThumbnails() != null) {
+			channelInfoToSave.setThumbnailUrl(apiChannel.getSnippet().getThumbnails().getDefault().getUrl());
+		}
+		if (apiChannel.getSnippet().getPublishedAt() != null) {
+			channelInfoToSave.setYoutubePublishedAt(
+					LocalDateTime.parse(apiChannel.getSnippet().getPublishedAt().toStringRfc3339().substring(0, 19))
+			);
+		}
+		if (apiChannel.getStatistics() != null) {
+			channelInfoToSave.setViewCount(apiChannel.getStatistics().getViewCount().longValue());
+			channelInfoToSave.setSubscriberCount(apiChannel.getStatistics().getSubscriberCount().longValue());
+			channelInfoToSave.setVideoCount(apiChannel.getStatistics().getVideoCount().longValue());
+		}
+		if (apiChannel.getContentDetails() != null && apiChannel.getContentDetails().getRelatedPlaylists() != null &&
+				apiChannel.getContentDetails().getRelatedPlaylists().getUploads() != null) {
+			channelInfoToSave.setUploadsPlaylistId(apiChannel.getContentDetails().getRelatedPlaylists().getUploads());
+		}
+	}
+
 	public List<Video> getLatestVideosFromChannel(String userId, ChannelListResponse response) throws IOException, GeneralSecurityException {
 		Credential credential = oAuthService.getCredential(userId);
 		if (credential == null || credential.getAccessToken() == null) {
@@ -157,7 +215,8 @@ public class ChannelService {
 		YouTube.PlaylistItems.List playListItems = youTube.playlistItems().list(Arrays.asList("snippet", "contentDetails"));
 		playListItems.setPlaylistId(uploadsPlaylistId);
 		playListItems.setMaxResults(5L);
-		PlaylistItemListResponse playlistItemListResponse = playListItems.execute();
+		quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.PLAYLIST_ITEMS_LIST, QuotaBudgetManager.Priority.NORMAL);
+		PlaylistItemListResponse playlistItemListResponse = dataApiResponseCache.execute(userId, playListItems).getResponse();
 		List<String> videoIds = playlistItemListResponse.getItems().stream()
                 .map(item -> item.getContentDetails().getVideoId())
                 .collect(Collectors.toList());
@@ -194,7 +253,8 @@ public class ChannelService {
 	    search.setMaxResults(5L);
 	    search.setChannelId(channelId);
 
-	    SearchListResponse searchResponse = search.execute();
+	    quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.SEARCH_LIST, QuotaBudgetManager.Priority.NORMAL);
+	    SearchListResponse searchResponse = googleApiExecutor.execute(search);
 	    List<String> videoIds = searchResponse.getItems().stream()
 	                                .map(item -> item.getId().getVideoId())
 	                                .collect(Collectors.toList());
@@ -232,7 +292,8 @@ public class ChannelService {
         YouTube youTube = oAuthService.getYouTubeService(credential);
         YouTube.Videos.List request = youTube.videos().list(Arrays.asList("statistics"));
         request.setId(Arrays.asList(String.join(",", videoIds)));
-        VideoListResponse response = request.execute();
+        quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.NORMAL);
+        VideoListResponse response = dataApiResponseCache.execute(userId, request).getResponse();
         return response.getItems().stream()
                 .filter(video -> video.getStatistics() != null)
                 .collect(Collectors.toMap(Video::getId, Video::getStatistics));
@@ -0,0 +1,207 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.entity.ChannelStat;
+import com.cm.astb.entity.User;
+import com.cm.astb.repository.ChannelStatRepository;
+import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 채널 누적 시청 시간(TB_CHANNEL_STATS.TOTAL_WATCH_TIME)을 관리합니다.
+ *
+ * 야간 수집에서는 전날까지의 누적값에 이미 수집한 일별 estimatedMinutesWatched 를 더해 누적값을 이어 갑니다.
+ * 채널 전체 기간을 합산하는 Analytics 쿼리는 기준점이 없을 때(첫 수집, 중간에 빈 날짜)와
+ * 주기적인 재계산 작업에서만 실행합니다. 재계산 작업은 저장된 누적값과의 차이(drift)를 로그와 메트릭으로 보고하고 보정합니다.
+ */
+@Service
+public class ChannelWatchTimeService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ChannelWatchTimeService.class);
+
+	/** 전체 기간 합산 쿼리의 시작일 (YouTube 서비스 시작 시점) */
+	private static final String FULL_HISTORY_START_DATE = "2005-01-01";
+
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	private final ChannelStatRepository channelStatRepository;
+	private final YoutubeAnalyticsService youtubeAnalyticsService;
+	private final UserService userService;
+	private final DataCollectionEngine dataCollectionEngine;
+	private final MeterRegistry meterRegistry;
+	private final CollectionShardLeaseService collectionShardLeaseService;
+
+	@Value("${youtube.data-collection.watch-time.reconcile-enabled:true}")
+	private boolean reconcileEnabled;
+
+	public ChannelWatchTimeService(ChannelStatRepository channelStatRepository, YoutubeAnalyticsService youtubeAnalyticsService,
+			UserService userService, DataCollectionEngine dataCollectionEngine, MeterRegistry meterRegistry,
+			CollectionShardLeaseService collectionShardLeaseService) {
+		this.channelStatRepository = channelStatRepository;
+		this.youtubeAnalyticsService = youtubeAnalyticsService;
+		this.userService = userService;
+		this.dataCollectionEngine = dataCollectionEngine;
+		this.meterRegistry = meterRegistry;
+		this.collectionShardLeaseService = collectionShardLeaseService;
+	}
+
+	/**
+	 * 새로 저장할 일별 채널 통계에 누적 시청 시간을 채웁니다.
+	 * 기준점(이전 날짜의 누적값)부터 날짜순으로 일별 시청 시간(분)을 더하며, 이미 저장된 행에 누적값이 있으면 그 값으로 다시 맞춥니다.
+	 * 기준점이 없거나 중간에 통계가 빠진 날짜가 있으면 그 전날까지의 누적값을 전체 기간 쿼리로 한 번 가져옵니다.
+	 * 전체 기간 쿼리가 실패하면 누적값을 비워 두며, 다음 수집에서 다시 기준점을 구합니다.
+	 *
+	 * @param googleId  사용자 Google ID
+	 * @param channelId 채널 ID
+	 * @param newStats  새로 저장할 일별 통계 (estimatedMinWatched 가 채워진 상태)
+	 */
+	public void applyCumulativeWatchTime(String googleId, String channelId, List<ChannelStat> newStats) {
+		if (newStats.isEmpty()) {
+			return;
+		}
+		List<ChannelStat> sortedStats = newStats.stream()
+				.sorted(Comparator.comparing(stat -> stat.getId().getStatsDate()))
+				.collect(Collectors.toList());
+		LocalDate firstDate = sortedStats.get(0).getId().getStatsDate().toLocalDate();
+		LocalDate lastDate = sortedStats.get(sortedStats.size() - 1).getId().getStatsDate().toLocalDate();
+
+		Optional<ChannelStat> anchor = channelStatRepository
+				.findTopById_ChannelIdAndId_StatsDateBeforeAndTotalWatchTimeIsNotNullOrderById_StatsDateDesc(channelId, firstDate.atStartOfDay());
+
+		// 기준점 다음 날부터 마지막 날짜까지, 저장된 행과 새 행을 날짜별로 모읍니다.
+		LocalDate fromDate = anchor.map(stat -> stat.getId().getStatsDate().toLocalDate().plusDays(1)).orElse(firstDate);
+		Map<LocalDate, ChannelStat> storedByDate = new HashMap<>();
+		for (ChannelStat stored : channelStatRepository.findById_ChannelIdAndId_StatsDateBetween(channelId,
+				fromDate.atStartOfDay(), lastDate.atStartOfDay())) {
+			storedByDate.put(stored.getId().getStatsDate().toLocalDate(), stored);
+		}
+		Map<LocalDate, ChannelStat> newByDate = new HashMap<>();
+		for (ChannelStat stat : sortedStats) {
+			newByDate.put(stat.getId().getStatsDate().toLocalDate(), stat);
+		}
+
+		Long runningTotal = anchor.map(ChannelStat::getTotalWatchTime).orElse(null);
+		int fullQueries = 0;
+		for (LocalDate date = fromDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+			ChannelStat newStat = newByDate.get(date);
+			ChannelStat stored = storedByDate.get(date);
+
+			if (newStat == null) {
+				if (stored == null) {
+					runningTotal = null; // 통계가 빠진 날짜: 다음 새 행에서 기준점을 다시 구합니다.
+				} else if (stored.getTotalWatchTime() != null) {
+					runningTotal = stored.getTotalWatchTime();
+				} else if (runningTotal != null) {
+					runningTotal += stored.getEstimatedMinWatched();
+				}
+				continue;
+			}
+
+			if (runningTotal == null) {
+				fullQueries++;
+				runningTotal = fetchFullHistoryWatchTime(googleId, channelId, date.minusDays(1));
+			}
+			if (runningTotal != null) {
+				runningTotal += newStat.getEstimatedMinWatched();
+			}
+			newStat.setTotalWatchTime(runningTotal);
+		}
+		logger.info("Cumulative watch time for channel {} rolled forward over {} new day(s) ({} ~ {}), full-history queries: {}, latest total: {} minutes.",
+				channelId, sortedStats.size(), firstDate.format(FORMATTER), lastDate.format(FORMATTER), fullQueries,
+				sortedStats.get(sortedStats.size() - 1).getTotalWatchTime());
+	}
+
+	/**
+	 * 모든 채널의 누적 시청 시간을 전체 기간 쿼리로 다시 계산해 저장된 값과 비교합니다. (기본: 매주 일요일 새벽)
+	 * 차이는 youtube.watch_time.drift 메트릭과 로그로 보고하고, 가장 최근 행의 누적값을 전체 기간 합산값으로 보정합니다.
+	 * 이후 야간 수집은 보정된 값부터 누적을 이어 갑니다.
+	 */
+	@Scheduled(cron = "${youtube.data-collection.watch-time.reconcile-cron:0 0 5 * * SUN}", zone = "Asia/Seoul")
+	public void reconcileCumulativeWatchTime() {
+		if (!reconcileEnabled) {
+			return;
+		}
+		List<User> targetUsers = collectionShardLeaseService.filterOwnedUsers(userService.findAllUsers().stream()
+				.filter(user -> user.getMyChannelId() != null && !user.getMyChannelId().isEmpty())
+				.collect(Collectors.toList()));
+		if (targetUsers.isEmpty()) {
+			return;
+		}
+		dataCollectionEngine.runForUsers("watch-time-reconciliation", targetUsers,
+				user -> reconcile(user.getGoogleId(), user.getMyChannelId()));
+	}
+
+	private void reconcile(String googleId, String channelId) throws IOException, GeneralSecurityException {
+		Optional<ChannelStat> latest = channelStatRepository.findTopById_ChannelIdAndTotalWatchTimeIsNotNullOrderById_StatsDateDesc(channelId);
+		if (latest.isEmpty()) {
+			logger.debug("No cumulative watch time stored for channel {}. Skipping reconciliation.", channelId);
+			return;
+		}
+		ChannelStat latestStat = latest.get();
+		LocalDate statsDate = latestStat.getId().getStatsDate().toLocalDate();
+		Long actualTotal = queryFullHistoryWatchTime(googleId, channelId, statsDate);
+		if (actualTotal == null) {
+			logger.warn("No full-history watch time returned for channel {} up to {}. Skipping reconciliation.", channelId, statsDate.format(FORMATTER));
+			return;
+		}
+
+		long storedTotal = latestStat.getTotalWatchTime();
+		long drift = actualTotal - storedTotal;
+		meterRegistry.summary("youtube.watch_time.drift").record(Math.abs(drift));
+		if (drift == 0) {
+			logger.info("Cumulative watch time of channel {} on {} matches full history ({} minutes).", channelId,
+					statsDate.format(FORMATTER), storedTotal);
+			return;
+		}
+
+		double driftPercent = actualTotal != 0 ? drift * 100.0 / actualTotal : 100.0;
+		logger.warn("Cumulative watch time drift for channel {} on {}: stored {} minutes, full history {} minutes, drift {} minutes ({}%). Correcting stored value.",
+				channelId, statsDate.format(FORMATTER), storedTotal, actualTotal, drift, String.format("%.2f", driftPercent));
+		meterRegistry.counter("youtube.watch_time.drift.corrected").increment();
+		latestStat.setTotalWatchTime(actualTotal);
+		channelStatRepository.save(latestStat);
+	}
+
+	// 기준점을 구하기 위한 전체 기간 쿼리. 실패하면 null 을 반환하고 누적값을 비워 둡니다.
+	private Long fetchFullHistoryWatchTime(String googleId, String channelId, LocalDate endDate) {
+		try {
+			Long total = queryFullHistoryWatchTime(googleId, channelId, endDate);
+			if (total == null) {
+				logger.warn("No cumulative total watch time data found for channel {} up to {}. Treating as 0.", channelId, endDate.format(FORMATTER));
+				return 0L;
+			}
+			logger.info("Retrieved cumulative total watch time for channel {} up to {}: {} minutes", channelId, endDate.format(FORMATTER), total);
+			return total;
+		} catch (Exception e) {
+			logger.warn("Failed to fetch cumulative total watch time for channel {} up to {}: {}", channelId, endDate.format(FORMATTER), e.getMessage());
+			return null;
+		}
+	}
+
+	private Long queryFullHistoryWatchTime(String googleId, String channelId, LocalDate endDate) throws IOException, GeneralSecurityException {
+		QueryResponse response = youtubeAnalyticsService.getChannelCumulativeWatchTime(googleId, FULL_HISTORY_START_DATE,
+				endDate.format(FORMATTER), channelId);
+		if (response == null || response.getRows() == null || response.getRows().isEmpty()) {
+			return null;
+		}
+		Object rawValue = response.getRows().get(0).get(0);
+		return rawValue instanceof Number number ? number.longValue() : null;
+	}
+}
@@ -0,0 +1,24 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+
+/**
+ * Google API 호출이 연속으로 실패해 해당 API의 서킷 브레이커가 열려 있을 때, 호출하지 않고 바로 던지는 예외.
+ * 기존 API 호출 메서드들이 IOException을 선언하고 있으므로 IOException을 상속합니다.
+ * 수집 작업은 다른 실패와 같이 처리하며, 서킷이 닫힌 뒤 다음 실행(또는 재개 작업)에서 다시 시도합니다.
+ */
+public class CircuitOpenException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final GoogleApiExecutor.Api api;
+
+	public CircuitOpenException(String message, GoogleApiExecutor.Api api) {
+		super(message);
+		this.api = api;
+	}
+
+	public GoogleApiExecutor.Api getApi() {
+		return api;
+	}
+}
@@ -0,0 +1,266 @@
+package com.cm.astb.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.entity.CollectionJobStatus;
+import com.cm.astb.entity.CollectionPhase;
+import com.cm.astb.entity.User;
+import com.cm.astb.repository.CollectionJobItemRepository;
+import com.cm.astb.repository.CollectionJobRepository;
+
+/**
+ * 수집 작업(TB_COLLECTION_JOB)과 사용자별 단계 체크포인트(TB_COLLECTION_JOB_ITEM)를 관리합니다.
+ * completePhase는 호출한 쪽의 단계 트랜잭션에 참여하므로, 단계에서 저장한 데이터와 체크포인트가 함께 커밋됩니다.
+ */
+@Service
+public class CollectionJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CollectionJobService.class);
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final CollectionJobRepository collectionJobRepository;
+	private final CollectionJobItemRepository collectionJobItemRepository;
+
+	@Value("${youtube.data-collection.jobs.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${youtube.data-collection.jobs.resume-window-days:2}")
+	private int resumeWindowDays;
+
+	public CollectionJobService(CollectionJobRepository collectionJobRepository,
+			CollectionJobItemRepository collectionJobItemRepository) {
+		this.collectionJobRepository = collectionJobRepository;
+		this.collectionJobItemRepository = collectionJobItemRepository;
+	}
+
+	/**
+	 * 같은 이름/기준 날짜의 작업이 있으면 그 작업을 이어서 사용하고, 없으면 새로 만듭니다.
+	 * 작업에 아직 항목이 없는 사용자는 CHANNEL_STATS 단계부터 시작하는 항목으로 추가됩니다.
+	 *
+	 * @param jobName    작업 이름 (예: daily-collection)
+	 * @param targetDate 분석 데이터 기준 날짜
+	 * @param users      수집 대상 사용자
+	 * @return 실행할 작업
+	 */
+	@Transactional
+	public CollectionJob openJob(String jobName, LocalDate targetDate, List<User> users) {
+		CollectionJob job = collectionJobRepository.findTopByJobNameAndTargetDateOrderByJobIdDesc(jobName, targetDate)
+				.orElse(null);
+		if (job == null) {
+			job = collectionJobRepository.save(CollectionJob.builder()
+					.jobName(jobName)
+					.targetDate(targetDate)
+					.status(CollectionJobStatus.PENDING)
+					.build());
+			logger.info("Created collection job {} ({}, target date {}) for {} users.", job.getJobId(), jobName, targetDate, users.size());
+		} else {
+			logger.info("Resuming collection job {} ({}, target date {}, status {}).", job.getJobId(), jobName, targetDate, job.getStatus());
+		}
+
+		Long jobId = job.getJobId();
+		Set<String> knownGoogleIds = collectionJobItemRepository.findByJobIdOrderByItemIdAsc(jobId).stream()
+				.map(CollectionJobItem::getGoogleId)
+				.collect(Collectors.toCollection(HashSet::new));
+		List<CollectionJobItem> newItems = users.stream()
+				.filter(user -> !knownGoogleIds.contains(user.getGoogleId()))
+				.map(user -> CollectionJobItem.builder()
+						.jobId(jobId)
+						.googleId(user.getGoogleId())
+						.channelId(user.getMyChannelId())
+						.phase(CollectionPhase.CHANNEL_STATS)
+						.status(CollectionJobStatus.PENDING)
+						.attempts(0)
+						.build())
+				.collect(Collectors.toList());
+		if (!newItems.isEmpty()) {
+			collectionJobItemRepository.saveAll(newItems);
+			if (job.getStatus() == CollectionJobStatus.COMPLETED) {
+				job.setStatus(CollectionJobStatus.PENDING);
+				collectionJobRepository.save(job);
+			}
+		}
+		return job;
+	}
+
+	/**
+	 * 실행할 항목(완료되지 않았고 재시도 횟수가 남은 항목)을 조회합니다.
+	 */
+	@Transactional(readOnly = true)
+	public List<CollectionJobItem> findRunnableItems(Long jobId) {
+		return collectionJobItemRepository.findByJobIdAndStatusNotOrderByItemIdAsc(jobId, CollectionJobStatus.COMPLETED).stream()
+				.filter(item -> item.getAttempts() < maxAttempts)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * 이어서 실행해야 하는 작업(RUNNING 상태로 중단되었거나, 재시도 가능한 항목이 남은 FAILED 작업)을 조회합니다.
+	 * 기준 날짜가 resume-window-days 보다 오래된 작업은 제외합니다.
+	 */
+	@Transactional(readOnly = true)
+	public List<CollectionJob> findResumableJobs() {
+		LocalDate oldestTargetDate = LocalDate.now().minusDays(resumeWindowDays);
+		return collectionJobRepository.findByStatusInAndTargetDateGreaterThanEqualOrderByJobIdAsc(
+				List.of(CollectionJobStatus.PENDING, CollectionJobStatus.RUNNING, CollectionJobStatus.FAILED), oldestTargetDate)
+				.stream()
+				.filter(job -> !findRunnableItems(job.getJobId()).isEmpty())
+				.collect(Collectors.toList());
+	}
+
+	@Transactional(readOnly = true)
+	public CollectionJob getJob(Long jobId) {
+		return collectionJobRepository.findById(jobId)
+				.orElseThrow(() -> new IllegalArgumentException("Collection job not found: " + jobId));
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<CollectionJob> findLatestJob(String jobName) {
+		return collectionJobRepository.findTopByJobNameOrderByJobIdDesc(jobName);
+	}
+
+	@Transactional(readOnly = true)
+	public boolean hasJob(String jobName, LocalDate targetDate) {
+		return collectionJobRepository.existsByJobNameAndTargetDate(jobName, targetDate);
+	}
+
+	@Transactional(readOnly = true)
+	public boolean hasJobWithPrefix(String jobNamePrefix, LocalDate targetDate) {
+		return collectionJobRepository.existsByJobNameStartingWithAndTargetDate(jobNamePrefix, targetDate);
+	}
+
+	/**
+	 * 작업 또는 항목이 마지막으로 갱신된 시각. (다른 노드에서 실행 중인지 판단할 때 사용)
+	 */
+	@Transactional(readOnly = true)
+	public LocalDateTime findLastActivityAt(Long jobId) {
+		LocalDateTime lastActivityAt = getJob(jobId).getUpdatedAt();
+		for (CollectionJobItem item : collectionJobItemRepository.findByJobIdOrderByItemIdAsc(jobId)) {
+			if (item.getUpdatedAt() != null && (lastActivityAt == null || item.getUpdatedAt().isAfter(lastActivityAt))) {
+				lastActivityAt = item.getUpdatedAt();
+			}
+		}
+		return lastActivityAt;
+	}
+
+	@Transactional(readOnly = true)
+	public List<CollectionJob> findRecentJobs() {
+		return collectionJobRepository.findTop20ByOrderByJobIdDesc();
+	}
+
+	@Transactional(readOnly = true)
+	public List<CollectionJobItem> findItems(Long jobId) {
+		return collectionJobItemRepository.findByJobIdOrderByItemIdAsc(jobId);
+	}
+
+	@Transactional
+	public void markJobRunning(Long jobId) {
+		CollectionJob job = getJob(jobId);
+		job.setStatus(CollectionJobStatus.RUNNING);
+		job.setStartedAt(LocalDateTime.now());
+		job.setFinishedAt(null);
+		collectionJobRepository.save(job);
+	}
+
+	/**
+	 * 남은 항목이 없으면 COMPLETED, 있으면 FAILED로 작업을 마칩니다.
+	 */
+	@Transactional
+	public CollectionJob finishJob(Long jobId) {
+		CollectionJob job = getJob(jobId);
+		long unfinishedItems = collectionJobItemRepository.countByJobIdAndStatusNot(jobId, CollectionJobStatus.COMPLETED);
+		job.setStatus(unfinishedItems == 0 ? CollectionJobStatus.COMPLETED : CollectionJobStatus.FAILED);
+		job.setFinishedAt(LocalDateTime.now());
+		logger.info("Collection job {} finished with status {} ({} unfinished items).", jobId, job.getStatus(), unfinishedItems);
+		return collectionJobRepository.save(job);
+	}
+
+	@Transactional
+	public void markItemRunning(CollectionJobItem item) {
+		CollectionJobItem managed = getItem(item.getItemId());
+		managed.setStatus(CollectionJobStatus.RUNNING);
+		managed.setAttempts(managed.getAttempts() + 1);
+		managed.setStartedAt(LocalDateTime.now());
+		collectionJobItemRepository.save(managed);
+		copyProgress(managed, item);
+	}
+
+	/**
+	 * 한 단계가 끝났음을 기록합니다. 다음 단계가 DONE이면 항목을 COMPLETED로 바꿉니다.
+	 * 단계 데이터를 모두 저장한 뒤 호출합니다.
+	 */
+	@Transactional
+	public void completePhase(CollectionJobItem item, CollectionPhase completedPhase) {
+		CollectionJobItem managed = getItem(item.getItemId());
+		managed.setPhase(completedPhase.next());
+		if (managed.getPhase() == CollectionPhase.DONE) {
+			managed.setStatus(CollectionJobStatus.COMPLETED);
+			managed.setLastError(null);
+			managed.setFinishedAt(LocalDateTime.now());
+		}
+		collectionJobItemRepository.save(managed);
+		copyProgress(managed, item);
+	}
+
+	@Transactional
+	public void markItemFailed(CollectionJobItem item, String errorMessage) {
+		CollectionJobItem managed = getItem(item.getItemId());
+		managed.setStatus(CollectionJobStatus.FAILED);
+		managed.setLastError(errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+				? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage);
+		managed.setFinishedAt(LocalDateTime.now());
+		collectionJobItemRepository.save(managed);
+		copyProgress(managed, item);
+	}
+
+	/**
+	 * 관리자 재시작: 완료되지 않은 항목의 재시도 횟수와 오류를 초기화합니다.
+	 * fromScratch가 true이면 완료된 항목까지 모두 CHANNEL_STATS 단계부터 다시 실행합니다.
+	 */
+	@Transactional
+	public CollectionJob resetJob(Long jobId, boolean fromScratch) {
+		CollectionJob job = getJob(jobId);
+		List<CollectionJobItem> items = collectionJobItemRepository.findByJobIdOrderByItemIdAsc(jobId);
+		for (CollectionJobItem item : items) {
+			if (!fromScratch && item.getStatus() == CollectionJobStatus.COMPLETED) {
+				continue;
+			}
+			if (fromScratch) {
+				item.setPhase(CollectionPhase.CHANNEL_STATS);
+			}
+			item.setStatus(CollectionJobStatus.PENDING);
+			item.setAttempts(0);
+			item.setLastError(null);
+			item.setFinishedAt(null);
+		}
+		collectionJobItemRepository.saveAll(items);
+		job.setStatus(CollectionJobStatus.PENDING);
+		logger.info("Collection job {} reset for restart (fromScratch={}).", jobId, fromScratch);
+		return collectionJobRepository.save(job);
+	}
+
+	private CollectionJobItem getItem(Long itemId) {
+		return collectionJobItemRepository.findById(itemId)
+				.orElseThrow(() -> new IllegalArgumentException("Collection job item not found: " + itemId));
+	}
+
+	private void copyProgress(CollectionJobItem source, CollectionJobItem target) {
+		target.setPhase(source.getPhase());
+		target.setStatus(source.getStatus());
+		target.setAttempts(source.getAttempts());
+		target.setLastError(source.getLastError());
+	}
+}
@@ -0,0 +1,298 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cm.astb.dto.CollectionProgressDto;
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.entity.CollectionJobStatus;
+import com.cm.astb.entity.CollectionPhase;
+
+/**
+ * 첫 로그인 수집 작업의 진행 상황을 사용자(googleId)별로 추적하고, 폴링/SSE 구독자에게 전달합니다.
+ * 단계/상태는 TB_COLLECTION_JOB_ITEM에도 체크포인트되지만, 비디오 단위 진행률과 남은 시간은 이 인스턴스의 메모리에만 유지됩니다.
+ * 등록되지 않은 사용자(야간 배치 등)에 대한 보고는 무시합니다.
+ */
+@Service
+public class CollectionProgressService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CollectionProgressService.class);
+
+	static final String FIRST_LOGIN_JOB_PREFIX = "first-login-";
+
+	/** 전체 진행률에서 각 단계가 차지하는 비율(%). 비디오 수에 비례하는 단계에 큰 비중을 둡니다. */
+	private static final Map<CollectionPhase, Integer> PHASE_WEIGHTS = Map.of(
+			CollectionPhase.CHANNEL_STATS, 10,
+			CollectionPhase.VIDEO_METADATA, 25,
+			CollectionPhase.VIDEO_STATS, 25,
+			CollectionPhase.VIDEO_BREAKDOWN, 30,
+			CollectionPhase.DASHBOARD, 10);
+
+	private static final int TOTAL_PHASES = CollectionPhase.DONE.ordinal();
+
+	/**
+	 * 사용자 한 명의 진행 상황. 수집 스레드와 API 스레드에서 함께 갱신하므로 메서드 단위로 동기화합니다.
+	 */
+	private static class Progress {
+		final Long jobId;
+		final String googleId;
+		final String channelId;
+		CollectionJobStatus status;
+		CollectionPhase phase;
+		int processedVideos;
+		int totalVideos;
+		boolean videoPhase;
+		LocalDateTime startedAt;
+		LocalDateTime updatedAt = LocalDateTime.now();
+		String lastError;
+
+		Progress(Long jobId, String googleId, String channelId) {
+			this.jobId = jobId;
+			this.googleId = googleId;
+			this.channelId = channelId;
+		}
+	}
+
+	private final CollectionJobService collectionJobService;
+	private final Map<String, Progress> progressByGoogleId = new ConcurrentHashMap<>();
+	private final Map<String, List<SseEmitter>> emittersByGoogleId = new ConcurrentHashMap<>();
+
+	@Value("${youtube.data-collection.progress.retention-minutes:60}")
+	private long retentionMinutes;
+
+	@Value("${youtube.data-collection.progress.sse-timeout-ms:1800000}")
+	private long sseTimeoutMillis;
+
+	public CollectionProgressService(CollectionJobService collectionJobService) {
+		this.collectionJobService = collectionJobService;
+	}
+
+	static String firstLoginJobName(String googleId) {
+		return FIRST_LOGIN_JOB_PREFIX + googleId;
+	}
+
+	/**
+	 * 첫 로그인 수집 작업 항목을 추적 대상으로 등록합니다. 항목에 체크포인트된 단계/상태에서 시작합니다.
+	 */
+	public void register(CollectionJobItem item) {
+		removeExpired();
+		Progress progress = new Progress(item.getJobId(), item.getGoogleId(), item.getChannelId());
+		progress.status = item.getStatus() == CollectionJobStatus.COMPLETED ? CollectionJobStatus.COMPLETED : CollectionJobStatus.PENDING;
+		progress.phase = item.getPhase();
+		progressByGoogleId.put(item.getGoogleId(), progress);
+		publish(progress);
+	}
+
+	public void itemStarted(String googleId) {
+		update(googleId, progress -> {
+			progress.status = CollectionJobStatus.RUNNING;
+			progress.startedAt = LocalDateTime.now();
+			progress.lastError = null;
+		});
+	}
+
+	public void phaseStarted(String googleId, CollectionPhase phase) {
+		update(googleId, progress -> {
+			progress.phase = phase;
+			progress.videoPhase = false;
+			progress.processedVideos = 0;
+			progress.totalVideos = 0;
+		});
+	}
+
+	public void phaseCompleted(String googleId, CollectionPhase phase) {
+		update(googleId, progress -> {
+			progress.phase = phase.next();
+			progress.videoPhase = false;
+		});
+	}
+
+	/**
+	 * 비디오 단위 단계의 진행 상황(처리한 비디오 수 / 전체 비디오 수)을 보고합니다.
+	 */
+	public void videoProgress(String googleId, int processedVideos, int totalVideos) {
+		update(googleId, progress -> {
+			progress.videoPhase = true;
+			progress.processedVideos = Math.min(processedVideos, totalVideos);
+			progress.totalVideos = totalVideos;
+		});
+	}
+
+	/**
+	 * 비디오 단위 단계에서 처리한 비디오 수를 더합니다. (배치가 끝날 때마다 API 스레드에서 호출)
+	 */
+	public void videosProcessed(String googleId, int count) {
+		update(googleId, progress -> progress.processedVideos = Math.min(progress.processedVideos + count, progress.totalVideos));
+	}
+
+	public void itemFinished(String googleId, CollectionJobStatus status, String errorMessage) {
+		update(googleId, progress -> {
+			progress.status = status;
+			progress.lastError = errorMessage;
+			if (status == CollectionJobStatus.COMPLETED) {
+				progress.phase = CollectionPhase.DONE;
+			}
+		});
+	}
+
+	/**
+	 * 사용자의 첫 로그인 수집 진행 상황을 조회합니다.
+	 * 메모리에 없으면(다른 인스턴스에서 실행 중이거나 재시작 후 이어서 실행된 작업) 체크포인트된 단계로 진행률을 계산합니다.
+	 */
+	public Optional<CollectionProgressDto> getProgress(String googleId) {
+		Progress progress = progressByGoogleId.get(googleId);
+		if (progress != null) {
+			synchronized (progress) {
+				return Optional.of(toDto(progress));
+			}
+		}
+		return collectionJobService.findLatestJob(firstLoginJobName(googleId))
+				.flatMap(job -> collectionJobService.findItems(job.getJobId()).stream()
+						.filter(item -> googleId.equals(item.getGoogleId()))
+						.findFirst()
+						.map(item -> toDto(job, item)));
+	}
+
+	/**
+	 * 진행 상황 SSE 구독을 등록합니다. 현재 상태를 바로 한 번 보내고, 이후 변경될 때마다 "progress" 이벤트를 보냅니다.
+	 * 작업이 끝나면 마지막 상태를 보낸 뒤 스트림을 닫습니다.
+	 */
+	public SseEmitter subscribe(String googleId) {
+		SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+		List<SseEmitter> emitters = emittersByGoogleId.computeIfAbsent(googleId, key -> new CopyOnWriteArrayList<>());
+		emitters.add(emitter);
+		emitter.onCompletion(() -> emitters.remove(emitter));
+		emitter.onTimeout(() -> emitters.remove(emitter));
+		emitter.onError(error -> emitters.remove(emitter));
+
+		Optional<CollectionProgressDto> current = getProgress(googleId);
+		if (current.isPresent()) {
+			send(emitter, current.get());
+		}
+		return emitter;
+	}
+
+	private void update(String googleId, Consumer<Progress> change) {
+		Progress progress = progressByGoogleId.get(googleId);
+		if (progress == null) {
+			return;
+		}
+		synchronized (progress) {
+			change.accept(progress);
+			progress.updatedAt = LocalDateTime.now();
+		}
+		publish(progress);
+	}
+
+	private void publish(Progress progress) {
+		List<SseEmitter> emitters = emittersByGoogleId.get(progress.googleId);
+		if (emitters == null || emitters.isEmpty()) {
+			return;
+		}
+		CollectionProgressDto dto;
+		synchronized (progress) {
+			dto = toDto(progress);
+		}
+		for (SseEmitter emitter : emitters) {
+			send(emitter, dto);
+		}
+	}
+
+	private void send(SseEmitter emitter, CollectionProgressDto dto) {
+		try {
+			emitter.send(SseEmitter.event().name("progress").data(dto));
+			if (isFinished(dto.getStatus())) {
+				emitter.complete();
+			}
+		} catch (IOException | IllegalStateException e) {
+			// 클라이언트가 연결을 끊은 경우
+			logger.debug("Dropping collection progress subscriber of user {}: {}", dto.getGoogleId(), e.getMessage());
+			emitter.completeWithError(e);
+		}
+	}
+
+	private CollectionProgressDto toDto(Progress progress) {
+		int percent = progressPercent(progress.phase, progress.videoPhase && progress.totalVideos > 0
+				? (double) progress.processedVideos / progress.totalVideos : 0.0);
+		Long remainingSeconds = null;
+		if (progress.status == CollectionJobStatus.RUNNING && progress.startedAt != null && percent > 0 && percent < 100) {
+			long elapsedSeconds = Duration.between(progress.startedAt, LocalDateTime.now()).getSeconds();
+			remainingSeconds = elapsedSeconds * (100 - percent) / percent;
+		}
+		return CollectionProgressDto.builder()
+				.jobId(progress.jobId)
+				.googleId(progress.googleId)
+				.channelId(progress.channelId)
+				.status(progress.status)
+				.phase(progress.phase)
+				.completedPhases(progress.phase.ordinal())
+				.totalPhases(TOTAL_PHASES)
+				.processedVideos(progress.videoPhase ? progress.processedVideos : null)
+				.totalVideos(progress.videoPhase ? progress.totalVideos : null)
+				.progressPercent(percent)
+				.estimatedRemainingSeconds(remainingSeconds)
+				.startedAt(progress.startedAt)
+				.updatedAt(progress.updatedAt)
+				.lastError(progress.lastError)
+				.build();
+	}
+
+	private CollectionProgressDto toDto(CollectionJob job, CollectionJobItem item) {
+		return CollectionProgressDto.builder()
+				.jobId(job.getJobId())
+				.googleId(item.getGoogleId())
+				.channelId(item.getChannelId())
+				.status(item.getStatus())
+				.phase(item.getPhase())
+				.completedPhases(item.getPhase().ordinal())
+				.totalPhases(TOTAL_PHASES)
+				.progressPercent(progressPercent(item.getPhase(), 0.0))
+				.startedAt(item.getStartedAt())
+				.updatedAt(item.getUpdatedAt())
+				.lastError(item.getLastError())
+				.build();
+	}
+
+	// 끝난 단계들의 비중 + 현재 단계 비중 × 단계 안의 진행률
+	private static int progressPercent(CollectionPhase phase, double phaseFraction) {
+		if (phase == CollectionPhase.DONE) {
+			return 100;
+		}
+		int percent = 0;
+		for (CollectionPhase completed : CollectionPhase.values()) {
+			if (completed.ordinal() >= phase.ordinal()) {
+				break;
+			}
+			percent += PHASE_WEIGHTS.get(completed);
+		}
+		return (int) Math.min(99, percent + Math.round(PHASE_WEIGHTS.get(phase) * phaseFraction));
+	}
+
+	private static boolean isFinished(CollectionJobStatus status) {
+		return status == CollectionJobStatus.COMPLETED || status == CollectionJobStatus.FAILED;
+	}
+
+	// 끝난 지 retention-minutes 가 지난 진행 상황은 메모리에서 제거합니다. (이후 조회는 DB 체크포인트로 응답)
+	private void removeExpired() {
+		LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+		progressByGoogleId.values().removeIf(progress -> {
+			synchronized (progress) {
+				return isFinished(progress.status) && progress.updatedAt.isBefore(threshold);
+			}
+		});
+	}
+}
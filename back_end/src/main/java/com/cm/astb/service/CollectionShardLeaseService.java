@@ -0,0 +1,252 @@
+package com.cm.astb.service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cm.astb.entity.CollectionShardLease;
+import com.cm.astb.entity.User;
+import com.cm.astb.repository.CollectionShardLeaseRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 여러 인스턴스(노드)가 예약 수집을 나눠 실행하도록 TB_COLLECTION_SHARD_LEASE 로 샤드 임대를 관리합니다.
+ *
+ * 사용자는 Google ID 해시로 shard-count 개의 샤드에 나뉩니다. 각 노드는 heartbeat 마다 가진 샤드의 임대를 연장하고,
+ * 살아 있는 노드 수로 나눈 몫(fair share)만큼 비어 있거나 만료된 샤드를 가져가며, 몫보다 많이 가진 샤드는 반납합니다.
+ * 노드가 죽으면 lease-seconds 뒤 임대가 만료되어 남은 노드가 그 샤드를 이어받습니다.
+ * 임대 획득/연장은 조건부 UPDATE 한 번으로 처리하므로 같은 샤드를 두 노드가 동시에 가질 수 없습니다.
+ *
+ * heartbeat 는 예약 작업 스레드와 별도의 스레드에서 실행되므로, 몇 시간씩 걸리는 야간 수집 중에도 임대가 유지됩니다.
+ * 노드 간 시계 차이는 lease-seconds 보다 충분히 작아야 합니다.
+ * sharding.enabled=false(기본)이면 단일 인스턴스로 보고 모든 사용자를 이 노드가 처리합니다.
+ */
+@Service
+public class CollectionShardLeaseService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CollectionShardLeaseService.class);
+
+	/** 전체 사용자 대상이 아닌 단일 작업(채널 정보 갱신 등)은 이 샤드를 가진 노드가 실행합니다. */
+	private static final int COORDINATOR_SHARD = 0;
+
+	private final CollectionShardLeaseRepository collectionShardLeaseRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	/** 이 노드가 가진 샤드와 임대 만료 시각 */
+	private final Map<Integer, LocalDateTime> ownedShards = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService heartbeatExecutor;
+
+	@Value("${youtube.data-collection.sharding.enabled:false}")
+	private boolean enabled;
+
+	@Value("${youtube.data-collection.sharding.shard-count:16}")
+	private int shardCount;
+
+	@Value("${youtube.data-collection.sharding.lease-seconds:120}")
+	private long leaseSeconds;
+
+	@Value("${youtube.data-collection.sharding.heartbeat-seconds:30}")
+	private long heartbeatSeconds;
+
+	@Value("${youtube.data-collection.sharding.node-id:}")
+	private String nodeId;
+
+	public CollectionShardLeaseService(CollectionShardLeaseRepository collectionShardLeaseRepository,
+			PlatformTransactionManager transactionManager) {
+		this.collectionShardLeaseRepository = collectionShardLeaseRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		if (nodeId == null || nodeId.isBlank()) {
+			nodeId = defaultNodeId();
+		}
+		LocalDateTime now = LocalDateTime.now();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+				collectionShardLeaseRepository.insertIfAbsent(shardNo, now);
+			}
+		});
+
+		heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "shard-lease-heartbeat");
+			thread.setDaemon(true);
+			return thread;
+		});
+		heartbeatExecutor.scheduleWithFixedDelay(this::heartbeatSafely, 0, heartbeatSeconds, TimeUnit.SECONDS);
+		logger.info("Collection sharding enabled: node {}, {} shards, lease {}s, heartbeat {}s.", nodeId, shardCount,
+				leaseSeconds, heartbeatSeconds);
+	}
+
+	/**
+	 * 종료 시 가진 샤드를 반납해, 다른 노드가 임대 만료를 기다리지 않고 바로 이어받게 합니다.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (heartbeatExecutor == null) {
+			return;
+		}
+		heartbeatExecutor.shutdownNow();
+		for (Integer shardNo : Set.copyOf(ownedShards.keySet())) {
+			release(shardNo);
+		}
+		logger.info("Node {} released its collection shards.", nodeId);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int shardOf(String googleId) {
+		return Math.floorMod(googleId.hashCode(), shardCount);
+	}
+
+	/**
+	 * 이 노드가 샤드의 유효한 임대를 가지고 있는지 확인합니다.
+	 */
+	public boolean ownsShard(int shardNo) {
+		if (!enabled) {
+			return true;
+		}
+		LocalDateTime leaseUntil = ownedShards.get(shardNo);
+		return leaseUntil != null && leaseUntil.isAfter(LocalDateTime.now());
+	}
+
+	/**
+	 * 이 노드가 사용자의 예약 수집을 실행해야 하는지 확인합니다.
+	 */
+	public boolean ownsUser(String googleId) {
+		return !enabled || ownsShard(shardOf(googleId));
+	}
+
+	/**
+	 * 이 노드가 가진 샤드에 속한 사용자만 남깁니다.
+	 */
+	public List<User> filterOwnedUsers(List<User> users) {
+		if (!enabled) {
+			return users;
+		}
+		return users.stream().filter(user -> ownsUser(user.getGoogleId())).collect(Collectors.toList());
+	}
+
+	/**
+	 * 전체 대상이 하나뿐인 예약 작업을 이 노드가 실행해야 하는지 확인합니다.
+	 */
+	public boolean isCoordinator() {
+		return ownsShard(COORDINATOR_SHARD);
+	}
+
+	/**
+	 * 이 노드가 현재 가진 샤드 번호 (오름차순). 샤딩이 꺼져 있으면 빈 집합입니다.
+	 */
+	public Set<Integer> getOwnedShards() {
+		if (!enabled) {
+			return Collections.emptySet();
+		}
+		return ownedShards.keySet().stream().filter(this::ownsShard).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private void heartbeatSafely() {
+		try {
+			heartbeat();
+		} catch (Exception e) {
+			logger.warn("Shard lease heartbeat failed on node {}: {}", nodeId, e.getMessage());
+		}
+	}
+
+	/**
+	 * 가진 샤드의 임대를 연장하고, 살아 있는 노드 수에 맞춰 샤드를 더 가져가거나 반납합니다.
+	 */
+	void heartbeat() {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+
+		for (Integer shardNo : Set.copyOf(ownedShards.keySet())) {
+			if (!tryAcquire(shardNo, now, leaseUntil)) {
+				ownedShards.remove(shardNo);
+				logger.warn("Node {} lost the lease on collection shard {}.", nodeId, shardNo);
+			}
+		}
+
+		List<CollectionShardLease> leases = collectionShardLeaseRepository.findAllByOrderByShardNoAsc();
+		Set<String> liveNodes = leases.stream()
+				.filter(lease -> lease.getOwnerId() != null && lease.getLeaseUntil() != null && lease.getLeaseUntil().isAfter(now))
+				.map(CollectionShardLease::getOwnerId)
+				.collect(Collectors.toCollection(TreeSet::new));
+		liveNodes.add(nodeId);
+		int fairShare = (shardCount + liveNodes.size() - 1) / liveNodes.size();
+
+		// 새 노드가 들어와 몫이 줄었으면 번호가 큰 샤드부터 반납합니다. (조정 샤드 0은 가능한 한 유지)
+		if (ownedShards.size() > fairShare) {
+			List<Integer> extras = ownedShards.keySet().stream().sorted(Collections.reverseOrder())
+					.limit(ownedShards.size() - fairShare).collect(Collectors.toList());
+			for (Integer shardNo : extras) {
+				release(shardNo);
+			}
+		}
+
+		for (CollectionShardLease lease : leases) {
+			if (ownedShards.size() >= fairShare) {
+				break;
+			}
+			boolean available = lease.getOwnerId() == null || lease.getLeaseUntil() == null || !lease.getLeaseUntil().isAfter(now);
+			if (available && tryAcquire(lease.getShardNo(), now, leaseUntil)) {
+				logger.info("Node {} acquired collection shard {} (previous owner: {}).", nodeId, lease.getShardNo(),
+						lease.getOwnerId() != null ? lease.getOwnerId() : "none");
+			}
+		}
+	}
+
+	private boolean tryAcquire(int shardNo, LocalDateTime now, LocalDateTime leaseUntil) {
+		Integer updated = transactionTemplate.execute(status -> collectionShardLeaseRepository.tryAcquire(shardNo, nodeId, now, leaseUntil));
+		if (updated != null && updated > 0) {
+			ownedShards.put(shardNo, leaseUntil);
+			return true;
+		}
+		return false;
+	}
+
+	private void release(int shardNo) {
+		ownedShards.remove(shardNo);
+		try {
+			transactionTemplate.executeWithoutResult(status -> collectionShardLeaseRepository.release(shardNo, nodeId, LocalDateTime.now()));
+			logger.info("Node {} released collection shard {}.", nodeId, shardNo);
+		} catch (Exception e) {
+			logger.warn("Failed to release collection shard {} on node {}: {}", shardNo, nodeId, e.getMessage());
+		}
+	}
+
+	private static String defaultNodeId() {
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			host = "node";
+		}
+		return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+	}
+}
@@ -0,0 +1,176 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpMethods;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.json.GenericJson;
+import com.google.api.client.util.Data;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * YouTube Data API 목록 조회(channels.list, videos.list, playlistItems.list)의 ETag 기반 조건부 요청 캐시.
+ *
+ * 정규화한 요청(scope + 경로 + 정렬한 쿼리 파라미터)마다 마지막 응답의 etag 와 파싱된 응답 객체를 보관하고,
+ * 다음 요청에 If-None-Match 를 붙여 보냅니다. 304 Not Modified 이면 본문을 받거나 파싱하지 않고 캐시된 응답을 돌려주며,
+ * 호출하는 쪽은 Result.isNotModified() 로 DB 저장을 건너뛸 수 있습니다.
+ * 304 응답도 YouTube 쿼터는 그대로 차감되므로, 쿼터 예약(QuotaBudgetManager)은 호출하는 쪽에서 평소처럼 합니다.
+ *
+ * 캐시 크기는 응답을 JSON 으로 직렬화한 길이로 어림해 max-size-mb 로 제한합니다.
+ */
+@Service
+public class DataApiResponseCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DataApiResponseCache.class);
+
+	/**
+	 * 조건부 요청 결과.
+	 */
+	public static final class Result<T> {
+
+		private final T response;
+		private final boolean notModified;
+
+		private Result(T response, boolean notModified) {
+			this.response = response;
+			this.notModified = notModified;
+		}
+
+		public static <T> Result<T> of(T response, boolean notModified) {
+			return new Result<>(response, notModified);
+		}
+
+		public T getResponse() {
+			return response;
+		}
+
+		/**
+		 * 서버가 304 를 돌려주어 이전 응답을 그대로 재사용했는지 여부. true 이면 응답 내용이 마지막 조회 이후 바뀌지 않았습니다.
+		 */
+		public boolean isNotModified() {
+			return notModified;
+		}
+	}
+
+	private static final class CachedEntry {
+
+		private final String etag;
+		private final GenericJson body;
+		private final int weight;
+
+		private CachedEntry(String etag, GenericJson body, int weight) {
+			this.etag = etag;
+			this.body = body;
+			this.weight = weight;
+		}
+	}
+
+	private final GoogleApiExecutor googleApiExecutor;
+	private final MeterRegistry meterRegistry;
+
+	private Cache<String, CachedEntry> entries;
+
+	@Value("${youtube.etag-cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${youtube.etag-cache.max-size-mb:128}")
+	private long maxSizeMb;
+
+	@Value("${youtube.etag-cache.expire-after-write-hours:72}")
+	private long expireAfterWriteHours;
+
+	public DataApiResponseCache(GoogleApiExecutor googleApiExecutor, MeterRegistry meterRegistry) {
+		this.googleApiExecutor = googleApiExecutor;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PostConstruct
+	public void init() {
+		entries = Caffeine.newBuilder()
+				.maximumWeight(maxSizeMb * 1024 * 1024)
+				.weigher((String key, CachedEntry entry) -> entry.weight)
+				.expireAfterWrite(expireAfterWriteHours, TimeUnit.HOURS)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, entries, "youtube.etag");
+	}
+
+	/**
+	 * 요청을 GoogleApiExecutor 로 실행하되, 같은 요청의 이전 응답이 있으면 If-None-Match 로 재검증합니다.
+	 *
+	 * @param scope   응답이 달라질 수 있는 호출 주체 (사용자 Google ID 또는 QuotaBudgetManager.API_KEY_CREDENTIAL)
+	 * @param request 실행할 GET 요청
+	 * @return 응답과 304 여부. 304 이면 캐시된 응답의 복사본을 돌려줍니다.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends GenericJson> Result<T> execute(String scope, AbstractGoogleClientRequest<T> request) throws IOException {
+		if (!enabled || !HttpMethods.GET.equals(request.getRequestMethod())) {
+			return new Result<>(googleApiExecutor.execute(request), false);
+		}
+
+		String key = cacheKey(scope, request);
+		String operation = GoogleApiExecutor.operationName(request);
+		CachedEntry cached = entries.getIfPresent(key);
+		HttpHeaders headers = request.getRequestHeaders();
+		// 같은 요청 객체를 페이지마다 재사용하므로 If-None-Match 는 매번 새로 설정합니다.
+		headers.setIfNoneMatch(cached != null ? cached.etag : null);
+		try {
+			T response = googleApiExecutor.execute(request);
+			String etag = response != null ? (String) response.get("etag") : null;
+			if (etag != null) {
+				GenericJson body = response.clone();
+				entries.put(key, new CachedEntry(etag, body, weigh(body)));
+			}
+			count(operation, cached != null ? "modified" : "miss");
+			return new Result<>(response, false);
+		} catch (HttpResponseException e) {
+			if (cached == null || e.getStatusCode() != 304) {
+				throw e;
+			}
+			count(operation, "not_modified");
+			logger.debug("{} not modified since etag {} (scope {}).", operation, cached.etag, scope);
+			return new Result<>((T) cached.body.clone(), true);
+		} finally {
+			headers.setIfNoneMatch(null);
+		}
+	}
+
+	/**
+	 * scope + 경로 + 이름순으로 정렬한 쿼리 파라미터. 파라미터 설정 순서가 달라도 같은 요청은 같은 키가 됩니다.
+	 */
+	static String cacheKey(String scope, AbstractGoogleClientRequest<?> request) {
+		GenericUrl url = request.buildHttpRequestUrl();
+		Map<String, Object> parameters = new TreeMap<>(url);
+		String query = parameters.entrySet().stream()
+				.filter(entry -> entry.getValue() != null && !Data.isNull(entry.getValue()))
+				.map(entry -> entry.getKey() + "=" + entry.getValue())
+				.collect(Collectors.joining("&"));
+		return scope + " " + url.getRawPath() + "?" + query;
+	}
+
+	// 응답을 JSON 으로 직렬화한 길이(문자 수)로 크기를 어림합니다.
+	private static int weigh(GenericJson body) {
+		return body.toString().length();
+	}
+
+	private void count(String operation, String result) {
+		meterRegistry.counter("youtube.etag.requests", "operation", operation, "result", result).increment();
+	}
+}
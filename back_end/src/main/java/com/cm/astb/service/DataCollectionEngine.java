@@ -0,0 +1,257 @@
+package com.cm.astb.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cm.astb.dto.CollectionRunSummaryDto;
+import com.cm.astb.dto.UserCollectionResultDto;
+import com.cm.astb.entity.User;
+
+/**
+ * 사용자(채널) 단위 수집 작업을 bounded 스레드 풀에 분산 실행하는 엔진.
+ * 사용자마다 별도의 트랜잭션(REQUIRES_NEW)에서 실행되며, 한 사용자의 실패나 지연이
+ * 다른 사용자의 수집에 영향을 주지 않습니다.
+ */
+@Service
+public class DataCollectionEngine {
+
+	private static final Logger logger = LoggerFactory.getLogger(DataCollectionEngine.class);
+
+	private static final int SLOWEST_USERS_IN_SUMMARY = 5;
+
+	/**
+	 * 사용자 한 명에 대한 수집 작업.
+	 */
+	@FunctionalInterface
+	public interface UserCollectionTask {
+		void collect(User user) throws Exception;
+	}
+
+	private final ThreadPoolTaskExecutor collectorExecutor;
+	private final TransactionTemplate userTransactionTemplate;
+	private final GoogleApiClientRegistry googleApiClientRegistry;
+
+	@Value("${youtube.data-collection.run-timeout-minutes:240}")
+	private long runTimeoutMinutes;
+
+	@Value("${google.oauth.token-refresh.prepare-timeout-seconds:120}")
+	private long credentialPrepareTimeoutSeconds;
+
+	public DataCollectionEngine(@Qualifier("collectorExecutor") ThreadPoolTaskExecutor collectorExecutor,
+			PlatformTransactionManager transactionManager, GoogleApiClientRegistry googleApiClientRegistry) {
+		this.collectorExecutor = collectorExecutor;
+		this.googleApiClientRegistry = googleApiClientRegistry;
+		this.userTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.userTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * 주어진 사용자 목록에 대해 수집 작업을 병렬로 실행하고, 모두 끝날 때까지(또는 실행 제한 시간까지) 기다립니다.
+	 *
+	 * @param runName 로그/요약에 표시할 실행 이름
+	 * @param users   수집 대상 사용자 목록
+	 * @param task    사용자 한 명에 대한 수집 작업
+	 * @return 실행 요약 (사용자별 소요 시간 포함)
+	 */
+	public CollectionRunSummaryDto runForUsers(String runName, List<User> users, UserCollectionTask task) {
+		return runForUsers(runName, users, task, true);
+	}
+
+	/**
+	 * 주어진 사용자 목록에 대해 수집 작업을 병렬로 실행합니다.
+	 * userTransaction이 false이면 사용자 단위 트랜잭션을 열지 않으며, 작업이 직접 트랜잭션 경계를 관리합니다.
+	 * (체크포인트 기반 수집 작업은 단계마다 커밋하므로 사용자 전체를 감싸는 트랜잭션이 필요 없습니다.)
+	 *
+	 * @param runName         로그/요약에 표시할 실행 이름
+	 * @param users           수집 대상 사용자 목록
+	 * @param task            사용자 한 명에 대한 수집 작업
+	 * @param userTransaction 사용자마다 REQUIRES_NEW 트랜잭션으로 감쌀지 여부
+	 * @return 실행 요약 (사용자별 소요 시간 포함)
+	 */
+	public CollectionRunSummaryDto runForUsers(String runName, List<User> users, UserCollectionTask task,
+			boolean userTransaction) {
+		return runForUsers(runName, users, task, userTransaction, collectorExecutor);
+	}
+
+	/**
+	 * runForUsers 와 같지만, 사용자별 작업을 collectorExecutor 대신 주어진 executor 에서 실행합니다.
+	 * 첫 로그인 수집처럼 전용 풀에서 시작한 작업은 Runnable::run 을 넘겨 자기 스레드에서 바로 실행하며,
+	 * 이때는 작업이 끝난 뒤에 결과를 확인하므로 실행 제한 시간으로 취소되지 않습니다.
+	 *
+	 * @param executor 사용자별 작업을 실행할 executor
+	 */
+	public CollectionRunSummaryDto runForUsers(String runName, List<User> users, UserCollectionTask task,
+			boolean userTransaction, Executor executor) {
+		LocalDateTime startedAt = LocalDateTime.now();
+		long runStartNanos = System.nanoTime();
+		long deadlineNanos = runStartNanos + TimeUnit.MINUTES.toNanos(runTimeoutMinutes);
+
+		logger.info("[{}] Starting collection for {} users (parallelism: {}).", runName, users.size(),
+				executor instanceof ThreadPoolTaskExecutor pool ? pool.getMaxPoolSize() : 1);
+
+		// 수집 스레드가 사용자마다 토큰 갱신을 기다리지 않도록, 곧 만료되는 토큰은 미리 한꺼번에 갱신해 둡니다.
+		googleApiClientRegistry.prepareCredentials(
+				users.stream().map(User::getGoogleId).collect(Collectors.toList()), credentialPrepareTimeoutSeconds);
+
+		List<Future<UserCollectionResultDto>> futures = new ArrayList<>(users.size());
+		for (User user : users) {
+			FutureTask<UserCollectionResultDto> future = new FutureTask<>(() -> collectSingleUser(runName, user, task, userTransaction));
+			executor.execute(future);
+			futures.add(future);
+		}
+
+		List<UserCollectionResultDto> results = new ArrayList<>(users.size());
+		for (int i = 0; i < futures.size(); i++) {
+			Future<UserCollectionResultDto> future = futures.get(i);
+			User user = users.get(i);
+			try {
+				long remainingNanos = Math.max(0L, deadlineNanos - System.nanoTime());
+				results.add(future.get(remainingNanos, TimeUnit.NANOSECONDS));
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				logger.error("[{}] Collection for user {} did not finish within the run timeout ({} min). Cancelled.",
+						runName, user.getGoogleId(), runTimeoutMinutes);
+				results.add(failedResult(user, UserCollectionResultDto.Status.TIMED_OUT,
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStartNanos), "Run timeout exceeded"));
+			} catch (ExecutionException e) {
+				logger.error("[{}] Collection task for user {} failed unexpectedly: {}", runName, user.getGoogleId(),
+						e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
+				results.add(failedResult(user, UserCollectionResultDto.Status.FAILED, 0L,
+						e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.warn("[{}] Interrupted while waiting for collection results. Cancelling remaining tasks.", runName);
+				for (int j = i; j < futures.size(); j++) {
+					futures.get(j).cancel(true);
+					results.add(failedResult(users.get(j), UserCollectionResultDto.Status.FAILED, 0L, "Interrupted"));
+				}
+				break;
+			}
+		}
+
+		CollectionRunSummaryDto summary = summarize(runName, startedAt, runStartNanos, results);
+		logSummary(summary);
+		return summary;
+	}
+
+	private UserCollectionResultDto collectSingleUser(String runName, User user, UserCollectionTask task,
+			boolean userTransaction) {
+		long startNanos = System.nanoTime();
+		Exception failure;
+		try {
+			if (userTransaction) {
+				// 작업 내부에서 발생한 예외는 트랜잭션 밖으로 던지지 않고 돌려받아,
+				// 실패 전까지 저장된 데이터는 커밋되도록 합니다. (기존 동작 유지)
+				failure = userTransactionTemplate.execute(status -> {
+					try {
+						task.collect(user);
+						return null;
+					} catch (Exception e) {
+						return e;
+					}
+				});
+			} else {
+				try {
+					task.collect(user);
+					failure = null;
+				} catch (Exception e) {
+					failure = e;
+				}
+			}
+		} catch (RuntimeException e) {
+			// 커밋 실패(rollback-only 등)
+			failure = e;
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+		if (failure != null) {
+			logger.error("[{}] Collection failed for user {} (channel {}) after {} ms: {}", runName,
+					user.getGoogleId(), user.getMyChannelId(), elapsedMillis, failure.getMessage());
+			return failedResult(user, UserCollectionResultDto.Status.FAILED, elapsedMillis, failure.getMessage());
+		}
+
+		logger.info("[{}] Collection finished for user {} (channel {}) in {} ms.", runName, user.getGoogleId(),
+				user.getMyChannelId(), elapsedMillis);
+		return UserCollectionResultDto.builder()
+				.googleId(user.getGoogleId())
+				.channelId(user.getMyChannelId())
+				.status(UserCollectionResultDto.Status.SUCCESS)
+				.elapsedMillis(elapsedMillis)
+				.build();
+	}
+
+	private UserCollectionResultDto failedResult(User user, UserCollectionResultDto.Status status, long elapsedMillis,
+			String errorMessage) {
+		return UserCollectionResultDto.builder()
+				.googleId(user.getGoogleId())
+				.channelId(user.getMyChannelId())
+				.status(status)
+				.elapsedMillis(elapsedMillis)
+				.errorMessage(errorMessage)
+				.build();
+	}
+
+	private CollectionRunSummaryDto summarize(String runName, LocalDateTime startedAt, long runStartNanos,
+			List<UserCollectionResultDto> results) {
+		int succeeded = 0;
+		int failed = 0;
+		int timedOut = 0;
+		long totalUserTimeMillis = 0L;
+		for (UserCollectionResultDto result : results) {
+			totalUserTimeMillis += result.getElapsedMillis();
+			switch (result.getStatus()) {
+			case SUCCESS -> succeeded++;
+			case FAILED -> failed++;
+			case TIMED_OUT -> timedOut++;
+			}
+		}
+
+		List<UserCollectionResultDto> slowestUsers = results.stream()
+				.sorted(Comparator.comparingLong(UserCollectionResultDto::getElapsedMillis).reversed())
+				.limit(SLOWEST_USERS_IN_SUMMARY)
+				.collect(Collectors.toList());
+
+		return CollectionRunSummaryDto.builder()
+				.runName(runName)
+				.startedAt(startedAt)
+				.finishedAt(LocalDateTime.now())
+				.totalUsers(results.size())
+				.succeeded(succeeded)
+				.failed(failed)
+				.timedOut(timedOut)
+				.wallTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStartNanos))
+				.totalUserTimeMillis(totalUserTimeMillis)
+				.slowestUsers(slowestUsers)
+				.results(results)
+				.build();
+	}
+
+	private void logSummary(CollectionRunSummaryDto summary) {
+		logger.info("[{}] Collection run finished. Users={}, Succeeded={}, Failed={}, TimedOut={}, WallTime={} ms, SumOfUserTime={} ms",
+				summary.getRunName(), summary.getTotalUsers(), summary.getSucceeded(), summary.getFailed(),
+				summary.getTimedOut(), summary.getWallTimeMillis(), summary.getTotalUserTimeMillis());
+		for (UserCollectionResultDto slow : summary.getSlowestUsers()) {
+			logger.info("[{}]   slowest: user={}, channel={}, status={}, elapsed={} ms", summary.getRunName(),
+					slow.getGoogleId(), slow.getChannelId(), slow.getStatus(), slow.getElapsedMillis());
+		}
+	}
+}
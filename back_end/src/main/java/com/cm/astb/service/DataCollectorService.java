@@ -1,8 +1,6 @@
 package com.cm.astb.service;
 
 import java.io.IOException;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.security.GeneralSecurityException;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -13,31 +11,34 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.cm.astb.entity.AgeGroup;
-import com.cm.astb.entity.AudienceStat;
-import com.cm.astb.entity.AudienceStatsId;
 import com.cm.astb.entity.ChannelDashboardStat;
 import com.cm.astb.entity.ChannelDashboardStatsId;
 import com.cm.astb.entity.ChannelStat;
 import com.cm.astb.entity.ChannelStatsId;
-import com.cm.astb.entity.DeviceAnalysis;
-import com.cm.astb.entity.DeviceAnalysisId;
-import com.cm.astb.entity.DeviceType;
-import com.cm.astb.entity.Gender;
-import com.cm.astb.entity.InflowRoute;
-import com.cm.astb.entity.InflowRouteId;
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.entity.CollectionJobStatus;
+import com.cm.astb.entity.CollectionPhase;
 import com.cm.astb.entity.User;
 import com.cm.astb.entity.VideoStat;
 import com.cm.astb.entity.VideoStatsId;
@@ -51,6 +52,7 @@ import com.cm.astb.repository.CommentRepository;
 import com.cm.astb.repository.DeviceAnalysisRepository;
 import com.cm.astb.repository.InflowRouteRepository;
 import com.cm.astb.repository.InsightRepository;
+import com.cm.astb.repository.StatsBulkUpsertWriter;
 import com.cm.astb.repository.VideoStatRepository;
 import com.cm.astb.repository.YouTubeChannelRepository;
 import com.cm.astb.repository.YouTubeVideoRepository;
@@ -63,12 +65,24 @@ import com.google.api.services.youtube.model.ChannelListResponse;
 import com.google.api.services.youtube.model.PlaylistItemListResponse;
 import com.google.api.services.youtube.model.Video;
 import com.google.api.services.youtube.model.VideoListResponse;
+import com.google.api.services.youtube.model.VideoStatistics;
 import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
 
 @Service
 public class DataCollectorService {
 
 	private static final Logger logger = LoggerFactory.getLogger(DataCollectorService.class);
+
+	private static final String DAILY_JOB_NAME = "daily-collection";
+	private static final String SHARD_JOB_SUFFIX = "-shard-";
+
+	/**
+	 * 체크포인트 단위로 실행되는 수집 단계 하나.
+	 */
+	@FunctionalInterface
+	private interface CollectionPhaseWork {
+		void run() throws IOException, GeneralSecurityException;
+	}
 	
 	private final OAuthService oAuthService;
 	private final UserService userService;
@@ -76,6 +90,25 @@ public class DataCollectorService {
 	private final YoutubeAnalyticsService youtubeAnalyticsService;
 	private final YoutubeDataApiService youtubeDataApiService;
 	private final KeywordAnalysisService keywordAnalysisService;
+	private final DataCollectionEngine dataCollectionEngine;
+	private final VideoStatisticsBatchFetcher videoStatisticsBatchFetcher;
+	private final StatsBulkUpsertWriter statsBulkUpsertWriter;
+	private final QuotaBudgetManager quotaBudgetManager;
+	private final ChannelDashboardSnapshotService channelDashboardSnapshotService;
+	private final CollectionJobService collectionJobService;
+	private final ThreadPoolTaskExecutor collectionJobExecutor;
+	private final ThreadPoolTaskExecutor firstLoginCollectionExecutor;
+	private final CollectionProgressService collectionProgressService;
+	private final VideoBreakdownBatchCollector videoBreakdownBatchCollector;
+	private final VideoRefreshScheduler videoRefreshScheduler;
+	private final ChannelWatchTimeService channelWatchTimeService;
+	private final ChannelRefreshService channelRefreshService;
+	private final CollectionShardLeaseService collectionShardLeaseService;
+	private final GoogleApiExecutor googleApiExecutor;
+	private final DataApiResponseCache dataApiResponseCache;
+
+	// 이 인스턴스에서 실행 중인 수집 작업 ID (같은 작업이 동시에 두 번 실행되지 않도록)
+	private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
 	
 	private final YouTubeChannelRepository youTubeChannelRepository;
     private final YouTubeVideoRepository youTubeVideoRepository;
@@ -93,8 +126,23 @@ public class DataCollectorService {
     @Value("${youtube.data-collection.admin-user-id}")
     private String adminGoogleId;
 
-    @Value("${youtube.data-collection.channel-update-days}")
-    private int channelUpdateDays;
+    @Value("${youtube.data-collection.video-sync.mode:incremental}")
+    private String videoSyncMode;
+
+    @Value("${youtube.data-collection.video-sync.metadata-refresh-days:7}")
+    private int metadataRefreshDays;
+
+    @Value("${youtube.data-collection.video-sync.metadata-refresh-batch-size:200}")
+    private int metadataRefreshBatchSize;
+
+    @Value("${youtube.data-collection.video-breakdown.enabled:true}")
+    private boolean videoBreakdownEnabled;
+
+    @Value("${youtube.data-collection.refresh.enabled:true}")
+    private boolean tieredRefreshEnabled;
+
+    @Value("${youtube.data-collection.sharding.stale-job-minutes:60}")
+    private long staleJobMinutes;
 	
 	public DataCollectorService(OAuthService oAuthService, UserService userService, ChannelService channelService,
 			YoutubeAnalyticsService youtubeAnalyticsService, YoutubeDataApiService youtubeDataApiService,
@@ -104,7 +152,16 @@ public class DataCollectorService {
 			InflowRouteRepository inflowRouteRepository, DeviceAnalysisRepository deviceAnalysisRepository,
 			CommentRepository commentRepository, InsightRepository insightRepository,
 			ChannelDashboardStatRepository channelDashboardStatRepository,
-			CachedKeywordSearchResultRepository cachedKeywordSearchResultRepository, ObjectMapper objectMapper) {
+			CachedKeywordSearchResultRepository cachedKeywordSearchResultRepository, ObjectMapper objectMapper,
+			DataCollectionEngine dataCollectionEngine, VideoStatisticsBatchFetcher videoStatisticsBatchFetcher,
+			StatsBulkUpsertWriter statsBulkUpsertWriter, QuotaBudgetManager quotaBudgetManager,
+			ChannelDashboardSnapshotService channelDashboardSnapshotService, CollectionJobService collectionJobService,
+			@Qualifier("collectionJobExecutor") ThreadPoolTaskExecutor collectionJobExecutor,
+			@Qualifier("firstLoginCollectionExecutor") ThreadPoolTaskExecutor firstLoginCollectionExecutor,
+			CollectionProgressService collectionProgressService, VideoBreakdownBatchCollector videoBreakdownBatchCollector,
+			VideoRefreshScheduler videoRefreshScheduler, ChannelWatchTimeService channelWatchTimeService,
+			ChannelRefreshService channelRefreshService, CollectionShardLeaseService collectionShardLeaseService,
+			GoogleApiExecutor googleApiExecutor, DataApiResponseCache dataApiResponseCache) {
 		this.oAuthService = oAuthService;
 		this.userService = userService;
 		this.channelService = channelService;
@@ -123,8 +180,23 @@ public class DataCollectorService {
 		this.channelDashboardStatRepository = channelDashboardStatRepository;
 		this.cachedKeywordSearchResultRepository = cachedKeywordSearchResultRepository;
 		this.objectMapper = objectMapper;
+		this.dataCollectionEngine = dataCollectionEngine;
+		this.videoStatisticsBatchFetcher = videoStatisticsBatchFetcher;
+		this.statsBulkUpsertWriter = statsBulkUpsertWriter;
+		this.quotaBudgetManager = quotaBudgetManager;
+		this.channelDashboardSnapshotService = channelDashboardSnapshotService;
+		this.collectionJobService = collectionJobService;
+		this.collectionJobExecutor = collectionJobExecutor;
+		this.firstLoginCollectionExecutor = firstLoginCollectionExecutor;
+		this.collectionProgressService = collectionProgressService;
+		this.videoBreakdownBatchCollector = videoBreakdownBatchCollector;
+		this.videoRefreshScheduler = videoRefreshScheduler;
+		this.channelWatchTimeService = channelWatchTimeService;
+		this.channelRefreshService = channelRefreshService;
+		this.collectionShardLeaseService = collectionShardLeaseService;
+		this.googleApiExecutor = googleApiExecutor;
+		this.dataApiResponseCache = dataApiResponseCache;
 		this.adminGoogleId = adminGoogleId;
-		this.channelUpdateDays = channelUpdateDays;
 	}
 
 	/**
@@ -134,7 +206,6 @@ public class DataCollectorService {
 	 */
 //	@Scheduled(initialDelay = 5000, fixedRate = 24 * 60 * 60 * 1000)
 	@Scheduled(cron = "0 0 2 * * ?", zone = "Asia/Seoul")
-	@Transactional
 	public void collectDailyChannelAndVideoStats() {
 		logger.info("Starting daily data collection for YouTube Analytics for all users.");
 
@@ -149,19 +220,265 @@ public class DataCollectorService {
 		LocalDate today = LocalDate.now();
 		LocalDate analyticsDataEndDate = today.minusDays(1); // 어제까지의 데이터 (Google API 지연 고려)
 
+		List<User> targetUsers = new ArrayList<>();
 		for (User user : users) {
-			String googleId = user.getGoogleId();
 			String channelId = user.getMyChannelId();
 
 			if (channelId == null || channelId.isEmpty()) {
-				logger.warn("User {} has no linked YouTube channel ID. Skipping data collection for this user.", googleId);
+				logger.warn("User {} has no linked YouTube channel ID. Skipping data collection for this user.", user.getGoogleId());
 				continue;
 			}
-            
-            collectDataForSingleUserInternal(user, formatter, today, analyticsDataEndDate);
+			targetUsers.add(user);
+		}
+
+		if (collectionShardLeaseService.isEnabled()) {
+			// 여러 노드로 실행 중이면 이 노드가 임대한 샤드의 사용자만 샤드별 작업으로 수집합니다.
+			Set<Integer> ownedShards = collectionShardLeaseService.getOwnedShards();
+			runShardJobs(targetUsers, analyticsDataEndDate, ownedShards);
+			logger.info("Daily data collection for shards {} finished.", ownedShards);
+			return;
 		}
+
+		// 같은 기준 날짜의 작업이 중단된 채 남아 있으면 체크포인트부터 이어서 실행합니다.
+		CollectionJob job = collectionJobService.openJob(DAILY_JOB_NAME, analyticsDataEndDate, targetUsers);
+		runCollectionJob(job.getJobId());
 		logger.info("Daily data collection for all users finished.");
 	}
+
+	/**
+	 * 샤드마다 야간 수집 작업(daily-collection-shard-N)을 열고 실행합니다. 사용자가 없는 샤드도 빈 작업으로 남겨,
+	 * 그날 수집이 끝난 샤드임을 다른 노드가 알 수 있게 합니다.
+	 */
+	private void runShardJobs(List<User> users, LocalDate analyticsDataEndDate, Set<Integer> shardNos) {
+		Map<Integer, List<User>> usersByShard = users.stream()
+				.collect(Collectors.groupingBy(user -> collectionShardLeaseService.shardOf(user.getGoogleId())));
+		for (Integer shardNo : shardNos) {
+			if (!collectionShardLeaseService.ownsShard(shardNo)) {
+				logger.warn("Lease on collection shard {} was lost before its daily job started. Skipping.", shardNo);
+				continue;
+			}
+			CollectionJob job = collectionJobService.openJob(shardJobName(shardNo), analyticsDataEndDate,
+					usersByShard.getOrDefault(shardNo, List.of()));
+			runCollectionJob(job.getJobId());
+		}
+	}
+
+	private static String shardJobName(int shardNo) {
+		return DAILY_JOB_NAME + SHARD_JOB_SUFFIX + shardNo;
+	}
+
+	// 샤드별 야간 수집 작업이면 샤드 번호, 아니면 null
+	private static Integer shardOfJob(CollectionJob job) {
+		String jobName = job.getJobName();
+		if (!jobName.startsWith(DAILY_JOB_NAME + SHARD_JOB_SUFFIX)) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(jobName.substring((DAILY_JOB_NAME + SHARD_JOB_SUFFIX).length()));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 이 노드가 작업을 이어서 실행해도 되는지 확인합니다.
+	 * 샤드 작업은 그 샤드를 임대한 노드만, 샤드가 없는 작업(첫 로그인 수집 등)은 조정 노드가
+	 * stale-job-minutes 동안 진행이 없을 때만 이어서 실행합니다. (다른 노드에서 아직 실행 중일 수 있으므로)
+	 */
+	private boolean canResumeOnThisNode(CollectionJob job) {
+		if (!collectionShardLeaseService.isEnabled()) {
+			return true;
+		}
+		Integer shardNo = shardOfJob(job);
+		if (shardNo != null) {
+			return collectionShardLeaseService.ownsShard(shardNo);
+		}
+		if (!collectionShardLeaseService.isCoordinator()) {
+			return false;
+		}
+		LocalDateTime lastActivityAt = collectionJobService.findLastActivityAt(job.getJobId());
+		return lastActivityAt == null || lastActivityAt.isBefore(LocalDateTime.now().minusMinutes(staleJobMinutes));
+	}
+
+	/**
+	 * 중단되었거나 실패한 항목이 남은 수집 작업을 이어서 실행합니다.
+	 * 애플리케이션 시작 직후(initialDelay)와 이후 주기적으로 실행됩니다.
+	 */
+	@Scheduled(initialDelayString = "${youtube.data-collection.jobs.resume-initial-delay-ms:60000}",
+			fixedDelayString = "${youtube.data-collection.jobs.resume-interval-ms:1800000}")
+	public void resumeUnfinishedCollectionJobs() {
+		if (collectionShardLeaseService.isEnabled()) {
+			startTakenOverShardJobs();
+		}
+		for (CollectionJob job : collectionJobService.findResumableJobs()) {
+			if (runningJobIds.contains(job.getJobId()) || !canResumeOnThisNode(job)) {
+				continue;
+			}
+			logger.info("Resuming unfinished collection job {} ({}, target date {}, status {}).", job.getJobId(),
+					job.getJobName(), job.getTargetDate(), job.getStatus());
+			runCollectionJob(job.getJobId());
+		}
+	}
+
+	/**
+	 * 오늘 야간 수집이 이미 시작되었는데(다른 샤드의 작업이 있음) 이 노드가 가진 샤드의 작업이 없으면 만들어 실행합니다.
+	 * 야간 수집 시작 전에 죽은 노드의 샤드를 이어받은 경우입니다. 시작 후에 죽은 노드의 작업은 일반 재개 경로로 이어집니다.
+	 */
+	private void startTakenOverShardJobs() {
+		LocalDate analyticsDataEndDate = LocalDate.now().minusDays(1);
+		if (!collectionJobService.hasJobWithPrefix(DAILY_JOB_NAME + SHARD_JOB_SUFFIX, analyticsDataEndDate)) {
+			return;
+		}
+		Set<Integer> missingShards = collectionShardLeaseService.getOwnedShards().stream()
+				.filter(shardNo -> !collectionJobService.hasJob(shardJobName(shardNo), analyticsDataEndDate))
+				.collect(Collectors.toCollection(TreeSet::new));
+		if (missingShards.isEmpty()) {
+			return;
+		}
+		logger.info("Starting daily collection for taken-over shards {} (target date {}).", missingShards, analyticsDataEndDate);
+		List<User> targetUsers = userService.findAllUsers().stream()
+				.filter(user -> user.getMyChannelId() != null && !user.getMyChannelId().isEmpty())
+				.collect(Collectors.toList());
+		runShardJobs(targetUsers, analyticsDataEndDate, missingShards);
+	}
+
+	/**
+	 * 관리자 요청으로 수집 작업을 재시작합니다. 작업은 collectionJobExecutor에서 백그라운드로 실행됩니다.
+	 *
+	 * @param jobId       재시작할 작업 ID
+	 * @param fromScratch true이면 완료된 사용자/단계까지 처음부터 다시 수집
+	 * @return 초기화된 작업
+	 */
+	public CollectionJob restartCollectionJob(Long jobId, boolean fromScratch) {
+		if (runningJobIds.contains(jobId)) {
+			throw new IllegalStateException("Collection job " + jobId + " is already running.");
+		}
+		CollectionJob job = collectionJobService.resetJob(jobId, fromScratch);
+		collectionJobExecutor.execute(() -> runCollectionJob(jobId));
+		return job;
+	}
+
+	/**
+	 * 신규 사용자의 첫 로그인 수집을 백그라운드 작업으로 등록하고 바로 반환합니다.
+	 * 작업은 사용자별 이름(first-login-{googleId})의 CollectionJob으로 체크포인트되며,
+	 * 진행 상황은 CollectionProgressService로 조회/구독할 수 있습니다.
+	 *
+	 * @param googleId 수집할 사용자의 Google ID
+	 * @return 등록된 작업
+	 */
+	public CollectionJob submitFirstLoginCollection(String googleId) {
+		User user = userService.findByGoogleId(googleId)
+				.orElseThrow(() -> new IllegalArgumentException("User not found: " + googleId));
+		if (user.getMyChannelId() == null || user.getMyChannelId().isEmpty()) {
+			throw new IllegalStateException("User " + googleId + " has no linked YouTube channel ID.");
+		}
+
+		LocalDate analyticsDataEndDate = LocalDate.now().minusDays(1);
+		CollectionJob job = collectionJobService.openJob(CollectionProgressService.firstLoginJobName(googleId), analyticsDataEndDate, List.of(user));
+		collectionJobService.findItems(job.getJobId()).stream()
+				.filter(item -> googleId.equals(item.getGoogleId()))
+				.findFirst()
+				.ifPresent(collectionProgressService::register);
+
+		if (runningJobIds.contains(job.getJobId())) {
+			logger.info("First-login collection job {} for user {} is already running.", job.getJobId(), googleId);
+			return job;
+		}
+		// 항목도 첫 로그인 풀 스레드에서 바로 실행해, 야간 수집과 같은 collectorExecutor 대기열 뒤에 서지 않게 합니다.
+		firstLoginCollectionExecutor.execute(() -> runCollectionJob(job.getJobId(), true));
+		logger.info("Queued first-login collection job {} for user {} (channel {}).", job.getJobId(), googleId, user.getMyChannelId());
+		return job;
+	}
+
+	/**
+	 * 수집 작업의 남은 항목을 DataCollectionEngine으로 병렬 실행합니다.
+	 * 항목마다 마지막으로 체크포인트된 단계 다음부터 실행하며, 단계별로 커밋하므로 사용자 단위 트랜잭션은 사용하지 않습니다.
+	 *
+	 * @param jobId 실행할 작업 ID
+	 */
+	public void runCollectionJob(Long jobId) {
+		runCollectionJob(jobId, false);
+	}
+
+	/**
+	 * runCollectionJob(jobId) 와 같지만, inCallerThread 가 true 이면 항목을 collectorExecutor 에 나누지 않고
+	 * 호출한 스레드(첫 로그인 풀)에서 차례대로 실행합니다.
+	 */
+	private void runCollectionJob(Long jobId, boolean inCallerThread) {
+		if (!runningJobIds.add(jobId)) {
+			logger.warn("Collection job {} is already running in this instance. Skipping.", jobId);
+			return;
+		}
+		try {
+			CollectionJob job = collectionJobService.getJob(jobId);
+			List<CollectionJobItem> items = collectionJobService.findRunnableItems(jobId);
+			if (items.isEmpty()) {
+				logger.info("Collection job {} has no remaining items.", jobId);
+				collectionJobService.finishJob(jobId);
+				return;
+			}
+			collectionJobService.markJobRunning(jobId);
+
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+			LocalDate analyticsDataEndDate = job.getTargetDate();
+			LocalDate today = analyticsDataEndDate.plusDays(1);
+
+			Map<String, CollectionJobItem> itemsByGoogleId = new HashMap<>();
+			List<User> targetUsers = new ArrayList<>();
+			for (CollectionJobItem item : items) {
+				Optional<User> userOpt = userService.findByGoogleId(item.getGoogleId());
+				if (userOpt.isEmpty() || userOpt.get().getMyChannelId() == null || userOpt.get().getMyChannelId().isEmpty()) {
+					collectionJobService.markItemRunning(item);
+					collectionJobService.markItemFailed(item, "User not found or has no linked YouTube channel.");
+					continue;
+				}
+				itemsByGoogleId.put(item.getGoogleId(), item);
+				targetUsers.add(userOpt.get());
+			}
+
+			logger.info("Running collection job {} ({}, target date {}): {} users remaining.", jobId, job.getJobName(),
+					analyticsDataEndDate, targetUsers.size());
+			Integer shardNo = shardOfJob(job);
+			DataCollectionEngine.UserCollectionTask collectItem = user -> {
+				if (shardNo != null && !collectionShardLeaseService.ownsShard(shardNo)) {
+					// 임대를 잃은 샤드의 남은 사용자는 새 임대 노드가 이어서 수집합니다.
+					logger.warn("Lease on collection shard {} lost. Leaving user {} to the new owner.", shardNo, user.getGoogleId());
+					return;
+				}
+				collectJobItem(itemsByGoogleId.get(user.getGoogleId()), user, formatter, today, analyticsDataEndDate);
+			};
+			String runName = job.getJobName() + "#" + jobId;
+			if (inCallerThread) {
+				dataCollectionEngine.runForUsers(runName, targetUsers, collectItem, false, Runnable::run);
+			} else {
+				dataCollectionEngine.runForUsers(runName, targetUsers, collectItem, false);
+			}
+			collectionJobService.finishJob(jobId);
+		} finally {
+			runningJobIds.remove(jobId);
+		}
+	}
+
+	private void collectJobItem(CollectionJobItem item, User user, DateTimeFormatter formatter, LocalDate today,
+			LocalDate analyticsDataEndDate) throws IOException, GeneralSecurityException {
+		collectionJobService.markItemRunning(item);
+		collectionProgressService.itemStarted(user.getGoogleId());
+		try {
+			collectDataForSingleUserInternal(user, formatter, today, analyticsDataEndDate, item);
+		} catch (IOException | GeneralSecurityException | RuntimeException e) {
+			collectionJobService.markItemFailed(item, e.getMessage());
+			collectionProgressService.itemFinished(user.getGoogleId(), CollectionJobStatus.FAILED, e.getMessage());
+			throw e;
+		}
+		if (item.getPhase() != CollectionPhase.DONE) {
+			// 채널 정보를 가져오지 못해 수집을 건너뛴 경우 등
+			String message = "Collection stopped before phase " + item.getPhase() + ".";
+			collectionJobService.markItemFailed(item, message);
+			collectionProgressService.itemFinished(user.getGoogleId(), CollectionJobStatus.FAILED, message);
+			throw new IllegalStateException(message);
+		}
+		collectionProgressService.itemFinished(user.getGoogleId(), CollectionJobStatus.COMPLETED, null);
+	}
 	
 	/**
      * [새로운 기능] 특정 사용자(채널)에 대한 데이터 수집을 즉시 트리거합니다.
@@ -169,7 +486,6 @@ public class DataCollectorService {
      *
      * @param googleId 데이터를 수집할 사용자의 Google ID
      */
-    @Transactional
     public void collectDataForSingleUser(String googleId) {
         logger.info("Triggering immediate data collection for single user: {}.", googleId);
 
@@ -191,21 +507,36 @@ public class DataCollectorService {
         LocalDate today = LocalDate.now();
         LocalDate analyticsDataEndDate = today.minusDays(1);
 
-        collectDataForSingleUserInternal(user, formatter, today, analyticsDataEndDate);
+        dataCollectionEngine.runForUsers("single-user-collection", List.of(user),
+                target -> collectDataForSingleUserInternal(target, formatter, today, analyticsDataEndDate));
 
         logger.info("Immediate data collection finished for user: {}.", googleId);
     }
     
     /**
      * [내부 헬퍼] 단일 사용자(채널)에 대한 모든 데이터 수집의 핵심 로직.
-     * collectDailyChannelAndVideoStats 및 collectDataForSingleUser에서 호출됩니다.
+     * collectDataForSingleUser에서 DataCollectionEngine을 통해 호출되며, 트랜잭션은 엔진이 사용자 단위로 관리합니다.
      * @param user 대상 User 엔티티
      * @param formatter 날짜 포맷터
      * @param today 현재 날짜
      * @param analyticsDataEndDate 분석 데이터 종료 날짜
      */
-    @Transactional // 내부 호출이지만 Transactional 명시
-    protected void collectDataForSingleUserInternal(User user, DateTimeFormatter formatter, LocalDate today, LocalDate analyticsDataEndDate) {
+    protected void collectDataForSingleUserInternal(User user, DateTimeFormatter formatter, LocalDate today, LocalDate analyticsDataEndDate) throws IOException, GeneralSecurityException {
+        collectDataForSingleUserInternal(user, formatter, today, analyticsDataEndDate, null);
+    }
+
+    /**
+     * [내부 헬퍼] 단일 사용자(채널)에 대한 데이터 수집을 단계(CollectionPhase) 순서대로 실행합니다.
+     * jobItem이 주어지면 이미 체크포인트된 단계는 건너뛰고, 각 단계의 데이터를 저장한 뒤 체크포인트를 남깁니다.
+     * 오류는 로그를 남긴 뒤 다시 던져, 엔진이 사용자별 실패로 집계할 수 있도록 합니다.
+     * @param user 대상 User 엔티티
+     * @param formatter 날짜 포맷터
+     * @param today 현재 날짜
+     * @param analyticsDataEndDate 분석 데이터 종료 날짜
+     * @param jobItem 수집 작업 항목 (체크포인트 없이 실행하는 경우 null)
+     */
+    protected void collectDataForSingleUserInternal(User user, DateTimeFormatter formatter, LocalDate today, LocalDate analyticsDataEndDate,
+            CollectionJobItem jobItem) throws IOException, GeneralSecurityException {
         String googleId = user.getGoogleId();
         String channelId = user.getMyChannelId(); // myChannelId는 이미 User 엔티티에 있다고 가정
 
@@ -227,551 +558,472 @@ public class DataCollectorService {
             }
             Channel currentChannel = currentChannelInfoResponse.getItems().get(0);
 
+            LocalDate channelStatStartDate = analyticsDataEndDate.minus(Period.ofDays(29));
 
             // --------------------------------------------------------------------------------
             // 1. 채널 통계 (TB_CHANNEL_STATS) 데이터 수집
             // --------------------------------------------------------------------------------
-            LocalDate channelStatStartDate = analyticsDataEndDate.minus(Period.ofDays(29));
-            Long cumulativeTotalWatchTime = 0L;
-            try {
-                // TODO: 실제 채널 생성일로 대체 (YouTubeChannel 엔티티에 있다면 가져와야 함)
-                String channelCreationDateStr = "2005-01-01"; // YouTube 설립 초기일
-                
-                QueryResponse cumulativeWatchTimeResponse = youtubeAnalyticsService.getChannelCumulativeWatchTime(
-                    googleId, channelCreationDateStr, analyticsDataEndDate.format(formatter), channelId
-                );
-
-                if (cumulativeWatchTimeResponse != null && cumulativeWatchTimeResponse.getRows() != null && !cumulativeWatchTimeResponse.getRows().isEmpty()) {
-                    // getRows().get(0).get(0)이 BigDecimal일 경우를 안전하게 처리
-                    Object rawValue = cumulativeWatchTimeResponse.getRows().get(0).get(0);
-                    if (rawValue instanceof BigDecimal) {
-                        cumulativeTotalWatchTime = ((BigDecimal) rawValue).longValue();
-                    } else if (rawValue instanceof Long) { // 혹시 Long으로 바로 올 경우 대비
-                        cumulativeTotalWatchTime = (Long) rawValue;
-                    } else if (rawValue instanceof Integer) { // 혹시 Integer로 바로 올 경우 대비
-                        cumulativeTotalWatchTime = ((Integer) rawValue).longValue();
-                    }
-                    logger.info("Retrieved cumulative total watch time for channel {}: {} minutes", channelId, cumulativeTotalWatchTime);
-                } else {
-                    logger.warn("No cumulative total watch time data found for channel {}. Setting to 0.", channelId);
-                }
+            runPhase(jobItem, CollectionPhase.CHANNEL_STATS,
+                    () -> collectChannelStats(googleId, channelId, currentChannel, formatter, channelStatStartDate, analyticsDataEndDate));
 
-            } catch (Exception e) {
-                logger.warn("Failed to fetch cumulative total watch time for channel {}: {}", channelId, e.getMessage());
-            }
-
-            for (LocalDate currentDate = channelStatStartDate; !currentDate.isAfter(analyticsDataEndDate); currentDate = currentDate.plusDays(1)) {
-                String dateStr = currentDate.format(formatter);
-                LocalDateTime statsDateTime = currentDate.atStartOfDay();
-
-                ChannelStatsId channelStatsId = new ChannelStatsId(channelId, statsDateTime);
-                Optional<ChannelStat> existingStat = channelStatRepository.findById(channelStatsId);
-
-                if (existingStat.isPresent()) {
-                    logger.debug("Channel stats already exist for channel {} on {}. Skipping API call for this date.", channelId, dateStr);
-                    continue;
-                }
 
-                logger.info("Collecting daily channel stats for user: {}, channel: {} on date: {}", googleId, channelId, dateStr);
-                QueryResponse channelStatsResponse = youtubeAnalyticsService.getChannelBasicAnalytics(googleId, dateStr, dateStr, channelId);
-
-                Long views = 0L;
-                Long estimatedMinutesWatched = 0L;
-                Long subscribersGained = 0L;
-                Long averageViewDuration = 0L;
-
-                if (channelStatsResponse != null && channelStatsResponse.getRows() != null && !channelStatsResponse.getRows().isEmpty()) {
-                    List<Object> row = channelStatsResponse.getRows().get(0);
-                    views = ((BigDecimal) row.get(1)).longValue();
-                    estimatedMinutesWatched = ((BigDecimal) row.get(2)).longValue();
-                    subscribersGained = ((BigDecimal) row.get(3)).longValue();
-                    averageViewDuration = ((BigDecimal) row.get(4)).longValue();
-                } else {
-                    logger.warn("No rows found in channelStatsResponse for channel {} on {}. Setting daily stats to 0.", channelId, dateStr);
-                }
+            // --------------------------------------------------------------------------------
+            // 2. 비디오 메타데이터 (TB_VIDEO) 수집
+            // --------------------------------------------------------------------------------
+            runPhase(jobItem, CollectionPhase.VIDEO_METADATA,
+                    () -> collectVideoMetadata(googleId, channelId, currentChannel, formatter));
 
-                ChannelStat channelStat = new ChannelStat();
-                channelStat.setId(channelStatsId);
-                channelStat.setSubscriberGained(subscribersGained.intValue());
-                channelStat.setDailyViewsCnt(views);
-                channelStat.setEstimatedMinWatched(estimatedMinutesWatched);
-                channelStat.setAvgViewDuration(averageViewDuration); // DB는 Integer
-                // DB의 ChannelStat.avgViewDuration은 Long으로 되어 있으므로 intValue() 대신 longValue() 사용
-                // channelStat.setAvgViewDuration(averageViewDuration); // if DB is Long
-
-                // 누적 통계 필드 (YouTube Data API의 Channel Resource에서 가져옴)
-                if (currentChannel.getStatistics() != null) {
-                    channelStat.setSubscriberCnt(currentChannel.getStatistics().getSubscriberCount().longValue());
-                    channelStat.setTotalViewsCnt(currentChannel.getStatistics().getViewCount().longValue());
-                    channelStat.setVideosCnt(currentChannel.getStatistics().getVideoCount().longValue());
-                    channelStat.setTotalWatchTime(cumulativeTotalWatchTime); // 위에서 가져온 누적 시청 시간
-                } else {
-                    logger.warn("No statistics found for channel {} from Data API. Setting total counts to 0.", channelId);
-                    channelStat.setSubscriberCnt(0L);
-                    channelStat.setTotalViewsCnt(0L);
-                    channelStat.setVideosCnt(0L);
-                    channelStat.setTotalWatchTime(0L);
-                }
 
-                try {
-                    channelStatRepository.save(channelStat);
-                    logger.info("Saved daily channel stats for {}: Views={}, MinWatched={}, SubGained={}, AvgDur={}. TotalSub={}, TotalViews={}, TotalVideos={}, TotalWatchTime={}",
-                            dateStr, views, estimatedMinutesWatched, subscribersGained, averageViewDuration,
-                            channelStat.getSubscriberCnt(), channelStat.getTotalViewsCnt(), channelStat.getVideosCnt(), channelStat.getTotalWatchTime());
-                } catch (Exception dbSaveEx) {
-                    logger.error("Error saving daily channel stats for {}: {}", dateStr, dbSaveEx.getMessage(), dbSaveEx);
-                }
-            }
+            // --------------------------------------------------------------------------------
+            // 3. 비디오별 일일 통계 (TB_VIDEO_STATS) 수집
+            // --------------------------------------------------------------------------------
+            runPhase(jobItem, CollectionPhase.VIDEO_STATS,
+                    () -> collectVideoStats(googleId, channelId, formatter, analyticsDataEndDate));
 
 
             // --------------------------------------------------------------------------------
-            // 2. 비디오 메타데이터 (TB_VIDEO) 수집
+            // 3-1. 비디오별 시청자층/유입 경로/기기 분포 (TB_AUDIENCE_STATS, TB_INFLOW_ROUTE, TB_DEVICE_ANALYSIS) 수집
             // --------------------------------------------------------------------------------
-            logger.info("Collecting video metadata for user: {}, channel: {}", googleId, channelId);
-            String uploadsPlaylistId = null;
-            if (currentChannel.getContentDetails() != null
-                    && currentChannel.getContentDetails().getRelatedPlaylists() != null
-                    && currentChannel.getContentDetails().getRelatedPlaylists().getUploads() != null) {
-                uploadsPlaylistId = currentChannel.getContentDetails().getRelatedPlaylists().getUploads();
-            }
-            
-            Credential credential = oAuthService.getCredential(googleId);
-			if (credential == null || credential.getAccessToken() == null) {
-	            throw new GeneralSecurityException("OAuth 인증이 필요합니다. 사용자(" + googleId + ")의 Credential이 유효하지 않습니다.");
-	        }
-
-            YouTube youTube = oAuthService.getYouTubeService(credential); // User의 googleId로 Credential 가져옴
-
-            if (uploadsPlaylistId != null) {
-                YouTube.PlaylistItems.List playlistItemsRequest = youTube.playlistItems()
-                        .list(Arrays.asList("snippet", "contentDetails"));
-                playlistItemsRequest.setPlaylistId(uploadsPlaylistId);
-                playlistItemsRequest.setMaxResults(50L);
-
-                PlaylistItemListResponse playlistResponse;
-                String nextPageToken = null;
-                do {
-                    playlistItemsRequest.setPageToken(nextPageToken);
-                    playlistResponse = playlistItemsRequest.execute();
-                    if (playlistResponse.getItems() != null) {
-                        List<String> videoKeys = playlistResponse.getItems().stream()
-                                .map(item -> item.getContentDetails().getVideoId()).collect(Collectors.toList());
-                        // processAndSaveVideoData는 TB_VIDEO (메타데이터)만 저장합니다.
-                        processAndSaveVideoData(googleId, videoKeys, youTube, LocalDate.now().minusDays(1).format(formatter));
-                    }
-                    nextPageToken = playlistResponse.getNextPageToken();
-                } while (nextPageToken != null);
-            } else {
-                logger.warn("Uploads playlist ID not found for channel {}. Skipping video metadata collection.", channelId);
-            }
+            runPhase(jobItem, CollectionPhase.VIDEO_BREAKDOWN,
+                    () -> collectVideoBreakdowns(googleId, channelId, analyticsDataEndDate));
 
 
             // --------------------------------------------------------------------------------
-            // 3. 비디오별 일일 통계 (TB_VIDEO_STATS) 수집
+            // 4. 채널별 Audience (성별, 연령대), Inflow Route, Device Analysis, Country Stats 수집
             // --------------------------------------------------------------------------------
-            logger.info("Collecting daily video stats for user: {}, channel: {}", googleId, channelId);
-            List<YouTubeVideo> allChannelVideos = youTubeVideoRepository.findByChannelId(channelId);
+            runPhase(jobItem, CollectionPhase.DASHBOARD,
+                    () -> collectDashboardStats(googleId, channelId, channelStatStartDate, analyticsDataEndDate));
 
-            for (YouTubeVideo youTubeVideo : allChannelVideos) {
-                Long videoDbId = youTubeVideo.getVideoId();
-                String youTubeVideoKey = youTubeVideo.getVideoKey();
-                LocalDate videoUploadedDate = youTubeVideo.getUploadedAt().toLocalDate();
+        } catch (TokenResponseException e) {
+            logger.error("Authentication required for channel {}: {}", channelId, e.getMessage());
+            // TODO: 사용자에게 재인증을 요청하는 로직 (예: 이메일 전송, 상태 업데이트)
+            throw e;
+        } catch (IOException | GeneralSecurityException e) {
+            logger.error("Error collecting dashboard stats for channel {}: {}", channelId, e.getMessage(), e);
+            throw e;
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error during dashboard stats collection for channel {}: {}", channelId, e.getMessage(), e);
+            throw e;
+        }
+    }
 
-                if (videoUploadedDate.isAfter(analyticsDataEndDate)) {
-                    logger.debug("Video {} uploaded date {} is after current analytics end date {}. Skipping detailed video stats collection.", youTubeVideoKey, videoUploadedDate, analyticsDataEndDate);
-                    continue;
-                }
+    /**
+     * 수집 단계 하나를 실행합니다.
+     * jobItem이 null이면 호출한 쪽의 트랜잭션(엔진의 사용자 트랜잭션)에서 그대로 실행합니다.
+     * jobItem이 있으면 이미 끝난 단계는 건너뛰고, 단계가 끝나면 체크포인트를 남깁니다.
+     * 단계 전체를 트랜잭션으로 감싸지 않습니다. Google API 호출이 몇 분씩 걸려도 DB 연결을 잡고 있지 않도록,
+     * 저장(저장소 save, StatsBulkUpsertWriter)과 체크포인트는 각각 짧은 트랜잭션으로 커밋됩니다.
+     * 단계 중간에 실패하면 그때까지 저장된 데이터는 남고 체크포인트는 남기지 않아, 재시작 시 이 단계부터 다시 실행합니다.
+     * 단계 저장은 모두 upsert/누락분 채우기이므로 다시 실행해도 결과가 같습니다.
+     */
+    private void runPhase(CollectionJobItem jobItem, CollectionPhase phase, CollectionPhaseWork work) throws IOException, GeneralSecurityException {
+        if (jobItem == null) {
+            work.run();
+            return;
+        }
+        if (jobItem.getPhase().ordinal() > phase.ordinal()) {
+            logger.info("Phase {} already completed for user {} in collection job {}. Skipping.", phase, jobItem.getGoogleId(), jobItem.getJobId());
+            collectionProgressService.phaseCompleted(jobItem.getGoogleId(), phase);
+            return;
+        }
 
-                LocalDateTime videoStatsCollectionDate = analyticsDataEndDate.atStartOfDay(); // video stats date
+        collectionProgressService.phaseStarted(jobItem.getGoogleId(), phase);
+        long startNanos = System.nanoTime();
+        work.run();
+        collectionJobService.completePhase(jobItem, phase);
+        collectionProgressService.phaseCompleted(jobItem.getGoogleId(), phase);
+        logger.info("Phase {} completed for user {} in collection job {} ({} ms).", phase, jobItem.getGoogleId(), jobItem.getJobId(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
 
-                VideoStatsId videoStatsId = new VideoStatsId(videoDbId, videoStatsCollectionDate);
-                Optional<VideoStat> existingVideoStat = videoStatRepository.findById(videoStatsId);
+    /**
+     * 1단계: 채널 일일 통계(TB_CHANNEL_STATS) 중 누락된 날짜를 수집합니다.
+     */
+    private void collectChannelStats(String googleId, String channelId, Channel currentChannel, DateTimeFormatter formatter,
+            LocalDate channelStatStartDate, LocalDate analyticsDataEndDate) throws IOException, GeneralSecurityException {
+        // 이미 저장된 날짜를 범위 조회 한 번으로 확인하고, 누락된 날짜만 모읍니다.
+        Set<LocalDateTime> existingStatDates = channelStatRepository
+                .findById_ChannelIdAndId_StatsDateBetween(channelId, channelStatStartDate.atStartOfDay(), analyticsDataEndDate.atStartOfDay())
+                .stream()
+                .map(stat -> stat.getId().getStatsDate())
+                .collect(Collectors.toSet());
+
+        List<LocalDate> missingStatDates = new ArrayList<>();
+        for (LocalDate currentDate = channelStatStartDate; !currentDate.isAfter(analyticsDataEndDate); currentDate = currentDate.plusDays(1)) {
+            if (existingStatDates.contains(currentDate.atStartOfDay())) {
+                logger.debug("Channel stats already exist for channel {} on {}. Skipping this date.", channelId, currentDate.format(formatter));
+                continue;
+            }
+            missingStatDates.add(currentDate);
+        }
 
-                if (existingVideoStat.isPresent() && existingVideoStat.get().getViewCount() != null && existingVideoStat.get().getSubscriberGained() != null) {
-                    logger.debug("All Video stats already exist for video {} on {}. Skipping API call for this video.", youTubeVideoKey, videoStatsCollectionDate);
+        if (missingStatDates.isEmpty()) {
+            logger.info("Channel stats already exist for channel {} from {} to {}. Skipping API call.", channelId,
+                    channelStatStartDate.format(formatter), analyticsDataEndDate.format(formatter));
+        } else {
+            LocalDate firstMissingDate = missingStatDates.get(0);
+            LocalDate lastMissingDate = missingStatDates.get(missingStatDates.size() - 1);
+
+            // dimensions=day 이므로 누락 구간 전체를 한 번의 범위 쿼리로 가져옵니다.
+            logger.info("Collecting daily channel stats for user: {}, channel: {}. {} missing days between {} and {} (single ranged query).",
+                    googleId, channelId, missingStatDates.size(), firstMissingDate.format(formatter), lastMissingDate.format(formatter));
+            QueryResponse channelStatsResponse = youtubeAnalyticsService.getChannelBasicAnalytics(googleId,
+                    firstMissingDate.format(formatter), lastMissingDate.format(formatter), channelId);
+
+            AnalyticsResultTable channelStatsTable = AnalyticsResultTable.from(channelStatsResponse);
+            Map<String, Integer> channelStatRowsByDay = channelStatsTable.rowIndexBy("day");
+
+            List<ChannelStat> channelStatsToSave = new ArrayList<>(missingStatDates.size());
+            for (LocalDate missingDate : missingStatDates) {
+                String dateStr = missingDate.format(formatter);
+                Integer row = channelStatRowsByDay.get(dateStr);
+                if (row == null) {
+                    // 0으로 저장하면 누적 시청 시간이 틀어지고 다시 수집되지도 않으므로, 저장하지 않고 다음 수집에서 다시 조회합니다.
+                    logger.warn("No row found in channelStatsResponse for channel {} on {}. Leaving the day for the next collection.", channelId, dateStr);
                     continue;
                 }
-                
-                VideoStat videoStatToSave = existingVideoStat.orElseGet(VideoStat::new);
-                videoStatToSave.setId(videoStatsId);
-
-                // YouTube Data API를 통한 누적 통계 가져오기 (views, likes, comments)
-                try {
-                    Video videoDetailsAndStats = youtubeDataApiService.getVideoStatistics(googleId, youTubeVideoKey);
-                    if (videoDetailsAndStats != null && videoDetailsAndStats.getStatistics() != null) {
-                        videoStatToSave.setViewCount(videoDetailsAndStats.getStatistics().getViewCount().longValue());
-                        videoStatToSave.setLikeCount(videoDetailsAndStats.getStatistics().getLikeCount() != null ? videoDetailsAndStats.getStatistics().getLikeCount().intValue() : null);
-                        videoStatToSave.setCommentCount(videoDetailsAndStats.getStatistics().getCommentCount() != null ? videoDetailsAndStats.getStatistics().getCommentCount().intValue() : null);
-                        logger.debug("Retrieved Data API Stats for video {} (Current): ViewCount={}, LikeCount={}, CommentCount={}", youTubeVideoKey, videoStatToSave.getViewCount(), videoStatToSave.getLikeCount(), videoStatToSave.getCommentCount());
-                    } else {
-                        logger.warn("No statistics found from Data API for video {}. Setting counts to NULL.", youTubeVideoKey);
-                        videoStatToSave.setViewCount(null); videoStatToSave.setLikeCount(null); videoStatToSave.setCommentCount(null);
-                    }
-                } catch (IOException | GeneralSecurityException e) {
-                    logger.error("Error fetching current video statistics from Data API for video {}: {}", youTubeVideoKey, e.getMessage());
-                    videoStatToSave.setViewCount(null); videoStatToSave.setLikeCount(null); videoStatToSave.setCommentCount(null);
-                }
+                channelStatsToSave.add(buildChannelStat(new ChannelStatsId(channelId, missingDate.atStartOfDay()), channelStatsTable,
+                        row, currentChannel));
+            }
 
-                // YouTube Analytics API를 통한 누적 통계 (AvgWatchTime, SubscriberGained) 가져오기
-                try {
-                    String metricsForCumulative = "subscribersGained,averageViewDuration";
-                    QueryResponse videoAnalyticsCumulativeResponse = youtubeAnalyticsService.getVideoAnalyticsCumulativeMetrics(
-                            googleId, videoUploadedDate.format(formatter), analyticsDataEndDate.format(formatter), youTubeVideoKey, metricsForCumulative);
+            if (channelStatsToSave.isEmpty()) {
+                // 아직 Analytics에 집계되지 않은 날짜뿐인 경우(보통 어제 하루)입니다. 다음 수집에서 다시 조회합니다.
+                logger.info("No Analytics rows yet for channel {} between {} and {} ({} missing days). Nothing to save.", channelId,
+                        firstMissingDate.format(formatter), lastMissingDate.format(formatter), missingStatDates.size());
+                return;
+            }
 
-                    if (videoAnalyticsCumulativeResponse != null && videoAnalyticsCumulativeResponse.getRows() != null && !videoAnalyticsCumulativeResponse.getRows().isEmpty()) {
-                        List<Object> analyticRow = videoAnalyticsCumulativeResponse.getRows().get(0);
-                        Integer cumulativeSubGained = ((BigDecimal) analyticRow.get(0)).intValue();
-                        Long cumulativeAvgDuration = ((BigDecimal) analyticRow.get(1)).longValue();
+            // 누적 시청 시간은 전날까지의 누적값에 일별 시청 시간을 더해 이어 갑니다. (전체 기간 재계산은 ChannelWatchTimeService의 주간 작업에서)
+            channelWatchTimeService.applyCumulativeWatchTime(googleId, channelId, channelStatsToSave);
 
-                        videoStatToSave.setAvgWatchTime(cumulativeAvgDuration.intValue());
-                        videoStatToSave.setSubscriberGained(cumulativeSubGained);
-                        logger.debug("Retrieved Cumulative Analytics for video {} (Up to {}): SubGained={}, AvgDuration={}", youTubeVideoKey, analyticsDataEndDate.format(formatter), cumulativeSubGained, cumulativeAvgDuration);
-                    } else {
-                        logger.warn("No cumulative analytics data found for video {} up to {}. Setting relevant stats to NULL.", youTubeVideoKey, analyticsDataEndDate.format(formatter));
-                        videoStatToSave.setAvgWatchTime(null); videoStatToSave.setSubscriberGained(null);
+            // 저장 실패는 runPhase까지 올려 보내, 이 단계가 체크포인트되지 않고 재개 시 다시 실행되게 합니다.
+            statsBulkUpsertWriter.upsertChannelStats(channelStatsToSave);
+            logger.info("Saved {} of {} missing daily channel stats rows for channel {} ({} ~ {}). {} days left for the next collection.",
+                    channelStatsToSave.size(), missingStatDates.size(), channelId, firstMissingDate.format(formatter),
+                    lastMissingDate.format(formatter), missingStatDates.size() - channelStatsToSave.size());
+        }
+    }
+
+    /**
+     * 2단계: 업로드 재생목록을 따라 비디오 메타데이터(TB_VIDEO)를 수집합니다.
+     */
+    private void collectVideoMetadata(String googleId, String channelId, Channel currentChannel, DateTimeFormatter formatter)
+            throws IOException, GeneralSecurityException {
+        logger.info("Collecting video metadata for user: {}, channel: {}", googleId, channelId);
+        String uploadsPlaylistId = null;
+        if (currentChannel.getContentDetails() != null
+                && currentChannel.getContentDetails().getRelatedPlaylists() != null
+                && currentChannel.getContentDetails().getRelatedPlaylists().getUploads() != null) {
+            uploadsPlaylistId = currentChannel.getContentDetails().getRelatedPlaylists().getUploads();
+        }
+        
+        Credential credential = oAuthService.getCredential(googleId);
+		if (credential == null || credential.getAccessToken() == null) {
+            throw new GeneralSecurityException("OAuth 인증이 필요합니다. 사용자(" + googleId + ")의 Credential이 유효하지 않습니다.");
+        }
+
+        YouTube youTube = oAuthService.getYouTubeService(credential); // User의 googleId로 Credential 가져옴
+
+        if (uploadsPlaylistId != null) {
+            // 업로드 재생목록은 최신순이므로, 증분 모드에서는 이미 저장된 비디오만 있는 페이지를 만나면 페이징을 멈춥니다.
+            Set<String> knownVideoKeys = new HashSet<>(youTubeVideoRepository.findVideoKeysByChannelId(channelId));
+            boolean incrementalSync = "incremental".equalsIgnoreCase(videoSyncMode) && !knownVideoKeys.isEmpty();
+
+            YouTube.PlaylistItems.List playlistItemsRequest = youTube.playlistItems()
+                    .list(Arrays.asList("snippet", "contentDetails"));
+            playlistItemsRequest.setPlaylistId(uploadsPlaylistId);
+            playlistItemsRequest.setMaxResults(50L);
+
+            PlaylistItemListResponse playlistResponse;
+            String nextPageToken = null;
+            int playlistPages = 0;
+            int newVideoCount = 0;
+            do {
+                playlistItemsRequest.setPageToken(nextPageToken);
+                quotaBudgetManager.acquire(googleId, QuotaBudgetManager.Operation.PLAYLIST_ITEMS_LIST, QuotaBudgetManager.Priority.CRITICAL);
+                playlistResponse = dataApiResponseCache.execute(googleId, playlistItemsRequest).getResponse();
+                playlistPages++;
+                if (playlistResponse.getItems() != null) {
+                    List<String> videoKeys = playlistResponse.getItems().stream()
+                            .map(item -> item.getContentDetails().getVideoId()).collect(Collectors.toList());
+                    List<String> videoKeysToProcess = incrementalSync
+                            ? videoKeys.stream().filter(key -> !knownVideoKeys.contains(key)).collect(Collectors.toList())
+                            : videoKeys;
+
+                    // processAndSaveVideoData는 TB_VIDEO (메타데이터)만 저장합니다.
+                    processAndSaveVideoData(googleId, videoKeysToProcess, youTube, LocalDate.now().minusDays(1).format(formatter));
+                    newVideoCount += videoKeysToProcess.size();
+                    if (!incrementalSync && playlistResponse.getPageInfo() != null && playlistResponse.getPageInfo().getTotalResults() != null) {
+                        collectionProgressService.videoProgress(googleId, newVideoCount, playlistResponse.getPageInfo().getTotalResults());
                     }
-                } catch (IOException | GeneralSecurityException e) {
-                    logger.error("Error fetching cumulative video analytics for video {} up to {}: {}", youTubeVideoKey, analyticsDataEndDate.format(formatter), e.getMessage());
-                    videoStatToSave.setAvgWatchTime(null); videoStatToSave.setSubscriberGained(null);
-                }
 
-                try {
-                    videoStatRepository.save(videoStatToSave);
-                    logger.info("Saved/Updated VideoStat for video {} on {}. Final values: ViewCount={}, LikeCount={}, CommentCount={}, AvgWatchTime={}, SubscriberGained={}",
-                            youTubeVideoKey, videoStatsCollectionDate.format(formatter), videoStatToSave.getViewCount(), videoStatToSave.getLikeCount(),
-                            videoStatToSave.getCommentCount(), videoStatToSave.getAvgWatchTime(), videoStatToSave.getSubscriberGained());
-                } catch (Exception dbSaveEx) {
-                    logger.error("Error saving/updating VideoStat for video {} on {}: {}", youTubeVideoKey, videoStatsCollectionDate.format(formatter), dbSaveEx.getMessage(), dbSaveEx);
+                    if (incrementalSync && videoKeysToProcess.isEmpty()) {
+                        logger.debug("Playlist page {} of channel {} contains only known videos. Stopping incremental sync.", playlistPages, channelId);
+                        break;
+                    }
                 }
-            }
+                nextPageToken = playlistResponse.getNextPageToken();
+            } while (nextPageToken != null);
+            logger.info("Uploads playlist sync for channel {} ({} mode): {} page(s), {} video(s) processed.", channelId,
+                    incrementalSync ? "incremental" : "full", playlistPages, newVideoCount);
 
+            if (incrementalSync) {
+                refreshStaleVideoMetadata(googleId, channelId, youTube, formatter);
+            }
+        } else {
+            logger.warn("Uploads playlist ID not found for channel {}. Skipping video metadata collection.", channelId);
+        }
+    }
 
-            // --------------------------------------------------------------------------------
-            // 4. 채널별 Audience (성별, 연령대), Inflow Route, Device Analysis, Country Stats 수집
-            // --------------------------------------------------------------------------------
-            logger.info("Collecting channel-wide analytics stats (Audience, Inflow, Device, Country) for user: {}, channel: {}", googleId, channelId);
-
-            // 대시보드 통계 저장 기준 날짜
-            LocalDateTime dashboardCollectionDate = LocalDate.now().atStartOfDay(); // 모든 분포 통계에 일관된 날짜
-
-            ChannelDashboardStatsId dashboardStatsId = new ChannelDashboardStatsId(channelId, dashboardCollectionDate);
-            Optional<ChannelDashboardStat> existingDashboardStat = channelDashboardStatRepository.findById(dashboardStatsId);
-            ChannelDashboardStat dashboardStatToSave = existingDashboardStat.orElseGet(ChannelDashboardStat::new);
-            dashboardStatToSave.setId(dashboardStatsId);
-
-
-            // 1. 성별 분포 (Gender Distribution)
-            QueryResponse genderAgeResponse = youtubeAnalyticsService.getChannelAudienceAnalytics(googleId, channelStatStartDate.format(formatter), analyticsDataEndDate.format(formatter), channelId);
-            if (genderAgeResponse != null && genderAgeResponse.getRows() != null && !genderAgeResponse.getRows().isEmpty()) {
-                Map<String, Long> genderViews = new HashMap<>();
-                long totalViewsForGender = 0;
-                for (List<Object> row : genderAgeResponse.getRows()) {
-                    String gender = (String) row.get(0);
-                    Long views = ((BigDecimal) row.get(2)).longValue();
-                    genderViews.merge(gender, views, Long::sum);
-                    totalViewsForGender += views;
-                }
-                List<Map<String, Object>> genderList = new ArrayList<>();
-                for (Map.Entry<String, Long> entry : genderViews.entrySet()) {
-                    double percentage = (totalViewsForGender > 0) ? (double) entry.getValue() / totalViewsForGender * 100 : 0.0;
-                    Map<String, Object> genderData = new HashMap<>();
-                    genderData.put("gender", entry.getKey());
-                    genderData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    genderList.add(genderData);
-                }
-                dashboardStatToSave.setGenderDistributionJson(objectMapper.writeValueAsString(genderList));
-            } else {
-                logger.warn("No gender data found for channel {}", channelId);
-                dashboardStatToSave.setGenderDistributionJson("[]");
+    /**
+     * 3단계: 비디오별 일일 통계(TB_VIDEO_STATS)를 수집합니다.
+     */
+    private void collectVideoStats(String googleId, String channelId, DateTimeFormatter formatter, LocalDate analyticsDataEndDate)
+            throws IOException, GeneralSecurityException {
+        logger.info("Collecting daily video stats for user: {}, channel: {}", googleId, channelId);
+        List<YouTubeVideo> allChannelVideos = youTubeVideoRepository.findByChannelId(channelId);
+        LocalDateTime videoStatsCollectionDate = analyticsDataEndDate.atStartOfDay(); // video stats date
+
+        List<YouTubeVideo> statTargetVideos = new ArrayList<>();
+        for (YouTubeVideo youTubeVideo : allChannelVideos) {
+            LocalDate videoUploadedDate = youTubeVideo.getUploadedAt().toLocalDate();
+            if (videoUploadedDate.isAfter(analyticsDataEndDate)) {
+                logger.debug("Video {} uploaded date {} is after current analytics end date {}. Skipping detailed video stats collection.", youTubeVideo.getVideoKey(), videoUploadedDate, analyticsDataEndDate);
+                continue;
             }
+            statTargetVideos.add(youTubeVideo);
+        }
 
+        // 갱신 등급에 따라 이번 기준 날짜에 조회할 비디오만 남깁니다. (COLD 비디오는 cold-interval-days 마다 조회)
+        if (tieredRefreshEnabled && !statTargetVideos.isEmpty()) {
+            Set<String> dueVideoKeys = new HashSet<>(
+                    videoRefreshScheduler.planDailyPass(channelId, statTargetVideos, analyticsDataEndDate).getVideoKeys());
+            statTargetVideos.removeIf(video -> !dueVideoKeys.contains(video.getVideoKey()));
+        }
 
-            // 2. 연령대 분포 (Age Group Distribution)
-            if (genderAgeResponse != null && genderAgeResponse.getRows() != null && !genderAgeResponse.getRows().isEmpty()) {
-                Map<String, Long> ageGroupViews = new HashMap<>();
-                long totalViewsForAgeGroup = 0;
-                for (List<Object> row : genderAgeResponse.getRows()) {
-                    String ageGroup = (String) row.get(1);
-                    Long views = ((BigDecimal) row.get(2)).longValue();
-                    ageGroupViews.merge(ageGroup, views, Long::sum);
-                    totalViewsForAgeGroup += views;
-                }
-                List<Map<String, Object>> ageGroupList = new ArrayList<>();
-                for (Map.Entry<String, Long> entry : ageGroupViews.entrySet()) {
-                    String formattedAgeGroup = entry.getKey();
-                    if (formattedAgeGroup.startsWith("age")) {
-                        formattedAgeGroup = formattedAgeGroup.substring(3);
-                    }
-                    if (formattedAgeGroup.endsWith("_")) {
-                        formattedAgeGroup = formattedAgeGroup.replace("_", "+");
-                    }
-                    double percentage = (totalViewsForAgeGroup > 0) ? (double) entry.getValue() / totalViewsForAgeGroup * 100 : 0.0;
-                    Map<String, Object> ageGroupData = new HashMap<>();
-                    ageGroupData.put("ageGroup", formattedAgeGroup);
-                    ageGroupData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    ageGroupList.add(ageGroupData);
-                }
-                dashboardStatToSave.setAgeGroupDistributionJson(objectMapper.writeValueAsString(ageGroupList));
-            } else {
-                logger.warn("No age group data found for channel {}", channelId);
-                dashboardStatToSave.setAgeGroupDistributionJson("[]");
+        // 이미 저장된 통계는 한 번의 조회로 가져옵니다.
+        Map<Long, VideoStat> existingVideoStats = new HashMap<>();
+        if (!statTargetVideos.isEmpty()) {
+            List<Long> statTargetVideoIds = statTargetVideos.stream().map(YouTubeVideo::getVideoId).collect(Collectors.toList());
+            for (VideoStat existing : videoStatRepository.findByIdVideoIdInAndIdStatsDate(statTargetVideoIds, videoStatsCollectionDate)) {
+                existingVideoStats.put(existing.getId().getVideoId(), existing);
             }
+        }
 
+        List<YouTubeVideo> videosToCollect = new ArrayList<>();
+        for (YouTubeVideo youTubeVideo : statTargetVideos) {
+            VideoStat existing = existingVideoStats.get(youTubeVideo.getVideoId());
+            if (existing != null && existing.getViewCount() != null && existing.getSubscriberGained() != null) {
+                logger.debug("All Video stats already exist for video {} on {}. Skipping API call for this video.", youTubeVideo.getVideoKey(), videoStatsCollectionDate);
+                continue;
+            }
+            videosToCollect.add(youTubeVideo);
+        }
 
-            // 3. 국가별 시청자 (Country Distribution)
-            QueryResponse countryResponse = youtubeAnalyticsService.getChannelCountryAnalytics(googleId, channelStatStartDate.format(formatter), analyticsDataEndDate.format(formatter), channelId);
-            if (countryResponse != null && countryResponse.getRows() != null && !countryResponse.getRows().isEmpty()) {
-                long totalViewsForCountry = countryResponse.getRows().stream()
-                                                            .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                            .sum();
-                List<Map<String, Object>> countryList = new ArrayList<>();
-                for (List<Object> row : countryResponse.getRows()) {
-                    String countryCode = (String) row.get(0);
-                    Long viewsCount = ((BigDecimal) row.get(1)).longValue();
-                    double percentage = (totalViewsForCountry > 0) ? (double) viewsCount / totalViewsForCountry * 100 : 0.0;
-                    Map<String, Object> countryData = new HashMap<>();
-                    countryData.put("country", countryCode);
-                    countryData.put("viewsCount", viewsCount);
-                    countryData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    countryList.add(countryData);
-                }
-                dashboardStatToSave.setCountryDistributionJson(objectMapper.writeValueAsString(countryList));
-            } else {
-                logger.warn("No country data found for channel {}", channelId);
-                dashboardStatToSave.setCountryDistributionJson("[]");
+        // YouTube Data API를 통한 누적 통계 가져오기 (views, likes, comments) - videos.list 50개 단위 배치 호출
+        Map<String, VideoStatistics> statisticsByVideoKey = Collections.emptyMap();
+        if (!videosToCollect.isEmpty()) {
+            try {
+                collectionProgressService.videoProgress(googleId, 0, videosToCollect.size());
+                statisticsByVideoKey = videoStatisticsBatchFetcher.fetchStatistics(googleId,
+                        videosToCollect.stream().map(YouTubeVideo::getVideoKey).collect(Collectors.toList()),
+                        fetchedVideos -> collectionProgressService.videosProcessed(googleId, fetchedVideos));
+            } catch (IOException | GeneralSecurityException e) {
+                logger.error("Error fetching current video statistics from Data API for channel {}: {}", channelId, e.getMessage());
             }
+        }
 
+        // YouTube Analytics API를 통한 누적 통계 (AvgWatchTime, SubscriberGained) - dimensions=video 채널 리포트 한 종류로 조회
+        AnalyticsResultTable cumulativeTable = null;
+        Map<String, Integer> cumulativeRowsByVideoKey = null;
+        if (!videosToCollect.isEmpty()) {
+            LocalDate earliestUploadedDate = videosToCollect.stream()
+                    .map(video -> video.getUploadedAt().toLocalDate())
+                    .min(LocalDate::compareTo)
+                    .orElse(analyticsDataEndDate);
+            try {
+                cumulativeTable = youtubeAnalyticsService.getChannelVideoCumulativeMetrics(
+                        googleId, earliestUploadedDate.format(formatter), analyticsDataEndDate.format(formatter), channelId);
+                cumulativeRowsByVideoKey = cumulativeTable.rowIndexBy("video");
+            } catch (IOException | GeneralSecurityException e) {
+                logger.error("Error fetching per-video cumulative analytics for channel {} up to {}: {}", channelId, analyticsDataEndDate.format(formatter), e.getMessage());
+            }
+        }
 
-            // 4. 주요 트래픽 소스 (Traffic Source Distribution)
-            QueryResponse trafficSourceResponse = youtubeAnalyticsService.getChannelTrafficSourceAnalytics(googleId, channelStatStartDate.format(formatter), analyticsDataEndDate.format(formatter), channelId);
-            if (trafficSourceResponse != null && trafficSourceResponse.getRows() != null && !trafficSourceResponse.getRows().isEmpty()) {
-                long totalViewsForTraffic = trafficSourceResponse.getRows().stream()
-                                                                .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                                .sum();
-                List<Map<String, Object>> trafficList = new ArrayList<>();
-                for (List<Object> row : trafficSourceResponse.getRows()) {
-                    String sourceType = (String) row.get(0);
-                    Long views = ((BigDecimal) row.get(1)).longValue();
-                    double percentage = (totalViewsForTraffic > 0) ? (double) views / totalViewsForTraffic * 100 : 0.0;
-                    Map<String, Object> trafficData = new HashMap<>();
-                    trafficData.put("sourceType", sourceType);
-                    trafficData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    trafficList.add(trafficData);
-                }
-                dashboardStatToSave.setTrafficSourceDistributionJson(objectMapper.writeValueAsString(trafficList));
+        int subscribersGainedColumn = cumulativeTable != null ? cumulativeTable.columnIndex("subscribersGained") : -1;
+        int averageViewDurationColumn = cumulativeTable != null ? cumulativeTable.columnIndex("averageViewDuration") : -1;
+
+        List<VideoStat> videoStatsToSave = new ArrayList<>(videosToCollect.size());
+        for (YouTubeVideo youTubeVideo : videosToCollect) {
+            Long videoDbId = youTubeVideo.getVideoId();
+            String youTubeVideoKey = youTubeVideo.getVideoKey();
+
+            VideoStat videoStatToSave = Optional.ofNullable(existingVideoStats.get(videoDbId)).orElseGet(VideoStat::new);
+            videoStatToSave.setId(new VideoStatsId(videoDbId, videoStatsCollectionDate));
+
+            VideoStatistics statistics = statisticsByVideoKey.get(youTubeVideoKey);
+            if (statistics != null) {
+                videoStatToSave.setViewCount(statistics.getViewCount() != null ? statistics.getViewCount().longValue() : null);
+                videoStatToSave.setLikeCount(statistics.getLikeCount() != null ? statistics.getLikeCount().intValue() : null);
+                videoStatToSave.setCommentCount(statistics.getCommentCount() != null ? statistics.getCommentCount().intValue() : null);
+                logger.debug("Retrieved Data API Stats for video {} (Current): ViewCount={}, LikeCount={}, CommentCount={}", youTubeVideoKey, videoStatToSave.getViewCount(), videoStatToSave.getLikeCount(), videoStatToSave.getCommentCount());
             } else {
-                logger.warn("No traffic source data found for channel {}", channelId);
-                dashboardStatToSave.setTrafficSourceDistributionJson("[]");
+                logger.warn("No statistics found from Data API for video {}. Setting counts to NULL.", youTubeVideoKey);
+                videoStatToSave.setViewCount(null); videoStatToSave.setLikeCount(null); videoStatToSave.setCommentCount(null);
             }
 
-
-            // 5. 기기 유형별 시청 비율 (Device Distribution)
-            QueryResponse deviceResponse = youtubeAnalyticsService.getChannelDeviceAnalytics(googleId, channelStatStartDate.format(formatter), analyticsDataEndDate.format(formatter), channelId);
-            if (deviceResponse != null && deviceResponse.getRows() != null && !deviceResponse.getRows().isEmpty()) {
-                long totalViewsForDevice = deviceResponse.getRows().stream()
-                                                            .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                            .sum();
-                List<Map<String, Object>> deviceList = new ArrayList<>();
-                for (List<Object> row : deviceResponse.getRows()) {
-                    String deviceTypeStr = (String) row.get(0);
-                    Long views = ((BigDecimal) row.get(1)).longValue();
-                    double percentage = (totalViewsForDevice > 0) ? (double) views / totalViewsForDevice * 100 : 0.0;
-                    Map<String, Object> deviceData = new HashMap<>();
-                    deviceData.put("deviceType", deviceTypeStr);
-                    deviceData.put("viewsCount", views);
-                    deviceData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                    deviceList.add(deviceData);
-                }
-                dashboardStatToSave.setDeviceDistributionJson(objectMapper.writeValueAsString(deviceList));
+            if (cumulativeRowsByVideoKey == null) {
+                // 리포트 조회 자체가 실패한 경우: 다음 수집에서 다시 시도되도록 NULL로 둡니다.
+                videoStatToSave.setAvgWatchTime(null); videoStatToSave.setSubscriberGained(null);
             } else {
-                logger.warn("No device data found for channel {}", channelId);
-                dashboardStatToSave.setDeviceDistributionJson("[]");
+                Integer analyticRow = cumulativeRowsByVideoKey.get(youTubeVideoKey);
+                if (analyticRow != null) {
+                    int cumulativeSubGained = (int) cumulativeTable.getLong(analyticRow, subscribersGainedColumn);
+                    long cumulativeAvgDuration = cumulativeTable.getLong(analyticRow, averageViewDurationColumn);
+                    videoStatToSave.setAvgWatchTime((int) cumulativeAvgDuration);
+                    videoStatToSave.setSubscriberGained(cumulativeSubGained);
+                    logger.debug("Retrieved Cumulative Analytics for video {} (Up to {}): SubGained={}, AvgDuration={}", youTubeVideoKey, analyticsDataEndDate.format(formatter), cumulativeSubGained, cumulativeAvgDuration);
+                } else {
+                    // 리포트에 행이 없는 비디오는 해당 기간 시청 기록이 없는 비디오입니다.
+                    logger.debug("No cumulative analytics row for video {} up to {}. Setting relevant stats to 0.", youTubeVideoKey, analyticsDataEndDate.format(formatter));
+                    videoStatToSave.setAvgWatchTime(0); videoStatToSave.setSubscriberGained(0);
+                }
             }
 
-            // 최종 ChannelDashboardStat 저장
-            channelDashboardStatRepository.save(dashboardStatToSave);
-            logger.info("Successfully collected and saved dashboard stats for channel: {}", channelId);
+            videoStatsToSave.add(videoStatToSave);
+        }
 
-        } catch (TokenResponseException e) {
-            logger.error("Authentication required for channel {}: {}", channelId, e.getMessage());
-            // TODO: 사용자에게 재인증을 요청하는 로직 (예: 이메일 전송, 상태 업데이트)
-        } catch (IOException | GeneralSecurityException e) {
-            logger.error("Error collecting dashboard stats for channel {}: {}", channelId, e.getMessage(), e);
-        } catch (Exception e) {
-            logger.error("Unexpected error during dashboard stats collection for channel {}: {}", channelId, e.getMessage(), e);
+        if (!videoStatsToSave.isEmpty()) {
+            statsBulkUpsertWriter.upsertVideoStats(videoStatsToSave);
+            logger.info("Saved/Updated {} VideoStat rows for channel {} on {}.", videoStatsToSave.size(), channelId, videoStatsCollectionDate.format(formatter));
         }
     }
-	
-	@Transactional
-	private void collectAudienceStats(String googleId, String youTubeVideoKey, String dateStr, Long videoId, LocalDate uploadedDate) throws GeneralSecurityException, IOException {
-		logger.info("Collecting Audience Stats for video: {} (YouTube ID: {}) on date: {}", videoId, youTubeVideoKey, dateStr);
-		
-		LocalDateTime startDate = uploadedDate.atStartOfDay();
-		LocalDateTime endDate = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).minusDays(1).atStartOfDay();
-		
-		QueryResponse audienceResponse = youtubeAnalyticsService.getAudienceStats(googleId, startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), youTubeVideoKey);
-
-        if (audienceResponse == null || audienceResponse.getRows() == null || audienceResponse.getRows().isEmpty()) {
-            logger.warn("No audience data found for video {} on {}. Skipping saving.", youTubeVideoKey, dateStr);
+
+    /**
+     * HOT 등급 비디오(최근 업로드되었거나 조회수가 빠르게 늘어나는 비디오)의 조회수/좋아요/댓글 수를 하루 중 수시로 갱신합니다.
+     * 오늘 날짜의 TB_VIDEO_STATS 행에 Data API 카운트만 저장하고, 나머지 지표는 다음 야간 수집에서 채웁니다.
+     * 야간 수집보다 우선순위가 낮은 쿼터(NORMAL)로 조회합니다.
+     */
+    @Scheduled(cron = "${youtube.data-collection.refresh.hot-cron:0 0 */6 * * ?}", zone = "Asia/Seoul")
+    public void refreshHotVideoStats() {
+        if (!tieredRefreshEnabled) {
             return;
         }
-        
-        LocalDateTime statsDateTime = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atStartOfDay();
-        
-        for (List<Object> row : audienceResponse.getRows()) {
-        	logger.debug("AudienceStats - Full Row for video {} on {}: {}", videoId, dateStr, row);
-        	
-            String genderStr = (String) row.get(0);
-            String ageGroupStr = (String) row.get(1);
-            Double watchingRatioDouble = ((BigDecimal) row.get(2)).doubleValue();
-
-            // Convert to ENUM
-            Gender gender = Gender.valueOf(genderStr.toUpperCase());
-            AgeGroup ageGroup = AgeGroup.fromDbValue(ageGroupStr);
-            logger.info("AudienceStats - API ageGroupStr: '{}', Converted AgeGroup: {}, getDbValue(): '{}'", ageGroupStr, ageGroup, ageGroup.getDbValue());
-            
-            
-            AudienceStatsId audienceStatsId = new AudienceStatsId(videoId, gender, ageGroup, statsDateTime);
-            Optional<AudienceStat> existingStat = audienceStatRepository.findById(audienceStatsId);
-            if (existingStat.isPresent()) {
-                logger.info("Audience Stats already exist for video {} on {} for device type {}. Skipping saving (inner loop).", videoId, dateStr);
-                continue;
-           }
-            AudienceStat audienceStat = existingStat.orElseGet(AudienceStat::new);
-            
-            audienceStat.setId(audienceStatsId);
-            audienceStat.setWatchingRatio(BigDecimal.valueOf(watchingRatioDouble)); // Double -> BigDecimal
+        List<User> targetUsers = collectionShardLeaseService.filterOwnedUsers(userService.findAllUsers().stream()
+                .filter(user -> user.getMyChannelId() != null && !user.getMyChannelId().isEmpty())
+                .collect(Collectors.toList()));
+        if (targetUsers.isEmpty()) {
+            return;
+        }
+        if (!quotaBudgetManager.hasBudget(QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.NORMAL)) {
+            // 예산이 없으면 배치마다 실패시키지 않고 quota 가 초기화된 뒤 한 번 실행합니다.
+            logger.warn("Not enough quota budget for the hot video refresh. Deferring it until the quota resets.");
+            quotaBudgetManager.deferUntilReset("hot-video-refresh", this::refreshHotVideoStats);
+            return;
+        }
+        dataCollectionEngine.runForUsers("hot-video-refresh", targetUsers,
+                user -> refreshHotVideoStats(user.getGoogleId(), user.getMyChannelId()), false);
+    }
 
-            try {
-                audienceStatRepository.save(audienceStat);
-                logger.info("Saved Audience Stats for video {} on {}: Gender={}, Age={}, Ratio={}", videoId, dateStr, genderStr, ageGroupStr, watchingRatioDouble);
-            } catch (Exception dbSaveEx) {
-                logger.error("Error saving Audience Stats for video {} on {}: {}", videoId, dateStr, dbSaveEx.getMessage(), dbSaveEx);
-            }
+    private void refreshHotVideoStats(String googleId, String channelId) throws IOException, GeneralSecurityException {
+        LocalDateTime now = LocalDateTime.now();
+        List<YouTubeVideo> channelVideos = youTubeVideoRepository.findByChannelId(channelId);
+        List<String> hotVideoKeys = videoRefreshScheduler.planHotPass(channelId, channelVideos, now).getVideoKeys();
+        if (hotVideoKeys.isEmpty()) {
+            return;
         }
-        
-	}
-	
-	@Transactional
-	private void collectInflowRouteStats(String googleId, String youTubeVideoKey, String dateStr, Long videoId, LocalDate uploadedDate) throws GeneralSecurityException, IOException {
-		logger.info("Collecting Inflow Route Stats for video: {} (YouTube ID: {}) on date: {}", videoId, youTubeVideoKey, dateStr);
-		
-		LocalDateTime startDate = uploadedDate.atStartOfDay();
-		LocalDateTime endDate = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).minusDays(1).atStartOfDay();
-		
-		LocalDateTime statsDateTime = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atStartOfDay();
-		
-		QueryResponse inflowResponse = youtubeAnalyticsService.getInflowRouteStats(googleId, startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-				youTubeVideoKey);
-
-		if (inflowResponse == null || inflowResponse.getRows() == null || inflowResponse.getRows().isEmpty()) {
-			logger.warn("No inflow route data found for video {} on {}. Skipping saving.", youTubeVideoKey, dateStr);
-			return;
-		}
-		
-		long totalInflowViewsForVideoAndDate = 0L;
-		for (List<Object> row : inflowResponse.getRows()) {
-			totalInflowViewsForVideoAndDate += ((BigDecimal) row.get(1)).longValue();
-		}
-        
-        for (List<Object> row : inflowResponse.getRows()) {
-            String trafficSourceTypeDimension = (String) row.get(0);
-            Long viewsMetric = ((BigDecimal) row.get(1)).longValue();
-            
-            InflowRouteId inflowRouteId = new InflowRouteId(videoId, trafficSourceTypeDimension, statsDateTime);
-            Optional<InflowRoute> existingStat = inflowRouteRepository.findById(inflowRouteId);
-            if (existingStat.isPresent() || viewsMetric < 1) {
-                logger.info("Inflow Route Stats already exist for video {} on {} for device type {}. Skipping saving (inner loop).", videoId, dateStr);
-                continue;
-           }
-            
-            InflowRoute inflowRoute = existingStat.orElseGet(InflowRoute::new);
-            
-            inflowRoute.setId(inflowRouteId);
-            inflowRoute.setInflowCount(viewsMetric.intValue());
-            
-            BigDecimal inflowRate;
-            if (totalInflowViewsForVideoAndDate > 0) {
-                inflowRate = BigDecimal.valueOf(viewsMetric)
-                                          .divide(BigDecimal.valueOf(totalInflowViewsForVideoAndDate), 3, RoundingMode.HALF_UP) // 소수점 3자리까지 계산
-                                          .multiply(BigDecimal.valueOf(100));
-                inflowRate = inflowRate.setScale(1, RoundingMode.HALF_UP);
-            } else {
-                inflowRate = BigDecimal.ZERO;
-            }
-            
-            inflowRoute.setInflowRate(inflowRate);
 
-            try {
-                inflowRouteRepository.save(inflowRoute);
-                logger.info("Saved Inflow Route Stats for video {} on {}: Type={}, Count={}", videoId, dateStr, trafficSourceTypeDimension, viewsMetric);
-            } catch (Exception dbSaveEx) {
-                logger.error("Error saving Inflow Route Stats for video {} on {}: {}", videoId, dateStr, dbSaveEx.getMessage(), dbSaveEx);
+        Map<String, VideoStatistics> statisticsByVideoKey = videoStatisticsBatchFetcher.fetchStatistics(googleId, hotVideoKeys,
+                QuotaBudgetManager.Priority.NORMAL, fetchedVideos -> { });
+        Map<String, Long> videoIdByKey = channelVideos.stream()
+                .collect(Collectors.toMap(YouTubeVideo::getVideoKey, YouTubeVideo::getVideoId, (first, second) -> first));
+        LocalDateTime statsDate = now.toLocalDate().atStartOfDay();
+
+        List<VideoStat> videoStatsToSave = new ArrayList<>(statisticsByVideoKey.size());
+        for (Map.Entry<String, VideoStatistics> entry : statisticsByVideoKey.entrySet()) {
+            Long videoDbId = videoIdByKey.get(entry.getKey());
+            VideoStatistics statistics = entry.getValue();
+            if (videoDbId == null || statistics == null) {
+                continue;
             }
+            VideoStat videoStat = new VideoStat();
+            videoStat.setId(new VideoStatsId(videoDbId, statsDate));
+            videoStat.setViewCount(statistics.getViewCount() != null ? statistics.getViewCount().longValue() : null);
+            videoStat.setLikeCount(statistics.getLikeCount() != null ? statistics.getLikeCount().intValue() : null);
+            videoStat.setCommentCount(statistics.getCommentCount() != null ? statistics.getCommentCount().intValue() : null);
+            videoStatsToSave.add(videoStat);
         }
-	}
-	
-	@Transactional
-	private void collectDeviceAnalysisStats(String googleId, String youTubeVideoKey, String dateStr, Long videoId, LocalDate uploadedDate) throws IOException, GeneralSecurityException {
-        logger.info("Collecting Device Analysis Stats for video: {} (YouTube ID: {}) on date: {}", videoId, youTubeVideoKey, dateStr);
-        
-        LocalDateTime startDate = uploadedDate.atStartOfDay();
-		LocalDateTime endDate = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).minusDays(1).atStartOfDay();
-		
-		LocalDateTime statsDateTime = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atStartOfDay();
-		
-        QueryResponse deviceResponse = youtubeAnalyticsService.getDeviceAnalysisStats(googleId, startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), 
-        		endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), youTubeVideoKey);
-        
-        if (deviceResponse == null || deviceResponse.getRows() == null || deviceResponse.getRows().isEmpty()) {
-            logger.warn("No device analysis data found for video {} on {}. Skipping saving.", youTubeVideoKey, dateStr);
+        statsBulkUpsertWriter.upsertVideoStats(videoStatsToSave);
+        logger.info("Refreshed counts of {} hot video(s) for channel {}.", videoStatsToSave.size(), channelId);
+    }
+
+    /**
+     * 3-1단계: 비디오별 시청자층(성별/연령대), 유입 경로, 기기 분포를 수집합니다.
+     * 분포 리포트는 비디오마다 조회해야 하므로 VideoBreakdownBatchCollector가 동시에 조회한 뒤 한 번에 저장합니다.
+     */
+    private void collectVideoBreakdowns(String googleId, String channelId, LocalDate analyticsDataEndDate)
+            throws IOException, GeneralSecurityException {
+        if (!videoBreakdownEnabled) {
             return;
         }
-        
-        
-        long totalDeviceViewsForVideoAndDate = 0L;
-        for (List<Object> row : deviceResponse.getRows()) {
-            totalDeviceViewsForVideoAndDate += ((BigDecimal) row.get(1)).longValue(); // 각 row의 views 메트릭 합산
-        }
-        
-        for (List<Object> row : deviceResponse.getRows()) {
-            String deviceTypeStr = (String) row.get(0);
-            Long deviceViewsMetric = ((BigDecimal) row.get(1)).longValue(); // Metrics: views (BigDecimal -> Long)
-
-            DeviceType deviceType = DeviceType.fromDbValue(deviceTypeStr);
+        logger.info("Collecting per-video audience, inflow route and device breakdowns for user: {}, channel: {}", googleId, channelId);
+        videoBreakdownBatchCollector.collect(googleId, channelId, youTubeVideoRepository.findByChannelId(channelId), analyticsDataEndDate,
+                (processedVideos, totalVideos) -> collectionProgressService.videoProgress(googleId, processedVideos, totalVideos));
+    }
 
-            DeviceAnalysisId currentDeviceAnalysisId = new DeviceAnalysisId(videoId, deviceType, statsDateTime);
-            Optional<DeviceAnalysis> currentExistingStat = deviceAnalysisRepository.findById(currentDeviceAnalysisId);
-            if (currentExistingStat.isPresent()) {
-                 logger.info("Device Analysis Stats already exist for video {} on {} for device type {}. Skipping saving (inner loop).", videoId, dateStr, deviceTypeStr);
-                 continue;
-            }
+    /**
+     * 4단계: 채널 대시보드 분포 통계(TB_CHANNEL_DASHBOARD_STATS)를 수집합니다.
+     */
+    private void collectDashboardStats(String googleId, String channelId, LocalDate channelStatStartDate, LocalDate analyticsDataEndDate) throws IOException, GeneralSecurityException {
+        logger.info("Collecting channel-wide analytics stats (Audience, Inflow, Device, Country) for user: {}, channel: {}", googleId, channelId);
 
-            DeviceAnalysis deviceAnalysis = new DeviceAnalysis();
-            deviceAnalysis.setId(currentDeviceAnalysisId);
-            
-            BigDecimal watchingRatio;
-            if (totalDeviceViewsForVideoAndDate > 0) {
-                watchingRatio = BigDecimal.valueOf(deviceViewsMetric)
-                                          .divide(BigDecimal.valueOf(totalDeviceViewsForVideoAndDate), 3, RoundingMode.HALF_UP) // 소수점 3자리까지 계산
-                                          .multiply(BigDecimal.valueOf(100)); // 백분율로 변환
+        // 대시보드 통계 저장 기준 날짜
+        LocalDateTime dashboardCollectionDate = LocalDate.now().atStartOfDay(); // 모든 분포 통계에 일관된 날짜
 
-                watchingRatio = watchingRatio.setScale(1, RoundingMode.HALF_UP);
+        ChannelDashboardStatsId dashboardStatsId = new ChannelDashboardStatsId(channelId, dashboardCollectionDate);
+        Optional<ChannelDashboardStat> existingDashboardStat = channelDashboardStatRepository.findById(dashboardStatsId);
+        ChannelDashboardStat dashboardStatToSave = existingDashboardStat.orElseGet(ChannelDashboardStat::new);
+        dashboardStatToSave.setId(dashboardStatsId);
 
-            } else {
-                watchingRatio = BigDecimal.ZERO;
-            }
-            deviceAnalysis.setWatchingRatio(watchingRatio);
+        // 성별/연령대, 국가, 트래픽 소스, 기기 분포를 동시에 조회해 다섯 JSON 컬럼을 채웁니다.
+        channelDashboardSnapshotService.populateSnapshot(dashboardStatToSave, googleId, channelId, channelStatStartDate, analyticsDataEndDate);
 
-            try {
-                deviceAnalysisRepository.save(deviceAnalysis);
-                logger.info("Saved Device Analysis Stats for video {} on {}: Type={}, Ratio={}", videoId, dateStr, deviceTypeStr, watchingRatio);
-            } catch (Exception dbSaveEx) {
-                logger.error("Error saving Device Analysis Stats for video {} on {}: {}", videoId, dateStr, dbSaveEx.getMessage(), dbSaveEx);
-            }
-        }
+        // 최종 ChannelDashboardStat 저장
+        channelDashboardStatRepository.save(dashboardStatToSave);
+        logger.info("Successfully collected and saved dashboard stats for channel: {}", channelId);
     }
 	
+	/**
+	 * Analytics day 표(day, views, estimatedMinutesWatched, subscribersGained, averageViewDuration)의 한 행과
+	 * Data API 채널 통계로 ChannelStat 엔티티를 만듭니다.
+	 * 누적 시청 시간(totalWatchTime)은 ChannelWatchTimeService가 채웁니다.
+	 */
+	private ChannelStat buildChannelStat(ChannelStatsId channelStatsId, AnalyticsResultTable table, int row, Channel currentChannel) {
+		long views = table.getLong(row, table.requireColumn("views"));
+		long estimatedMinutesWatched = table.getLong(row, table.requireColumn("estimatedMinutesWatched"));
+		long subscribersGained = table.getLong(row, table.requireColumn("subscribersGained"));
+		long averageViewDuration = table.getLong(row, table.requireColumn("averageViewDuration"));
+
+		ChannelStat channelStat = new ChannelStat();
+		channelStat.setId(channelStatsId);
+		channelStat.setSubscriberGained((int) subscribersGained);
+		channelStat.setDailyViewsCnt(views);
+		channelStat.setEstimatedMinWatched(estimatedMinutesWatched);
+		channelStat.setAvgViewDuration(averageViewDuration);
+
+		// 누적 통계 필드 (YouTube Data API의 Channel Resource에서 가져옴)
+		if (currentChannel.getStatistics() != null) {
+			channelStat.setSubscriberCnt(currentChannel.getStatistics().getSubscriberCount().longValue());
+			channelStat.setTotalViewsCnt(currentChannel.getStatistics().getViewCount().longValue());
+			channelStat.setVideosCnt(currentChannel.getStatistics().getVideoCount().longValue());
+		} else {
+			logger.warn("No statistics found for channel {} from Data API. Setting total counts to 0.", channelStatsId.getChannelId());
+			channelStat.setSubscriberCnt(0L);
+			channelStat.setTotalViewsCnt(0L);
+			channelStat.setVideosCnt(0L);
+		}
+		return channelStat;
+	}
 
 	private Integer parseYouTubeDuration(String youtubeDuration) {
         if (youtubeDuration == null || youtubeDuration.isEmpty()) {
@@ -785,21 +1037,18 @@ public class DataCollectorService {
 	@Scheduled(cron = "0 0 2 * * ?", zone = "Asia/Seoul")
     @Transactional
     public void refreshOutdatedChannelInfo() {
+        if (!collectionShardLeaseService.isCoordinator()) {
+            logger.debug("Channel info refresh runs on the coordinator node. Skipping on this node.");
+            return;
+        }
         logger.info("Starting refresh of outdated channel info in TB_YT_CHANNEL...");
-        LocalDateTime threshold = LocalDateTime.now().minusDays(channelUpdateDays); // N일 전 시간
-
-        List<YouTubeChannel> outdatedChannels = youTubeChannelRepository.findByUpdatedAtBefore(threshold);
-        outdatedChannels.add(youTubeChannelRepository.findById("UCpP6Av1nV0uh2Ys3T7QiXPw").get());
-        outdatedChannels.add(youTubeChannelRepository.findById("UCK8oKuBKx_ejIYnw4J90TYA").get());
 
+        // 오래된 채널(+ 고정 채널)을 우선순위 순으로 50개씩 묶어 channels.list 로 갱신합니다.
+        List<YouTubeChannel> outdatedChannels = channelRefreshService.refreshOutdatedChannels(adminGoogleId);
         if (outdatedChannels.isEmpty()) {
-            logger.info("No outdated channels found in TB_YT_CHANNEL to refresh.");
             return;
         }
-
-        logger.info("Found {} outdated channels to refresh using admin ID: {}", outdatedChannels.size(), adminGoogleId);
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         LocalDate analyticsEndDate = LocalDate.now().minusDays(1);
         LocalDate analyticsStartDate = analyticsEndDate.minus(Period.ofDays(29));
 
@@ -809,9 +1058,6 @@ public class DataCollectorService {
             String channelId = channel.getChannelId();
             
             try {
-                logger.info("Refreshing channel info for ID: {} (last updated: {})", channelId, channel.getUpdatedAt());
-                channelService.getChannelInfoById(adminGoogleId, channelId);
-                
                 Optional<User> user = userService.findUserByChannelId(channelId);
                 if (user.isEmpty()) {
                     logger.warn("No user found for channel ID: {}. Skipping dashboard stats collection for this channel.", channelId);
@@ -831,133 +1077,8 @@ public class DataCollectorService {
                 ChannelDashboardStat dashboardStatToSave = existingDashboardStat.orElseGet(ChannelDashboardStat::new);
                 dashboardStatToSave.setId(dashboardStatsId);
 
-                // 1. 성별 분포 (Gender Distribution)
-                QueryResponse genderAgeResponse = youtubeAnalyticsService.getChannelAudienceAnalytics(googleId, analyticsStartDate.format(formatter), analyticsEndDate.format(formatter), channelId);
-                if (genderAgeResponse != null && genderAgeResponse.getRows() != null && !genderAgeResponse.getRows().isEmpty()) {
-                    // 성별 데이터를 Map에 집계 (gender, views)
-                    Map<String, Long> genderViews = new HashMap<>();
-                    long totalViewsForGender = 0;
-                    for (List<Object> row : genderAgeResponse.getRows()) {
-                        String gender = (String) row.get(0); // gender
-                        Long views = ((BigDecimal) row.get(2)).longValue(); // views (or viewerPercentage for gender,ageGroup)
-                        genderViews.merge(gender, views, Long::sum);
-                        totalViewsForGender += views;
-                    }
-                    List<Map<String, Object>> genderList = new ArrayList<>();
-                    for (Map.Entry<String, Long> entry : genderViews.entrySet()) {
-                        double percentage = (totalViewsForGender > 0) ? (double) entry.getValue() / totalViewsForGender * 100 : 0.0;
-                        Map<String, Object> genderData = new HashMap<>();
-                        genderData.put("gender", entry.getKey());
-                        genderData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                        genderList.add(genderData);
-                    }
-                    dashboardStatToSave.setGenderDistributionJson(objectMapper.writeValueAsString(genderList));
-                } else {
-                    logger.warn("No gender data found for channel {}", channelId);
-                    dashboardStatToSave.setGenderDistributionJson("[]");
-                }
-
-                // 2. 연령대 분포 (Age Group Distribution)
-                if (genderAgeResponse != null && genderAgeResponse.getRows() != null && !genderAgeResponse.getRows().isEmpty()) {
-                    Map<String, Long> ageGroupViews = new HashMap<>();
-                    long totalViewsForAgeGroup = 0;
-                    for (List<Object> row : genderAgeResponse.getRows()) {
-                        String ageGroup = (String) row.get(1); // ageGroup
-                        Long views = ((BigDecimal) row.get(2)).longValue(); // views
-                        ageGroupViews.merge(ageGroup, views, Long::sum);
-                        totalViewsForAgeGroup += views;
-                    }
-                    List<Map<String, Object>> ageGroupList = new ArrayList<>();
-                    for (Map.Entry<String, Long> entry : ageGroupViews.entrySet()) {
-                        // AgeGroup ENUM 변환 로직 (DB 저장 시 VARCHAR로 처리되므로 유연하게)
-                        String formattedAgeGroup = entry.getKey(); // "age13-17" -> "13-17" 등으로 변환
-                        if (formattedAgeGroup.startsWith("age")) {
-                            formattedAgeGroup = formattedAgeGroup.substring(3);
-                        }
-                        if (formattedAgeGroup.endsWith("_")) {
-                            formattedAgeGroup = formattedAgeGroup.replace("_", "+");
-                        }
-                        double percentage = (totalViewsForAgeGroup > 0) ? (double) entry.getValue() / totalViewsForAgeGroup * 100 : 0.0;
-                        Map<String, Object> ageGroupData = new HashMap<>();
-                        ageGroupData.put("ageGroup", formattedAgeGroup);
-                        ageGroupData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                        ageGroupList.add(ageGroupData);
-                    }
-                    dashboardStatToSave.setAgeGroupDistributionJson(objectMapper.writeValueAsString(ageGroupList));
-                } else {
-                    logger.warn("No age group data found for channel {}", channelId);
-                    dashboardStatToSave.setAgeGroupDistributionJson("[]");
-                }
-
-                // 3. 국가별 시청자 (Country Distribution) - viewsCount를 받고 퍼센트 계산
-                QueryResponse countryResponse = youtubeAnalyticsService.getChannelCountryAnalytics(googleId, analyticsStartDate.format(formatter), analyticsEndDate.format(formatter), channelId);
-                if (countryResponse != null && countryResponse.getRows() != null && !countryResponse.getRows().isEmpty()) {
-                    long totalViewsForCountry = countryResponse.getRows().stream()
-                                                                .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                                .sum();
-                    List<Map<String, Object>> countryList = new ArrayList<>();
-                    for (List<Object> row : countryResponse.getRows()) {
-                        String countryCode = (String) row.get(0);
-                        Long viewsCount = ((BigDecimal) row.get(1)).longValue();
-                        double percentage = (totalViewsForCountry > 0) ? (double) viewsCount / totalViewsForCountry * 100 : 0.0;
-                        Map<String, Object> countryData = new HashMap<>();
-                        countryData.put("country", countryCode); // ISO 코드 (KR, US 등)
-                        countryData.put("viewsCount", viewsCount);
-                        countryData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                        countryList.add(countryData);
-                    }
-                    dashboardStatToSave.setCountryDistributionJson(objectMapper.writeValueAsString(countryList));
-                } else {
-                    logger.warn("No country data found for channel {}", channelId);
-                    dashboardStatToSave.setCountryDistributionJson("[]");
-                }
+                channelDashboardSnapshotService.populateSnapshot(dashboardStatToSave, googleId, channelId, analyticsStartDate, analyticsEndDate);
 
-                // 4. 주요 트래픽 소스 (Traffic Source Distribution)
-                QueryResponse trafficSourceResponse = youtubeAnalyticsService.getChannelTrafficSourceAnalytics(googleId, analyticsStartDate.format(formatter), analyticsEndDate.format(formatter), channelId);
-                if (trafficSourceResponse != null && trafficSourceResponse.getRows() != null && !trafficSourceResponse.getRows().isEmpty()) {
-                    long totalViewsForTraffic = trafficSourceResponse.getRows().stream()
-                                                                    .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                                    .sum();
-                    List<Map<String, Object>> trafficList = new ArrayList<>();
-                    for (List<Object> row : trafficSourceResponse.getRows()) {
-                        String sourceType = (String) row.get(0);
-                        Long views = ((BigDecimal) row.get(1)).longValue();
-                        double percentage = (totalViewsForTraffic > 0) ? (double) views / totalViewsForTraffic * 100 : 0.0;
-                        Map<String, Object> trafficData = new HashMap<>();
-                        trafficData.put("sourceType", sourceType);
-                        trafficData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                        trafficList.add(trafficData);
-                    }
-                    dashboardStatToSave.setTrafficSourceDistributionJson(objectMapper.writeValueAsString(trafficList));
-                } else {
-                    logger.warn("No traffic source data found for channel {}", channelId);
-                    dashboardStatToSave.setTrafficSourceDistributionJson("[]");
-                }
-                
-             // --- 5. 기기 유형별 시청 비율 (Device Distribution) ---
-                QueryResponse deviceResponse = youtubeAnalyticsService.getChannelDeviceAnalytics(googleId, analyticsStartDate.format(formatter), analyticsEndDate.format(formatter), channelId);
-                if (deviceResponse != null && deviceResponse.getRows() != null && !deviceResponse.getRows().isEmpty()) {
-                    long totalViewsForDevice = deviceResponse.getRows().stream()
-                                                            .mapToLong(row -> ((BigDecimal) row.get(1)).longValue())
-                                                            .sum();
-                    List<Map<String, Object>> deviceList = new ArrayList<>();
-                    for (List<Object> row : deviceResponse.getRows()) {
-                        String deviceTypeStr = (String) row.get(0); // 예: "COMPUTER", "MOBILE"
-                        Long views = ((BigDecimal) row.get(1)).longValue();
-                        double percentage = (totalViewsForDevice > 0) ? (double) views / totalViewsForDevice * 100 : 0.0;
-                        Map<String, Object> deviceData = new HashMap<>();
-                        deviceData.put("deviceType", deviceTypeStr);
-                        deviceData.put("viewsCount", views); // 조회수도 함께 저장
-                        deviceData.put("percentage", BigDecimal.valueOf(percentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-                        deviceList.add(deviceData);
-                    }
-                    dashboardStatToSave.setDeviceDistributionJson(objectMapper.writeValueAsString(deviceList));
-                } else {
-                    logger.warn("No device data found for channel {}", channelId);
-                    dashboardStatToSave.setDeviceDistributionJson("[]");
-                }
-                
-                
                 // 최종 ChannelDashboardStat 저장
                 channelDashboardStatRepository.save(dashboardStatToSave);
                 logger.info("Successfully collected and saved dashboard stats for channel: {}", channelId);
@@ -972,6 +1093,31 @@ public class DataCollectorService {
         logger.info("Finished refreshing outdated channel info and collecting dashboard stats.");
     }
 	
+	/**
+	 * 증분 동기화에서 다시 읽지 않는 기존 비디오의 메타데이터(제목, 공개 여부 등)를 순환 갱신합니다.
+	 * 마지막 갱신 후 metadata-refresh-days가 지난 비디오를 오래된 순으로 최대 metadata-refresh-batch-size개만 다시 조회합니다.
+	 */
+	private void refreshStaleVideoMetadata(String googleId, String channelId, YouTube youTube, DateTimeFormatter formatter) throws IOException, GeneralSecurityException {
+		LocalDateTime threshold = LocalDateTime.now().minusDays(metadataRefreshDays);
+		List<String> staleVideoKeys = youTubeVideoRepository
+				.findByChannelIdAndUpdatedAtBeforeOrderByUpdatedAtAsc(channelId, threshold, PageRequest.of(0, metadataRefreshBatchSize))
+				.stream()
+				.map(YouTubeVideo::getVideoKey)
+				.collect(Collectors.toList());
+
+		if (staleVideoKeys.isEmpty()) {
+			logger.debug("No video metadata older than {} days for channel {}.", metadataRefreshDays, channelId);
+			return;
+		}
+
+		String statsDate = LocalDate.now().minusDays(1).format(formatter);
+		for (int from = 0; from < staleVideoKeys.size(); from += VideoStatisticsBatchFetcher.MAX_IDS_PER_REQUEST) {
+			processAndSaveVideoData(googleId, staleVideoKeys.subList(from,
+					Math.min(from + VideoStatisticsBatchFetcher.MAX_IDS_PER_REQUEST, staleVideoKeys.size())), youTube, statsDate);
+		}
+		logger.info("Refreshed metadata of {} video(s) not updated since {} for channel {}.", staleVideoKeys.size(), threshold.format(formatter), channelId);
+	}
+
 	@Transactional
     private void processAndSaveVideoData(String googleId, List<String> videoIds, YouTube youTube, String statsDate) throws IOException, GeneralSecurityException {
         if (videoIds == null || videoIds.isEmpty()) {
@@ -980,67 +1126,76 @@ public class DataCollectorService {
 
         YouTube.Videos.List videoDetailsRequest = youTube.videos().list(Arrays.asList("snippet", "statistics", "contentDetails", "status"));
         videoDetailsRequest.setId(videoIds);
-        VideoListResponse videoDetailsResponse = videoDetailsRequest.execute();
+        quotaBudgetManager.acquire(googleId, QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.CRITICAL);
+        DataApiResponseCache.Result<VideoListResponse> result = dataApiResponseCache.execute(googleId, videoDetailsRequest);
+        VideoListResponse videoDetailsResponse = result.getResponse();
 
         if (videoDetailsResponse != null && videoDetailsResponse.getItems() != null && !videoDetailsResponse.getItems().isEmpty()) {
+            LocalDateTime statsDateTime = LocalDate.parse(statsDate, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atStartOfDay();
+            List<VideoStat> videoStatsToSave = new ArrayList<>(videoDetailsResponse.getItems().size());
+            Map<String, YouTubeVideo> storedVideos = youTubeVideoRepository.findByVideoKeyIn(videoIds).stream()
+                    .collect(Collectors.toMap(YouTubeVideo::getVideoKey, Function.identity()));
+            List<String> unchangedVideoKeys = new ArrayList<>();
             for (Video video : videoDetailsResponse.getItems()) {
-                YouTubeVideo youTubeVideoToSave = youTubeVideoRepository.findByVideoKey(video.getId())
-                                                                     .orElseGet(YouTubeVideo::new);
-                youTubeVideoToSave.setVideoKey(video.getId());
-                youTubeVideoToSave.setChannelId(video.getSnippet().getChannelId());
-                youTubeVideoToSave.setVideoTitle(video.getSnippet().getTitle());
-                youTubeVideoToSave.setVideoDescription(video.getSnippet().getDescription());
-                youTubeVideoToSave.setThumbnailUrl(video.getSnippet().getThumbnails().getDefault().getUrl());
+                YouTubeVideo youTubeVideoToSave = storedVideos.get(video.getId());
+                if (result.isNotModified() && youTubeVideoToSave != null) {
+                    // 마지막 조회 이후 바뀐 것이 없으므로 메타데이터는 다시 매핑/저장하지 않습니다. (갱신 시각은 아래에서 한 번에 기록)
+                    unchangedVideoKeys.add(video.getId());
+                } else {
+                    if (youTubeVideoToSave == null) {
+                        youTubeVideoToSave = new YouTubeVideo();
+                    }
+                    youTubeVideoToSave.setVideoKey(video.getId());
+                    youTubeVideoToSave.setChannelId(video.getSnippet().getChannelId());
+                    youTubeVideoToSave.setVideoTitle(video.getSnippet().getTitle());
+                    youTubeVideoToSave.setVideoDescription(video.getSnippet().getDescription());
+                    youTubeVideoToSave.setThumbnailUrl(video.getSnippet().getThumbnails().getDefault().getUrl());
                 
-                if (video.getSnippet().getPublishedAt() != null) {
-                    youTubeVideoToSave.setUploadedAt(LocalDateTime.parse(video.getSnippet().getPublishedAt().toStringRfc3339().substring(0, 19)));
-                }
+                    if (video.getSnippet().getPublishedAt() != null) {
+                        youTubeVideoToSave.setUploadedAt(LocalDateTime.parse(video.getSnippet().getPublishedAt().toStringRfc3339().substring(0, 19)));
+                    }
 
-                if (video.getSnippet().getCategoryId() != null) {
-                    youTubeVideoToSave.setVideoCategory(video.getSnippet().getCategoryId());
-                }
-                if (video.getSnippet().getDefaultAudioLanguage() != null) {
-                    youTubeVideoToSave.setVideoLanguage(video.getSnippet().getDefaultAudioLanguage());
-                } else if (video.getSnippet().getDefaultLanguage() != null) {
-                    youTubeVideoToSave.setVideoLanguage(video.getSnippet().getDefaultLanguage());
-                }
-                if (video.getStatus() != null && video.getStatus().getPrivacyStatus() != null) {
-                    youTubeVideoToSave.setPublicYn(video.getStatus().getPrivacyStatus().equals("public") ? "Y" : "N");
-                    logger.info("privacyStatus: {}" + video.getStatus().getPrivacyStatus());
-                } else {
-                	logger.warn("Video ID: {} has null status or privacyStatus. Setting publicYn to 'N'.", video.getId());
-                    youTubeVideoToSave.setPublicYn("N");
-                }
-                if (video.getContentDetails() != null && video.getContentDetails().getDuration() != null) {
-                    youTubeVideoToSave.setVideoPlaytime(parseYouTubeDuration(video.getContentDetails().getDuration()));
-                } else {
-                    youTubeVideoToSave.setVideoPlaytime(0);
-                }
+                    if (video.getSnippet().getCategoryId() != null) {
+                        youTubeVideoToSave.setVideoCategory(video.getSnippet().getCategoryId());
+                    }
+                    if (video.getSnippet().getDefaultAudioLanguage() != null) {
+                        youTubeVideoToSave.setVideoLanguage(video.getSnippet().getDefaultAudioLanguage());
+                    } else if (video.getSnippet().getDefaultLanguage() != null) {
+                        youTubeVideoToSave.setVideoLanguage(video.getSnippet().getDefaultLanguage());
+                    }
+                    if (video.getStatus() != null && video.getStatus().getPrivacyStatus() != null) {
+                        youTubeVideoToSave.setPublicYn(video.getStatus().getPrivacyStatus().equals("public") ? "Y" : "N");
+                        logger.info("privacyStatus: {}" + video.getStatus().getPrivacyStatus());
+                    } else {
+                    	logger.warn("Video ID: {} has null status or privacyStatus. Setting publicYn to 'N'.", video.getId());
+                        youTubeVideoToSave.setPublicYn("N");
+                    }
+                    if (video.getContentDetails() != null && video.getContentDetails().getDuration() != null) {
+                        youTubeVideoToSave.setVideoPlaytime(parseYouTubeDuration(video.getContentDetails().getDuration()));
+                    } else {
+                        youTubeVideoToSave.setVideoPlaytime(0);
+                    }
                 
-                youTubeVideoRepository.save(youTubeVideoToSave);
+                    youTubeVideoToSave.setUpdatedAt(LocalDateTime.now()); // 변경 사항이 없어도 갱신 시점을 기록 (순환 갱신 기준)
+                    youTubeVideoRepository.save(youTubeVideoToSave);
+                }
 
                 // TB_VIDEO_STATS (VideoStat 엔티티) 저장
+                // 기존 행의 AvgWatchTime/SubscriberGained는 upsert 시 NULL이 아니면 그대로 유지됩니다.
                 if (video.getStatistics() != null) {
-                    LocalDateTime statsDateTime = LocalDate.parse(statsDate, DateTimeFormatter.ofPattern("yyyy-MM-dd")).atStartOfDay();
-                    VideoStatsId videoStatsId = new VideoStatsId(youTubeVideoToSave.getVideoId(), statsDateTime); 
-                    Optional<VideoStat> existingStat = videoStatRepository.findById(videoStatsId);
-                    VideoStat videoStat = existingStat.orElseGet(VideoStat::new);
-                    
-                    videoStat.setId(videoStatsId);
-                    videoStat.setViewCount(video.getStatistics().getViewCount().longValue());
+                    VideoStat videoStat = new VideoStat();
+                    videoStat.setId(new VideoStatsId(youTubeVideoToSave.getVideoId(), statsDateTime));
+                    videoStat.setViewCount(video.getStatistics().getViewCount() != null ? video.getStatistics().getViewCount().longValue() : null);
                     videoStat.setLikeCount(video.getStatistics().getLikeCount() != null ? video.getStatistics().getLikeCount().intValue() : null);
                     videoStat.setCommentCount(video.getStatistics().getCommentCount() != null ? video.getStatistics().getCommentCount().intValue() : null);
-                    
-                    try {
-                        videoStatRepository.save(videoStat);
-                        logger.info("Saved/Updated VideoStat for video {} on {}. Values: ViewCount={}, LikeCount={}, CommentCount={}",
-                                youTubeVideoToSave.getVideoKey(), statsDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                                videoStat.getViewCount(), videoStat.getLikeCount(), videoStat.getCommentCount());
-                    } catch (Exception dbSaveEx) {
-//                        logger.error("Error saving VideoStat for video {} on {}: {}", youTubeVideoKey, statsDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), dbSaveEx.getMessage(), dbSaveEx);
-                    }
+                    videoStatsToSave.add(videoStat);
                 }	
             }
+            if (!unchangedVideoKeys.isEmpty()) {
+                youTubeVideoRepository.touchUpdatedAt(unchangedVideoKeys, LocalDateTime.now());
+            }
+
+            statsBulkUpsertWriter.upsertVideoStats(videoStatsToSave);
         }
     }
 }
@@ -0,0 +1,349 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.config.GoogleApiConfig;
+import com.cm.astb.security.GoogleCredentialDataStoreFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.CredentialRefreshListener;
+import com.google.api.client.auth.oauth2.TokenErrorResponse;
+import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtubeAnalytics.v2.YouTubeAnalytics;
+import com.google.api.services.youtubereporting.YouTubeReporting;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * 사용자(Google ID)별 OAuth Credential 과 인증된 YouTube / YouTubeAnalytics / YouTubeReporting 클라이언트를 재사용하는 레지스트리.
+ *
+ * GoogleAuthorizationCodeFlow 는 scope 조합별로 한 번만 만들고, Credential 은 처음 요청될 때 DB(GoogleCredentialDataStore)에서 읽어 캐시합니다.
+ * 클라이언트는 Credential 인스턴스별로 한 번만 만들며, Credential 이 캐시에서 빠지면 함께 버려집니다.
+ * 캐시한 Credential 은 TokenRefreshService 가 추적하며 만료 전에 백그라운드에서 토큰을 갱신하고, 갱신된 토큰은 DataStore 에 저장되므로 캐시를 비울 필요가 없습니다.
+ *
+ * 다음 경우에는 Credential 을 캐시에서 빼서 다음 호출이 DataStore 에서 다시 읽게 합니다.
+ * - 토큰 갱신이 실패한 경우 (refresh token 폐기 등): flow 의 refresh listener 가 감지
+ * - 사용자가 다시 로그인해 새 토큰을 받은 경우: register 로 새 Credential 로 교체
+ * - client-cache.expire-after-access-minutes 동안 쓰지 않은 경우 (다른 노드에서 바뀐 토큰 반영)
+ */
+@Service
+public class GoogleApiClientRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(GoogleApiClientRegistry.class);
+
+	/** 서비스 코드가 사용하는 기본 scope (Analytics + 로그인) */
+	public static final List<String> ALL_SCOPES;
+
+	static {
+		List<String> scopes = new ArrayList<>(GoogleApiConfig.ANALYTICS_SCOPES);
+		scopes.addAll(GoogleApiConfig.USER_LOGIN_SCOPES);
+		ALL_SCOPES = List.copyOf(scopes);
+	}
+
+	private final GoogleApiConfig googleApiConfig;
+	private final HttpTransport httpTransport;
+	private final GsonFactory jsonFactory;
+	private final GoogleCredentialDataStoreFactory googleCredentialDataStoreFactory;
+	private final MeterRegistry meterRegistry;
+	private final TokenRefreshService tokenRefreshService;
+
+	private final Map<Set<String>, GoogleAuthorizationCodeFlow> flowsByScopes = new ConcurrentHashMap<>();
+
+	/** Google ID → Credential */
+	private Cache<String, Credential> credentials;
+	/** Credential(equals 를 재정의하지 않으므로 인스턴스 기준) → 인증된 클라이언트 */
+	private Cache<Credential, AuthorizedClients> clients;
+
+	@Value("${google.api.client-cache.max-users:2000}")
+	private long maxUsers;
+
+	@Value("${google.api.client-cache.expire-after-access-minutes:60}")
+	private long expireAfterAccessMinutes;
+
+	public GoogleApiClientRegistry(GoogleApiConfig googleApiConfig, HttpTransport httpTransport, GsonFactory jsonFactory,
+			GoogleCredentialDataStoreFactory googleCredentialDataStoreFactory, MeterRegistry meterRegistry,
+			TokenRefreshService tokenRefreshService) {
+		this.googleApiConfig = googleApiConfig;
+		this.httpTransport = httpTransport;
+		this.jsonFactory = jsonFactory;
+		this.googleCredentialDataStoreFactory = googleCredentialDataStoreFactory;
+		this.meterRegistry = meterRegistry;
+		this.tokenRefreshService = tokenRefreshService;
+	}
+
+	@PostConstruct
+	public void init() {
+		clients = Caffeine.newBuilder()
+				.maximumSize(maxUsers * 2)
+				.recordStats()
+				.build();
+		// Credential 이 교체/만료/삭제되면 그 Credential 로 만든 클라이언트도 버리고, 백그라운드 토큰 갱신 대상에서도 뺍니다.
+		credentials = Caffeine.newBuilder()
+				.maximumSize(maxUsers)
+				.expireAfterAccess(expireAfterAccessMinutes, TimeUnit.MINUTES)
+				.removalListener((String googleId, Credential credential, RemovalCause cause) -> {
+					if (credential != null) {
+						clients.invalidate(credential);
+						tokenRefreshService.untrack(googleId, credential);
+					}
+				})
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, credentials, "google.api.credentials");
+		CaffeineCacheMetrics.monitor(meterRegistry, clients, "google.api.clients");
+	}
+
+	/**
+	 * scope 조합에 해당하는 인증 flow 를 돌려줍니다. scope 조합마다 한 번만 만듭니다.
+	 */
+	public GoogleAuthorizationCodeFlow getFlow(Collection<String> scopes) throws IOException {
+		try {
+			return flowsByScopes.computeIfAbsent(new TreeSet<>(scopes), this::buildFlow);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * 사용자의 Credential 을 돌려줍니다. 캐시에 없으면 DataStore 에서 읽고, 토큰이 없거나 곧 만료되면 갱신을 기다립니다.
+	 * 액세스 토큰을 얻은 Credential 만 캐시하므로, 저장된 Credential 이 없거나 갱신에 실패하면 다음 호출에서 다시 읽습니다.
+	 */
+	public Credential getCredential(String googleId) throws IOException {
+		Credential cached = credentials.getIfPresent(googleId);
+		if (cached != null) {
+			return cached;
+		}
+		Credential loaded = loadCredential(googleId);
+		if (loaded != null && loaded.getRefreshToken() != null && tokenRefreshService.isExpiringSoon(loaded)) {
+			logger.warn("Credential loaded for user {} but Access Token is null/expiring. Attempting refresh...", googleId);
+			if (tokenRefreshService.refresh(googleId, loaded)) {
+				logger.info("Access Token successfully refreshed for user {}.", googleId);
+			}
+		}
+		return cache(googleId, loaded);
+	}
+
+	/**
+	 * 수집 실행 전에 대상 사용자들의 Credential 을 미리 읽어 두고, 곧 만료되는 토큰을 tokenRefreshService 에서 한꺼번에 갱신합니다.
+	 * 수집 스레드가 사용자마다 DataStore 읽기나 토큰 갱신을 기다리지 않게 하기 위한 것이며, 실패한 사용자는 수집 중에 getCredential 이 다시 처리합니다.
+	 */
+	public void prepareCredentials(Collection<String> googleIds, long timeoutSeconds) {
+		long startNanos = System.nanoTime();
+		List<CompletableFuture<Boolean>> refreshes = new ArrayList<>();
+		for (String googleId : googleIds) {
+			if (googleId == null) {
+				continue;
+			}
+			try {
+				Credential credential = credentials.getIfPresent(googleId);
+				boolean cached = credential != null;
+				if (!cached) {
+					credential = loadCredential(googleId);
+				}
+				if (credential == null) {
+					continue;
+				}
+				if (credential.getRefreshToken() != null && tokenRefreshService.isExpiringSoon(credential)) {
+					Credential refreshing = credential;
+					CompletableFuture<Boolean> refresh = tokenRefreshService.refreshAsync(googleId, refreshing);
+					refreshes.add(cached ? refresh : refresh.thenApply(refreshed -> {
+						cache(googleId, refreshing);
+						return refreshed;
+					}));
+				} else if (!cached) {
+					cache(googleId, credential);
+				}
+			} catch (IOException e) {
+				logger.warn("Could not load Credential for user {} before collection: {}", googleId, e.getMessage());
+			}
+		}
+		if (refreshes.isEmpty()) {
+			return;
+		}
+		int refreshed = tokenRefreshService.awaitAll(refreshes, timeoutSeconds);
+		logger.info("Refreshed {}/{} access token(s) for {} user(s) before collection in {} ms.", refreshed,
+				refreshes.size(), googleIds.size(), (System.nanoTime() - startNanos) / 1_000_000);
+	}
+
+	/**
+	 * 새로 발급받은 Credential 로 캐시를 교체합니다. (로그인/재인증 후)
+	 */
+	public void register(String googleId, Credential credential) {
+		Credential previous = credentials.asMap().put(googleId, credential);
+		tokenRefreshService.track(googleId, credential);
+		if (previous != null && previous != credential) {
+			logger.info("Replaced cached Google credential for user {}.", googleId);
+		}
+	}
+
+	/**
+	 * 사용자의 Credential 과 클라이언트를 캐시에서 뺍니다. 다음 호출은 DataStore 에서 다시 읽습니다.
+	 */
+	public void invalidate(String googleId) {
+		Credential previous = credentials.asMap().remove(googleId);
+		if (previous != null) {
+			logger.info("Evicted cached Google credential and clients for user {}.", googleId);
+		}
+	}
+
+	public YouTube youTube(Credential credential) {
+		return clientsFor(credential).youTube();
+	}
+
+	public YouTubeAnalytics youTubeAnalytics(Credential credential) {
+		return clientsFor(credential).youTubeAnalytics();
+	}
+
+	public YouTubeReporting youTubeReporting(Credential credential) {
+		return clientsFor(credential).youTubeReporting();
+	}
+
+	private AuthorizedClients clientsFor(Credential credential) {
+		return clients.get(credential, AuthorizedClients::new);
+	}
+
+	private GoogleAuthorizationCodeFlow buildFlow(Set<String> scopes) {
+		try {
+			return new GoogleAuthorizationCodeFlow.Builder(
+					httpTransport,
+					jsonFactory,
+					googleApiConfig.googleClientSecrets(),
+					scopes)
+					.setDataStoreFactory(googleCredentialDataStoreFactory)
+					.setRequestInitializer(googleApiConfig.requestInitializer(null)) // 토큰 교환/갱신 요청에도 타임아웃 적용
+					.addRefreshListener(new EvictOnRefreshFailure())
+					.setAccessType("offline")
+					.setApprovalPrompt("force")
+					.build();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * DataStore 에서 Credential 을 읽기만 합니다. 토큰 갱신은 호출하는 쪽에서 tokenRefreshService 로 처리합니다.
+	 */
+	private Credential loadCredential(String googleId) throws IOException {
+		Credential credential = getFlow(ALL_SCOPES).loadCredential(googleId);
+
+		if (credential == null || (credential.getAccessToken() == null && credential.getRefreshToken() == null)) {
+			logger.warn("No valid Credential or Refresh Token found for user {}.", googleId);
+		} else {
+			logger.info("Credential loaded for user {}.", googleId);
+		}
+		return credential;
+	}
+
+	/**
+	 * 액세스 토큰이 있는 Credential 을 캐시하고 백그라운드 토큰 갱신 대상으로 등록합니다. 이미 캐시된 Credential 이 있으면 그것을 돌려줍니다.
+	 */
+	private Credential cache(String googleId, Credential loaded) {
+		if (loaded == null || loaded.getAccessToken() == null) {
+			return loaded;
+		}
+		Credential existing = credentials.asMap().putIfAbsent(googleId, loaded);
+		if (existing != null) {
+			return existing;
+		}
+		tokenRefreshService.track(googleId, loaded);
+		return loaded;
+	}
+
+	/**
+	 * 토큰 갱신이 실패한 Credential 을 캐시에서 뺍니다. (성공한 갱신은 DataStore 리스너가 저장하므로 할 일이 없습니다.)
+	 */
+	private final class EvictOnRefreshFailure implements CredentialRefreshListener {
+
+		@Override
+		public void onTokenResponse(Credential credential, TokenResponse tokenResponse) {
+		}
+
+		@Override
+		public void onTokenErrorResponse(Credential credential, TokenErrorResponse tokenErrorResponse) {
+			credentials.asMap().forEach((googleId, cached) -> {
+				if (cached == credential) {
+					logger.warn("Token refresh failed for user {} ({}). Evicting cached credential.", googleId,
+							tokenErrorResponse != null ? tokenErrorResponse.getError() : "no error response");
+					invalidate(googleId);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Credential 하나로 인증된 클라이언트 묶음. 클라이언트는 처음 사용할 때 만듭니다.
+	 */
+	private final class AuthorizedClients {
+
+		private final Credential credential;
+		private volatile YouTube youTube;
+		private volatile YouTubeAnalytics youTubeAnalytics;
+		private volatile YouTubeReporting youTubeReporting;
+
+		private AuthorizedClients(Credential credential) {
+			this.credential = credential;
+		}
+
+		YouTube youTube() {
+			YouTube client = youTube;
+			if (client == null) {
+				synchronized (this) {
+					if (youTube == null) {
+						youTube = googleApiConfig.youTubeBuilder(httpTransport, jsonFactory, credential).build();
+					}
+					client = youTube;
+				}
+			}
+			return client;
+		}
+
+		YouTubeAnalytics youTubeAnalytics() {
+			YouTubeAnalytics client = youTubeAnalytics;
+			if (client == null) {
+				synchronized (this) {
+					if (youTubeAnalytics == null) {
+						youTubeAnalytics = googleApiConfig.youTubeAnalyticsBuilder(httpTransport, jsonFactory, credential).build();
+					}
+					client = youTubeAnalytics;
+				}
+			}
+			return client;
+		}
+
+		YouTubeReporting youTubeReporting() {
+			YouTubeReporting client = youTubeReporting;
+			if (client == null) {
+				synchronized (this) {
+					if (youTubeReporting == null) {
+						youTubeReporting = googleApiConfig.youTubeReportingBuilder(httpTransport, jsonFactory, credential).build();
+					}
+					client = youTubeReporting;
+				}
+			}
+			return client;
+		}
+	}
+}
@@ -0,0 +1,612 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.services.AbstractGoogleClient;
+import com.google.api.client.googleapis.services.AbstractGoogleClientRequest;
+import com.google.api.client.http.HttpMethods;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtubeAnalytics.v2.YouTubeAnalytics;
+import com.google.api.services.youtubereporting.YouTubeReporting;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Google API(YouTube Data / Analytics / Reporting) 요청을 실행하는 공통 래퍼. 서비스 코드는 request.execute() 대신 execute(request)를 호출합니다.
+ *
+ * 재시도: 5xx, 429, 403 rateLimitExceeded 계열 응답과 네트워크 오류(소켓 타임아웃 포함)를 지수 백오프(jitter 포함)로 재시도합니다.
+ * Retry-After 헤더가 있으면 그 시간 이상 기다리고, 한 호출의 재시도는 retry.max-elapsed-ms 안에서만 합니다.
+ * GET 이 아닌 요청은 서버가 처리하지 않은 것이 확실한 429/rateLimit 응답만 재시도합니다.
+ *
+ * quota: 403 quotaExceeded/dailyLimitExceeded 는 재시도하지 않습니다. Data API 라면 QuotaBudgetManager 의 오늘 예산을 소진 처리해,
+ * 이후 작업이 API를 부르지 않고 QuotaExceededException 으로 멈추게 합니다.
+ * 실패한 요청도 quota 를 쓰므로 Data API 재시도는 보낼 때마다 QuotaBudgetManager#tryAcquireRetry 로 차감하고, 예산이 없으면 재시도하지 않습니다.
+ *
+ * 서킷 브레이커: API별로 연속 실패가 circuit.failure-threshold 에 이르면 circuit.open-seconds 동안 호출하지 않고 CircuitOpenException 을 던집니다.
+ * 그 뒤 시험 호출 한 번(HALF_OPEN)이 성공하면 다시 닫힙니다. Google 장애 중에 스케줄러 스레드가 타임아웃을 계속 기다리지 않게 합니다.
+ *
+ * 헤징: hedge.enabled=true 이면 hedge.apis 에 속한 GET 요청이 hedge.delay-ms 안에 끝나지 않을 때 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 씁니다.
+ * 요청 객체는 스레드 간에 공유할 수 없으므로, 헤지는 시도마다 새 요청을 만드는 execute(RequestFactory) 호출에만 적용합니다.
+ * Data API 헤지는 QuotaBudgetManager 에서 LOW 우선순위 한도 안에서만 예산을 차감하고 보내며, 예산이 없으면 헤지하지 않습니다.
+ * (Analytics/Reporting API 는 Data API quota 단위를 쓰지 않아 QuotaBudgetManager 집계 대상이 아닙니다.) 헤지 요청도 quota 를 쓰므로 기본값은 꺼져 있습니다.
+ *
+ * 타임아웃: 연결/읽기 타임아웃은 GoogleApiConfig#requestInitializer 가 HTTP 요청마다 설정하지만, 응답이 조금씩 계속 오면 읽기 타임아웃에 걸리지 않습니다.
+ * 그래서 시도 하나에 call-timeout-ms 시한을 두고(호출 전체로는 retry.max-elapsed-ms 를 넘지 않게), 넘기면 요청 스레드를 중단(interrupt)하고 네트워크 오류로 봅니다.
+ * 중단된 요청이 아직 끝나지 않았을 수 있으므로, 시한 초과는 새 요청을 만드는 execute(RequestFactory) 호출에서만 재시도합니다.
+ * 메트릭: google.api.calls(timer), google.api.retries, google.api.hedges, google.api.circuit.state, google.api.circuit.transitions
+ */
+@Service
+public class GoogleApiExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(GoogleApiExecutor.class);
+
+	/**
+	 * 요청을 보낸 Google API. 서킷 브레이커와 메트릭을 API별로 나눕니다.
+	 */
+	public enum Api {
+		DATA, ANALYTICS, REPORTING, OTHER;
+
+		static Api of(AbstractGoogleClient client) {
+			if (client instanceof YouTube) {
+				return DATA;
+			}
+			if (client instanceof YouTubeAnalytics) {
+				return ANALYTICS;
+			}
+			if (client instanceof YouTubeReporting) {
+				return REPORTING;
+			}
+			return OTHER;
+		}
+	}
+
+	private enum CircuitState {
+		CLOSED(0), HALF_OPEN(1), OPEN(2);
+
+		private final int gaugeValue;
+
+		CircuitState(int gaugeValue) {
+			this.gaugeValue = gaugeValue;
+		}
+	}
+
+	/**
+	 * 실패 종류. 재시도 여부와 서킷 브레이커 집계 여부가 다릅니다.
+	 */
+	private enum Failure {
+		RATE_LIMITED("rate_limited", true),
+		SERVER_ERROR("server_error", true),
+		NETWORK_ERROR("network_error", true),
+		QUOTA_EXCEEDED("quota_exceeded", false),
+		CLIENT_ERROR("client_error", false),
+		NOT_MODIFIED("not_modified", false), // If-None-Match 재검증 결과 (DataApiResponseCache)
+		INTERRUPTED("interrupted", false);
+
+		private final String tag;
+		private final boolean countsAsFailure; // API 자체의 문제로 볼지 (서킷 브레이커 집계)
+
+		Failure(String tag, boolean countsAsFailure) {
+			this.tag = tag;
+			this.countsAsFailure = countsAsFailure;
+		}
+	}
+
+	/**
+	 * 시도마다 새 요청을 만드는 팩토리. 재시도와 헤지 요청이 같은 요청 객체(헤더, 업로더 등 변경 가능한 상태)를 공유하지 않게 합니다.
+	 */
+	@FunctionalInterface
+	public interface RequestFactory<T> {
+		AbstractGoogleClientRequest<T> create() throws IOException;
+	}
+
+	private static final Set<String> RATE_LIMIT_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded", "backendError");
+	private static final Set<String> QUOTA_REASONS = Set.of("quotaExceeded", "dailyLimitExceeded");
+
+	private final MeterRegistry meterRegistry;
+	private final QuotaBudgetManager quotaBudgetManager;
+	private final Map<Api, CircuitBreaker> circuitBreakers = new EnumMap<>(Api.class);
+
+	private ThreadPoolExecutor callExecutor;
+	private Semaphore hedgeSlots;
+
+	@Value("${google.api.retry.max-attempts:4}")
+	private int maxAttempts;
+
+	@Value("${google.api.retry.initial-backoff-ms:500}")
+	private long initialBackoffMs;
+
+	@Value("${google.api.retry.max-backoff-ms:16000}")
+	private long maxBackoffMs;
+
+	@Value("${google.api.retry.max-elapsed-ms:60000}")
+	private long maxElapsedMs;
+
+	@Value("${google.api.call-timeout-ms:60000}")
+	private long callTimeoutMs;
+
+	@Value("${google.api.call-threads:256}")
+	private int callThreads;
+
+	@Value("${google.api.circuit.failure-threshold:5}")
+	private int circuitFailureThreshold;
+
+	@Value("${google.api.circuit.open-seconds:30}")
+	private long circuitOpenSeconds;
+
+	@Value("${google.api.hedge.enabled:false}")
+	private boolean hedgeEnabled;
+
+	@Value("${google.api.hedge.delay-ms:2000}")
+	private long hedgeDelayMs;
+
+	@Value("${google.api.hedge.apis:ANALYTICS}")
+	private List<Api> hedgeApis;
+
+	@Value("${google.api.hedge.max-concurrent:16}")
+	private int hedgeMaxConcurrent;
+
+	public GoogleApiExecutor(MeterRegistry meterRegistry, QuotaBudgetManager quotaBudgetManager) {
+		this.meterRegistry = meterRegistry;
+		this.quotaBudgetManager = quotaBudgetManager;
+	}
+
+	@PostConstruct
+	public void init() {
+		for (Api api : Api.values()) {
+			CircuitBreaker circuitBreaker = new CircuitBreaker(api);
+			circuitBreakers.put(api, circuitBreaker);
+			Gauge.builder("google.api.circuit.state", circuitBreaker, CircuitBreaker::gaugeValue)
+					.description("Circuit breaker state per Google API (0 = closed, 1 = half-open, 2 = open)")
+					.tag("api", api.name())
+					.register(meterRegistry);
+		}
+		if (callTimeoutMs > 0 || hedgeEnabled) {
+			// 시도(원 요청, 헤지 요청)를 이 풀에서 실행하고 호출 스레드는 시한까지 기다립니다. 스레드가 모자라면 호출 스레드에서 시한 없이 실행합니다.
+			AtomicInteger threadNumber = new AtomicInteger();
+			callExecutor = new ThreadPoolExecutor(0, Math.max(2, callThreads), 60L, TimeUnit.SECONDS,
+					new SynchronousQueue<>(), runnable -> {
+						Thread thread = new Thread(runnable, "google-api-call-" + threadNumber.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+		if (hedgeEnabled) {
+			hedgeSlots = new Semaphore(Math.max(1, hedgeMaxConcurrent));
+			logger.info("Hedged Google API requests enabled for {} (delay {} ms).", hedgeApis, hedgeDelayMs);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (callExecutor != null) {
+			callExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Google API 요청을 재시도/서킷 브레이커 정책에 따라 실행합니다. 재시도는 같은 요청 객체로 차례대로 하며, 헤지하지 않습니다.
+	 *
+	 * @param request 실행할 요청 (youTube.videos().list(...) 등)
+	 * @return 응답
+	 * @throws CircuitOpenException 해당 API의 서킷이 열려 있는 경우
+	 * @throws IOException          재시도할 수 없거나 재시도 후에도 실패한 경우 (마지막 실패를 그대로 던짐)
+	 */
+	public <T> T execute(AbstractGoogleClientRequest<T> request) throws IOException {
+		return execute(request, () -> request, false);
+	}
+
+	/**
+	 * execute(request) 와 같지만, 재시도와 헤지 요청마다 requestFactory 로 새 요청을 만들어 보냅니다. hedge.apis 에 속한 GET 요청은 헤지할 수 있습니다.
+	 */
+	public <T> T execute(RequestFactory<T> requestFactory) throws IOException {
+		return execute(requestFactory.create(), requestFactory, true);
+	}
+
+	private <T> T execute(AbstractGoogleClientRequest<T> firstRequest, RequestFactory<T> requestFactory, boolean freshRequests)
+			throws IOException {
+		Api api = Api.of(firstRequest.getAbstractGoogleClient());
+		String operation = operationName(firstRequest);
+		CircuitBreaker circuitBreaker = circuitBreakers.get(api);
+		boolean idempotent = HttpMethods.GET.equals(firstRequest.getRequestMethod());
+		boolean hedged = freshRequests && hedgeSlots != null && idempotent && hedgeApis.contains(api);
+
+		long startNanos = System.nanoTime();
+		long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(maxElapsedMs);
+		String outcome = "success";
+		try {
+			IOException lastFailure = null;
+			for (int attempt = 1; ; attempt++) {
+				if (!circuitBreaker.tryAcquire()) {
+					outcome = "circuit_open";
+					CircuitOpenException circuitOpen = new CircuitOpenException("Circuit breaker for Google " + api
+							+ " API is open. Skipping " + operation + ".", api);
+					if (lastFailure != null) {
+						circuitOpen.initCause(lastFailure);
+					}
+					throw circuitOpen;
+				}
+
+				try {
+					AbstractGoogleClientRequest<T> request = attempt == 1 ? firstRequest : requestFactory.create();
+					long remainingNanos = Math.max(0L, deadlineNanos - System.nanoTime());
+					T response = executeAttempt(request, requestFactory, hedged, remainingNanos, api, operation);
+					circuitBreaker.onSuccess();
+					return response;
+				} catch (IOException e) {
+					Failure failure = classify(e);
+					if (failure.countsAsFailure) {
+						circuitBreaker.onFailure();
+					} else {
+						circuitBreaker.onSuccess(); // 응답은 정상적으로 왔으므로 API는 살아 있습니다.
+					}
+					lastFailure = e;
+
+					long backoffMs = backoffMillis(attempt, e);
+					boolean retryable = failure == Failure.RATE_LIMITED
+							|| (idempotent && (failure == Failure.SERVER_ERROR || failure == Failure.NETWORK_ERROR));
+					if (e instanceof CallTimeoutException && !freshRequests) {
+						retryable = false; // 중단한 요청 객체를 다른 스레드가 아직 쓰고 있을 수 있습니다.
+					}
+					if (!retryable || attempt >= maxAttempts
+							|| System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs) > deadlineNanos) {
+						outcome = failure.tag;
+						if (failure == Failure.QUOTA_EXCEEDED) {
+							onQuotaExceeded(api, operation, e);
+						}
+						if (retryable) {
+							logger.warn("Google {} API {} failed after {} attempt(s): {}", api, operation, attempt, e.getMessage());
+						}
+						throw e;
+					}
+					if (api == Api.DATA && !quotaBudgetManager.tryAcquireRetry(QuotaBudgetManager.Operation.ofMethod(operation))) {
+						// 실패한 요청도 quota 를 쓰므로, 재시도도 헤지처럼 예산에서 차감하고 예산이 없으면 포기합니다.
+						outcome = failure.tag;
+						meterRegistry.counter("google.api.retries", "api", api.name(), "operation", operation, "reason", "no_budget")
+								.increment();
+						logger.warn("Google {} API {} failed after {} attempt(s) and no quota is left to retry: {}", api, operation,
+								attempt, e.getMessage());
+						throw e;
+					}
+
+					meterRegistry.counter("google.api.retries", "api", api.name(), "operation", operation, "reason", failure.tag)
+							.increment();
+					logger.warn("Google {} API {} failed (attempt {}/{}, {}): {}. Retrying in {} ms.", api, operation, attempt,
+							maxAttempts, failure.tag, e.getMessage(), backoffMs);
+					sleep(backoffMs);
+				} catch (RuntimeException e) {
+					circuitBreaker.onFailure();
+					outcome = "error";
+					throw e;
+				}
+			}
+		} finally {
+			Timer.builder("google.api.calls")
+					.description("Google API calls including retries and hedges")
+					.tag("api", api.name())
+					.tag("operation", operation)
+					.tag("outcome", outcome)
+					.register(meterRegistry)
+					.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * 시도 하나를 callExecutor 에서 실행하고 call-timeout-ms 와 호출 전체의 남은 시간(remainingNanos) 중 짧은 쪽까지 기다립니다.
+	 * hedged 이면 원 요청이 hedge.delay-ms 안에 끝나지 않을 때 새로 만든 요청을 한 번 더 보내고, 먼저 성공한 응답을 돌려줍니다.
+	 * 둘 다 실패하면 나중에 실패한 쪽의 예외를 던지며, 끝나면(시한 초과 포함) 남은 요청은 중단합니다.
+	 */
+	private <T> T executeAttempt(AbstractGoogleClientRequest<T> request, RequestFactory<T> requestFactory, boolean hedged,
+			long remainingNanos, Api api, String operation) throws IOException {
+		if (callExecutor == null) {
+			return request.execute();
+		}
+		ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(callExecutor);
+		List<Future<T>> started = new ArrayList<>(2);
+		try {
+			started.add(completion.submit(request::execute));
+		} catch (RejectedExecutionException e) {
+			meterRegistry.counter("google.api.call_threads_exhausted", "api", api.name()).increment();
+			return request.execute();
+		}
+
+		long startNanos = System.nanoTime();
+		long timeoutNanos = callTimeoutMs > 0 ? Math.min(TimeUnit.MILLISECONDS.toNanos(callTimeoutMs), remainingNanos) : remainingNanos;
+		long hedgeAfterNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs);
+		boolean hedgePending = hedged;
+		int inFlight = 1;
+		IOException lastFailure = null;
+		try {
+			while (inFlight > 0) {
+				long elapsedNanos = System.nanoTime() - startNanos;
+				long waitNanos = timeoutNanos - elapsedNanos;
+				if (hedgePending) {
+					waitNanos = Math.min(waitNanos, hedgeAfterNanos - elapsedNanos);
+				}
+				Future<T> done = completion.poll(Math.max(0L, waitNanos), TimeUnit.NANOSECONDS);
+				if (done == null) {
+					elapsedNanos = System.nanoTime() - startNanos;
+					if (hedgePending && elapsedNanos >= hedgeAfterNanos) {
+						hedgePending = false;
+						Future<T> hedge = startHedge(completion, requestFactory, api, operation);
+						if (hedge != null) {
+							started.add(hedge);
+							inFlight++;
+						}
+					} else if (elapsedNanos >= timeoutNanos) {
+						meterRegistry.counter("google.api.call_timeouts", "api", api.name(), "operation", operation).increment();
+						throw new CallTimeoutException("Google " + api + " API " + operation + " did not complete within "
+								+ TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+					}
+					continue;
+				}
+				inFlight--;
+				try {
+					T response = done.get();
+					if (started.size() > 1) {
+						meterRegistry.counter("google.api.hedges", "api", api.name(), "result", done == started.get(0) ? "primary" : "hedge")
+								.increment();
+					}
+					return response;
+				} catch (ExecutionException e) {
+					lastFailure = unwrap(e);
+					// 원 요청이 헤지 전에 실패하면 헤지하지 않고 실패를 돌려줍니다. (재시도 여부는 호출한 쪽에서 판단)
+					hedgePending = false;
+				}
+			}
+			if (started.size() > 1) {
+				meterRegistry.counter("google.api.hedges", "api", api.name(), "result", "none").increment();
+			}
+			throw lastFailure;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for Google " + api + " API " + operation);
+		} finally {
+			for (Future<T> future : started) {
+				future.cancel(true);
+			}
+			if (started.size() > 1) {
+				hedgeSlots.release();
+			}
+		}
+	}
+
+	/**
+	 * 헤지 요청을 새로 만들어 보냅니다. 동시 헤지 수(hedge.max-concurrent), Data API 예산, 스레드가 모자라면 보내지 않고 null 을 돌려줍니다.
+	 * 보낸 경우 hedgeSlots 의 자리는 executeAttempt 가 시도를 마칠 때 돌려줍니다.
+	 */
+	private <T> Future<T> startHedge(ExecutorCompletionService<T> completion, RequestFactory<T> requestFactory, Api api, String operation) {
+		if (!hedgeSlots.tryAcquire()) {
+			meterRegistry.counter("google.api.hedges", "api", api.name(), "result", "throttled").increment();
+			return null;
+		}
+		boolean submitted = false;
+		try {
+			if (api == Api.DATA && !quotaBudgetManager.tryAcquireHedge(QuotaBudgetManager.Operation.ofMethod(operation))) {
+				meterRegistry.counter("google.api.hedges", "api", api.name(), "result", "no_budget").increment();
+				return null;
+			}
+			AbstractGoogleClientRequest<T> hedgeRequest = requestFactory.create();
+			Future<T> hedge = completion.submit(hedgeRequest::execute);
+			submitted = true;
+			return hedge;
+		} catch (IOException e) {
+			logger.warn("Could not build hedge request for Google {} API {}: {}", api, operation, e.getMessage());
+			return null;
+		} catch (RejectedExecutionException e) {
+			meterRegistry.counter("google.api.hedges", "api", api.name(), "result", "rejected").increment();
+			return null;
+		} finally {
+			if (!submitted) {
+				hedgeSlots.release();
+			}
+		}
+	}
+
+	private static IOException unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		if (cause instanceof IOException ioException) {
+			return ioException;
+		}
+		if (cause instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		return new IOException(cause);
+	}
+
+	private static Failure classify(IOException e) {
+		if (e instanceof HttpResponseException responseException) {
+			int status = responseException.getStatusCode();
+			String reason = errorReason(e);
+			if (status == 304) {
+				return Failure.NOT_MODIFIED;
+			}
+			if (status == 429 || (status == 403 && RATE_LIMIT_REASONS.contains(reason))) {
+				return Failure.RATE_LIMITED;
+			}
+			if (status == 403 && QUOTA_REASONS.contains(reason)) {
+				return Failure.QUOTA_EXCEEDED;
+			}
+			if (status >= 500) {
+				return Failure.SERVER_ERROR;
+			}
+			return Failure.CLIENT_ERROR;
+		}
+		if (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)) {
+			return Failure.INTERRUPTED;
+		}
+		return Failure.NETWORK_ERROR;
+	}
+
+	private static String errorReason(IOException e) {
+		if (e instanceof GoogleJsonResponseException jsonException) {
+			GoogleJsonError details = jsonException.getDetails();
+			if (details != null && details.getErrors() != null && !details.getErrors().isEmpty()) {
+				return details.getErrors().get(0).getReason();
+			}
+		}
+		return null;
+	}
+
+	// 지수 백오프에 jitter 를 더한 대기 시간 (절반은 고정, 절반은 무작위). Retry-After(초)가 더 길면 그 값을 씁니다.
+	private long backoffMillis(int attempt, IOException e) {
+		long exponential = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+		long backoff = exponential / 2 + ThreadLocalRandom.current().nextLong(exponential / 2 + 1);
+		if (e instanceof HttpResponseException responseException && responseException.getHeaders() != null) {
+			String retryAfter = responseException.getHeaders().getRetryAfter();
+			if (retryAfter != null) {
+				try {
+					backoff = Math.max(backoff, Long.parseLong(retryAfter.trim()) * 1000L);
+				} catch (NumberFormatException ignored) {
+					// HTTP-date 형식은 쓰지 않고 계산한 백오프를 사용합니다.
+				}
+			}
+		}
+		return backoff;
+	}
+
+	private void onQuotaExceeded(Api api, String operation, IOException e) {
+		meterRegistry.counter("google.api.quota_exceeded", "api", api.name(), "operation", operation).increment();
+		if (api == Api.DATA) {
+			quotaBudgetManager.markExhausted("Google returned " + errorReason(e) + " for " + operation);
+		} else {
+			logger.warn("Google {} API quota exceeded for {}: {}", api, operation, e.getMessage());
+		}
+	}
+
+	private static void sleep(long millis) throws InterruptedIOException {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while backing off before retrying a Google API call");
+		}
+	}
+
+	/**
+	 * 요청 클래스 이름으로 메서드 이름을 만듭니다. (YouTube$Videos$List → videos.list, YouTubeAnalytics$Reports$Query → reports.query)
+	 */
+	static String operationName(AbstractGoogleClientRequest<?> request) {
+		String className = request.getClass().getName();
+		String[] parts = className.substring(className.lastIndexOf('.') + 1).split("\\$");
+		if (parts.length < 2) {
+			return parts[0];
+		}
+		StringBuilder operation = new StringBuilder();
+		for (int i = 1; i < parts.length; i++) {
+			if (operation.length() > 0) {
+				operation.append('.');
+			}
+			operation.append(Character.toLowerCase(parts[i].charAt(0))).append(parts[i].substring(1));
+		}
+		return operation.toString();
+	}
+
+	/**
+	 * 시도가 call-timeout-ms (또는 호출 전체 시한) 안에 끝나지 않은 경우. 소켓 타임아웃과 같이 네트워크 오류로 분류합니다.
+	 */
+	static final class CallTimeoutException extends SocketTimeoutException {
+
+		private static final long serialVersionUID = 1L;
+
+		CallTimeoutException(String message) {
+			super(message);
+		}
+	}
+
+	/**
+	 * API 하나의 서킷 브레이커. 연속 실패 횟수로 열리고, open-seconds 뒤 시험 호출 한 번으로 닫힐지 다시 열릴지 정합니다.
+	 */
+	private final class CircuitBreaker {
+
+		private final Api api;
+		private CircuitState state = CircuitState.CLOSED;
+		private int consecutiveFailures;
+		private long openedAtNanos;
+		private boolean probeInFlight;
+
+		private CircuitBreaker(Api api) {
+			this.api = api;
+		}
+
+		synchronized boolean tryAcquire() {
+			if (state == CircuitState.OPEN) {
+				if (System.nanoTime() - openedAtNanos < TimeUnit.SECONDS.toNanos(circuitOpenSeconds)) {
+					return false;
+				}
+				transitionTo(CircuitState.HALF_OPEN);
+			}
+			if (state == CircuitState.HALF_OPEN) {
+				if (probeInFlight) {
+					return false;
+				}
+				probeInFlight = true;
+			}
+			return true;
+		}
+
+		synchronized void onSuccess() {
+			consecutiveFailures = 0;
+			probeInFlight = false;
+			if (state != CircuitState.CLOSED) {
+				transitionTo(CircuitState.CLOSED);
+			}
+		}
+
+		synchronized void onFailure() {
+			consecutiveFailures++;
+			probeInFlight = false;
+			if (state == CircuitState.HALF_OPEN || (state == CircuitState.CLOSED && consecutiveFailures >= circuitFailureThreshold)) {
+				openedAtNanos = System.nanoTime();
+				transitionTo(CircuitState.OPEN);
+			}
+		}
+
+		synchronized int gaugeValue() {
+			return state.gaugeValue;
+		}
+
+		private void transitionTo(CircuitState next) {
+			if (next == CircuitState.OPEN) {
+				logger.warn("Circuit breaker for Google {} API opened after {} consecutive failure(s). Calls are skipped for {} s.",
+						api, consecutiveFailures, circuitOpenSeconds);
+			} else {
+				logger.info("Circuit breaker for Google {} API: {} -> {}", api, state, next);
+			}
+			state = next;
+			meterRegistry.counter("google.api.circuit.transitions", "api", api.name(), "state", next.name()).increment();
+		}
+	}
+}
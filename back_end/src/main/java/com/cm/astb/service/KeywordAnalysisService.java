@@ -279,6 +279,17 @@ public class KeywordAnalysisService {
                 searchGoogleId, keyword, apiMaxResults, regionCode, actualCategoryId, order
             );
 
+        } catch (QuotaExceededException e) {
+            // quota 예산이 부족하면 갱신을 미루고, 만료된 캐시라도 있으면 그대로 반환합니다.
+            logger.warn("Deferring popular video refresh for keyword '{}', category '{}': {}", keyword, actualCategoryId, e.getMessage());
+            if (cachedResultOpt.isPresent()) {
+                try {
+                    return objectMapper.readValue(cachedResultOpt.get().getSearchResultsJson(), new TypeReference<List<PopularVideoDto>>() {});
+                } catch (JsonProcessingException jsonEx) {
+                    logger.error("Error deserializing stale cached search results for keyword '{}', category '{}': {}", keyword, actualCategoryId, jsonEx.getMessage());
+                }
+            }
+            return Collections.emptyList();
         } catch (IOException | GeneralSecurityException e) {
             logger.error("Error calling YouTube API for keyword '{}', category '{}': {}", keyword, actualCategoryId, e.getMessage(), e);
             return Collections.emptyList();
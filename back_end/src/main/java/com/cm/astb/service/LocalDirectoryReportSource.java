@@ -0,0 +1,98 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.dto.ReportFileDto;
+
+/**
+ * 디스크에 있는 보고서 파일을 Reporting API 대신 제공하는 ReportSource (로컬 개발/부하 테스트용).
+ * 파일 위치: {youtube.reporting.local-dir}/{googleId}/{reportTypeId}/{yyyyMMdd}[_임의].csv (또는 .csv.gz)
+ * 파일 이름의 날짜가 보고서 날짜, 파일 수정 시각이 보고서 생성 시각이 됩니다.
+ */
+@Service
+@ConditionalOnProperty(name = "youtube.reporting.source", havingValue = "local")
+public class LocalDirectoryReportSource implements ReportSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalDirectoryReportSource.class);
+
+	private final Path baseDirectory;
+
+	public LocalDirectoryReportSource(@Value("${youtube.reporting.local-dir:./reports}") String baseDirectory) {
+		this.baseDirectory = Paths.get(baseDirectory);
+		logger.info("Serving YouTube Reporting files from local directory {}.", this.baseDirectory.toAbsolutePath());
+	}
+
+	@Override
+	public Map<String, String> ensureJobs(String googleId, Collection<String> reportTypeIds) {
+		// 로컬 디렉터리에서는 보고서 유형 디렉터리가 곧 job 입니다.
+		Map<String, String> jobIdsByReportType = new HashMap<>();
+		for (String reportTypeId : reportTypeIds) {
+			jobIdsByReportType.put(reportTypeId, reportTypeId);
+		}
+		return jobIdsByReportType;
+	}
+
+	@Override
+	public List<ReportFileDto> listReports(String googleId, String jobId, String reportTypeId, LocalDateTime createdAfter) throws IOException {
+		Path reportDirectory = baseDirectory.resolve(googleId).resolve(reportTypeId);
+		List<ReportFileDto> reports = new ArrayList<>();
+		if (!Files.isDirectory(reportDirectory)) {
+			return reports;
+		}
+
+		try (Stream<Path> files = Files.list(reportDirectory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				String fileName = file.getFileName().toString();
+				if (!fileName.endsWith(".csv") && !fileName.endsWith(".csv.gz")) {
+					continue;
+				}
+				LocalDate reportDate;
+				try {
+					reportDate = LocalDate.parse(fileName.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+				} catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+					logger.warn("Skipping report file {} without a yyyyMMdd prefix.", file);
+					continue;
+				}
+				LocalDateTime createTime = LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneOffset.UTC);
+				if (createdAfter != null && !createTime.isAfter(createdAfter)) {
+					continue;
+				}
+				reports.add(ReportFileDto.builder()
+						.reportId(googleId + "/" + reportTypeId + "/" + fileName)
+						.jobId(jobId)
+						.reportTypeId(reportTypeId)
+						.reportDate(reportDate)
+						.createTime(createTime)
+						.downloadUrl(file.toUri().toString())
+						.build());
+			}
+		}
+		return reports;
+	}
+
+	@Override
+	public InputStream openReport(String googleId, ReportFileDto report) throws IOException {
+		return Files.newInputStream(baseDirectory.resolve(report.getReportId()));
+	}
+}
@@ -2,7 +2,6 @@ package com.cm.astb.service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,17 +14,17 @@ import org.springframework.stereotype.Service;
 import com.cm.astb.config.GoogleApiConfig;
 import com.cm.astb.dto.UserLoginResultDto;
 import com.cm.astb.entity.User;
-import com.cm.astb.security.GoogleCredentialDataStoreFactory;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeRequestUrl;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtubeAnalytics.v2.YouTubeAnalytics;
+import com.google.api.services.youtubereporting.YouTubeReporting;
 
 import jakarta.transaction.Transactional;
 
@@ -35,33 +34,25 @@ public class OAuthService {
 	private static final Logger logger = LoggerFactory.getLogger(OAuthService.class);
 
 	private final GoogleApiConfig googleApiConfig;
-	private final NetHttpTransport httpTransport;
+	private final HttpTransport httpTransport;
 	private final GsonFactory jsonFactory;
 //	private final FileDataStoreFactory dataStoreFactory;
-	private final GoogleCredentialDataStoreFactory googleCredentialDataStoreFactory;
 	private final UserService userService;
+	private final GoogleApiClientRegistry googleApiClientRegistry;
 
-	public OAuthService(GoogleApiConfig googleApiConfig, NetHttpTransport httpTransport,
-			GsonFactory jsonFactory, GoogleCredentialDataStoreFactory googleCredentialDataStoreFactory,
-			UserService userService) {
+	public OAuthService(GoogleApiConfig googleApiConfig, HttpTransport httpTransport,
+			GsonFactory jsonFactory, UserService userService, GoogleApiClientRegistry googleApiClientRegistry) {
 		this.googleApiConfig = googleApiConfig;
 		this.httpTransport = httpTransport;
 		this.jsonFactory = jsonFactory;
-		this.googleCredentialDataStoreFactory = googleCredentialDataStoreFactory;
 //		this.dataStoreFactory = dataStoreFactory;
 		this.userService = userService;
+		this.googleApiClientRegistry = googleApiClientRegistry;
 	}
 
+	// flow는 scope 조합별로 GoogleApiClientRegistry에서 한 번만 만들어 재사용합니다.
 	private GoogleAuthorizationCodeFlow buildFlow(Collection<String> scopes) throws IOException {
-		return new GoogleAuthorizationCodeFlow.Builder(
-				httpTransport,
-				jsonFactory,
-				googleApiConfig.googleClientSecrets(),
-				scopes)
-				.setDataStoreFactory(googleCredentialDataStoreFactory)
-				.setAccessType("offline")
-				.setApprovalPrompt("force")
-				.build();
+		return googleApiClientRegistry.getFlow(scopes);
 	}
 	public String getAuthorizationUrl(Collection<String> scopes) throws IOException {
 		GoogleAuthorizationCodeRequestUrl url = buildFlow(scopes).newAuthorizationUrl()
@@ -71,11 +62,7 @@ public class OAuthService {
 
 	@Transactional
 	public Map<String, Object> exchangeCodeForTokens(String code) throws IOException, GeneralSecurityException {
-		Collection<String> allScopes = new ArrayList<>();
-		allScopes.addAll(GoogleApiConfig.ANALYTICS_SCOPES);
-		allScopes.addAll(GoogleApiConfig.USER_LOGIN_SCOPES);
-
-		GoogleAuthorizationCodeFlow flowWithAllScopes = buildFlow(allScopes);
+		GoogleAuthorizationCodeFlow flowWithAllScopes = buildFlow(GoogleApiClientRegistry.ALL_SCOPES);
 
 		GoogleTokenResponse response = flowWithAllScopes.newTokenRequest(code)
 				.setRedirectUri(googleApiConfig.getRedirectUri())
@@ -113,6 +100,7 @@ public class OAuthService {
         boolean isNewUser = userLoginResult.isNewUser();
 		
 		Credential credential = flowWithAllScopes.createAndStoreCredential(response, user.getGoogleId());
+		googleApiClientRegistry.register(user.getGoogleId(), credential);
 
         Map<String, Object> result = new HashMap<>();
         result.put("credential", credential);
@@ -124,42 +112,24 @@ public class OAuthService {
         return result;
 	}
 
+	/**
+	 * 사용자의 Credential을 반환합니다. GoogleApiClientRegistry가 캐시해 두며, 없으면 DB에서 읽고 필요하면 토큰을 갱신합니다.
+	 */
 	public Credential getCredential(String userId) throws IOException {
-		Collection<String> allScopes = new ArrayList<>();
-		allScopes.addAll(GoogleApiConfig.ANALYTICS_SCOPES);
-		allScopes.addAll(GoogleApiConfig.USER_LOGIN_SCOPES);
-
-		GoogleAuthorizationCodeFlow flowWithAllScopes = buildFlow(allScopes);
-		Credential credential = flowWithAllScopes.loadCredential(userId);
-
-		if (credential != null && credential.getAccessToken() != null) {
-			logger.info("Credential loaded for user {}. Access Token is valid or refreshed.", userId);
-		} else if (credential != null && credential.getRefreshToken() != null) {
-			logger.warn("Credential loaded for user {} but Access Token is null/expired. Attempting refresh...", userId);
-			try {
-				if (credential.refreshToken()) {
-					logger.info("Access Token successfully refreshed for user {}.", userId);
-				} else {
-					logger.error("Failed to refresh Access Token for user {}. Refresh Token might be invalid.", userId);
-				}
-			} catch (IOException e) {
-				logger.error("IOException during Access Token refresh for user {}: {}", userId, e.getMessage());
-			}
-		} else {
-			logger.warn("No valid Credential or Refresh Token found for user {}.", userId);
-		}
-		return credential;
+		return googleApiClientRegistry.getCredential(userId);
 	}
 
 	// 인증된 Credential을 사용하여 YouTube Analytics API 서비스 객체를 반환.
+	// 클라이언트는 Credential별로 한 번만 만들어 재사용합니다.
 	public YouTubeAnalytics getYouTubeAnalyticsService(Credential credential) throws IOException {
-		return new YouTubeAnalytics.Builder(httpTransport, jsonFactory, credential)
-				.setApplicationName(googleApiConfig.getApplicationName())
-				.build();
+		return googleApiClientRegistry.youTubeAnalytics(credential);
 	}
 	public YouTube getYouTubeService(Credential credential) throws IOException {
-		return new YouTube.Builder(httpTransport, jsonFactory, credential)
-				.setApplicationName(googleApiConfig.getApplicationName())
-				.build();
+		return googleApiClientRegistry.youTube(credential);
+	}
+
+	// 인증된 Credential을 사용하여 YouTube Reporting API(대량 보고서) 서비스 객체를 반환.
+	public YouTubeReporting getYouTubeReportingService(Credential credential) throws IOException {
+		return googleApiClientRegistry.youTubeReporting(credential);
 	}
 }
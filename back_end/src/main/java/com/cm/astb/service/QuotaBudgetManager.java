@@ -0,0 +1,343 @@
+package com.cm.astb.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * YouTube Data API quota 사용량을 한 곳에서 계산하는 관리자.
+ * 호출 종류별 단위 비용(search.list = 100, *.list = 1)을 알고 있으며, 일일 전체 예산과 credential(사용자)별 예산을 함께 관리합니다.
+ * 예산이 줄어들면 우선순위가 낮은 작업(LOW: 키워드 인기 영상 갱신, 트렌드 검색)부터 거절해
+ * 야간 통계 수집(CRITICAL)이 끝까지 실행될 수 있도록 합니다.
+ * YouTube quota는 태평양 시간 자정(한국 시간 16~17시)에 초기화되므로 같은 기준으로 사용량을 초기화합니다.
+ *
+ * 초기화 후 새벽 2시(KST) 야간 수집까지 사용자 요청(NORMAL)이 먼저 예산을 쓰므로, critical-reserve-ratio 만큼은 CRITICAL 만 쓸 수 있게 남겨 둡니다.
+ * 예산이 부족해 거절된 배치 작업(채널 정보 갱신, HOT 비디오 갱신 등)은 deferUntilReset 으로 맡기면 다음 quota day 에 다시 실행합니다.
+ * 사용자 요청은 기다리게 하지 않고 QuotaExceededException 을 받아 캐시된 결과로 응답합니다.
+ *
+ * YouTube Analytics / Reporting API 호출은 Data API quota 단위를 쓰지 않으므로(별도의 요청 수 제한) 이 예산에 포함하지 않습니다.
+ */
+@Service
+public class QuotaBudgetManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(QuotaBudgetManager.class);
+
+	private static final ZoneId QUOTA_RESET_ZONE = ZoneId.of("America/Los_Angeles");
+
+	/** API 키(사용자 credential 없이)로 호출하는 경우의 credential 키 */
+	public static final String API_KEY_CREDENTIAL = "api-key";
+
+	/**
+	 * YouTube Data API 호출 종류와 단위 비용.
+	 */
+	public enum Operation {
+		SEARCH_LIST(100, "search.list"),
+		VIDEOS_LIST(1, "videos.list"),
+		CHANNELS_LIST(1, "channels.list"),
+		PLAYLIST_ITEMS_LIST(1, "playlistItems.list"),
+		COMMENT_THREADS_LIST(1, "commentThreads.list"),
+		VIDEO_CATEGORIES_LIST(1, "videoCategories.list");
+
+		private final int cost;
+		private final String method;
+
+		Operation(int cost, String method) {
+			this.cost = cost;
+			this.method = method;
+		}
+
+		public int getCost() {
+			return cost;
+		}
+
+		/**
+		 * API 메서드 이름(GoogleApiExecutor.operationName, 예: videos.list)에 해당하는 호출 종류. 모르는 메서드면 null
+		 */
+		public static Operation ofMethod(String method) {
+			for (Operation operation : values()) {
+				if (operation.method.equals(method)) {
+					return operation;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * 호출 우선순위. 우선순위별로 예산의 몇 %까지 사용할 수 있는지가 다릅니다.
+	 * CRITICAL: 야간 수집 등 반드시 끝나야 하는 작업 (예산 100%까지)
+	 * NORMAL  : 사용자 요청 처리 (normal-ceiling-ratio까지, critical-reserve-ratio 는 제외)
+	 * LOW     : 미뤄도 되는 작업 (low-ceiling-ratio까지, critical-reserve-ratio 는 제외)
+	 */
+	public enum Priority {
+		CRITICAL, NORMAL, LOW
+	}
+
+	private final MeterRegistry meterRegistry;
+
+	@Value("${youtube.quota.daily-limit:10000}")
+	private long dailyLimit;
+
+	@Value("${youtube.quota.per-credential-daily-limit:5000}")
+	private long perCredentialDailyLimit;
+
+	@Value("${youtube.quota.normal-ceiling-ratio:0.9}")
+	private double normalCeilingRatio;
+
+	@Value("${youtube.quota.low-ceiling-ratio:0.5}")
+	private double lowCeilingRatio;
+
+	@Value("${youtube.quota.critical-reserve-ratio:0.3}")
+	private double criticalReserveRatio;
+
+	private LocalDate quotaDay;
+	private long usedUnits;
+	private final Map<String, Long> usedUnitsByCredential = new HashMap<>();
+	private final Map<String, DeferredWork> deferredWork = new LinkedHashMap<>();
+
+	public QuotaBudgetManager(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.quotaDay = LocalDate.now(QUOTA_RESET_ZONE);
+
+		Gauge.builder("youtube.quota.used", this, QuotaBudgetManager::getUsedUnits)
+				.description("YouTube Data API quota units used today (Pacific time)")
+				.baseUnit("units")
+				.register(meterRegistry);
+		Gauge.builder("youtube.quota.remaining", this, QuotaBudgetManager::getRemainingUnits)
+				.description("YouTube Data API quota units remaining today (Pacific time)")
+				.baseUnit("units")
+				.register(meterRegistry);
+		Gauge.builder("youtube.quota.limit", this, manager -> manager.dailyLimit)
+				.description("YouTube Data API daily quota budget")
+				.baseUnit("units")
+				.register(meterRegistry);
+		Gauge.builder("youtube.quota.deferred_work", this, QuotaBudgetManager::getDeferredWorkCount)
+				.description("Jobs waiting for the next YouTube quota day")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 호출 한 번에 필요한 quota를 예산에서 차감합니다. 예산이 부족하면 호출하지 말아야 합니다.
+	 * 예산이 부족하면 기다리지 않고 예외를 던지므로, 배치 작업은 예외를 받으면 deferUntilReset 으로 다음 quota day 에 다시 실행합니다.
+	 *
+	 * @param credentialKey 호출에 사용하는 credential(사용자 Google ID) 또는 API_KEY_CREDENTIAL
+	 * @param operation     호출 종류
+	 * @param priority      호출 우선순위
+	 * @throws QuotaExceededException 해당 우선순위에서 사용할 수 있는 예산이 남아 있지 않은 경우
+	 */
+	public void acquire(String credentialKey, Operation operation, Priority priority) throws QuotaExceededException {
+		String key = credentialKey != null ? credentialKey : API_KEY_CREDENTIAL;
+		int cost = operation.getCost();
+
+		synchronized (this) {
+			resetIfNewQuotaDay();
+
+			long credentialUsed = usedUnitsByCredential.getOrDefault(key, 0L);
+			long globalCeiling = ceilingFor(dailyLimit, priority);
+			long credentialCeiling = ceilingFor(perCredentialDailyLimit, priority);
+
+			if (usedUnits + cost > globalCeiling || credentialUsed + cost > credentialCeiling) {
+				meterRegistry.counter("youtube.quota.deferred", "operation", operation.name(), "priority", priority.name())
+						.increment();
+				logger.warn("Quota budget low. Deferring {} ({} units, priority {}) for credential {}. Used today: {}/{} (credential: {}/{}).",
+						operation, cost, priority, key, usedUnits, dailyLimit, credentialUsed, perCredentialDailyLimit);
+				throw new QuotaExceededException("YouTube API quota budget exhausted for " + priority + " " + operation
+						+ " (used " + usedUnits + "/" + dailyLimit + ")", operation, priority);
+			}
+
+			usedUnits += cost;
+			usedUnitsByCredential.put(key, credentialUsed + cost);
+		}
+
+		Counter.builder("youtube.quota.consumed")
+				.baseUnit("units")
+				.tag("operation", operation.name())
+				.tag("priority", priority.name())
+				.register(meterRegistry)
+				.increment(cost);
+	}
+
+	/**
+	 * GoogleApiExecutor 가 보내는 헤지 요청의 quota 를 전체 예산에서 차감합니다.
+	 * 헤지는 없어도 되는 추가 호출이므로 LOW 우선순위 한도 안에서만 허용하고, 예산이 없으면 예외 대신 false 를 돌려줍니다.
+	 *
+	 * @return 차감했으면 true. false 이면 헤지 요청을 보내지 않아야 합니다.
+	 */
+	public boolean tryAcquireHedge(Operation operation) {
+		if (operation == null) {
+			return false;
+		}
+		return tryCharge(operation, ceilingFor(dailyLimit, Priority.LOW), "HEDGE");
+	}
+
+	/**
+	 * GoogleApiExecutor 가 429/5xx/네트워크 오류 뒤에 다시 보내는 요청의 quota 를 전체 예산에서 차감합니다.
+	 * 실패한 요청도 quota 를 쓰므로 재시도마다 한 번씩 차감합니다. 처음 호출은 이미 acquire 로 허용되었으므로
+	 * 우선순위와 관계없이 하루 예산(CRITICAL 한도)까지 허용하고, 예산이 없으면 예외 대신 false 를 돌려줍니다.
+	 *
+	 * @return 차감했거나 비용을 모르는 호출(operation 이 null)이면 true. false 이면 재시도하지 않아야 합니다.
+	 */
+	public boolean tryAcquireRetry(Operation operation) {
+		if (operation == null) {
+			return true;
+		}
+		return tryCharge(operation, ceilingFor(dailyLimit, Priority.CRITICAL), "RETRY");
+	}
+
+	/**
+	 * 예산 차감 없이, 해당 우선순위의 호출이 지금 가능할지 확인합니다.
+	 */
+	public synchronized boolean hasBudget(String credentialKey, Operation operation, Priority priority) {
+		resetIfNewQuotaDay();
+		String key = credentialKey != null ? credentialKey : API_KEY_CREDENTIAL;
+		int cost = operation.getCost();
+		return usedUnits + cost <= ceilingFor(dailyLimit, priority)
+				&& usedUnitsByCredential.getOrDefault(key, 0L) + cost <= ceilingFor(perCredentialDailyLimit, priority);
+	}
+
+	/**
+	 * 특정 credential 과 관계없이 전체 예산만 보고, 해당 우선순위의 호출이 지금 가능할지 확인합니다.
+	 */
+	public synchronized boolean hasBudget(Operation operation, Priority priority) {
+		resetIfNewQuotaDay();
+		return usedUnits + operation.getCost() <= ceilingFor(dailyLimit, priority);
+	}
+
+	/**
+	 * Google이 quotaExceeded/dailyLimitExceeded 로 응답하면 남은 예산 계산과 관계없이 오늘 예산을 모두 쓴 것으로 표시합니다.
+	 * (같은 프로젝트를 쓰는 다른 인스턴스/도구의 사용량은 여기서 보이지 않기 때문입니다.) 다음 quota day에 초기화됩니다.
+	 */
+	public synchronized void markExhausted(String reason) {
+		resetIfNewQuotaDay();
+		if (usedUnits < dailyLimit) {
+			logger.warn("Marking today's YouTube quota budget as exhausted ({}). Local count was {}/{} units.", reason, usedUnits, dailyLimit);
+			usedUnits = dailyLimit;
+		}
+	}
+
+	public synchronized long getUsedUnits() {
+		resetIfNewQuotaDay();
+		return usedUnits;
+	}
+
+	public synchronized long getRemainingUnits() {
+		resetIfNewQuotaDay();
+		return Math.max(0L, dailyLimit - usedUnits);
+	}
+
+	public synchronized long getUsedUnitsForCredential(String credentialKey) {
+		resetIfNewQuotaDay();
+		return usedUnitsByCredential.getOrDefault(credentialKey, 0L);
+	}
+
+	/**
+	 * 예산이 부족해 멈춘 작업을 다음 quota day 에 다시 실행하도록 맡깁니다.
+	 * 같은 이름으로 여러 번 맡기면 마지막 작업 하나만 실행합니다. (같은 배치를 초기화 직후 여러 번 돌리지 않도록)
+	 *
+	 * @param name 작업 이름 (예: channel-refresh)
+	 * @param work 다시 실행할 작업. 스케줄러 스레드에서 실행됩니다.
+	 */
+	public synchronized void deferUntilReset(String name, Runnable work) {
+		resetIfNewQuotaDay();
+		deferredWork.put(name, new DeferredWork(quotaDay, work));
+		meterRegistry.counter("youtube.quota.deferred_work.queued", "work", name).increment();
+		logger.info("Deferring '{}' until the next YouTube quota day (after {} Pacific time).", name, quotaDay);
+	}
+
+	public synchronized int getDeferredWorkCount() {
+		return deferredWork.size();
+	}
+
+	/**
+	 * quota day 가 바뀐 뒤 미뤄 둔 작업을 실행합니다.
+	 */
+	@Scheduled(fixedDelayString = "${youtube.quota.deferred-check-interval-ms:60000}", initialDelayString = "${youtube.quota.deferred-check-interval-ms:60000}")
+	public void runDeferredWork() {
+		List<Map.Entry<String, DeferredWork>> due = new ArrayList<>();
+		synchronized (this) {
+			resetIfNewQuotaDay();
+			for (Iterator<Map.Entry<String, DeferredWork>> it = deferredWork.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<String, DeferredWork> entry = it.next();
+				if (entry.getValue().deferredOn.isBefore(quotaDay)) {
+					due.add(entry);
+					it.remove();
+				}
+			}
+		}
+		for (Map.Entry<String, DeferredWork> entry : due) {
+			logger.info("YouTube quota reset. Running deferred '{}'.", entry.getKey());
+			try {
+				entry.getValue().work.run();
+			} catch (RuntimeException e) {
+				logger.error("Deferred '{}' failed: {}", entry.getKey(), e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * credential 사용량에는 더하지 않고 전체 예산에서만 차감합니다. (헤지/재시도용)
+	 */
+	private boolean tryCharge(Operation operation, long ceiling, String priorityTag) {
+		int cost = operation.getCost();
+		synchronized (this) {
+			resetIfNewQuotaDay();
+			if (usedUnits + cost > ceiling) {
+				return false;
+			}
+			usedUnits += cost;
+		}
+		Counter.builder("youtube.quota.consumed")
+				.baseUnit("units")
+				.tag("operation", operation.name())
+				.tag("priority", priorityTag)
+				.register(meterRegistry)
+				.increment(cost);
+		return true;
+	}
+
+	private long ceilingFor(long limit, Priority priority) {
+		double unreserved = 1.0 - Math.max(0.0, criticalReserveRatio);
+		return switch (priority) {
+		case CRITICAL -> limit;
+		case NORMAL -> (long) (limit * Math.min(normalCeilingRatio, unreserved));
+		case LOW -> (long) (limit * Math.min(lowCeilingRatio, unreserved));
+		};
+	}
+
+	private void resetIfNewQuotaDay() {
+		LocalDate today = LocalDate.now(QUOTA_RESET_ZONE);
+		if (!today.equals(quotaDay)) {
+			logger.info("YouTube quota day changed ({} -> {}). Resetting usage. Used yesterday: {}/{} units across {} credentials.",
+					quotaDay, today, usedUnits, dailyLimit, usedUnitsByCredential.size());
+			quotaDay = today;
+			usedUnits = 0L;
+			usedUnitsByCredential.clear();
+		}
+	}
+
+	private static final class DeferredWork {
+
+		private final LocalDate deferredOn;
+		private final Runnable work;
+
+		private DeferredWork(LocalDate deferredOn, Runnable work) {
+			this.deferredOn = deferredOn;
+			this.work = work;
+		}
+	}
+}
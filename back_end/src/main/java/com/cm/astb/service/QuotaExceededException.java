@@ -0,0 +1,31 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+
+/**
+ * YouTube Data API quota 예산이 부족해 호출을 실행하지 않았을 때 던지는 예외.
+ * 기존 API 호출 메서드들이 IOException을 선언하고 있으므로 IOException을 상속합니다.
+ * 우선순위가 낮은 작업은 이 예외를 받으면 캐시된 결과를 쓰거나 다음 실행으로 미룹니다.
+ */
+public class QuotaExceededException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final QuotaBudgetManager.Operation operation;
+	private final QuotaBudgetManager.Priority priority;
+
+	public QuotaExceededException(String message, QuotaBudgetManager.Operation operation,
+			QuotaBudgetManager.Priority priority) {
+		super(message);
+		this.operation = operation;
+		this.priority = priority;
+	}
+
+	public QuotaBudgetManager.Operation getOperation() {
+		return operation;
+	}
+
+	public QuotaBudgetManager.Priority getPriority() {
+		return priority;
+	}
+}
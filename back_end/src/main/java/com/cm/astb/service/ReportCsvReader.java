@@ -0,0 +1,139 @@
+package com.cm.astb.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * YouTube Reporting API 보고서(CSV)를 한 행씩 읽는 리더.
+ * 파일 전체를 메모리에 올리지 않고 스트림에서 바로 읽으며, gzip으로 압축된 파일도 자동으로 풀어 읽습니다.
+ * 첫 행은 헤더(컬럼 이름)로 사용합니다.
+ */
+public class ReportCsvReader implements Closeable {
+
+	private final BufferedReader reader;
+	private final Map<String, Integer> columnIndexes = new HashMap<>();
+	private List<String> currentRow;
+	private long rowCount;
+
+	public ReportCsvReader(InputStream inputStream) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(inputStream);
+		buffered.mark(2);
+		int firstByte = buffered.read();
+		int secondByte = buffered.read();
+		buffered.reset();
+		InputStream source = (firstByte == 0x1f && secondByte == 0x8b) ? new GZIPInputStream(buffered) : buffered;
+		this.reader = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8));
+
+		String header = reader.readLine();
+		if (header != null) {
+			List<String> columns = parseLine(header);
+			for (int i = 0; i < columns.size(); i++) {
+				columnIndexes.put(columns.get(i).trim(), i);
+			}
+		}
+	}
+
+	/**
+	 * 다음 행으로 이동합니다. 빈 줄은 건너뜁니다.
+	 *
+	 * @return 읽을 행이 있으면 true
+	 */
+	public boolean next() throws IOException {
+		String line;
+		do {
+			line = reader.readLine();
+			if (line == null) {
+				currentRow = null;
+				return false;
+			}
+		} while (line.isEmpty());
+		currentRow = parseLine(line);
+		rowCount++;
+		return true;
+	}
+
+	public boolean hasColumn(String column) {
+		return columnIndexes.containsKey(column);
+	}
+
+	/**
+	 * 현재 행의 컬럼 값을 반환합니다. 컬럼이 없거나 값이 비어 있으면 null을 반환합니다.
+	 */
+	public String get(String column) {
+		Integer index = columnIndexes.get(column);
+		if (currentRow == null || index == null || index >= currentRow.size()) {
+			return null;
+		}
+		String value = currentRow.get(index);
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * 현재 행의 숫자 컬럼 값을 long으로 반환합니다. 값이 없으면 0을 반환합니다.
+	 */
+	public long getLong(String column) {
+		String value = get(column);
+		if (value == null) {
+			return 0L;
+		}
+		return value.indexOf('.') >= 0 ? (long) Double.parseDouble(value) : Long.parseLong(value);
+	}
+
+	/**
+	 * 현재 행의 숫자 컬럼 값을 double로 반환합니다. 값이 없으면 0을 반환합니다.
+	 */
+	public double getDouble(String column) {
+		String value = get(column);
+		return value == null ? 0.0 : Double.parseDouble(value);
+	}
+
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	// 큰따옴표로 감싼 값("a,b", 이스케이프된 "")을 지원하는 최소한의 CSV 분리
+	private static List<String> parseLine(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"') {
+					if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+						current.append('"');
+						i++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					current.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(current.toString());
+				current.setLength(0);
+			} else {
+				current.append(c);
+			}
+		}
+		values.add(current.toString());
+		return values;
+	}
+}
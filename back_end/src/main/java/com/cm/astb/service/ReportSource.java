@@ -0,0 +1,39 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.cm.astb.dto.ReportFileDto;
+
+/**
+ * YouTube Reporting API 보고서를 가져오는 출처.
+ * 운영에서는 Reporting API(YoutubeReportingApiReportSource)를, 로컬/테스트에서는 디스크의 보고서 파일(LocalDirectoryReportSource)을 사용합니다.
+ * youtube.reporting.source 속성(api | local)으로 선택합니다.
+ */
+public interface ReportSource {
+
+	/**
+	 * 보고서 유형별 reporting job이 등록되어 있는지 확인하고, 없으면 등록합니다.
+	 *
+	 * @param googleId      보고서를 요청할 사용자(채널 소유자) Google ID
+	 * @param reportTypeIds 등록할 보고서 유형 ID (예: channel_basic_a2)
+	 * @return 보고서 유형 ID → job ID
+	 */
+	Map<String, String> ensureJobs(String googleId, Collection<String> reportTypeIds) throws IOException, GeneralSecurityException;
+
+	/**
+	 * job이 createdAfter(UTC) 이후에 생성한 보고서 목록을 조회합니다.
+	 */
+	List<ReportFileDto> listReports(String googleId, String jobId, String reportTypeId, LocalDateTime createdAfter)
+			throws IOException, GeneralSecurityException;
+
+	/**
+	 * 보고서 파일 내용을 스트림으로 엽니다. 호출한 쪽에서 닫아야 합니다.
+	 */
+	InputStream openReport(String googleId, ReportFileDto report) throws IOException, GeneralSecurityException;
+}
@@ -0,0 +1,543 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cm.astb.dto.ReportFileDto;
+import com.cm.astb.entity.AgeGroup;
+import com.cm.astb.entity.AudienceStat;
+import com.cm.astb.entity.AudienceStatsId;
+import com.cm.astb.entity.DeviceAnalysis;
+import com.cm.astb.entity.DeviceAnalysisId;
+import com.cm.astb.entity.DeviceType;
+import com.cm.astb.entity.Gender;
+import com.cm.astb.entity.InflowRoute;
+import com.cm.astb.entity.InflowRouteId;
+import com.cm.astb.entity.ReportIngestion;
+import com.cm.astb.entity.User;
+import com.cm.astb.entity.VideoStat;
+import com.cm.astb.entity.VideoStatsId;
+import com.cm.astb.entity.YouTubeVideo;
+import com.cm.astb.repository.ReportIngestionRepository;
+import com.cm.astb.repository.StatsBulkUpsertWriter;
+import com.cm.astb.repository.VideoStatRepository;
+import com.cm.astb.repository.YouTubeVideoRepository;
+
+/**
+ * YouTube Reporting API 일일 대량 보고서를 적재하는 파이프라인.
+ * 채널 소유자마다 보고서 유형별 job을 등록해 두고, 새로 생성된 보고서 CSV를 한 행씩 읽어(비디오/날짜 단위로 집계)
+ * TB_VIDEO_STATS, TB_AUDIENCE_STATS, TB_INFLOW_ROUTE, TB_DEVICE_ANALYSIS에 bulk upsert 합니다.
+ * 비디오마다 Analytics 쿼리를 보내는 대신 채널당 하루 보고서 4개만 내려받습니다.
+ *
+ * 보고서 날짜 하나(4개 유형)를 먼저 모두 내려받아 메모리에서 집계한 뒤, 저장만 한 트랜잭션에서 합니다.
+ * (내려받는 동안 DB 커넥션을 잡고 있지 않도록) 적재한 보고서는 TB_REPORT_INGESTION에 기록해 다시 적재하지 않습니다.
+ */
+@Service
+public class ReportingIngestionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReportingIngestionService.class);
+
+	static final String CHANNEL_BASIC = "channel_basic_a2";
+	static final String CHANNEL_DEMOGRAPHICS = "channel_demographics_a1";
+	static final String CHANNEL_TRAFFIC_SOURCE = "channel_traffic_source_a2";
+	static final String CHANNEL_DEVICE_OS = "channel_device_os_a2";
+
+	/** 적재하는 보고서 유형 (같은 날짜 안에서 이 순서로 처리: 시청자층 비율의 가중치로 기본 보고서의 조회수를 사용) */
+	static final List<String> REPORT_TYPE_IDS = List.of(CHANNEL_BASIC, CHANNEL_DEMOGRAPHICS, CHANNEL_TRAFFIC_SOURCE, CHANNEL_DEVICE_OS);
+
+	/** Reporting API traffic_source_type 코드 → Analytics API insightTrafficSourceType 이름 (TB_INFLOW_ROUTE.INFLOW_TYPE) */
+	private static final Map<String, String> TRAFFIC_SOURCE_TYPES = Map.ofEntries(
+			Map.entry("0", "NO_LINK_OTHER"),
+			Map.entry("1", "ADVERTISING"),
+			Map.entry("3", "SUBSCRIBER"),
+			Map.entry("4", "YT_CHANNEL"),
+			Map.entry("5", "YT_SEARCH"),
+			Map.entry("7", "RELATED_VIDEO"),
+			Map.entry("8", "YT_OTHER_PAGE"),
+			Map.entry("9", "EXT_URL"),
+			Map.entry("11", "ANNOTATION"),
+			Map.entry("14", "PLAYLIST"),
+			Map.entry("17", "NOTIFICATION"),
+			Map.entry("18", "YT_PLAYLIST_PAGE"),
+			Map.entry("20", "END_SCREEN"),
+			Map.entry("24", "SHORTS"));
+
+	/** Reporting API device_type 코드 → DeviceType */
+	private static final Map<String, DeviceType> DEVICE_TYPES = Map.of(
+			"100", DeviceType.UNKNOWN,
+			"101", DeviceType.DESKTOP,
+			"102", DeviceType.TV,
+			"103", DeviceType.GAME_CONSOLE,
+			"104", DeviceType.MOBILE,
+			"105", DeviceType.TABLET);
+
+	private final ReportSource reportSource;
+	private final UserService userService;
+	private final DataCollectionEngine dataCollectionEngine;
+	private final YouTubeVideoRepository youTubeVideoRepository;
+	private final VideoStatRepository videoStatRepository;
+	private final ReportIngestionRepository reportIngestionRepository;
+	private final StatsBulkUpsertWriter statsBulkUpsertWriter;
+	private final TransactionTemplate transactionTemplate;
+	private final CollectionShardLeaseService collectionShardLeaseService;
+
+	@Value("${youtube.reporting.enabled:false}")
+	private boolean enabled;
+
+	@Value("${youtube.reporting.initial-lookback-days:30}")
+	private int initialLookbackDays;
+
+	/**
+	 * 기본 보고서(channel_basic_a2)의 비디오/날짜별 합계.
+	 */
+	private static class DailyVideoTotals {
+		long views;
+		long likes;
+		long comments;
+		long subscribersGained;
+		double watchTimeMinutes;
+	}
+
+	/**
+	 * 보고서 날짜 하나의 보고서들을 읽어 집계한 결과. 트랜잭션 밖에서 만들고 writeReportDay 가 저장합니다.
+	 */
+	private static class ParsedReportDay {
+		final Map<String, Long> rowCounts = new HashMap<>();
+		final Map<LocalDate, Map<Long, DailyVideoTotals>> videoTotalsByDate = new HashMap<>();
+		final List<AudienceStat> audienceStats = new ArrayList<>();
+		final List<InflowRoute> inflowRoutes = new ArrayList<>();
+		final List<DeviceAnalysis> deviceAnalyses = new ArrayList<>();
+	}
+
+	public ReportingIngestionService(ReportSource reportSource, UserService userService,
+			DataCollectionEngine dataCollectionEngine, YouTubeVideoRepository youTubeVideoRepository,
+			VideoStatRepository videoStatRepository, ReportIngestionRepository reportIngestionRepository,
+			StatsBulkUpsertWriter statsBulkUpsertWriter, PlatformTransactionManager transactionManager,
+			CollectionShardLeaseService collectionShardLeaseService) {
+		this.reportSource = reportSource;
+		this.userService = userService;
+		this.dataCollectionEngine = dataCollectionEngine;
+		this.youTubeVideoRepository = youTubeVideoRepository;
+		this.videoStatRepository = videoStatRepository;
+		this.reportIngestionRepository = reportIngestionRepository;
+		this.statsBulkUpsertWriter = statsBulkUpsertWriter;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.collectionShardLeaseService = collectionShardLeaseService;
+	}
+
+	/**
+	 * 모든 사용자(채널)의 새 보고서를 적재합니다. youtube.reporting.enabled=true 인 경우에만 실행됩니다.
+	 */
+	@Scheduled(cron = "${youtube.reporting.cron:0 30 4 * * ?}", zone = "Asia/Seoul")
+	public void ingestNewReportsForAllUsers() {
+		if (!enabled) {
+			return;
+		}
+		List<User> users = collectionShardLeaseService.filterOwnedUsers(userService.findAllUsers().stream()
+				.filter(user -> user.getMyChannelId() != null && !user.getMyChannelId().isEmpty())
+				.collect(Collectors.toList()));
+		// 보고서 날짜마다 자체 트랜잭션을 사용하므로 사용자 단위 트랜잭션은 열지 않습니다.
+		dataCollectionEngine.runForUsers("reporting-ingestion", users, this::ingestNewReports, false);
+	}
+
+	/**
+	 * 사용자 한 명(채널)의 보고서 job을 확인하고, 아직 적재하지 않은 보고서를 날짜 순서대로 적재합니다.
+	 *
+	 * @param user 채널 소유자
+	 * @return 적재한 보고서 수
+	 */
+	public int ingestNewReports(User user) throws IOException, GeneralSecurityException {
+		String googleId = user.getGoogleId();
+		String channelId = user.getMyChannelId();
+
+		Map<String, String> jobIdsByReportType = reportSource.ensureJobs(googleId, REPORT_TYPE_IDS);
+
+		// 날짜 → (보고서 유형 → 보고서). 같은 날짜의 보고서가 다시 생성된 경우 가장 최근 것만 사용합니다.
+		TreeMap<LocalDate, Map<String, ReportFileDto>> reportsByDate = new TreeMap<>();
+		for (String reportTypeId : REPORT_TYPE_IDS) {
+			String jobId = jobIdsByReportType.get(reportTypeId);
+			if (jobId == null) {
+				continue;
+			}
+			LocalDateTime createdAfter = reportIngestionRepository
+					.findTopByGoogleIdAndReportTypeIdOrderByReportCreateTimeDesc(googleId, reportTypeId)
+					.map(ReportIngestion::getReportCreateTime)
+					.orElse(LocalDateTime.now(ZoneOffset.UTC).minusDays(initialLookbackDays));
+			for (ReportFileDto report : reportSource.listReports(googleId, jobId, reportTypeId, createdAfter)) {
+				if (reportIngestionRepository.existsById(report.getReportId())) {
+					continue;
+				}
+				reportsByDate.computeIfAbsent(report.getReportDate(), date -> new HashMap<>())
+						.merge(reportTypeId, report, (a, b) -> a.getCreateTime().isAfter(b.getCreateTime()) ? a : b);
+			}
+		}
+
+		if (reportsByDate.isEmpty()) {
+			logger.info("No new YouTube Reporting files for user {} (channel {}).", googleId, channelId);
+			return 0;
+		}
+
+		Map<String, Long> videoIdsByKey = new HashMap<>();
+		for (YouTubeVideo video : youTubeVideoRepository.findByChannelId(channelId)) {
+			videoIdsByKey.put(video.getVideoKey(), video.getVideoId());
+		}
+
+		int ingestedReports = 0;
+		for (Map.Entry<LocalDate, Map<String, ReportFileDto>> entry : reportsByDate.entrySet()) {
+			long startNanos = System.nanoTime();
+			ParsedReportDay parsed = parseReportDay(googleId, entry.getValue(), videoIdsByKey);
+			transactionTemplate.executeWithoutResult(status -> writeReportDay(googleId, entry.getValue(), parsed));
+			ingestedReports += entry.getValue().size();
+			logger.info("Ingested {} YouTube Reporting file(s) for channel {} on {} in {} ms.", entry.getValue().size(), channelId,
+					entry.getKey(), (System.nanoTime() - startNanos) / 1_000_000);
+		}
+		return ingestedReports;
+	}
+
+	/**
+	 * 보고서 날짜 하나의 보고서들을 내려받아 집계합니다. DB 에는 쓰지 않으므로 트랜잭션 밖에서 호출합니다.
+	 */
+	private ParsedReportDay parseReportDay(String googleId, Map<String, ReportFileDto> reportsByType, Map<String, Long> videoIdsByKey)
+			throws IOException, GeneralSecurityException {
+		ParsedReportDay parsed = new ParsedReportDay();
+		Map<String, Long> segmentViews = new HashMap<>();
+
+		ReportFileDto basicReport = reportsByType.get(CHANNEL_BASIC);
+		if (basicReport != null) {
+			parsed.rowCounts.put(CHANNEL_BASIC, parseBasicReport(googleId, basicReport, videoIdsByKey, segmentViews, parsed.videoTotalsByDate));
+		}
+		ReportFileDto demographicsReport = reportsByType.get(CHANNEL_DEMOGRAPHICS);
+		if (demographicsReport != null) {
+			parsed.rowCounts.put(CHANNEL_DEMOGRAPHICS,
+					parseDemographicsReport(googleId, demographicsReport, videoIdsByKey, segmentViews, parsed.audienceStats));
+		}
+		ReportFileDto trafficSourceReport = reportsByType.get(CHANNEL_TRAFFIC_SOURCE);
+		if (trafficSourceReport != null) {
+			parsed.rowCounts.put(CHANNEL_TRAFFIC_SOURCE,
+					parseTrafficSourceReport(googleId, trafficSourceReport, videoIdsByKey, parsed.inflowRoutes));
+		}
+		ReportFileDto deviceReport = reportsByType.get(CHANNEL_DEVICE_OS);
+		if (deviceReport != null) {
+			parsed.rowCounts.put(CHANNEL_DEVICE_OS, parseDeviceReport(googleId, deviceReport, videoIdsByKey, parsed.deviceAnalyses));
+		}
+		return parsed;
+	}
+
+	/**
+	 * 집계한 보고서 날짜 하나를 저장하고 TB_REPORT_INGESTION 에 기록합니다. 한 트랜잭션 안에서 호출합니다.
+	 */
+	private void writeReportDay(String googleId, Map<String, ReportFileDto> reportsByType, ParsedReportDay parsed) {
+		Map<String, Long> rowCounts = parsed.rowCounts;
+		ReportFileDto basicReport = reportsByType.get(CHANNEL_BASIC);
+		if (basicReport != null) {
+			writeBasicReport(basicReport, rowCounts.get(CHANNEL_BASIC), parsed.videoTotalsByDate);
+		}
+		ReportFileDto demographicsReport = reportsByType.get(CHANNEL_DEMOGRAPHICS);
+		if (demographicsReport != null) {
+			statsBulkUpsertWriter.upsertAudienceStats(parsed.audienceStats);
+			logger.info("{}: {} rows read, {} audience stat rows written.", demographicsReport.getReportId(),
+					rowCounts.get(CHANNEL_DEMOGRAPHICS), parsed.audienceStats.size());
+		}
+		ReportFileDto trafficSourceReport = reportsByType.get(CHANNEL_TRAFFIC_SOURCE);
+		if (trafficSourceReport != null) {
+			statsBulkUpsertWriter.upsertInflowRoutes(parsed.inflowRoutes);
+			logger.info("{}: {} rows read, {} inflow route rows written.", trafficSourceReport.getReportId(),
+					rowCounts.get(CHANNEL_TRAFFIC_SOURCE), parsed.inflowRoutes.size());
+		}
+		ReportFileDto deviceReport = reportsByType.get(CHANNEL_DEVICE_OS);
+		if (deviceReport != null) {
+			statsBulkUpsertWriter.upsertDeviceAnalyses(parsed.deviceAnalyses);
+			logger.info("{}: {} rows read, {} device analysis rows written.", deviceReport.getReportId(),
+					rowCounts.get(CHANNEL_DEVICE_OS), parsed.deviceAnalyses.size());
+		}
+
+		List<ReportIngestion> ingestions = new ArrayList<>(reportsByType.size());
+		for (ReportFileDto report : reportsByType.values()) {
+			ingestions.add(ReportIngestion.builder()
+					.reportId(report.getReportId())
+					.googleId(googleId)
+					.reportTypeId(report.getReportTypeId())
+					.jobId(report.getJobId())
+					.reportDate(report.getReportDate())
+					.reportCreateTime(report.getCreateTime())
+					.rowCount(rowCounts.get(report.getReportTypeId()))
+					.build());
+		}
+		reportIngestionRepository.saveAll(ingestions);
+	}
+
+	/**
+	 * channel_basic_a2: 비디오/날짜별 일일 조회수, 좋아요, 댓글, 구독자 증가, 시청 시간을 totalsByDate 에 합산합니다.
+	 * 세그먼트(라이브 여부, 구독 여부, 국가)별 조회수는 시청자층 보고서의 가중치로 쓰기 위해 segmentViews에 담습니다.
+	 */
+	private long parseBasicReport(String googleId, ReportFileDto report, Map<String, Long> videoIdsByKey,
+			Map<String, Long> segmentViews, Map<LocalDate, Map<Long, DailyVideoTotals>> totalsByDate)
+			throws IOException, GeneralSecurityException {
+		long rowCount;
+		try (InputStream inputStream = reportSource.openReport(googleId, report);
+				ReportCsvReader reader = new ReportCsvReader(inputStream)) {
+			while (reader.next()) {
+				Long videoId = videoIdsByKey.get(reader.get("video_id"));
+				if (videoId == null) {
+					continue;
+				}
+				LocalDate date = parseDate(reader.get("date"));
+				long views = reader.getLong("views");
+				segmentViews.merge(segmentKey(reader), views, Long::sum);
+
+				DailyVideoTotals totals = totalsByDate.computeIfAbsent(date, d -> new HashMap<>())
+						.computeIfAbsent(videoId, id -> new DailyVideoTotals());
+				totals.views += views;
+				totals.likes += reader.getLong("likes");
+				totals.comments += reader.getLong("comments");
+				totals.subscribersGained += reader.getLong("subscribers_gained");
+				totals.watchTimeMinutes += reader.getDouble("watch_time_minutes");
+			}
+			rowCount = reader.getRowCount();
+		}
+		return rowCount;
+	}
+
+	/**
+	 * channel_basic_a2 합계로 TB_VIDEO_STATS를 채웁니다.
+	 * TB_VIDEO_STATS는 "해당 날짜까지의 누적값"을 저장하므로, 전날 행에 일일값을 더해 누적값을 만듭니다.
+	 * 전날 행이 없는 비디오는 기준값이 없으므로 건너뛰고, 이미 야간 수집으로 채워진 컬럼은 덮어쓰지 않습니다.
+	 */
+	private void writeBasicReport(ReportFileDto report, long rowCount, Map<LocalDate, Map<Long, DailyVideoTotals>> totalsByDate) {
+		int skippedWithoutBaseline = 0;
+		List<VideoStat> videoStatsToSave = new ArrayList<>();
+		for (Map.Entry<LocalDate, Map<Long, DailyVideoTotals>> dateEntry : totalsByDate.entrySet()) {
+			LocalDateTime statsDate = dateEntry.getKey().atStartOfDay();
+			List<Long> videoIds = new ArrayList<>(dateEntry.getValue().keySet());
+			Map<Long, VideoStat> currentStats = videoStatRepository.findByIdVideoIdInAndIdStatsDate(videoIds, statsDate).stream()
+					.collect(Collectors.toMap(stat -> stat.getId().getVideoId(), stat -> stat));
+			Map<Long, VideoStat> previousStats = videoStatRepository.findByIdVideoIdInAndIdStatsDate(videoIds, statsDate.minusDays(1)).stream()
+					.collect(Collectors.toMap(stat -> stat.getId().getVideoId(), stat -> stat));
+
+			for (Map.Entry<Long, DailyVideoTotals> videoEntry : dateEntry.getValue().entrySet()) {
+				VideoStat current = currentStats.get(videoEntry.getKey());
+				if (current != null && current.getViewCount() != null && current.getSubscriberGained() != null
+						&& current.getAvgWatchTime() != null) {
+					continue;
+				}
+				VideoStat previous = previousStats.get(videoEntry.getKey());
+				if (previous == null || previous.getViewCount() == null) {
+					skippedWithoutBaseline++;
+					continue;
+				}
+				videoStatsToSave.add(rollForward(new VideoStatsId(videoEntry.getKey(), statsDate), previous, current, videoEntry.getValue()));
+			}
+		}
+
+		statsBulkUpsertWriter.upsertVideoStats(videoStatsToSave);
+		logger.info("{}: {} rows read, {} video stat rows written, {} videos skipped without a previous-day baseline.",
+				report.getReportId(), rowCount, videoStatsToSave.size(), skippedWithoutBaseline);
+	}
+
+	/**
+	 * 전날 누적값 + 일일값으로 당일 누적값을 만듭니다. 당일 행에 이미 값이 있는 컬럼은 NULL로 두어 upsert 시 유지되도록 합니다.
+	 */
+	private VideoStat rollForward(VideoStatsId id, VideoStat previous, VideoStat current, DailyVideoTotals daily) {
+		VideoStat videoStat = new VideoStat();
+		videoStat.setId(id);
+
+		long cumulativeViews = previous.getViewCount() + daily.views;
+		if (current == null || current.getViewCount() == null) {
+			videoStat.setViewCount(cumulativeViews);
+			if (previous.getLikeCount() != null) {
+				videoStat.setLikeCount((int) (previous.getLikeCount() + daily.likes));
+			}
+			if (previous.getCommentCount() != null) {
+				videoStat.setCommentCount((int) (previous.getCommentCount() + daily.comments));
+			}
+		}
+		if ((current == null || current.getSubscriberGained() == null) && previous.getSubscriberGained() != null) {
+			videoStat.setSubscriberGained((int) (previous.getSubscriberGained() + daily.subscribersGained));
+		}
+		if ((current == null || current.getAvgWatchTime() == null) && previous.getAvgWatchTime() != null) {
+			// 누적 평균 시청 시간(초) = (전날 평균 × 전날 조회수 + 일일 시청 시간) / 당일 누적 조회수
+			double totalWatchSeconds = (double) previous.getAvgWatchTime() * previous.getViewCount() + daily.watchTimeMinutes * 60;
+			videoStat.setAvgWatchTime(cumulativeViews > 0 ? (int) Math.round(totalWatchSeconds / cumulativeViews) : previous.getAvgWatchTime());
+		}
+		return videoStat;
+	}
+
+	/**
+	 * channel_demographics_a1: 성별/연령대별 시청 비율을 TB_AUDIENCE_STATS 행(audienceStats)으로 만듭니다.
+	 * 보고서의 views_percentage는 세그먼트(라이브 여부, 구독 여부, 국가)마다 100%이므로, 세그먼트 조회수로 가중 평균합니다.
+	 * 같은 날짜의 기본 보고서가 없으면 모든 세그먼트를 같은 가중치로 봅니다.
+	 */
+	private long parseDemographicsReport(String googleId, ReportFileDto report, Map<String, Long> videoIdsByKey,
+			Map<String, Long> segmentViews, List<AudienceStat> audienceStats) throws IOException, GeneralSecurityException {
+		// 키: videoId|date|gender|ageGroup
+		Map<String, Double> weightedPercentages = new HashMap<>();
+		// 키: videoId|date
+		Map<String, Double> totalWeights = new HashMap<>();
+		Set<String> countedSegments = new HashSet<>();
+		long rowCount;
+		try (InputStream inputStream = reportSource.openReport(googleId, report);
+				ReportCsvReader reader = new ReportCsvReader(inputStream)) {
+			while (reader.next()) {
+				Long videoId = videoIdsByKey.get(reader.get("video_id"));
+				if (videoId == null) {
+					continue;
+				}
+				String segmentKey = segmentKey(reader);
+				double weight = segmentViews.isEmpty() ? 1.0 : segmentViews.getOrDefault(segmentKey, 0L);
+				if (weight <= 0) {
+					continue;
+				}
+				String videoDateKey = videoId + "|" + reader.get("date");
+				if (countedSegments.add(segmentKey)) {
+					totalWeights.merge(videoDateKey, weight, Double::sum);
+				}
+				String key = videoDateKey + "|" + toGender(reader.get("gender")).name() + "|" + toAgeGroup(reader.get("age_group")).name();
+				weightedPercentages.merge(key, reader.getDouble("views_percentage") * weight, Double::sum);
+			}
+			rowCount = reader.getRowCount();
+		}
+
+		for (Map.Entry<String, Double> entry : weightedPercentages.entrySet()) {
+			String[] parts = entry.getKey().split("\\|");
+			double totalWeight = totalWeights.getOrDefault(parts[0] + "|" + parts[1], 0.0);
+			AudienceStat audienceStat = new AudienceStat();
+			audienceStat.setId(new AudienceStatsId(Long.valueOf(parts[0]), Gender.valueOf(parts[2]), AgeGroup.valueOf(parts[3]),
+					parseDate(parts[1]).atStartOfDay()));
+			audienceStat.setWatchingRatio(BigDecimal.valueOf(totalWeight > 0 ? entry.getValue() / totalWeight : 0.0)
+					.setScale(1, RoundingMode.HALF_UP));
+			audienceStats.add(audienceStat);
+		}
+		return rowCount;
+	}
+
+	/**
+	 * channel_traffic_source_a2: 유입 경로별 조회수를 합산해 TB_INFLOW_ROUTE 행(inflowRoutes)으로 만듭니다.
+	 */
+	private long parseTrafficSourceReport(String googleId, ReportFileDto report, Map<String, Long> videoIdsByKey,
+			List<InflowRoute> inflowRoutes) throws IOException, GeneralSecurityException {
+		// 키: videoId|date → (유입 경로 → 조회수)
+		Map<String, Map<String, Long>> viewsByInflowType = new HashMap<>();
+		long rowCount;
+		try (InputStream inputStream = reportSource.openReport(googleId, report);
+				ReportCsvReader reader = new ReportCsvReader(inputStream)) {
+			while (reader.next()) {
+				Long videoId = videoIdsByKey.get(reader.get("video_id"));
+				if (videoId == null) {
+					continue;
+				}
+				String trafficSourceType = reader.get("traffic_source_type");
+				String inflowType = TRAFFIC_SOURCE_TYPES.getOrDefault(trafficSourceType, "SOURCE_" + trafficSourceType);
+				viewsByInflowType.computeIfAbsent(videoId + "|" + reader.get("date"), key -> new HashMap<>())
+						.merge(inflowType, reader.getLong("views"), Long::sum);
+			}
+			rowCount = reader.getRowCount();
+		}
+
+		for (Map.Entry<String, Map<String, Long>> entry : viewsByInflowType.entrySet()) {
+			String[] parts = entry.getKey().split("\\|");
+			Long videoId = Long.valueOf(parts[0]);
+			LocalDateTime statsDate = parseDate(parts[1]).atStartOfDay();
+			long totalViews = entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+			for (Map.Entry<String, Long> inflow : entry.getValue().entrySet()) {
+				if (inflow.getValue() < 1) {
+					continue;
+				}
+				InflowRoute inflowRoute = new InflowRoute();
+				inflowRoute.setId(new InflowRouteId(videoId, inflow.getKey(), statsDate));
+				inflowRoute.setInflowCount(inflow.getValue().intValue());
+				inflowRoute.setInflowRate(StatsRatios.percentOf(inflow.getValue(), totalViews));
+				inflowRoutes.add(inflowRoute);
+			}
+		}
+		return rowCount;
+	}
+
+	/**
+	 * channel_device_os_a2: 기기 유형별 조회수를 합산해 TB_DEVICE_ANALYSIS 행(deviceAnalyses)으로 만듭니다. (운영체제 차원은 합산)
+	 */
+	private long parseDeviceReport(String googleId, ReportFileDto report, Map<String, Long> videoIdsByKey,
+			List<DeviceAnalysis> deviceAnalyses) throws IOException, GeneralSecurityException {
+		// 키: videoId|date → (기기 유형 → 조회수)
+		Map<String, Map<DeviceType, Long>> viewsByDeviceType = new HashMap<>();
+		long rowCount;
+		try (InputStream inputStream = reportSource.openReport(googleId, report);
+				ReportCsvReader reader = new ReportCsvReader(inputStream)) {
+			while (reader.next()) {
+				Long videoId = videoIdsByKey.get(reader.get("video_id"));
+				if (videoId == null) {
+					continue;
+				}
+				DeviceType deviceType = DEVICE_TYPES.getOrDefault(reader.get("device_type"), DeviceType.UNKNOWN);
+				viewsByDeviceType.computeIfAbsent(videoId + "|" + reader.get("date"), key -> new HashMap<>())
+						.merge(deviceType, reader.getLong("views"), Long::sum);
+			}
+			rowCount = reader.getRowCount();
+		}
+
+		for (Map.Entry<String, Map<DeviceType, Long>> entry : viewsByDeviceType.entrySet()) {
+			String[] parts = entry.getKey().split("\\|");
+			Long videoId = Long.valueOf(parts[0]);
+			LocalDateTime statsDate = parseDate(parts[1]).atStartOfDay();
+			long totalViews = entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+			for (Map.Entry<DeviceType, Long> device : entry.getValue().entrySet()) {
+				DeviceAnalysis deviceAnalysis = new DeviceAnalysis();
+				deviceAnalysis.setId(new DeviceAnalysisId(videoId, device.getKey(), statsDate));
+				deviceAnalysis.setWatchingRatio(StatsRatios.percentOf(device.getValue(), totalViews));
+				deviceAnalyses.add(deviceAnalysis);
+			}
+		}
+		return rowCount;
+	}
+
+	// 보고서 행의 세그먼트 키: video|date|live_or_on_demand|subscribed_status|country_code
+	private static String segmentKey(ReportCsvReader reader) {
+		return reader.get("video_id") + "|" + reader.get("date") + "|" + reader.get("live_or_on_demand") + "|"
+				+ reader.get("subscribed_status") + "|" + reader.get("country_code");
+	}
+
+	private static LocalDate parseDate(String reportDate) {
+		return LocalDate.parse(reportDate, DateTimeFormatter.BASIC_ISO_DATE);
+	}
+
+	private static Gender toGender(String reportGender) {
+		if ("MALE".equals(reportGender)) {
+			return Gender.MALE;
+		} else if ("FEMALE".equals(reportGender)) {
+			return Gender.FEMALE;
+		}
+		return Gender.UNKNOWN; // GENDER_OTHER 등
+	}
+
+	// 보고서 값 "AGE_13_17", "AGE_65_" → AgeGroup
+	private static AgeGroup toAgeGroup(String reportAgeGroup) {
+		if (reportAgeGroup == null || !reportAgeGroup.startsWith("AGE_")) {
+			return AgeGroup.UNKNOWN_AGE;
+		}
+		String range = reportAgeGroup.substring(4);
+		String dbValue = range.endsWith("_") ? range.substring(0, range.length() - 1) + "+" : range.replace('_', '-');
+		return AgeGroup.fromDbValue(dbValue);
+	}
+}
@@ -0,0 +1,91 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 같은 키로 동시에 들어온 조회를 하나로 합칩니다. (single-flight)
+ *
+ * 키마다 처음 들어온 호출(leader)만 자기 스레드에서 실제로 실행하고, 그 사이 같은 키로 들어온 호출은 leader 의 결과나 예외를 그대로 받습니다.
+ * 단, GeneralSecurityException(leader 의 credential 문제)은 다른 사용자와 관계가 없으므로 공유하지 않고, 기다리던 호출이 자기 call 로 다시 실행합니다.
+ * 결과를 보관하지는 않으므로, leader 가 끝난 뒤 들어온 호출은 다시 실행됩니다. (캐시는 각 서비스가 담당)
+ * 여러 호출이 같은 결과 객체를 공유하므로, 결과는 읽기 전용으로 다뤄야 합니다.
+ *
+ * @param <V> 결과 타입
+ */
+public class SingleFlight<V> {
+
+	/**
+	 * 합쳐서 실행할 조회.
+	 */
+	@FunctionalInterface
+	public interface Call<V> {
+		V call() throws IOException, GeneralSecurityException;
+	}
+
+	private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executedCounter;
+	private final Counter sharedCounter;
+
+	public SingleFlight(String name, MeterRegistry meterRegistry) {
+		this.executedCounter = meterRegistry.counter("singleflight.calls", "name", name, "result", "executed");
+		this.sharedCounter = meterRegistry.counter("singleflight.calls", "name", name, "result", "shared");
+		Gauge.builder("singleflight.in_flight", inFlight, Map::size)
+				.tag("name", name)
+				.register(meterRegistry);
+	}
+
+	public V execute(String key, Call<V> call) throws IOException, GeneralSecurityException {
+		CompletableFuture<V> leader = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+		if (existing != null) {
+			sharedCounter.increment();
+			return await(existing, key, call);
+		}
+
+		executedCounter.increment();
+		try {
+			V result = call.call();
+			leader.complete(result);
+			return result;
+		} catch (IOException | GeneralSecurityException | RuntimeException | Error e) {
+			leader.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, leader);
+		}
+	}
+
+	private V await(CompletableFuture<V> leader, String key, Call<V> call) throws IOException, GeneralSecurityException {
+		try {
+			return leader.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for in-flight call: " + key);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			} else if (cause instanceof GeneralSecurityException) {
+				// leader 의 인증 실패를 그대로 받지 않고, 이 호출의 credential 로 직접 실행합니다.
+				executedCounter.increment();
+				return call.call();
+			} else if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			} else if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new IOException(cause);
+		}
+	}
+}
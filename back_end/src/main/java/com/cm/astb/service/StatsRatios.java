@@ -0,0 +1,27 @@
+package com.cm.astb.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 통계 테이블의 비율 컬럼(DECIMAL(4,1), 단위 %) 값을 만드는 공통 계산.
+ * Analytics 쿼리(VideoBreakdownBatchCollector)와 Reporting 보고서(ReportingIngestionService)가 같은 값을 저장하도록 함께 씁니다.
+ */
+final class StatsRatios {
+
+	private StatsRatios() {
+	}
+
+	/**
+	 * part / total 을 소수점 3자리까지 나눈 뒤 백분율로 바꿔 소수점 1자리로 반올림합니다. total 이 0 이하이면 0.
+	 */
+	static BigDecimal percentOf(long part, long total) {
+		if (total <= 0) {
+			return BigDecimal.ZERO;
+		}
+		return BigDecimal.valueOf(part)
+				.divide(BigDecimal.valueOf(total), 3, RoundingMode.HALF_UP)
+				.multiply(BigDecimal.valueOf(100))
+				.setScale(1, RoundingMode.HALF_UP);
+	}
+}
@@ -0,0 +1,194 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.google.api.client.auth.oauth2.Credential;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 사용 중인 사용자의 액세스 토큰을 만료 전에 백그라운드에서 미리 갱신합니다.
+ *
+ * GoogleApiClientRegistry 가 캐시한 Credential 을 추적하고, interval-ms 마다 만료까지 lead-seconds 이하로 남은 토큰을
+ * 만료가 가까운 순으로 batch-size 개씩 tokenRefreshExecutor 에서 갱신합니다.
+ * Credential 은 만료 60초 전부터 요청 스레드에서 직접 토큰을 갱신하므로, lead-seconds 를 그보다 충분히 크게 두면
+ * 요청 스레드와 수집 스레드는 토큰 갱신을 기다리지 않습니다.
+ * 같은 사용자의 갱신 요청이 겹치면(예약 갱신, 캐시 적재, 수집 전 준비) 진행 중인 갱신 하나를 함께 기다립니다.
+ */
+@Service
+public class TokenRefreshService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TokenRefreshService.class);
+
+	private final ThreadPoolTaskExecutor tokenRefreshExecutor;
+	private final MeterRegistry meterRegistry;
+
+	/** 추적 중인 사용자(Google ID)와 캐시된 Credential */
+	private final Map<String, Credential> trackedCredentials = new ConcurrentHashMap<>();
+	/** 사용자별 진행 중인 토큰 갱신 */
+	private final Map<String, CompletableFuture<Boolean>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+	@Value("${google.oauth.token-refresh.enabled:true}")
+	private boolean enabled;
+
+	@Value("${google.oauth.token-refresh.lead-seconds:300}")
+	private long leadSeconds;
+
+	@Value("${google.oauth.token-refresh.batch-size:100}")
+	private int batchSize;
+
+	@Value("${google.oauth.token-refresh.batch-timeout-seconds:120}")
+	private long batchTimeoutSeconds;
+
+	public TokenRefreshService(@Qualifier("tokenRefreshExecutor") ThreadPoolTaskExecutor tokenRefreshExecutor,
+			MeterRegistry meterRegistry) {
+		this.tokenRefreshExecutor = tokenRefreshExecutor;
+		this.meterRegistry = meterRegistry;
+
+		Gauge.builder("google.oauth.tracked_credentials", trackedCredentials, Map::size)
+				.description("Credentials whose access tokens are refreshed ahead of expiry")
+				.register(meterRegistry);
+	}
+
+	public void track(String googleId, Credential credential) {
+		trackedCredentials.put(googleId, credential);
+	}
+
+	/**
+	 * 추적을 멈춥니다. 그 사이 새 Credential 로 교체되었다면 새 Credential 은 계속 추적합니다.
+	 */
+	public void untrack(String googleId, Credential credential) {
+		trackedCredentials.remove(googleId, credential);
+	}
+
+	/**
+	 * 액세스 토큰이 없거나 lead-seconds 안에 만료되는지 확인합니다.
+	 */
+	public boolean isExpiringSoon(Credential credential) {
+		if (credential.getAccessToken() == null) {
+			return true;
+		}
+		Long expiresIn = credential.getExpiresInSeconds();
+		return expiresIn != null && expiresIn <= leadSeconds;
+	}
+
+	/**
+	 * 토큰 갱신을 tokenRefreshExecutor 에 맡깁니다. 같은 사용자의 갱신이 이미 진행 중이면 그 결과를 함께 기다립니다.
+	 *
+	 * @return 갱신 성공 여부 (refresh token 이 없거나 갱신이 실패하면 false)
+	 */
+	public CompletableFuture<Boolean> refreshAsync(String googleId, Credential credential) {
+		CompletableFuture<Boolean> started = new CompletableFuture<>();
+		CompletableFuture<Boolean> existing = inFlightRefreshes.putIfAbsent(googleId, started);
+		if (existing != null) {
+			meterRegistry.counter("google.oauth.token_refresh.coalesced").increment();
+			return existing;
+		}
+		try {
+			tokenRefreshExecutor.execute(() -> {
+				try {
+					started.complete(refreshToken(googleId, credential));
+				} finally {
+					inFlightRefreshes.remove(googleId, started);
+				}
+			});
+		} catch (RuntimeException e) {
+			inFlightRefreshes.remove(googleId, started);
+			started.complete(false);
+			logger.warn("Could not schedule token refresh for user {}: {}", googleId, e.getMessage());
+		}
+		return started;
+	}
+
+	/**
+	 * 토큰을 갱신하고 끝날 때까지 기다립니다. 캐시에 없는 Credential 을 처음 읽었는데 토큰이 만료된 경우처럼, 바로 사용할 토큰이 필요할 때만 씁니다.
+	 */
+	public boolean refresh(String googleId, Credential credential) {
+		return refreshAsync(googleId, credential).join();
+	}
+
+	/**
+	 * 추적 중인 Credential 중 곧 만료되는 토큰을 만료가 가까운 순으로 batch-size 개까지 갱신합니다.
+	 */
+	@Scheduled(fixedDelayString = "${google.oauth.token-refresh.interval-ms:60000}",
+			initialDelayString = "${google.oauth.token-refresh.interval-ms:60000}")
+	public void refreshExpiringTokens() {
+		if (!enabled || trackedCredentials.isEmpty()) {
+			return;
+		}
+		List<Map.Entry<String, Credential>> due = trackedCredentials.entrySet().stream()
+				.filter(entry -> entry.getValue().getRefreshToken() != null && isExpiringSoon(entry.getValue()))
+				.sorted(Comparator.comparing(entry -> expiresInSeconds(entry.getValue())))
+				.limit(batchSize)
+				.collect(Collectors.toList());
+		if (due.isEmpty()) {
+			return;
+		}
+
+		long startNanos = System.nanoTime();
+		List<CompletableFuture<Boolean>> refreshes = due.stream()
+				.map(entry -> refreshAsync(entry.getKey(), entry.getValue()))
+				.collect(Collectors.toList());
+		int refreshed = awaitAll(refreshes, batchTimeoutSeconds);
+		logger.info("Proactively refreshed {}/{} access token(s) expiring within {} s ({} tracked) in {} ms.", refreshed,
+				due.size(), leadSeconds, trackedCredentials.size(), (System.nanoTime() - startNanos) / 1_000_000);
+	}
+
+	/**
+	 * 여러 갱신이 끝날 때까지(최대 timeoutSeconds) 기다리고, 성공한 갱신 수를 돌려줍니다.
+	 */
+	int awaitAll(List<CompletableFuture<Boolean>> refreshes, long timeoutSeconds) {
+		try {
+			CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).get(timeoutSeconds, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			logger.warn("Token refresh batch did not finish within {} s. Unfinished refreshes continue in the background.", timeoutSeconds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			logger.warn("Token refresh batch failed: {}", e.getMessage());
+		}
+		return (int) refreshes.stream().filter(future -> future.isDone() && Boolean.TRUE.equals(future.getNow(false))).count();
+	}
+
+	private boolean refreshToken(String googleId, Credential credential) {
+		if (credential.getRefreshToken() == null) {
+			return false;
+		}
+		long startNanos = System.nanoTime();
+		boolean refreshed;
+		try {
+			refreshed = credential.refreshToken();
+			if (!refreshed) {
+				logger.error("Failed to refresh Access Token for user {}. Refresh Token might be invalid.", googleId);
+			}
+		} catch (IOException e) {
+			refreshed = false;
+			logger.error("IOException during Access Token refresh for user {}: {}", googleId, e.getMessage());
+		}
+		meterRegistry.timer("google.oauth.token_refresh", "result", refreshed ? "success" : "failure")
+				.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		return refreshed;
+	}
+
+	private static long expiresInSeconds(Credential credential) {
+		Long expiresIn = credential.getExpiresInSeconds();
+		return credential.getAccessToken() == null || expiresIn == null ? Long.MIN_VALUE : expiresIn;
+	}
+}
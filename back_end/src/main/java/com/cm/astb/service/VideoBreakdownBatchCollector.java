@@ -0,0 +1,316 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.entity.AgeGroup;
+import com.cm.astb.entity.AudienceStat;
+import com.cm.astb.entity.AudienceStatsId;
+import com.cm.astb.entity.DeviceAnalysis;
+import com.cm.astb.entity.DeviceAnalysisId;
+import com.cm.astb.entity.DeviceType;
+import com.cm.astb.entity.Gender;
+import com.cm.astb.entity.InflowRoute;
+import com.cm.astb.entity.InflowRouteId;
+import com.cm.astb.entity.YouTubeVideo;
+import com.cm.astb.repository.AudienceStatRepository;
+import com.cm.astb.repository.DeviceAnalysisRepository;
+import com.cm.astb.repository.InflowRouteRepository;
+import com.cm.astb.repository.StatsBulkUpsertWriter;
+import com.cm.astb.service.YoutubeAnalyticsService.VideoBreakdown;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.services.youtubeAnalytics.v2.YouTubeAnalytics;
+
+/**
+ * 채널 비디오들의 시청자층(성별/연령대), 유입 경로, 기기 분포를 한 번에 수집해
+ * TB_AUDIENCE_STATS, TB_INFLOW_ROUTE, TB_DEVICE_ANALYSIS에 bulk upsert 하는 컴포넌트.
+ *
+ * 분포 리포트는 비디오 필터에 여러 ID를 넣으면 합산되어 나오므로 비디오마다 리포트를 조회하되,
+ * credential/클라이언트는 채널당 한 번만 만들고 쿼리는 youtubeApiExecutor에서 동시에 실행합니다.
+ * 이미 같은 날짜의 행이 있는 비디오/리포트는 건너뛰므로, 중단 후 다시 실행하면 남은 비디오만 조회합니다.
+ */
+@Service
+public class VideoBreakdownBatchCollector {
+
+	private static final Logger logger = LoggerFactory.getLogger(VideoBreakdownBatchCollector.class);
+
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	/** IN 절 하나에 넣는 최대 비디오 수 */
+	private static final int EXISTING_LOOKUP_CHUNK_SIZE = 1000;
+
+	/**
+	 * 진행 상황 콜백. (처리한 비디오 수 / 대상 비디오 수)
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+		void onProgress(int processedVideos, int totalVideos);
+	}
+
+	private final OAuthService oAuthService;
+	private final YoutubeAnalyticsService youtubeAnalyticsService;
+	private final AudienceStatRepository audienceStatRepository;
+	private final InflowRouteRepository inflowRouteRepository;
+	private final DeviceAnalysisRepository deviceAnalysisRepository;
+	private final StatsBulkUpsertWriter statsBulkUpsertWriter;
+	private final ThreadPoolTaskExecutor youtubeApiExecutor;
+
+	@Value("${youtube.data-collection.video-breakdown.max-concurrent-requests:8}")
+	private int maxConcurrentRequests;
+
+	@Value("${youtube.data-collection.video-breakdown.max-videos-per-run:500}")
+	private int maxVideosPerRun;
+
+	public VideoBreakdownBatchCollector(OAuthService oAuthService, YoutubeAnalyticsService youtubeAnalyticsService,
+			AudienceStatRepository audienceStatRepository, InflowRouteRepository inflowRouteRepository,
+			DeviceAnalysisRepository deviceAnalysisRepository, StatsBulkUpsertWriter statsBulkUpsertWriter,
+			@Qualifier("youtubeApiExecutor") ThreadPoolTaskExecutor youtubeApiExecutor) {
+		this.oAuthService = oAuthService;
+		this.youtubeAnalyticsService = youtubeAnalyticsService;
+		this.audienceStatRepository = audienceStatRepository;
+		this.inflowRouteRepository = inflowRouteRepository;
+		this.deviceAnalysisRepository = deviceAnalysisRepository;
+		this.statsBulkUpsertWriter = statsBulkUpsertWriter;
+		this.youtubeApiExecutor = youtubeApiExecutor;
+	}
+
+	/**
+	 * 채널 비디오들의 업로드일 ~ endDate 분포를 수집해 STATS_DATE = endDate 로 저장합니다.
+	 * 한 번에 최신 업로드 순으로 max-videos-per-run 개까지 조회하며, 남은 비디오는 다음 실행에서 이어서 조회합니다.
+	 *
+	 * @param googleId  API 호출에 사용할 사용자 Google ID
+	 * @param channelId 채널 ID
+	 * @param videos    채널의 비디오 목록
+	 * @param endDate   분석 데이터 기준 날짜
+	 * @param listener  진행 상황 콜백 (youtubeApiExecutor 스레드에서 호출될 수 있음)
+	 * @return 조회한 비디오 수
+	 * @throws IOException              모든 쿼리가 실패한 경우
+	 * @throws GeneralSecurityException credential이 없는 경우
+	 */
+	public int collect(String googleId, String channelId, List<YouTubeVideo> videos, LocalDate endDate, ProgressListener listener)
+			throws IOException, GeneralSecurityException {
+		LocalDateTime statsDate = endDate.atStartOfDay();
+		List<YouTubeVideo> candidates = videos.stream()
+				.filter(video -> video.getUploadedAt() != null && !video.getUploadedAt().toLocalDate().isAfter(endDate))
+				.sorted(Comparator.comparing(YouTubeVideo::getUploadedAt).reversed())
+				.collect(Collectors.toList());
+		if (candidates.isEmpty()) {
+			return 0;
+		}
+
+		List<Long> candidateIds = candidates.stream().map(YouTubeVideo::getVideoId).collect(Collectors.toList());
+		Set<Long> audienceDone = findCollected(candidateIds, statsDate, audienceStatRepository::findVideoIdsByStatsDate);
+		Set<Long> trafficSourceDone = findCollected(candidateIds, statsDate, inflowRouteRepository::findVideoIdsByStatsDate);
+		Set<Long> deviceDone = findCollected(candidateIds, statsDate, deviceAnalysisRepository::findVideoIdsByStatsDate);
+
+		// 비디오 → 아직 수집하지 않은 리포트
+		Map<YouTubeVideo, EnumSet<VideoBreakdown>> pending = new LinkedHashMap<>();
+		for (YouTubeVideo video : candidates) {
+			EnumSet<VideoBreakdown> breakdowns = EnumSet.noneOf(VideoBreakdown.class);
+			if (!audienceDone.contains(video.getVideoId())) {
+				breakdowns.add(VideoBreakdown.AUDIENCE);
+			}
+			if (!trafficSourceDone.contains(video.getVideoId())) {
+				breakdowns.add(VideoBreakdown.TRAFFIC_SOURCE);
+			}
+			if (!deviceDone.contains(video.getVideoId())) {
+				breakdowns.add(VideoBreakdown.DEVICE);
+			}
+			if (!breakdowns.isEmpty()) {
+				pending.put(video, breakdowns);
+			}
+			if (pending.size() >= maxVideosPerRun) {
+				break;
+			}
+		}
+		if (pending.isEmpty()) {
+			logger.info("Video breakdowns for channel {} on {} are already collected.", channelId, endDate);
+			return 0;
+		}
+
+		Credential credential = oAuthService.getCredential(googleId);
+		if (credential == null) {
+			logger.error("Credential is null for user {}. Cannot collect video breakdowns.", googleId);
+			throw new GeneralSecurityException("Credential not found or invalid for user: " + googleId);
+		}
+		YouTubeAnalytics analytics = oAuthService.getYouTubeAnalyticsService(credential);
+
+		int totalVideos = pending.size();
+		AtomicInteger processedVideos = new AtomicInteger();
+		listener.onProgress(0, totalVideos);
+
+		List<AudienceStat> audienceStats = new ArrayList<>();
+		List<InflowRoute> inflowRoutes = new ArrayList<>();
+		List<DeviceAnalysis> deviceAnalyses = new ArrayList<>();
+
+		long startNanos = System.nanoTime();
+		Semaphore permits = new Semaphore(Math.max(1, maxConcurrentRequests));
+		Map<CompletableFuture<AnalyticsResultTable>, Map.Entry<YouTubeVideo, VideoBreakdown>> futures = new LinkedHashMap<>();
+		try {
+			for (Map.Entry<YouTubeVideo, EnumSet<VideoBreakdown>> entry : pending.entrySet()) {
+				YouTubeVideo video = entry.getKey();
+				String startDate = video.getUploadedAt().toLocalDate().format(DATE_FORMATTER);
+				AtomicInteger remaining = new AtomicInteger(entry.getValue().size());
+				for (VideoBreakdown breakdown : entry.getValue()) {
+					permits.acquire();
+					// 응답은 워커 스레드에서 바로 열 배열로 옮겨, 모든 쿼리가 끝날 때까지 행 List 를 들고 있지 않습니다.
+					CompletableFuture<AnalyticsResultTable> future = CompletableFuture.supplyAsync(() -> {
+						try {
+							return AnalyticsResultTable.from(youtubeAnalyticsService.getVideoBreakdown(analytics, channelId, breakdown,
+									video.getVideoKey(), startDate, endDate.format(DATE_FORMATTER)));
+						} catch (IOException e) {
+							throw new CompletionException(e);
+						}
+					}, youtubeApiExecutor);
+					future.whenComplete((result, error) -> {
+						permits.release();
+						if (remaining.decrementAndGet() == 0) {
+							listener.onProgress(processedVideos.incrementAndGet(), totalVideos);
+						}
+					});
+					futures.put(future, Map.entry(video, breakdown));
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			futures.keySet().forEach(future -> future.cancel(true));
+			throw new IOException("Interrupted while collecting video breakdowns for channel " + channelId, e);
+		}
+
+		int failedQueries = 0;
+		for (Map.Entry<CompletableFuture<AnalyticsResultTable>, Map.Entry<YouTubeVideo, VideoBreakdown>> entry : futures.entrySet()) {
+			YouTubeVideo video = entry.getValue().getKey();
+			VideoBreakdown breakdown = entry.getValue().getValue();
+			AnalyticsResultTable table;
+			try {
+				table = entry.getKey().join();
+			} catch (CompletionException e) {
+				failedQueries++;
+				logger.warn("{} breakdown query failed for video {} of channel {}: {}", breakdown, video.getVideoKey(), channelId,
+						e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+				continue;
+			}
+			if (table.isEmpty()) {
+				continue;
+			}
+			switch (breakdown) {
+			case AUDIENCE -> audienceStats.addAll(toAudienceStats(video.getVideoId(), statsDate, table));
+			case TRAFFIC_SOURCE -> inflowRoutes.addAll(toInflowRoutes(video.getVideoId(), statsDate, table));
+			case DEVICE -> deviceAnalyses.addAll(toDeviceAnalyses(video.getVideoId(), statsDate, table));
+			}
+		}
+
+		if (failedQueries == futures.size()) {
+			throw new IOException("All " + failedQueries + " video breakdown queries failed for channel " + channelId + ".");
+		}
+
+		statsBulkUpsertWriter.upsertAudienceStats(audienceStats);
+		statsBulkUpsertWriter.upsertInflowRoutes(inflowRoutes);
+		statsBulkUpsertWriter.upsertDeviceAnalyses(deviceAnalyses);
+
+		logger.info("Collected video breakdowns for {} videos of channel {} on {} with {} queries ({} failed) in {} ms: "
+				+ "{} audience, {} inflow route, {} device rows.", totalVideos, channelId, endDate, futures.size(), failedQueries,
+				(System.nanoTime() - startNanos) / 1_000_000, audienceStats.size(), inflowRoutes.size(), deviceAnalyses.size());
+		return totalVideos;
+	}
+
+	private static Set<Long> findCollected(List<Long> videoIds, LocalDateTime statsDate,
+			BiFunction<Collection<Long>, LocalDateTime, List<Long>> lookup) {
+		Set<Long> collected = new HashSet<>();
+		for (int from = 0; from < videoIds.size(); from += EXISTING_LOOKUP_CHUNK_SIZE) {
+			collected.addAll(lookup.apply(videoIds.subList(from, Math.min(from + EXISTING_LOOKUP_CHUNK_SIZE, videoIds.size())), statsDate));
+		}
+		return collected;
+	}
+
+	// 열: gender, ageGroup, viewerPercentage
+	private static List<AudienceStat> toAudienceStats(Long videoId, LocalDateTime statsDate, AnalyticsResultTable table) {
+		int genderColumn = table.requireColumn("gender");
+		int ageGroupColumn = table.requireColumn("ageGroup");
+		int viewerPercentageColumn = table.requireColumn("viewerPercentage");
+		List<AudienceStat> audienceStats = new ArrayList<>(table.rowCount());
+		for (int row = 0; row < table.rowCount(); row++) {
+			AudienceStat audienceStat = new AudienceStat();
+			audienceStat.setId(new AudienceStatsId(videoId, toGender(table.getString(row, genderColumn)),
+					AgeGroup.fromDbValue(table.getString(row, ageGroupColumn)), statsDate));
+			// TB_AUDIENCE_STATS.WATCHING_RATIO 는 DECIMAL(4,1) 이므로 API 값(소수점 여러 자리)을 한 자리로 반올림합니다.
+			audienceStat.setWatchingRatio(BigDecimal.valueOf(table.getDouble(row, viewerPercentageColumn)).setScale(1, RoundingMode.HALF_UP));
+			audienceStats.add(audienceStat);
+		}
+		return audienceStats;
+	}
+
+	// 열: insightTrafficSourceType, views
+	private static List<InflowRoute> toInflowRoutes(Long videoId, LocalDateTime statsDate, AnalyticsResultTable table) {
+		int sourceColumn = table.requireColumn("insightTrafficSourceType");
+		int viewsColumn = table.requireColumn("views");
+		long totalViews = table.sumLong(viewsColumn);
+		List<InflowRoute> inflowRoutes = new ArrayList<>(table.rowCount());
+		for (int row = 0; row < table.rowCount(); row++) {
+			long views = table.getLong(row, viewsColumn);
+			if (views < 1) {
+				continue;
+			}
+			InflowRoute inflowRoute = new InflowRoute();
+			inflowRoute.setId(new InflowRouteId(videoId, table.getString(row, sourceColumn), statsDate));
+			inflowRoute.setInflowCount((int) views);
+			inflowRoute.setInflowRate(StatsRatios.percentOf(views, totalViews));
+			inflowRoutes.add(inflowRoute);
+		}
+		return inflowRoutes;
+	}
+
+	// 열: deviceType, views
+	private static List<DeviceAnalysis> toDeviceAnalyses(Long videoId, LocalDateTime statsDate, AnalyticsResultTable table) {
+		int deviceTypeColumn = table.requireColumn("deviceType");
+		int viewsColumn = table.requireColumn("views");
+		long totalViews = table.sumLong(viewsColumn);
+		List<DeviceAnalysis> deviceAnalyses = new ArrayList<>(table.rowCount());
+		for (int row = 0; row < table.rowCount(); row++) {
+			DeviceAnalysis deviceAnalysis = new DeviceAnalysis();
+			deviceAnalysis.setId(new DeviceAnalysisId(videoId, DeviceType.fromDbValue(table.getString(row, deviceTypeColumn)), statsDate));
+			deviceAnalysis.setWatchingRatio(StatsRatios.percentOf(table.getLong(row, viewsColumn), totalViews));
+			deviceAnalyses.add(deviceAnalysis);
+		}
+		return deviceAnalyses;
+	}
+
+	// "female", "male" 외의 값(user_specified 등)은 UNKNOWN
+	private static Gender toGender(String apiGender) {
+		if (apiGender == null) {
+			return Gender.UNKNOWN;
+		}
+		try {
+			return Gender.valueOf(apiGender.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return Gender.UNKNOWN;
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package com.cm.astb.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.dto.VideoRefreshPlanDto;
+import com.cm.astb.entity.VideoStat;
+import com.cm.astb.entity.YouTubeVideo;
+import com.cm.astb.repository.VideoStatRepository;
+
+/**
+ * 비디오별 통계 갱신 주기를 정하는 스케줄러.
+ * 업로드 후 경과일과 최근 조회수 증가 속도(TB_VIDEO_STATS 이력)로 비디오를 등급으로 나누고,
+ * 패스마다 DataCollectorService가 조회해야 할 비디오만 골라 줍니다.
+ *
+ * HOT : 최근 업로드되었거나 조회수가 빠르게 늘어나는 비디오. 야간 수집 + 하루 몇 차례 수시 갱신
+ * WARM: 그 외 비디오. 야간 수집에서 매일 갱신
+ * COLD: 오래되었고 조회수가 거의 늘지 않는 비디오. cold-interval-days 마다 한 번 갱신
+ */
+@Service
+public class VideoRefreshScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(VideoRefreshScheduler.class);
+
+	public enum Tier {
+		HOT, WARM, COLD
+	}
+
+	private final VideoStatRepository videoStatRepository;
+
+	@Value("${youtube.data-collection.refresh.hot-max-age-days:7}")
+	private int hotMaxAgeDays;
+
+	@Value("${youtube.data-collection.refresh.hot-min-daily-views:1000}")
+	private double hotMinDailyViews;
+
+	@Value("${youtube.data-collection.refresh.cold-min-age-days:180}")
+	private int coldMinAgeDays;
+
+	@Value("${youtube.data-collection.refresh.cold-max-daily-views:10}")
+	private double coldMaxDailyViews;
+
+	@Value("${youtube.data-collection.refresh.velocity-window-days:7}")
+	private int velocityWindowDays;
+
+	@Value("${youtube.data-collection.refresh.cold-interval-days:7}")
+	private int coldIntervalDays;
+
+	@Value("${youtube.data-collection.refresh.hot-interval-hours:6}")
+	private int hotIntervalHours;
+
+	public VideoRefreshScheduler(VideoStatRepository videoStatRepository) {
+		this.videoStatRepository = videoStatRepository;
+	}
+
+	/**
+	 * 야간 수집 패스(statsDate = targetDate)에서 조회할 비디오를 고릅니다.
+	 * HOT/WARM은 매일, COLD는 마지막 통계가 cold-interval-days 이상 지났을 때 조회합니다.
+	 * COLD 비디오가 같은 날 한꺼번에 몰리지 않도록, 주기 안에서는 비디오 ID로 갱신일을 분산합니다.
+	 *
+	 * @param channelId  채널 ID
+	 * @param videos     통계 대상 비디오 (targetDate 이전에 업로드된 비디오)
+	 * @param targetDate 통계 기준 날짜
+	 * @return 조회할 비디오 키와 등급별 집계
+	 */
+	public VideoRefreshPlanDto planDailyPass(String channelId, List<YouTubeVideo> videos, LocalDate targetDate) {
+		Map<Long, List<VideoStat>> history = loadHistory(videos, targetDate);
+		Map<Tier, Integer> tierCounts = new EnumMap<>(Tier.class);
+		Map<Tier, Integer> dueCounts = new EnumMap<>(Tier.class);
+		List<String> videoKeys = new ArrayList<>();
+
+		for (YouTubeVideo video : videos) {
+			List<VideoStat> stats = history.getOrDefault(video.getVideoId(), Collections.emptyList());
+			Tier tier = classify(video, stats, targetDate);
+			tierCounts.merge(tier, 1, Integer::sum);
+
+			boolean due = tier != Tier.COLD || isColdVideoDue(video, stats, targetDate);
+			if (due) {
+				dueCounts.merge(tier, 1, Integer::sum);
+				videoKeys.add(video.getVideoKey());
+			}
+		}
+		return buildPlan(channelId, "daily", videos.size(), videoKeys, tierCounts, dueCounts);
+	}
+
+	/**
+	 * 인기 비디오 수시 갱신 패스에서 조회할 HOT 비디오를 고릅니다. 마지막 갱신이 이번 패스보다 hot-interval-hours 의 절반 이상 전인 비디오만 포함됩니다.
+	 * 직전 패스의 갱신 시각은 그 패스 시작보다 조금 늦게 기록되므로, 간격 전체로 비교하면 한 패스씩 건너뛰어 2배 간격으로 갱신됩니다.
+	 *
+	 * @param channelId 채널 ID
+	 * @param videos    채널의 비디오
+	 * @param now       현재 시각
+	 * @return 조회할 비디오 키와 등급별 집계
+	 */
+	public VideoRefreshPlanDto planHotPass(String channelId, List<YouTubeVideo> videos, LocalDateTime now) {
+		LocalDate today = now.toLocalDate();
+		List<YouTubeVideo> uploadedVideos = videos.stream()
+				.filter(video -> video.getUploadedAt() != null && !video.getUploadedAt().isAfter(now))
+				.collect(Collectors.toList());
+		Map<Long, List<VideoStat>> history = loadHistory(uploadedVideos, today);
+		Map<Tier, Integer> tierCounts = new EnumMap<>(Tier.class);
+		Map<Tier, Integer> dueCounts = new EnumMap<>(Tier.class);
+		List<String> videoKeys = new ArrayList<>();
+		LocalDateTime refreshedBefore = now.minusMinutes(hotIntervalHours * 60L / 2);
+
+		for (YouTubeVideo video : uploadedVideos) {
+			List<VideoStat> stats = history.getOrDefault(video.getVideoId(), Collections.emptyList());
+			Tier tier = classify(video, stats, today);
+			tierCounts.merge(tier, 1, Integer::sum);
+			if (tier != Tier.HOT) {
+				continue;
+			}
+			LocalDateTime lastRefreshedAt = stats.stream()
+					.map(stat -> stat.getUpdatedAt() != null ? stat.getUpdatedAt() : stat.getId().getStatsDate())
+					.max(Comparator.naturalOrder())
+					.orElse(null);
+			if (lastRefreshedAt == null || lastRefreshedAt.isBefore(refreshedBefore)) {
+				dueCounts.merge(tier, 1, Integer::sum);
+				videoKeys.add(video.getVideoKey());
+			}
+		}
+		return buildPlan(channelId, "hot", uploadedVideos.size(), videoKeys, tierCounts, dueCounts);
+	}
+
+	/**
+	 * 비디오의 갱신 등급을 정합니다. 이력이 없는 비디오는 (최근 업로드가 아니면) WARM으로 두어 다음 야간 수집에서 이력을 만듭니다.
+	 */
+	Tier classify(YouTubeVideo video, List<VideoStat> stats, LocalDate today) {
+		long ageDays = video.getUploadedAt() != null
+				? ChronoUnit.DAYS.between(video.getUploadedAt().toLocalDate(), today)
+				: Long.MAX_VALUE;
+		if (ageDays <= hotMaxAgeDays) {
+			return Tier.HOT;
+		}
+		Double dailyViews = dailyViewVelocity(stats);
+		if (dailyViews != null && dailyViews >= hotMinDailyViews) {
+			return Tier.HOT;
+		}
+		if (ageDays >= coldMinAgeDays && !stats.isEmpty() && (dailyViews == null || dailyViews < coldMaxDailyViews)) {
+			return Tier.COLD;
+		}
+		return Tier.WARM;
+	}
+
+	// 기간 안의 첫/마지막 조회수로 계산한 하루 평균 조회수 증가량. 계산할 수 없으면 null
+	private static Double dailyViewVelocity(List<VideoStat> stats) {
+		VideoStat first = null;
+		VideoStat last = null;
+		for (VideoStat stat : stats) {
+			if (stat.getViewCount() == null) {
+				continue;
+			}
+			if (first == null || stat.getId().getStatsDate().isBefore(first.getId().getStatsDate())) {
+				first = stat;
+			}
+			if (last == null || stat.getId().getStatsDate().isAfter(last.getId().getStatsDate())) {
+				last = stat;
+			}
+		}
+		if (first == null || first == last) {
+			return null;
+		}
+		long days = Math.max(1, Duration.between(first.getId().getStatsDate(), last.getId().getStatsDate()).toDays());
+		return (double) Math.max(0, last.getViewCount() - first.getViewCount()) / days;
+	}
+
+	private boolean isColdVideoDue(YouTubeVideo video, List<VideoStat> stats, LocalDate targetDate) {
+		LocalDate latestStatsDate = stats.stream()
+				.filter(stat -> stat.getViewCount() != null)
+				.map(stat -> stat.getId().getStatsDate().toLocalDate())
+				.max(Comparator.naturalOrder())
+				.orElse(null);
+		if (latestStatsDate == null || !latestStatsDate.isAfter(targetDate.minusDays(coldIntervalDays))) {
+			return true;
+		}
+		// 주기 안에서는 비디오마다 정해진 요일(ID 기준)에 갱신해, COLD 비디오 조회를 날짜별로 고르게 나눕니다.
+		return latestStatsDate.isBefore(targetDate)
+				&& Math.floorMod(targetDate.toEpochDay() + video.getVideoId(), coldIntervalDays) == 0;
+	}
+
+	// 속도 계산과 COLD 갱신 판단에 필요한 기간의 통계 이력을 한 번에 가져옵니다.
+	private Map<Long, List<VideoStat>> loadHistory(List<YouTubeVideo> videos, LocalDate today) {
+		if (videos.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		LocalDateTime since = today.minusDays(Math.max(velocityWindowDays, coldIntervalDays)).atStartOfDay();
+		List<Long> videoIds = videos.stream().map(YouTubeVideo::getVideoId).collect(Collectors.toList());
+		Map<Long, List<VideoStat>> history = new HashMap<>();
+		for (VideoStat stat : videoStatRepository.findByIdVideoIdInAndIdStatsDateGreaterThanEqual(videoIds, since)) {
+			history.computeIfAbsent(stat.getId().getVideoId(), id -> new ArrayList<>()).add(stat);
+		}
+		return history;
+	}
+
+	private VideoRefreshPlanDto buildPlan(String channelId, String passName, int totalVideos, List<String> videoKeys,
+			Map<Tier, Integer> tierCounts, Map<Tier, Integer> dueCounts) {
+		VideoRefreshPlanDto plan = VideoRefreshPlanDto.builder()
+				.channelId(channelId)
+				.passName(passName)
+				.totalVideos(totalVideos)
+				.videoKeys(videoKeys)
+				.tierCounts(toNameMap(tierCounts))
+				.dueCounts(toNameMap(dueCounts))
+				.build();
+		logger.info("Video refresh plan ({}) for channel {}: {}/{} videos due, tiers {}, due by tier {}.", passName, channelId,
+				videoKeys.size(), totalVideos, plan.getTierCounts(), plan.getDueCounts());
+		return plan;
+	}
+
+	private static Map<String, Integer> toNameMap(Map<Tier, Integer> counts) {
+		Map<String, Integer> named = new LinkedHashMap<>();
+		for (Tier tier : Tier.values()) {
+			named.put(tier.name(), counts.getOrDefault(tier, 0));
+		}
+		return named;
+	}
+}
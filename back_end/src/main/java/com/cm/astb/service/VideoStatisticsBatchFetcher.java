@@ -0,0 +1,177 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.Video;
+import com.google.api.services.youtube.model.VideoStatistics;
+
+/**
+ * 비디오 통계(조회수/좋아요/댓글 수)를 videos.list 배치 호출로 가져오는 컴포넌트.
+ * 비디오 ID를 50개씩 묶고, 묶음들을 youtubeApiExecutor에서 동시에 실행합니다.
+ * 채널당 사용 가능한 quota 단위(videos.list 1회 = 1 unit)를 넘는 묶음은 호출하지 않습니다.
+ */
+@Service
+public class VideoStatisticsBatchFetcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(VideoStatisticsBatchFetcher.class);
+
+	/** videos.list 한 번에 넣을 수 있는 최대 ID 개수 */
+	public static final int MAX_IDS_PER_REQUEST = 50;
+
+	private final OAuthService oAuthService;
+	private final YoutubeDataApiService youtubeDataApiService;
+	private final ThreadPoolTaskExecutor youtubeApiExecutor;
+	private final QuotaBudgetManager quotaBudgetManager;
+
+	@Value("${youtube.data-collection.video-stats.max-concurrent-requests:4}")
+	private int maxConcurrentRequests;
+
+	@Value("${youtube.data-collection.video-stats.quota-units-per-channel:500}")
+	private int quotaUnitsPerChannel;
+
+	public VideoStatisticsBatchFetcher(OAuthService oAuthService, YoutubeDataApiService youtubeDataApiService,
+			@Qualifier("youtubeApiExecutor") ThreadPoolTaskExecutor youtubeApiExecutor, QuotaBudgetManager quotaBudgetManager) {
+		this.oAuthService = oAuthService;
+		this.youtubeDataApiService = youtubeDataApiService;
+		this.youtubeApiExecutor = youtubeApiExecutor;
+		this.quotaBudgetManager = quotaBudgetManager;
+	}
+
+	/**
+	 * 주어진 비디오들의 통계를 배치로 조회합니다.
+	 *
+	 * @param googleId  API 호출에 사용할 사용자 Google ID
+	 * @param videoKeys 조회할 YouTube 비디오 ID 목록
+	 * @return 비디오 ID → VideoStatistics 맵 (조회 실패/누락된 비디오는 포함되지 않음)
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public Map<String, VideoStatistics> fetchStatistics(String googleId, List<String> videoKeys)
+			throws IOException, GeneralSecurityException {
+		return fetchStatistics(googleId, videoKeys, fetchedVideos -> { });
+	}
+
+	/**
+	 * 주어진 비디오들의 통계를 배치로 조회하며, 배치 하나가 끝날 때마다(성공/실패 무관) 그 배치의 비디오 수를 알려줍니다.
+	 *
+	 * @param googleId        API 호출에 사용할 사용자 Google ID
+	 * @param videoKeys       조회할 YouTube 비디오 ID 목록
+	 * @param onBatchFinished 배치의 비디오 수를 받는 콜백 (youtubeApiExecutor 스레드에서 호출됨)
+	 * @return 비디오 ID → VideoStatistics 맵 (조회 실패/누락된 비디오는 포함되지 않음)
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public Map<String, VideoStatistics> fetchStatistics(String googleId, List<String> videoKeys, IntConsumer onBatchFinished)
+			throws IOException, GeneralSecurityException {
+		// 야간 통계 수집의 일부이므로 CRITICAL 우선순위로 예산을 사용합니다.
+		return fetchStatistics(googleId, videoKeys, QuotaBudgetManager.Priority.CRITICAL, onBatchFinished);
+	}
+
+	/**
+	 * 주어진 우선순위로 quota 예산을 사용하며 비디오들의 통계를 배치로 조회합니다.
+	 * 낮은 우선순위로 호출하면 예산이 부족한 배치는 조회하지 않고 실패한 배치로 집계합니다.
+	 *
+	 * @param googleId        API 호출에 사용할 사용자 Google ID
+	 * @param videoKeys       조회할 YouTube 비디오 ID 목록
+	 * @param priority        quota 예산 우선순위
+	 * @param onBatchFinished 배치의 비디오 수를 받는 콜백 (youtubeApiExecutor 스레드에서 호출됨)
+	 * @return 비디오 ID → VideoStatistics 맵 (조회 실패/누락된 비디오는 포함되지 않음)
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public Map<String, VideoStatistics> fetchStatistics(String googleId, List<String> videoKeys, QuotaBudgetManager.Priority priority,
+			IntConsumer onBatchFinished) throws IOException, GeneralSecurityException {
+		Map<String, VideoStatistics> statisticsByVideoKey = new HashMap<>();
+		if (videoKeys == null || videoKeys.isEmpty()) {
+			return statisticsByVideoKey;
+		}
+
+		Credential credential = oAuthService.getCredential(googleId);
+		if (credential == null) {
+			logger.error("Credential is null for user {}. Cannot perform batched video statistics query.", googleId);
+			throw new GeneralSecurityException("Credential not found or invalid for user: " + googleId);
+		}
+		YouTube youTube = oAuthService.getYouTubeService(credential);
+
+		List<List<String>> batches = partition(new ArrayList<>(new LinkedHashSet<>(videoKeys)), MAX_IDS_PER_REQUEST);
+		int batchesToRun = Math.min(batches.size(), quotaUnitsPerChannel);
+		if (batchesToRun < batches.size()) {
+			logger.warn("Video statistics for user {} need {} videos.list calls but the per-channel budget is {} units. Skipping {} batches.",
+					googleId, batches.size(), quotaUnitsPerChannel, batches.size() - batchesToRun);
+		}
+
+		long startNanos = System.nanoTime();
+		Semaphore permits = new Semaphore(Math.max(1, maxConcurrentRequests));
+		List<CompletableFuture<List<Video>>> futures = new ArrayList<>(batchesToRun);
+		try {
+			for (int i = 0; i < batchesToRun; i++) {
+				List<String> batch = batches.get(i);
+				permits.acquire();
+				CompletableFuture<List<Video>> future = CompletableFuture.supplyAsync(() -> {
+					try {
+						quotaBudgetManager.acquire(googleId, QuotaBudgetManager.Operation.VIDEOS_LIST, priority);
+						return youtubeDataApiService.getVideosStatistics(googleId, youTube, batch);
+					} catch (IOException e) {
+						throw new CompletionException(e);
+					}
+				}, youtubeApiExecutor);
+				future.whenComplete((result, error) -> {
+					permits.release();
+					onBatchFinished.accept(batch.size());
+				});
+				futures.add(future);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			futures.forEach(future -> future.cancel(true));
+			throw new IOException("Interrupted while fetching video statistics for user " + googleId, e);
+		}
+
+		int failedBatches = 0;
+		for (CompletableFuture<List<Video>> future : futures) {
+			try {
+				for (Video video : future.join()) {
+					if (video.getStatistics() != null) {
+						statisticsByVideoKey.put(video.getId(), video.getStatistics());
+					}
+				}
+			} catch (CompletionException e) {
+				failedBatches++;
+				logger.error("videos.list statistics batch failed for user {}: {}", googleId,
+						e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+			}
+		}
+
+		logger.info("Fetched statistics for {}/{} videos of user {} with {} videos.list calls ({} failed) in {} ms.",
+				statisticsByVideoKey.size(), videoKeys.size(), googleId, futures.size(), failedBatches,
+				(System.nanoTime() - startNanos) / 1_000_000);
+		return statisticsByVideoKey;
+	}
+
+	static <T> List<List<T>> partition(List<T> items, int size) {
+		List<List<T>> partitions = new ArrayList<>((items.size() + size - 1) / size);
+		for (int from = 0; from < items.size(); from += size) {
+			partitions.add(items.subList(from, Math.min(from + size, items.size())));
+		}
+		return partitions;
+	}
+}
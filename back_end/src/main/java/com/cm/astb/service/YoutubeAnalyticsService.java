@@ -2,8 +2,10 @@ package com.cm.astb.service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,9 +22,11 @@ import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
 @Service
 public class YoutubeAnalyticsService {
 	private final OAuthService oAuthService;
+	private final GoogleApiExecutor googleApiExecutor;
 
-	public YoutubeAnalyticsService(OAuthService oAuthService) {
+	public YoutubeAnalyticsService(OAuthService oAuthService, GoogleApiExecutor googleApiExecutor) {
 		this.oAuthService = oAuthService;
+		this.googleApiExecutor = googleApiExecutor;
 	}
 
 	private static final Logger logger = LoggerFactory.getLogger(YoutubeAnalyticsService.class);
@@ -30,6 +34,9 @@ public class YoutubeAnalyticsService {
 	private static final List<String> KNOWN_METRICS = Arrays.asList("views", "estimatedMinutesWatched",
 			"subscribersGained", "averageViewDuration", "likes", "comments", "adImpressions", "viewerPercentage");
 
+	/** dimensions=video 리포트의 페이지당 최대 행 수 (API 상한 200) */
+	private static final int VIDEO_REPORT_PAGE_SIZE = 200;
+
 	/**
 	 * 지정된 채널의 기본 Analytics 데이터를 가져오기.
 	 *
@@ -58,7 +65,7 @@ public class YoutubeAnalyticsService {
 		request.setDimensions("day");
 		request.setSort("day");
 
-		return request.execute();	
+		return executeQuery(request);	
 	}
 
 	/**
@@ -85,11 +92,12 @@ public class YoutubeAnalyticsService {
 			return Collections.emptyMap();
 		}
 
-		List<Integer> dimensionIndices = new java.util.ArrayList<>();
-		Map<String, Integer> metricIndices = new java.util.HashMap<>();
+		AnalyticsResultTable table = AnalyticsResultTable.from(queryResponse);
+		List<Integer> dimensionIndices = new ArrayList<>();
+		Map<String, Integer> metricIndices = new HashMap<>();
 
-		for (int i = 0; i < columnNames.size(); i++) {
-			String columnName = columnNames.get(i);
+		for (int i = 0; i < table.columnCount(); i++) {
+			String columnName = table.columnName(i);
 			if (KNOWN_METRICS.contains(columnName)) {
 				metricIndices.put(columnName, i);
 			} else {
@@ -110,24 +118,26 @@ public class YoutubeAnalyticsService {
 		}
 
 		// 각 행을 파싱하여 결과를 만듭니다.
-		return queryResponse.getRows().stream().collect(Collectors.toMap(row -> {
+		Map<String, Map<String, Object>> result = new HashMap<>(table.rowCount() * 4 / 3 + 1);
+		for (int row = 0; row < table.rowCount(); row++) {
 			// 모든 차원 값을 조합하여 맵의 키를 생성합니다.
 			StringBuilder keyBuilder = new StringBuilder();
 			for (int idx : dimensionIndices) {
 				if (keyBuilder.length() > 0) {
 					keyBuilder.append(" | "); // 여러 차원을 구분하는 새로운 구분자
 				}
-				keyBuilder.append(String.valueOf(row.get(idx)));
+				keyBuilder.append(String.valueOf(table.getValue(row, idx)));
 			}
-			return keyBuilder.toString();
-		}, row -> {
 			// 해당 행의 모든 측정항목을 맵으로 담습니다.
-			Map<String, Object> metricsMap = new java.util.HashMap<>();
+			Map<String, Object> metricsMap = new HashMap<>();
 			for (Map.Entry<String, Integer> entry : metricIndices.entrySet()) {
-				metricsMap.put(entry.getKey(), row.get(entry.getValue()));
+				metricsMap.put(entry.getKey(), table.getValue(row, entry.getValue()));
+			}
+			if (result.put(keyBuilder.toString(), metricsMap) != null) {
+				throw new IllegalStateException("Duplicate dimension key in analytics response: " + keyBuilder);
 			}
-			return metricsMap;
-		}));
+		}
+		return result;
 	}
 
 	public QueryResponse getViewsByCountry(String userId, String startDate, String endDate, String channelId)
@@ -147,7 +157,7 @@ public class YoutubeAnalyticsService {
 		request.setDimensions("country");
 		request.setSort("-views");
 
-		return request.execute();
+		return executeQuery(request);
 	}
 
 	/**
@@ -178,7 +188,7 @@ public class YoutubeAnalyticsService {
 		request.setSort("-views"); //
 		request.setMaxResults(10);
 
-		return request.execute();
+		return executeQuery(request);
 	}
 
 	public QueryResponse getAudienceStats(String userId, String startDate, String endDate, String youTubeVideoKey) throws GeneralSecurityException, IOException {
@@ -197,7 +207,7 @@ public class YoutubeAnalyticsService {
         request.setFilters("video==" + youTubeVideoKey); // 특정 비디오 필터링 (필수)
         request.setSort("-viewerPercentage"); // 시청 비율 높은 순
 
-        QueryResponse response = request.execute();
+        QueryResponse response = executeQuery(request);
         logger.debug("YouTube Analytics API Audience Stats Response for video {}: {}", youTubeVideoKey, response.toPrettyString());
         return response;
 	}
@@ -218,7 +228,7 @@ public class YoutubeAnalyticsService {
         request.setFilters("video==" + youTubeVideoKey);
         request.setSort("-views");
         
-        QueryResponse response = request.execute();
+        QueryResponse response = executeQuery(request);
         logger.debug("YouTube Analytics API Inflow Route Stats Response for video {}: {}", youTubeVideoKey, response.toPrettyString());
         return response;
 	}
@@ -240,10 +250,59 @@ public class YoutubeAnalyticsService {
         request.setFilters("video==" + youTubeVideoKey);
         request.setSort("-views");
         
-        QueryResponse response = request.execute();
+        QueryResponse response = executeQuery(request);
         logger.debug("YouTube Analytics API Device Analysis Stats Response for video {}: {}", youTubeVideoKey, response.toPrettyString());
         return response;
 	}
+
+	/**
+	 * 비디오 단위 분포 리포트 종류. (metrics, dimensions, sort)
+	 * 이 차원들은 video 차원과 함께 조회할 수 없고 video 필터에 여러 ID를 넣으면 합산된 값이 나오므로, 비디오마다 한 번씩 조회해야 합니다.
+	 */
+	public enum VideoBreakdown {
+		AUDIENCE("viewerPercentage", "gender,ageGroup", "-viewerPercentage"), // row: [gender, ageGroup, viewerPercentage]
+		TRAFFIC_SOURCE("views", "insightTrafficSourceType", "-views"),         // row: [insightTrafficSourceType, views]
+		DEVICE("views", "deviceType", "-views");                               // row: [deviceType, views]
+
+		private final String metrics;
+		private final String dimensions;
+		private final String sort;
+
+		VideoBreakdown(String metrics, String dimensions, String sort) {
+			this.metrics = metrics;
+			this.dimensions = dimensions;
+			this.sort = sort;
+		}
+	}
+
+	/**
+	 * 비디오 한 개의 분포 리포트를 조회합니다.
+	 * 여러 비디오를 연달아 조회하는 배치 수집용으로, 호출한 쪽에서 만든 YouTubeAnalytics 클라이언트와 채널 ID를 그대로 사용하므로
+	 * 호출마다 credential 조회나 channels.list 호출이 발생하지 않습니다.
+	 *
+	 * @param analytics       사용자 credential로 만든 YouTubeAnalytics 클라이언트
+	 * @param channelId       채널 ID
+	 * @param breakdown       리포트 종류
+	 * @param youTubeVideoKey YouTube 비디오 ID
+	 * @param startDate       시작 날짜 (YYYY-MM-DD)
+	 * @param endDate         종료 날짜 (YYYY-MM-DD)
+	 * @return QueryResponse
+	 * @throws IOException
+	 */
+	public QueryResponse getVideoBreakdown(YouTubeAnalytics analytics, String channelId, VideoBreakdown breakdown,
+			String youTubeVideoKey, String startDate, String endDate) throws IOException {
+		QueryResponse response = executeQuery(analytics.reports().query()
+				.setIds("channel==" + channelId)
+				.setStartDate(startDate)
+				.setEndDate(endDate)
+				.setMetrics(breakdown.metrics)
+				.setDimensions(breakdown.dimensions)
+				.setFilters("video==" + youTubeVideoKey)
+				.setSort(breakdown.sort));
+		logger.debug("YouTube Analytics API {} breakdown for video {}: {} rows", breakdown, youTubeVideoKey,
+				response.getRows() != null ? response.getRows().size() : 0);
+		return response;
+	}
 	
 	public QueryResponse getVideoSubscriberGains(String googleId, String startDate, String endDate, String videoId)
 			throws IOException, GeneralSecurityException {
@@ -266,7 +325,7 @@ public class YoutubeAnalyticsService {
 				.setDimensions("video")
 				.setFilters("video==" + videoId);
 
-		QueryResponse response = query.execute();
+		QueryResponse response = executeQuery(query);
 		logger.debug("YouTube Analytics Response (Video Subscriber Gains for {}): {}", videoId,
 				response.toPrettyString());
 		return response;
@@ -277,10 +336,9 @@ public class YoutubeAnalyticsService {
             return channelId;
         }
 		
-		ChannelListResponse myChannelResponse = oAuthService.getYouTubeService(oAuthService.getCredential(userId))
+		ChannelListResponse myChannelResponse = googleApiExecutor.execute(oAuthService.getYouTubeService(oAuthService.getCredential(userId))
                 .channels().list(Arrays.asList("id"))
-                .setMine(true)
-                .execute();
+                .setMine(true));
 		if (myChannelResponse != null && myChannelResponse.getItems() != null && !myChannelResponse.getItems().isEmpty()) {
             return myChannelResponse.getItems().get(0).getId();
         }
@@ -306,11 +364,66 @@ public class YoutubeAnalyticsService {
 	        .setMetrics(metrics)
 	        .setFilters("video==" + videoId);
 
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Cumulative Video Metrics for {}): {}", videoId, response.toPrettyString());
 	    return response;
 	}
 	
+
+	/**
+	 * 채널의 모든 비디오에 대한 누적 지표(views, subscribersGained, averageViewDuration)를
+	 * dimensions=video 채널 리포트 한 종류로 가져옵니다. 조회수 내림차순으로 정렬되며,
+	 * maxResults 단위로 startIndex를 넘겨가며 마지막 페이지까지 모두 읽어 하나의 표로 합칩니다.
+	 * 페이지는 받는 즉시 열 배열로 옮기고 버리므로, 비디오가 많은 채널도 전체 행을 List 로 들고 있지 않습니다.
+	 *
+	 * @param googleId  API 호출에 사용할 사용자 Google ID
+	 * @param startDate 시작 날짜 (YYYY-MM-DD)
+	 * @param endDate   종료 날짜 (YYYY-MM-DD)
+	 * @param channelId 채널 ID
+	 * @return 모든 페이지의 행을 합친 표 (열: video, views, subscribersGained, averageViewDuration)
+	 * @throws IOException
+	 * @throws GeneralSecurityException
+	 */
+	public AnalyticsResultTable getChannelVideoCumulativeMetrics(String googleId, String startDate, String endDate, String channelId)
+			throws IOException, GeneralSecurityException {
+		logger.info("Fetching per-video cumulative analytics for channel: {}, from {} to {}", channelId, startDate, endDate);
+
+		Credential credential = oAuthService.getCredential(googleId);
+		if (credential == null) {
+			logger.error("Credential is null for user {}", googleId);
+			throw new GeneralSecurityException("Credential not found or invalid for user: " + googleId);
+		}
+
+		YouTubeAnalytics youtubeAnalytics = oAuthService.getYouTubeAnalyticsService(credential);
+
+		AnalyticsResultTable.Builder merged = AnalyticsResultTable.builder();
+		int startIndex = 1;
+		int pages = 0;
+		while (true) {
+			QueryResponse page = executeQuery(youtubeAnalytics.reports()
+					.query()
+					.setIds("channel==" + channelId)
+					.setStartDate(startDate)
+					.setEndDate(endDate)
+					.setMetrics("views,subscribersGained,averageViewDuration")
+					.setDimensions("video")
+					.setSort("-views")
+					.setMaxResults(VIDEO_REPORT_PAGE_SIZE)
+					.setStartIndex(startIndex));
+			pages++;
+			merged.append(page);
+
+			int pageRows = page.getRows() != null ? page.getRows().size() : 0;
+			if (pageRows < VIDEO_REPORT_PAGE_SIZE) {
+				break;
+			}
+			startIndex += VIDEO_REPORT_PAGE_SIZE;
+		}
+
+		AnalyticsResultTable table = merged.build();
+		logger.info("Fetched per-video cumulative analytics for channel {}: {} videos in {} page(s).", channelId, table.rowCount(), pages);
+		return table;
+	}
 	
 	// 채널 전체의 성별 및 연령대 데이터를 가져오는 메서드
 	public QueryResponse getChannelAudienceAnalytics(String googleId, String startDate, String endDate, String channelId) throws IOException, GeneralSecurityException {
@@ -330,7 +443,7 @@ public class YoutubeAnalyticsService {
 	        .setEndDate(endDate)
 	        .setMetrics("viewerPercentage")
 	        .setDimensions("gender,ageGroup"); // 성별과 연령대 디멘션
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Channel Audience for {}): {}", channelId, response.toPrettyString());
 	    return response;
 	}
@@ -353,7 +466,7 @@ public class YoutubeAnalyticsService {
 	        .setEndDate(endDate)
 	        .setMetrics("views")
 	        .setDimensions("country"); // 국가 디멘션
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Channel Country for {}): {}", channelId, response.toPrettyString());
 	    return response;
 	}
@@ -376,7 +489,7 @@ public class YoutubeAnalyticsService {
 	        .setEndDate(endDate)
 	        .setMetrics("views")
 	        .setDimensions("insightTrafficSourceType"); // 트래픽 소스 타입 디멘션
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Channel Traffic Source for {}): {}", channelId, response.toPrettyString());
 	    return response;
 	}
@@ -397,7 +510,7 @@ public class YoutubeAnalyticsService {
 	        .setEndDate(endDate)
 	        .setMetrics("views") // 시청 시간대별 조회수 (가장 일반적인 지표)
 	        .setDimensions("hour"); // 시간 디멘션 (0-23)
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Channel Watch Time by Hour for {}): {}", channelId, response.toPrettyString());
 	    return response;
 	}
@@ -418,7 +531,7 @@ public class YoutubeAnalyticsService {
 	        .setEndDate(endDate)
 	        .setMetrics("views")
 	        .setDimensions("deviceType"); // 기기 유형 디멘션
-	    QueryResponse response = query.execute();
+	    QueryResponse response = executeQuery(query);
 	    logger.debug("YouTube Analytics Response (Channel Device Analytics for {}): {}", channelId, response.toPrettyString());
 	    return response;
 	}
@@ -452,8 +565,21 @@ public class YoutubeAnalyticsService {
             .setMetrics("estimatedMinutesWatched"); // 누적 시청 시간 (분)
             // dimensions는 사용하지 않아 전체 기간 합산 값을 가져옵니다.
 
-        QueryResponse response = query.execute();
+        QueryResponse response = executeQuery(query);
         logger.debug("YouTube Analytics Response (Cumulative Watch Time for {}): {}", channelId, response.toPrettyString());
         return response;
     }
+
+	/**
+	 * Reports.Query 를 GoogleApiExecutor 로 실행합니다. 재시도와 헤지 요청마다 같은 파라미터로 새 Query 를 만들어 보내므로,
+	 * 요청 객체가 여러 스레드에서 공유되지 않습니다. (query 는 파라미터 원본으로 읽기만 합니다.)
+	 */
+	private QueryResponse executeQuery(YouTubeAnalytics.Reports.Query query) throws IOException {
+		YouTubeAnalytics analytics = (YouTubeAnalytics) query.getAbstractGoogleClient();
+		return googleApiExecutor.execute(() -> {
+			YouTubeAnalytics.Reports.Query attempt = analytics.reports().query();
+			attempt.putAll(query);
+			return attempt;
+		});
+	}
 }
@@ -37,6 +37,9 @@ public class YoutubeDataApiService {
 	private final String youtubeApiKey;
 	private final OAuthService oAuthService;
 	private final GoogleApiConfig googleApiConfig; // getYoutubeApiKey()를 위해 추가
+	private final QuotaBudgetManager quotaBudgetManager;
+	private final GoogleApiExecutor googleApiExecutor;
+	private final DataApiResponseCache dataApiResponseCache;
 
    // GoogleApiConfig에서 초기화된 YouTube 객체와 API 키를 주입.
     // 생성자 수정: NetHttpTransport와 GsonFactory를 직접 주입받는 대신,
@@ -46,11 +49,15 @@ public class YoutubeDataApiService {
     // 이전 Canvas 코드에서는 생성자에서 httpTransport, jsonFactory를 받아 YouTube 객체를 만들었음.
     // 여기서는 기존 코드의 생성자 시그니처를 최대한 따르되, YouTube 객체를 직접 주입받는 것으로 변경.
    public YoutubeDataApiService(YouTube youTube, GoogleApiConfig googleApiConfig,
-         OAuthService oAuthService) {
+         OAuthService oAuthService, QuotaBudgetManager quotaBudgetManager, GoogleApiExecutor googleApiExecutor,
+         DataApiResponseCache dataApiResponseCache) {
       this.youTube = youTube;
       this.youtubeApiKey = googleApiConfig.getYoutubeApiKey();
       this.oAuthService = oAuthService;
       this.googleApiConfig = new GoogleApiConfig();
+      this.quotaBudgetManager = quotaBudgetManager;
+      this.googleApiExecutor = googleApiExecutor;
+      this.dataApiResponseCache = dataApiResponseCache;
    }
 
 public List<SearchResult> getTrendingVideosByPeriod(String userId, String categoryId, String regionCode, String period, long maxResults) throws IOException, GeneralSecurityException{
@@ -89,7 +96,9 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
          search.setPublishedAfter(new DateTime(publishedAfterInstant.toEpochMilli()).toStringRfc3339());
       }
 
-      SearchListResponse response = search.execute();
+      // 트렌드 검색은 미뤄도 되는 작업이므로 LOW 우선순위로 예산을 요청합니다.
+      quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.SEARCH_LIST, QuotaBudgetManager.Priority.LOW);
+      SearchListResponse response = googleApiExecutor.execute(search);
       if(response.getItems() != null) {
          return response.getItems();
       }
@@ -110,7 +119,8 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
       request.setVideoCategoryId(categoryId);
       request.setMaxResults(maxResults);
       
-      VideoListResponse response = request.execute();
+      quotaBudgetManager.acquire(userId, QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.LOW);
+      VideoListResponse response = dataApiResponseCache.execute(userId, request).getResponse();
       if(response.getItems() != null) {
          return response.getItems();
       }
@@ -121,7 +131,8 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
       YouTube.Channels.List request = youTube.channels()
             .list(Arrays.asList("snippet", "contentDetails", "statistics"))
             .setKey(youtubeApiKey).setId(Arrays.asList(channelId));
-      return request.execute();
+      quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.CHANNELS_LIST, QuotaBudgetManager.Priority.NORMAL);
+      return dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL, request).getResponse();
    }
 
    public ChannelListResponse getChannelInfoByHandle(String handleId) throws IOException {
@@ -132,12 +143,15 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
       YouTube.Channels.List request = youTube.channels()
             .list(Arrays.asList("snippet", "contentDetails", "statistics")).setKey(youtubeApiKey)
             .setForUsername(username); // setForHandle 대신 setForUsername 사용 시도
-      return request.execute();
+      quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.CHANNELS_LIST, QuotaBudgetManager.Priority.NORMAL);
+      return dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL, request).getResponse();
    }
 
    public List<String> getLatestVideosByChannel(String channelId, long maxResults) throws IOException {
-      ChannelListResponse channelListResponse = youTube.channels().list(Arrays.asList("contentDetails"))
-            .setKey(youtubeApiKey).setId(Arrays.asList(channelId)).execute();
+      quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.CHANNELS_LIST, QuotaBudgetManager.Priority.NORMAL);
+      ChannelListResponse channelListResponse = dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL,
+            youTube.channels().list(Arrays.asList("contentDetails")).setKey(youtubeApiKey).setId(Arrays.asList(channelId)))
+            .getResponse();
       String uploadsPlaylistId = null;
       if (channelListResponse.getItems() != null && !channelListResponse.getItems().isEmpty()) {
          uploadsPlaylistId = channelListResponse.getItems().get(0).getContentDetails().getRelatedPlaylists()
@@ -146,12 +160,13 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
       if (uploadsPlaylistId == null) {
          throw new IOException("채널의 업로드 플레이리스트를 찾을 수 없습니다: " + channelId);
       }
-      PlaylistItemListResponse playlistItemListResponse = youTube.playlistItems()
+      quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.PLAYLIST_ITEMS_LIST, QuotaBudgetManager.Priority.NORMAL);
+      PlaylistItemListResponse playlistItemListResponse = dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL,
+            youTube.playlistItems()
             .list(Arrays.asList("snippet"))
             .setKey(youtubeApiKey)
             .setPlaylistId(uploadsPlaylistId)
-            .setMaxResults(maxResults)
-            .execute();
+            .setMaxResults(maxResults)).getResponse();
       return playlistItemListResponse.getItems().stream().map(item -> item.getSnippet().getTitle())
             .collect(Collectors.toList());
    }
@@ -173,7 +188,8 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
       search.setType(Arrays.asList("video"));
       search.setFields("items(id/videoId,snippet/title)");
       search.setMaxResults(maxResults);
-      SearchListResponse searchResponse = search.execute();
+      quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.SEARCH_LIST, QuotaBudgetManager.Priority.NORMAL);
+      SearchListResponse searchResponse = googleApiExecutor.execute(search);
       List<SearchResult> searchResultList = searchResponse.getItems();
       if (searchResultList != null) {
          return searchResultList.stream().map(item -> item.getSnippet().getTitle()).collect(Collectors.toList());
@@ -217,7 +233,8 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
             request.setForUsername(identifier);
         }
 
-        ChannelListResponse response = request.execute();
+        quotaBudgetManager.acquire(QuotaBudgetManager.API_KEY_CREDENTIAL, QuotaBudgetManager.Operation.CHANNELS_LIST, QuotaBudgetManager.Priority.NORMAL);
+        ChannelListResponse response = dataApiResponseCache.execute(QuotaBudgetManager.API_KEY_CREDENTIAL, request).getResponse();
 
         if (response.getItems() != null && !response.getItems().isEmpty()) {
             System.out.println("  -> 채널 정보 발견: " + response.getItems().get(0).getSnippet().getTitle());
@@ -269,7 +286,9 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
             searchRequest.setVideoCategoryId(videoCategoryId); // 카테고리 ID (ALL이 아니면 적용)
         }
 
-        SearchListResponse searchResponse = searchRequest.execute();
+        // 키워드 인기 영상 갱신은 캐시로 대체할 수 있는 작업이므로 LOW 우선순위입니다.
+        quotaBudgetManager.acquire(googleId, QuotaBudgetManager.Operation.SEARCH_LIST, QuotaBudgetManager.Priority.LOW);
+        SearchListResponse searchResponse = googleApiExecutor.execute(searchRequest);
 
         if (searchResponse.getItems() != null) {
             logger.info("Found {} search results for keyword '{}' in YouTube API.", searchResponse.getItems().size(), keyword);
@@ -298,11 +317,39 @@ public List<SearchResult> getTrendingVideosByPeriod(String userId, String catego
         YouTube.Videos.List videoRequest = youTube.videos().list(Arrays.asList("statistics", "snippet"));
         videoRequest.setId(Collections.singletonList(videoId));
 
-        VideoListResponse response = videoRequest.execute();
+        quotaBudgetManager.acquire(googleId, QuotaBudgetManager.Operation.VIDEOS_LIST, QuotaBudgetManager.Priority.NORMAL);
+        VideoListResponse response = dataApiResponseCache.execute(googleId, videoRequest).getResponse();
         if (response != null && response.getItems() != null && !response.getItems().isEmpty()) {
             return response.getItems().get(0);
         }
         return null;
     }
 
+    /**
+     * 여러 비디오의 통계 정보를 videos.list 한 번으로 가져옵니다. (최대 50개 ID)
+     * 호출 측에서 이미 만들어 둔 YouTube 클라이언트를 재사용합니다.
+     * @param googleId youTube 클라이언트의 사용자 Google ID (응답 캐시 구분용)
+     * @param youTube 인증된 YouTube 클라이언트
+     * @param videoIds 조회할 비디오 ID 목록 (50개 이하)
+     * @return statistics가 포함된 Video 목록 (존재하지 않거나 비공개인 비디오는 빠짐)
+     * @throws IOException
+     */
+    public List<Video> getVideosStatistics(String googleId, YouTube youTube, List<String> videoIds) throws IOException {
+        if (videoIds == null || videoIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (videoIds.size() > VideoStatisticsBatchFetcher.MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("videos.list accepts at most " + VideoStatisticsBatchFetcher.MAX_IDS_PER_REQUEST + " IDs per request.");
+        }
+        YouTube.Videos.List videoRequest = youTube.videos().list(Collections.singletonList("statistics"));
+        videoRequest.setId(videoIds);
+        videoRequest.setMaxResults((long) videoIds.size());
+
+        VideoListResponse response = dataApiResponseCache.execute(googleId, videoRequest).getResponse();
+        if (response != null && response.getItems() != null) {
+            return response.getItems();
+        }
+        return Collections.emptyList();
+    }
+
 }
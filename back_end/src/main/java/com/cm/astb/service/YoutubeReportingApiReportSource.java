@@ -0,0 +1,130 @@
+package com.cm.astb.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.cm.astb.dto.ReportFileDto;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.services.youtubereporting.YouTubeReporting;
+import com.google.api.services.youtubereporting.model.Job;
+import com.google.api.services.youtubereporting.model.ListJobsResponse;
+import com.google.api.services.youtubereporting.model.ListReportsResponse;
+import com.google.api.services.youtubereporting.model.Report;
+
+/**
+ * YouTube Reporting API에서 보고서를 가져오는 ReportSource.
+ * 보고서 유형마다 job을 한 번 등록해 두면 YouTube가 매일 보고서 파일을 생성하며, 생성된 파일은 downloadUrl로 스트리밍 다운로드합니다.
+ */
+@Service
+@ConditionalOnProperty(name = "youtube.reporting.source", havingValue = "api", matchIfMissing = true)
+public class YoutubeReportingApiReportSource implements ReportSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(YoutubeReportingApiReportSource.class);
+
+	private static final String JOB_NAME_PREFIX = "ascentube-";
+
+	// 보고서의 하루는 태평양 시간 자정부터 시작합니다.
+	private static final ZoneId REPORT_ZONE = ZoneId.of("America/Los_Angeles");
+
+	private final OAuthService oAuthService;
+	private final GoogleApiExecutor googleApiExecutor;
+
+	public YoutubeReportingApiReportSource(OAuthService oAuthService, GoogleApiExecutor googleApiExecutor) {
+		this.oAuthService = oAuthService;
+		this.googleApiExecutor = googleApiExecutor;
+	}
+
+	@Override
+	public Map<String, String> ensureJobs(String googleId, Collection<String> reportTypeIds) throws IOException, GeneralSecurityException {
+		YouTubeReporting reporting = reportingClient(googleId);
+
+		Map<String, String> jobIdsByReportType = new HashMap<>();
+		String pageToken = null;
+		do {
+			ListJobsResponse response = googleApiExecutor.execute(reporting.jobs().list().setPageToken(pageToken));
+			if (response.getJobs() != null) {
+				for (Job job : response.getJobs()) {
+					if (reportTypeIds.contains(job.getReportTypeId())) {
+						jobIdsByReportType.putIfAbsent(job.getReportTypeId(), job.getId());
+					}
+				}
+			}
+			pageToken = response.getNextPageToken();
+		} while (pageToken != null);
+
+		for (String reportTypeId : reportTypeIds) {
+			if (jobIdsByReportType.containsKey(reportTypeId)) {
+				continue;
+			}
+			Job created = googleApiExecutor.execute(reporting.jobs()
+					.create(new Job().setReportTypeId(reportTypeId).setName(JOB_NAME_PREFIX + reportTypeId)));
+			jobIdsByReportType.put(reportTypeId, created.getId());
+			logger.info("Registered YouTube Reporting job {} ({}) for user {}. First reports are generated within 48 hours.",
+					created.getId(), reportTypeId, googleId);
+		}
+		return jobIdsByReportType;
+	}
+
+	@Override
+	public List<ReportFileDto> listReports(String googleId, String jobId, String reportTypeId, LocalDateTime createdAfter)
+			throws IOException, GeneralSecurityException {
+		YouTubeReporting reporting = reportingClient(googleId);
+
+		List<ReportFileDto> reports = new ArrayList<>();
+		String pageToken = null;
+		do {
+			YouTubeReporting.Jobs.Reports.List request = reporting.jobs().reports().list(jobId).setPageToken(pageToken);
+			if (createdAfter != null) {
+				request.setCreatedAfter(createdAfter.toInstant(ZoneOffset.UTC).toString());
+			}
+			ListReportsResponse response = googleApiExecutor.execute(request);
+			if (response.getReports() != null) {
+				for (Report report : response.getReports()) {
+					reports.add(ReportFileDto.builder()
+							.reportId(report.getId())
+							.jobId(jobId)
+							.reportTypeId(reportTypeId)
+							.reportDate(Instant.parse(report.getStartTime()).atZone(REPORT_ZONE).toLocalDate())
+							.createTime(LocalDateTime.ofInstant(Instant.parse(report.getCreateTime()), ZoneOffset.UTC))
+							.downloadUrl(report.getDownloadUrl())
+							.build());
+				}
+			}
+			pageToken = response.getNextPageToken();
+		} while (pageToken != null);
+		return reports;
+	}
+
+	@Override
+	public InputStream openReport(String googleId, ReportFileDto report) throws IOException, GeneralSecurityException {
+		// 보고서 파일은 수십 MB가 될 수 있으므로 메모리에 받지 않고 응답 스트림을 그대로 넘깁니다.
+		return reportingClient(googleId).getRequestFactory()
+				.buildGetRequest(new GenericUrl(report.getDownloadUrl()))
+				.execute()
+				.getContent();
+	}
+
+	private YouTubeReporting reportingClient(String googleId) throws IOException, GeneralSecurityException {
+		Credential credential = oAuthService.getCredential(googleId);
+		if (credential == null) {
+			throw new GeneralSecurityException("Credential not found or invalid for user: " + googleId);
+		}
+		return oAuthService.getYouTubeReportingService(credential);
+	}
+}
@@ -0,0 +1,34 @@
+-- 수집 작업(CollectionJob)과 사용자별 진행 상황(CollectionJobItem) 테이블.
+-- spring.jpa.hibernate.ddl-auto=validate 이므로 애플리케이션을 띄우기 전에 MySQL에서 한 번 실행해야 합니다.
+
+CREATE TABLE IF NOT EXISTS TB_COLLECTION_JOB (
+    JOB_ID      BIGINT       NOT NULL AUTO_INCREMENT,
+    JOB_NAME    VARCHAR(50)  NOT NULL,
+    TARGET_DATE DATE         NOT NULL,
+    STATUS      VARCHAR(20)  NOT NULL,
+    STARTED_AT  DATETIME(6)  NULL,
+    FINISHED_AT DATETIME(6)  NULL,
+    CREATED_AT  DATETIME(6)  NOT NULL,
+    UPDATED_AT  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (JOB_ID),
+    KEY IDX_COLLECTION_JOB_NAME_DATE (JOB_NAME, TARGET_DATE),
+    KEY IDX_COLLECTION_JOB_STATUS_DATE (STATUS, TARGET_DATE)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- PHASE에는 다음에 실행할 단계가 저장됩니다. 같은 작업에 같은 사용자가 두 번 들어가지 않도록 (JOB_ID, GOOGLE_ID)가 유일합니다.
+CREATE TABLE IF NOT EXISTS TB_COLLECTION_JOB_ITEM (
+    ITEM_ID     BIGINT        NOT NULL AUTO_INCREMENT,
+    JOB_ID      BIGINT        NOT NULL,
+    GOOGLE_ID   VARCHAR(100)  NOT NULL,
+    CNL_ID      VARCHAR(100)  NULL,
+    PHASE       VARCHAR(20)   NOT NULL,
+    STATUS      VARCHAR(20)   NOT NULL,
+    ATTEMPTS    INT           NOT NULL,
+    LAST_ERROR  VARCHAR(1000) NULL,
+    STARTED_AT  DATETIME(6)   NULL,
+    FINISHED_AT DATETIME(6)   NULL,
+    CREATED_AT  DATETIME(6)   NOT NULL,
+    UPDATED_AT  DATETIME(6)   NOT NULL,
+    PRIMARY KEY (ITEM_ID),
+    CONSTRAINT UK_COLLECTION_JOB_ITEM UNIQUE (JOB_ID, GOOGLE_ID)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,10 @@
+-- 수집 샤드 임대(CollectionShardLease) 테이블.
+-- 샤드 행은 CollectionShardLeaseService가 시작할 때 INSERT IGNORE로 채우므로 테이블만 만들어 두면 됩니다.
+
+CREATE TABLE IF NOT EXISTS TB_COLLECTION_SHARD_LEASE (
+    SHARD_NO    INT          NOT NULL,
+    OWNER_ID    VARCHAR(100) NULL,
+    LEASE_UNTIL DATETIME(6)  NULL,
+    UPDATED_AT  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (SHARD_NO)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
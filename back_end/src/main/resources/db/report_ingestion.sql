@@ -0,0 +1,17 @@
+-- 적재한 YouTube Reporting API 보고서 기록(ReportIngestion) 테이블.
+-- 엔티티가 항상 등록되므로 youtube.reporting.enabled=false 여도 이 테이블이 있어야 애플리케이션이 뜹니다.
+
+CREATE TABLE IF NOT EXISTS TB_REPORT_INGESTION (
+    REPORT_ID          VARCHAR(255) NOT NULL,
+    GOOGLE_ID          VARCHAR(100) NOT NULL,
+    REPORT_TYPE_ID     VARCHAR(50)  NOT NULL,
+    JOB_ID             VARCHAR(100) NULL,
+    REPORT_DATE        DATE         NOT NULL,
+    REPORT_CREATE_TIME DATETIME(6)  NOT NULL,
+    ROW_CNT            BIGINT       NULL,
+    CREATED_AT         DATETIME(6)  NOT NULL,
+    UPDATED_AT         DATETIME(6)  NOT NULL,
+    PRIMARY KEY (REPORT_ID),
+    -- 사용자/보고서 유형별 최근 보고서 조회(createdAfter 기준)
+    KEY IDX_REPORT_INGESTION_LATEST (GOOGLE_ID, REPORT_TYPE_ID, REPORT_CREATE_TIME)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
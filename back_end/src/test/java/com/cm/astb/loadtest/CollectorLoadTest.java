@@ -0,0 +1,238 @@
+package com.cm.astb.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.cm.astb.entity.CollectionJob;
+import com.cm.astb.entity.CollectionJobItem;
+import com.cm.astb.entity.CollectionJobStatus;
+import com.cm.astb.entity.User;
+import com.cm.astb.repository.UserRepository;
+import com.cm.astb.service.CollectionJobService;
+import com.cm.astb.service.DataCollectorService;
+import com.cm.astb.service.GoogleApiClientRegistry;
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+
+/**
+ * 야간 수집 경로(CollectionJobService.openJob → DataCollectorService.runCollectionJob)의 부하 테스트.
+ *
+ * Google API root URL 을 로컬 FakeYouTubeApiServer 로 바꾸고, 가상 채널을 가진 사용자 N 명을 만들어 한 번 수집한 뒤
+ * 걸린 시간, 테이블별 저장 행 수와 초당 행 수, API 연산별 호출 수를 로그로 남깁니다.
+ * 공용 DB(application.properties 기본값)에 행을 쓰지 않도록, -Dspring.datasource.url(또는 SPRING_DATASOURCE_URL)로
+ * 로컬/일회용 DB 를 지정하지 않으면 컨텍스트를 띄우기 전에 실패합니다. 스케줄 작업은 끈 상태로 실행합니다.
+ * 지정한 DB 는 빈 스키마여도 됩니다. ddl-auto=create 로 시작할 때마다 엔티티 기준으로 TB_* 테이블을 지우고 다시 만듭니다.
+ * 이번 실행이 만든 행은 채널 ID 접두사(runSalt)로 찾아 마지막에 지웁니다. (-Dloadtest.cleanup=false 이면 남김)
+ *
+ * 기본 빌드에서는 건너뛰며, 다음처럼 실행합니다.
+ * mvn test -Dtest=CollectorLoadTest -Dloadtest=true -Dspring.datasource.url=jdbc:mysql://localhost:3306/astb_loadtest?rewriteBatchedStatements=true
+ *     -Dspring.datasource.username=... -Dspring.datasource.password=... -Dloadtest.users=200 -Dloadtest.videos-per-channel=100 -Dloadtest.latency-ms=80
+ *
+ * 시스템 프로퍼티 (기본값)
+ * - loadtest.users (20), loadtest.videos-per-channel (100): 사용자 수와 채널당 평균 비디오 수
+ * - loadtest.latency-ms (50), loadtest.latency-jitter-ms (50): 요청마다 넣는 지연
+ * - loadtest.error-rate (0.0): 503/429 를 돌려줄 요청 비율
+ * - loadtest.seed (42): 데이터 값과 오류 주입 순서
+ * - loadtest.server-threads (64): 가짜 서버의 요청 처리 스레드 수
+ * - loadtest.report-days (3): Reporting API 가 돌려줄 일별 보고서 수
+ */
+@Tag("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"youtube.api.key=loadtest-key",
+		"youtube.scheduling.enabled=false",
+		"youtube.quota.daily-limit=1000000000",
+		"youtube.quota.per-credential-daily-limit=1000000000",
+		"youtube.data-collection.jobs.resume-initial-delay-ms=86400000",
+		"youtube.reporting.enabled=false",
+		"google.oauth.token-refresh.enabled=false",
+		"google.api.client-cache.max-users=100000",
+		"spring.jpa.hibernate.ddl-auto=create",
+		"spring.jpa.show-sql=false",
+		"logging.level.org.hibernate.SQL=WARN",
+		"logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+		"logging.level.com.cm.astb.service.DataCollectorService=INFO" })
+class CollectorLoadTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(CollectorLoadTest.class);
+
+	/** application.properties 기본 datasource 의 공용 DB 호스트 */
+	private static final String SHARED_DB_HOST = "project-db-campus.smhrd.com";
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 20);
+	private static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.error-rate", "0.0"));
+	private static final boolean CLEANUP = Boolean.parseBoolean(System.getProperty("loadtest.cleanup", "true"));
+
+	private static final SyntheticChannelCatalog catalog = new SyntheticChannelCatalog(
+			Long.getLong("loadtest.seed", 42L),
+			ThreadLocalRandom.current().nextInt(1 << 24),
+			Integer.getInteger("loadtest.videos-per-channel", 100),
+			LocalDate.now());
+
+	private static FakeYouTubeApiServer server;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CollectionJobService collectionJobService;
+
+	@Autowired
+	private DataCollectorService dataCollectorService;
+
+	@Autowired
+	private GoogleApiClientRegistry googleApiClientRegistry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void googleApiRootUrls(DynamicPropertyRegistry registry) throws Exception {
+		requireDedicatedDatasource();
+		server = new FakeYouTubeApiServer(catalog,
+				Integer.getInteger("loadtest.server-threads", 64),
+				Long.getLong("loadtest.latency-ms", 50L),
+				Long.getLong("loadtest.latency-jitter-ms", 50L),
+				ERROR_RATE,
+				Integer.getInteger("loadtest.report-days", 3),
+				Long.getLong("loadtest.seed", 42L));
+		server.start();
+		registry.add("google.api.youtube.root-url", server::baseUrl);
+		registry.add("google.api.youtube-analytics.root-url", server::baseUrl);
+		registry.add("google.api.youtube-reporting.root-url", server::baseUrl);
+	}
+
+	// 컨텍스트(와 DB 연결)를 만들기 전에 확인합니다.
+	private static void requireDedicatedDatasource() {
+		String url = System.getProperty("spring.datasource.url", System.getenv("SPRING_DATASOURCE_URL"));
+		if (url == null || url.isBlank() || url.contains(SHARED_DB_HOST)) {
+			throw new IllegalStateException("CollectorLoadTest writes and deletes many rows. Point -Dspring.datasource.url "
+					+ "(or SPRING_DATASOURCE_URL) at a local or disposable database; the shared " + SHARED_DB_HOST + " schema is not allowed.");
+		}
+	}
+
+	@AfterAll
+	static void stopServer() {
+		if (server != null) {
+			server.close();
+		}
+	}
+
+	@Test
+	void nightlyCollection() {
+		String prefix = catalog.channelIdPrefix();
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			users.add(User.builder()
+					.googleId("loadtest-" + prefix + "-" + i)
+					.nickname("loadtest" + i)
+					.email("loadtest" + i + "@example.invalid")
+					.myChannelId(catalog.channelId(i))
+					.build());
+		}
+		userRepository.saveAll(users);
+		for (int i = 0; i < USERS; i++) {
+			Credential credential = new Credential(BearerToken.authorizationHeaderAccessMethod())
+					.setAccessToken(FakeYouTubeApiServer.TOKEN_PREFIX + catalog.channelId(i))
+					.setExpiresInSeconds(86400L);
+			googleApiClientRegistry.register(users.get(i).getGoogleId(), credential);
+		}
+
+		CollectionJob job = collectionJobService.openJob("loadtest-collection-" + prefix, LocalDate.now().minusDays(1), users);
+		try {
+			long startNanos = System.nanoTime();
+			dataCollectorService.runCollectionJob(job.getJobId());
+			double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+			Map<CollectionJobStatus, Integer> itemStatuses = new EnumMap<>(CollectionJobStatus.class);
+			for (CollectionJobItem item : collectionJobService.findItems(job.getJobId())) {
+				itemStatuses.merge(item.getStatus(), 1, Integer::sum);
+			}
+			Map<String, Long> rows = countRows(prefix);
+			report(elapsedSeconds, itemStatuses, rows);
+
+			if (ERROR_RATE < 1.0) {
+				assertTrue(itemStatuses.getOrDefault(CollectionJobStatus.COMPLETED, 0) > 0,
+						"No collection item completed: " + itemStatuses);
+			}
+		} finally {
+			if (CLEANUP) {
+				cleanUp(prefix, job.getJobId(), users);
+			}
+		}
+	}
+
+	private Map<String, Long> countRows(String prefix) {
+		String channelLike = prefix + "%";
+		String videosOfRun = "SELECT VIDEO_ID FROM TB_VIDEO WHERE CNL_ID LIKE ?";
+		Map<String, Long> rows = new LinkedHashMap<>();
+		rows.put("TB_YT_CHANNEL", count("SELECT COUNT(*) FROM TB_YT_CHANNEL WHERE CNL_ID LIKE ?", channelLike));
+		rows.put("TB_VIDEO", count("SELECT COUNT(*) FROM TB_VIDEO WHERE CNL_ID LIKE ?", channelLike));
+		rows.put("TB_CHANNEL_STATS", count("SELECT COUNT(*) FROM TB_CHANNEL_STATS WHERE CNL_ID LIKE ?", channelLike));
+		rows.put("TB_CHANNEL_DASHBOARD_STATS", count("SELECT COUNT(*) FROM TB_CHANNEL_DASHBOARD_STATS WHERE CNL_ID LIKE ?", channelLike));
+		for (String table : List.of("TB_VIDEO_STATS", "TB_AUDIENCE_STATS", "TB_INFLOW_ROUTE", "TB_DEVICE_ANALYSIS")) {
+			rows.put(table, count("SELECT COUNT(*) FROM " + table + " WHERE VIDEO_ID IN (" + videosOfRun + ")", channelLike));
+		}
+		return rows;
+	}
+
+	private long count(String sql, String channelLike) {
+		Long count = jdbcTemplate.queryForObject(sql, Long.class, channelLike);
+		return count != null ? count : 0;
+	}
+
+	private void report(double elapsedSeconds, Map<CollectionJobStatus, Integer> itemStatuses, Map<String, Long> rows) {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%nCollector load test: %d user(s), ~%d video(s)/channel, error rate %.3f%n", USERS,
+				Integer.getInteger("loadtest.videos-per-channel", 100), ERROR_RATE));
+		report.append(String.format("  wall time      %.1f s, items %s%n", elapsedSeconds, itemStatuses));
+		long totalRows = 0;
+		for (Map.Entry<String, Long> entry : rows.entrySet()) {
+			totalRows += entry.getValue();
+			report.append(String.format("  %-28s %10d rows %10.1f rows/s%n", entry.getKey(), entry.getValue(), entry.getValue() / elapsedSeconds));
+		}
+		report.append(String.format("  %-28s %10d rows %10.1f rows/s%n", "total", totalRows, totalRows / elapsedSeconds));
+		for (Map.Entry<String, Long> entry : server.callCounts().entrySet()) {
+			report.append(String.format("  %-40s %10d calls %8.1f calls/s%n", entry.getKey(), entry.getValue(), entry.getValue() / elapsedSeconds));
+		}
+		report.append(String.format("  %-40s %10d calls %8.1f calls/s", "total", server.totalCalls(), server.totalCalls() / elapsedSeconds));
+		logger.info(report.toString());
+	}
+
+	// 외래 키 순서대로 이번 실행이 만든 행을 지웁니다.
+	private void cleanUp(String prefix, Long jobId, List<User> users) {
+		String channelLike = prefix + "%";
+		String videosOfRun = "SELECT VIDEO_ID FROM TB_VIDEO WHERE CNL_ID LIKE ?";
+		for (String table : List.of("TB_VIDEO_STATS", "TB_AUDIENCE_STATS", "TB_INFLOW_ROUTE", "TB_DEVICE_ANALYSIS")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE VIDEO_ID IN (" + videosOfRun + ")", channelLike);
+		}
+		for (String table : List.of("TB_VIDEO", "TB_CHANNEL_STATS", "TB_CHANNEL_DASHBOARD_STATS", "TB_MY_CHANNEL", "TB_YT_CHANNEL")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE CNL_ID LIKE ?", channelLike);
+		}
+		jdbcTemplate.update("DELETE FROM TB_COLLECTION_JOB_ITEM WHERE JOB_ID = ?", jobId);
+		jdbcTemplate.update("DELETE FROM TB_COLLECTION_JOB WHERE JOB_ID = ?", jobId);
+		for (User user : users) {
+			googleApiClientRegistry.invalidate(user.getGoogleId());
+		}
+		userRepository.deleteAll(users);
+	}
+}
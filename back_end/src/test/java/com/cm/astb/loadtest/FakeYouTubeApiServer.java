@@ -0,0 +1,862 @@
+package com.cm.astb.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 부하 테스트용 로컬 YouTube Data / Analytics / Reporting API 서버.
+ *
+ * 수집 코드가 쓰는 엔드포인트만 흉내 냅니다. 응답 데이터는 SyntheticChannelCatalog 가 정하는 가상 채널/비디오 기준입니다.
+ * - Data API v3 (/youtube/v3/): channels.list, playlistItems.list, videos.list, search.list(빈 결과).
+ *   응답에 etag 를 붙이고 If-None-Match 가 같으면 304 를 돌려줍니다.
+ * - Analytics API v2 (/v2/reports): ids, startDate, endDate, metrics, dimensions, filters(video==), sort, startIndex, maxResults.
+ *   지원하지 않는 dimension 은 실제 API 처럼 400 을 돌려줍니다.
+ * - Reporting API v1 (/v1/jobs, /v1/jobs/{id}/reports, /v1/media/...): job 등록/조회와 최근 reportDays 일치 보고서 CSV.
+ *
+ * 인증: "Bearer fake-token-{채널 ID}" 토큰의 채널을 요청한 사용자의 채널(channel==MINE, mine=true)로 봅니다. API 키(key=)로 호출한 요청도 받습니다.
+ * 지연/오류 주입: 모든 요청을 latencyMs + [0, latencyJitterMs] 만큼 늦추고, errorRate 확률로 503 backendError 또는 429 rateLimitExceeded 를 돌려줍니다.
+ * 오류 주입 순서는 seed 로 정해지지만, 동시 요청의 도착 순서는 실행마다 다릅니다.
+ */
+final class FakeYouTubeApiServer implements AutoCloseable {
+
+	static final String TOKEN_PREFIX = "fake-token-";
+
+	private static final List<String> GENDERS = List.of("female", "male", "user_specified");
+	private static final List<String> AGE_GROUPS = List.of("age13-17", "age18-24", "age25-34", "age35-44", "age45-54", "age55-64", "age65-");
+	private static final List<String> COUNTRIES = List.of("KR", "US", "JP", "VN", "ID", "IN", "BR", "TH", "PH", "TW");
+	private static final List<String> TRAFFIC_SOURCE_TYPES = List.of("ADVERTISING", "ANNOTATION", "CAMPAIGN_CARD", "END_SCREEN",
+			"EXT_URL", "NO_LINK_OTHER", "NOTIFICATION", "PLAYLIST", "RELATED_VIDEO", "SHORTS", "SUBSCRIBER", "YT_CHANNEL",
+			"YT_OTHER_PAGE", "YT_SEARCH");
+	private static final List<String> PLAYBACK_LOCATION_TYPES = List.of("BROWSE", "CHANNEL", "EMBEDDED", "EXTERNAL_APP", "MOBILE",
+			"SEARCH", "WATCH", "YT_OTHER");
+	private static final List<String> DEVICE_TYPES = List.of("DESKTOP", "GAME_CONSOLE", "MOBILE", "TABLET", "TV", "UNKNOWN_PLATFORM");
+	private static final List<String> SUBSCRIBED_STATUSES = List.of("SUBSCRIBED", "UNSUBSCRIBED");
+
+	private static final Set<String> FLOAT_METRICS = Set.of("viewerPercentage", "averageViewPercentage", "cardClickRate",
+			"annotationClickThroughRate");
+
+	/** Reporting API 보고서 유형별 CSV 헤더 */
+	private static final Map<String, String> REPORT_HEADERS = Map.of(
+			"channel_basic_a2", "date,channel_id,video_id,live_or_on_demand,subscribed_status,country_code,views,comments,likes,"
+					+ "dislikes,shares,watch_time_minutes,average_view_duration_seconds,subscribers_gained,subscribers_lost",
+			"channel_demographics_a1", "date,channel_id,video_id,live_or_on_demand,subscribed_status,country_code,age_group,gender,"
+					+ "views_percentage",
+			"channel_traffic_source_a2", "date,channel_id,video_id,live_or_on_demand,subscribed_status,country_code,"
+					+ "traffic_source_type,traffic_source_detail,views,watch_time_minutes",
+			"channel_device_os_a2", "date,channel_id,video_id,live_or_on_demand,subscribed_status,country_code,device_type,"
+					+ "operating_system,views,watch_time_minutes");
+
+	private static final ZoneId REPORT_ZONE = ZoneId.of("America/Los_Angeles");
+
+	private final SyntheticChannelCatalog catalog;
+	private final long latencyMs;
+	private final long latencyJitterMs;
+	private final double errorRate;
+	private final int reportDays;
+	private final Random random;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	/** 연산별 호출 수 (이름순) */
+	private final Map<String, LongAdder> calls = new ConcurrentSkipListMap<>();
+	private final Map<String, ReportingJob> reportingJobs = new ConcurrentHashMap<>();
+	private final AtomicInteger jobSequence = new AtomicInteger();
+
+	FakeYouTubeApiServer(SyntheticChannelCatalog catalog, int threads, long latencyMs, long latencyJitterMs, double errorRate,
+			int reportDays, long seed) throws IOException {
+		this.catalog = catalog;
+		this.latencyMs = latencyMs;
+		this.latencyJitterMs = latencyJitterMs;
+		this.errorRate = errorRate;
+		this.reportDays = reportDays;
+		this.random = new Random(seed);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+		AtomicInteger threadSequence = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+			Thread thread = new Thread(runnable, "fake-youtube-api-" + threadSequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/", this::handle);
+	}
+
+	void start() {
+		server.start();
+	}
+
+	/** 클라이언트 root URL 로 쓸 주소 (끝에 / 포함) */
+	String baseUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+	}
+
+	/** 연산별 호출 수. result.* 항목은 주입한 오류, 304 응답, 4xx 응답 수입니다. */
+	Map<String, Long> callCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		calls.forEach((operation, count) -> counts.put(operation, count.sum()));
+		return counts;
+	}
+
+	/** 결과 집계(result.*)를 뺀 전체 요청 수 */
+	long totalCalls() {
+		return calls.entrySet().stream()
+				.filter(entry -> !entry.getKey().startsWith("result."))
+				.mapToLong(entry -> entry.getValue().sum())
+				.sum();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			String path = exchange.getRequestURI().getPath();
+			Map<String, List<String>> params = queryParams(exchange.getRequestURI().getRawQuery());
+			String operation = operationOf(method, path);
+			count(operation);
+
+			simulateLatency();
+			if (errorRate > 0 && nextDouble() < errorRate) {
+				count("result.injected_error");
+				if (nextDouble() < 0.5) {
+					sendError(exchange, 503, "global", "backendError", "Backend Error (injected)");
+				} else {
+					sendError(exchange, 429, "youtube.quota", "rateLimitExceeded", "Rate limit exceeded (injected)");
+				}
+				return;
+			}
+
+			String channelOfToken = channelOfToken(exchange);
+			if (channelOfToken == null && first(params, "key") == null) {
+				sendError(exchange, 401, "global", "authError", "Request is missing required authentication credential.");
+				return;
+			}
+
+			switch (operation) {
+			case "youtube.channels.list" -> sendDataApi(exchange, channels(params, channelOfToken));
+			case "youtube.playlistItems.list" -> sendDataApi(exchange, playlistItems(params));
+			case "youtube.videos.list" -> sendDataApi(exchange, videos(params));
+			case "youtube.search.list" -> sendDataApi(exchange, listResponse("youtube#searchListResponse", List.of(), null, 0, 0));
+			case "youtubeAnalytics.reports.query" -> sendJson(exchange, 200, analyticsQuery(params, channelOfToken));
+			case "youtubereporting.jobs.list" -> sendJson(exchange, 200, listJobs(channelOfToken));
+			case "youtubereporting.jobs.create" -> sendJson(exchange, 200, createJob(exchange, channelOfToken));
+			case "youtubereporting.jobs.reports.list" -> sendJson(exchange, 200, listReports(path, params, channelOfToken));
+			case "youtubereporting.media.download" -> sendCsv(exchange, reportCsv(path));
+			default -> throw new ApiError(404, "notFound", "No fake handler for " + method + " " + path);
+			}
+		} catch (ApiError e) {
+			count("result.client_error");
+			sendError(exchange, e.status, "global", e.reason, e.getMessage());
+		} catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException e) {
+			sendError(exchange, 500, "global", "internalError", String.valueOf(e));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static String operationOf(String method, String path) {
+		if (path.startsWith("/youtube/v3/") && "GET".equals(method)) {
+			return "youtube." + path.substring("/youtube/v3/".length()) + ".list";
+		}
+		if (path.equals("/v2/reports") && "GET".equals(method)) {
+			return "youtubeAnalytics.reports.query";
+		}
+		if (path.equals("/v1/jobs")) {
+			return "POST".equals(method) ? "youtubereporting.jobs.create" : "youtubereporting.jobs.list";
+		}
+		if (path.startsWith("/v1/jobs/") && path.endsWith("/reports")) {
+			return "youtubereporting.jobs.reports.list";
+		}
+		if (path.startsWith("/v1/media/")) {
+			return "youtubereporting.media.download";
+		}
+		return "unknown";
+	}
+
+	// ------------------------------------------------------------------ Data API
+
+	private Map<String, Object> channels(Map<String, List<String>> params, String channelOfToken) {
+		List<String> ids = "true".equals(first(params, "mine")) && channelOfToken != null ? List.of(channelOfToken) : all(params, "id");
+		List<Object> items = new ArrayList<>();
+		for (String id : ids) {
+			int channelIndex = catalog.channelIndex(id);
+			if (channelIndex >= 0) {
+				items.add(channelResource(channelIndex));
+			}
+		}
+		return listResponse("youtube#channelListResponse", items, null, items.size(), 5);
+	}
+
+	private Map<String, Object> channelResource(int channelIndex) {
+		String channelId = catalog.channelId(channelIndex);
+		String title = "Load Test Channel " + channelIndex;
+		return json(
+				"kind", "youtube#channel",
+				"id", channelId,
+				"snippet", json(
+						"title", title,
+						"description", "Synthetic channel for collector load tests.",
+						"customUrl", "@loadtest" + channelIndex,
+						"publishedAt", rfc3339(catalog.uploadDate(channelIndex, catalog.videoCount(channelIndex)).minusDays(30)),
+						"thumbnails", thumbnails("https://yt3.example.invalid/" + channelId),
+						"country", "KR"),
+				"statistics", json(
+						"viewCount", String.valueOf(catalog.channelViewCount(channelIndex)),
+						"subscriberCount", String.valueOf(catalog.subscriberCount(channelIndex)),
+						"hiddenSubscriberCount", false,
+						"videoCount", String.valueOf(catalog.videoCount(channelIndex))),
+				"contentDetails", json("relatedPlaylists", json("likes", "", "uploads", catalog.uploadsPlaylistId(channelIndex))),
+				"brandingSettings", json("channel", json("title", title, "description", "Synthetic channel for collector load tests.")));
+	}
+
+	private Map<String, Object> playlistItems(Map<String, List<String>> params) {
+		String playlistId = first(params, "playlistId");
+		int channelIndex = catalog.channelIndexOfPlaylist(playlistId);
+		if (channelIndex < 0) {
+			throw new ApiError(404, "playlistNotFound", "The playlist identified with the request's playlistId parameter cannot be found.");
+		}
+		int maxResults = Math.min(50, Math.max(0, intParam(params, "maxResults", 5)));
+		String pageToken = first(params, "pageToken");
+		int offset = pageToken != null && pageToken.startsWith("p") ? Integer.parseInt(pageToken.substring(1)) : 0;
+		int videoCount = catalog.videoCount(channelIndex);
+		int end = Math.min(videoCount, offset + maxResults);
+
+		List<Object> items = new ArrayList<>();
+		for (int videoIndex = offset; videoIndex < end; videoIndex++) {
+			String videoId = catalog.videoId(channelIndex, videoIndex);
+			String publishedAt = rfc3339(catalog.uploadDate(channelIndex, videoIndex));
+			items.add(json(
+					"kind", "youtube#playlistItem",
+					"id", "PLI" + videoId,
+					"snippet", json(
+							"publishedAt", publishedAt,
+							"channelId", catalog.channelId(channelIndex),
+							"title", videoTitle(channelIndex, videoIndex),
+							"description", "",
+							"thumbnails", thumbnails("https://i.ytimg.example.invalid/vi/" + videoId),
+							"playlistId", playlistId,
+							"position", videoIndex,
+							"resourceId", json("kind", "youtube#video", "videoId", videoId)),
+					"contentDetails", json("videoId", videoId, "videoPublishedAt", publishedAt)));
+		}
+		return listResponse("youtube#playlistItemListResponse", items, end < videoCount ? "p" + end : null, videoCount, maxResults);
+	}
+
+	private Map<String, Object> videos(Map<String, List<String>> params) {
+		List<Object> items = new ArrayList<>();
+		for (String videoId : all(params, "id")) {
+			int[] index = catalog.videoIndex(videoId);
+			if (index != null) {
+				items.add(videoResource(index[0], index[1]));
+			}
+		}
+		return listResponse("youtube#videoListResponse", items, null, items.size(), items.size());
+	}
+
+	private Map<String, Object> videoResource(int channelIndex, int videoIndex) {
+		String videoId = catalog.videoId(channelIndex, videoIndex);
+		return json(
+				"kind", "youtube#video",
+				"id", videoId,
+				"snippet", json(
+						"publishedAt", rfc3339(catalog.uploadDate(channelIndex, videoIndex)),
+						"channelId", catalog.channelId(channelIndex),
+						"title", videoTitle(channelIndex, videoIndex),
+						"description", "Synthetic video " + videoIndex + " of load test channel " + channelIndex + ".",
+						"thumbnails", thumbnails("https://i.ytimg.example.invalid/vi/" + videoId),
+						"channelTitle", "Load Test Channel " + channelIndex,
+						"tags", List.of("loadtest", "channel" + channelIndex),
+						"categoryId", String.valueOf(20 + catalog.value(channelIndex, videoIndex, "category") % 10),
+						"liveBroadcastContent", "none",
+						"defaultAudioLanguage", "ko"),
+				"contentDetails", json(
+						"duration", Duration.ofSeconds(catalog.videoDurationSeconds(channelIndex, videoIndex)).toString(),
+						"dimension", "2d",
+						"definition", "hd",
+						"caption", "false"),
+				"statistics", json(
+						"viewCount", String.valueOf(catalog.videoViewCount(channelIndex, videoIndex)),
+						"likeCount", String.valueOf(catalog.videoLikeCount(channelIndex, videoIndex)),
+						"favoriteCount", "0",
+						"commentCount", String.valueOf(catalog.videoCommentCount(channelIndex, videoIndex))),
+				"status", json(
+						"uploadStatus", "processed",
+						"privacyStatus", "public",
+						"license", "youtube",
+						"embeddable", true,
+						"publicStatsViewable", true));
+	}
+
+	private static String videoTitle(int channelIndex, int videoIndex) {
+		return "Load test video " + channelIndex + "-" + videoIndex;
+	}
+
+	private static Map<String, Object> thumbnails(String baseUrl) {
+		return json(
+				"default", json("url", baseUrl + "/default.jpg", "width", 120, "height", 90),
+				"medium", json("url", baseUrl + "/mqdefault.jpg", "width", 320, "height", 180),
+				"high", json("url", baseUrl + "/hqdefault.jpg", "width", 480, "height", 360));
+	}
+
+	private static Map<String, Object> listResponse(String kind, List<Object> items, String nextPageToken, int totalResults,
+			int resultsPerPage) {
+		Map<String, Object> response = json("kind", kind);
+		if (nextPageToken != null) {
+			response.put("nextPageToken", nextPageToken);
+		}
+		response.put("pageInfo", json("totalResults", totalResults, "resultsPerPage", resultsPerPage));
+		response.put("items", items);
+		return response;
+	}
+
+	// ------------------------------------------------------------------ Analytics API
+
+	private Map<String, Object> analyticsQuery(Map<String, List<String>> params, String channelOfToken) {
+		String ids = first(params, "ids");
+		if (ids == null || !ids.startsWith("channel==")) {
+			throw new ApiError(400, "badRequest", "Required parameter: ids");
+		}
+		String channelId = ids.substring("channel==".length());
+		int channelIndex = catalog.channelIndex("MINE".equals(channelId) ? channelOfToken : channelId);
+		if (channelIndex < 0) {
+			throw new ApiError(403, "forbidden", "Forbidden");
+		}
+		LocalDate startDate = dateParam(params, "startDate");
+		LocalDate endDate = dateParam(params, "endDate");
+		List<String> metrics = splitComma(first(params, "metrics"));
+		if (metrics.isEmpty()) {
+			throw new ApiError(400, "badRequest", "Required parameter: metrics");
+		}
+		List<String> dimensions = splitComma(first(params, "dimensions"));
+		List<String> filteredVideos = videoFilter(first(params, "filters"));
+
+		List<List<String>> domains = new ArrayList<>();
+		for (String dimension : dimensions) {
+			domains.add(dimensionValues(dimension, channelIndex, startDate, endDate, filteredVideos));
+		}
+
+		// 기간 합계 리포트는 기간이 길수록, 비디오 단위 리포트는 비디오 수가 많을수록 값을 키우거나 나눕니다.
+		long days = dimensions.contains("day") ? 1 : dimensions.contains("month") ? 30 : ChronoUnit.DAYS.between(startDate, endDate) + 1;
+		long dailyViews = Math.max(10, catalog.subscriberCount(channelIndex) / 50);
+		boolean perVideo = dimensions.contains("video") || !filteredVideos.isEmpty();
+		long viewsScale = Math.max(1, dailyViews * days / (perVideo ? Math.max(1, catalog.videoCount(channelIndex) / 4) : 1));
+		String scope = String.join(",", filteredVideos);
+
+		List<List<Object>> rows = new ArrayList<>();
+		for (List<String> dimensionValues : cartesianProduct(domains)) {
+			String rowKey = scope + "|" + String.join("|", dimensionValues);
+			long views = catalog.value(channelIndex, -1, "views|" + rowKey) % (viewsScale * 2 + 1);
+			List<Object> row = new ArrayList<>(dimensionValues);
+			for (String metric : metrics) {
+				row.add(metricValue(channelIndex, metric, rowKey, views));
+			}
+			rows.add(row);
+		}
+		normalizePercentages(rows, dimensions.size(), metrics);
+		sortRows(rows, first(params, "sort"), dimensions, metrics);
+
+		int startIndex = Math.max(1, intParam(params, "startIndex", 1));
+		int maxResults = intParam(params, "maxResults", Integer.MAX_VALUE);
+		int from = Math.min(rows.size(), startIndex - 1);
+		List<List<Object>> page = rows.subList(from, (int) Math.min(rows.size(), (long) from + Math.max(0, maxResults)));
+
+		List<Object> columnHeaders = new ArrayList<>();
+		for (String dimension : dimensions) {
+			columnHeaders.add(json("name", dimension, "columnType", "DIMENSION", "dataType", "STRING"));
+		}
+		for (String metric : metrics) {
+			columnHeaders.add(json("name", metric, "columnType", "METRIC", "dataType", FLOAT_METRICS.contains(metric) ? "FLOAT" : "INTEGER"));
+		}
+		Map<String, Object> response = json("kind", "youtubeAnalytics#resultTable", "columnHeaders", columnHeaders);
+		if (!page.isEmpty()) {
+			response.put("rows", page);
+		}
+		return response;
+	}
+
+	private List<String> dimensionValues(String dimension, int channelIndex, LocalDate startDate, LocalDate endDate,
+			List<String> filteredVideos) {
+		switch (dimension) {
+		case "day":
+			return startDate.datesUntil(endDate.plusDays(1)).map(LocalDate::toString).collect(Collectors.toList());
+		case "month":
+			return startDate.withDayOfMonth(1).datesUntil(endDate.plusDays(1), java.time.Period.ofMonths(1))
+					.map(date -> date.toString().substring(0, 7)).collect(Collectors.toList());
+		case "video":
+			if (!filteredVideos.isEmpty()) {
+				return filteredVideos;
+			}
+			List<String> videos = new ArrayList<>();
+			for (int videoIndex = 0; videoIndex < catalog.videoCount(channelIndex); videoIndex++) {
+				if (!catalog.uploadDate(channelIndex, videoIndex).isAfter(endDate)) {
+					videos.add(catalog.videoId(channelIndex, videoIndex));
+				}
+			}
+			return videos;
+		case "gender":
+			return GENDERS;
+		case "ageGroup":
+			return AGE_GROUPS;
+		case "country":
+			return COUNTRIES;
+		case "insightTrafficSourceType":
+			return TRAFFIC_SOURCE_TYPES;
+		case "insightPlaybackLocationType":
+			return PLAYBACK_LOCATION_TYPES;
+		case "deviceType":
+			return DEVICE_TYPES;
+		case "subscribedStatus":
+			return SUBSCRIBED_STATUSES;
+		default:
+			throw new ApiError(400, "badRequest", "Unknown identifier (" + dimension + ") given in field parameters.dimensions.");
+		}
+	}
+
+	private Object metricValue(int channelIndex, String metric, String rowKey, long views) {
+		long hash = catalog.value(channelIndex, -1, metric + "|" + rowKey);
+		long averageViewDuration = 30 + catalog.value(channelIndex, -1, "averageViewDuration|" + rowKey) % 600;
+		return switch (metric) {
+		case "views" -> views;
+		case "averageViewDuration" -> averageViewDuration;
+		case "estimatedMinutesWatched" -> views * averageViewDuration / 60;
+		case "subscribersGained" -> views / (100 + hash % 400);
+		case "subscribersLost" -> views / (300 + hash % 1200);
+		case "likes" -> views / (20 + hash % 60);
+		case "dislikes" -> views / (500 + hash % 1500);
+		case "comments" -> views / (200 + hash % 800);
+		case "shares" -> views / (300 + hash % 700);
+		// 행마다 가중치를 주고 normalizePercentages 에서 합이 100 이 되도록 맞춥니다.
+		case "viewerPercentage" -> (double) (1 + hash % 1000);
+		case "averageViewPercentage" -> (2000 + hash % 6000) / 100.0;
+		case "cardClickRate", "annotationClickThroughRate" -> (hash % 500) / 10000.0;
+		default -> hash % 1000;
+		};
+	}
+
+	private static void normalizePercentages(List<List<Object>> rows, int dimensionCount, List<String> metrics) {
+		int column = metrics.indexOf("viewerPercentage");
+		if (column < 0 || rows.isEmpty()) {
+			return;
+		}
+		int index = dimensionCount + column;
+		double total = rows.stream().mapToDouble(row -> (Double) row.get(index)).sum();
+		for (List<Object> row : rows) {
+			row.set(index, Math.round((Double) row.get(index) * 1000 / total) / 10.0);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void sortRows(List<List<Object>> rows, String sort, List<String> dimensions, List<String> metrics) {
+		List<String> sortFields = splitComma(sort);
+		if (sortFields.isEmpty()) {
+			return;
+		}
+		String field = sortFields.get(0);
+		boolean descending = field.startsWith("-");
+		String name = descending ? field.substring(1) : field;
+		int index = dimensions.indexOf(name);
+		if (index < 0) {
+			index = metrics.indexOf(name);
+			if (index < 0) {
+				throw new ApiError(400, "badRequest", "The sort field " + name + " is not a requested dimension or metric.");
+			}
+			index += dimensions.size();
+		}
+		int column = index;
+		Comparator<List<Object>> comparator = Comparator.comparing(row -> (Comparable) row.get(column));
+		rows.sort(descending ? comparator.reversed() : comparator);
+	}
+
+	private static List<List<String>> cartesianProduct(List<List<String>> domains) {
+		List<List<String>> product = new ArrayList<>();
+		product.add(List.of());
+		for (List<String> domain : domains) {
+			List<List<String>> next = new ArrayList<>(product.size() * domain.size());
+			for (List<String> prefix : product) {
+				for (String value : domain) {
+					List<String> row = new ArrayList<>(prefix);
+					row.add(value);
+					next.add(row);
+				}
+			}
+			product = next;
+		}
+		return product;
+	}
+
+	// "video==a,b;country==KR" → [a, b]
+	private static List<String> videoFilter(String filters) {
+		for (String filter : splitOn(filters, ";")) {
+			if (filter.startsWith("video==")) {
+				return splitComma(filter.substring("video==".length()));
+			}
+		}
+		return List.of();
+	}
+
+	// ------------------------------------------------------------------ Reporting API
+
+	private Map<String, Object> listJobs(String channelOfToken) {
+		int channelIndex = requireOwnChannel(channelOfToken);
+		List<Object> jobs = reportingJobs.values().stream()
+				.filter(job -> job.channelIndex == channelIndex)
+				.sorted(Comparator.comparing(job -> job.id))
+				.map(ReportingJob::toJson)
+				.collect(Collectors.toList());
+		return jobs.isEmpty() ? json() : json("jobs", jobs);
+	}
+
+	private Map<String, Object> createJob(HttpExchange exchange, String channelOfToken) throws IOException {
+		int channelIndex = requireOwnChannel(channelOfToken);
+		JsonNode body = objectMapper.readTree(requestBody(exchange));
+		String reportTypeId = body.path("reportTypeId").asText(null);
+		if (reportTypeId == null || !REPORT_HEADERS.containsKey(reportTypeId)) {
+			throw new ApiError(400, "badRequest", "Invalid reportTypeId: " + reportTypeId);
+		}
+		ReportingJob job = new ReportingJob("job-" + jobSequence.incrementAndGet(), channelIndex, reportTypeId,
+				body.path("name").asText(reportTypeId), Instant.now().truncatedTo(ChronoUnit.SECONDS));
+		reportingJobs.put(job.id, job);
+		return job.toJson();
+	}
+
+	private Map<String, Object> listReports(String path, Map<String, List<String>> params, String channelOfToken) {
+		int channelIndex = requireOwnChannel(channelOfToken);
+		String jobId = path.substring("/v1/jobs/".length(), path.length() - "/reports".length());
+		ReportingJob job = reportingJobs.get(jobId);
+		if (job == null || job.channelIndex != channelIndex) {
+			throw new ApiError(404, "notFound", "Job " + jobId + " not found.");
+		}
+		String createdAfter = first(params, "createdAfter");
+		Instant createdAfterInstant = createdAfter != null ? Instant.parse(createdAfter) : Instant.EPOCH;
+
+		List<Object> reports = new ArrayList<>();
+		LocalDate today = LocalDate.now(REPORT_ZONE);
+		for (int daysAgo = reportDays + 1; daysAgo >= 2; daysAgo--) {
+			LocalDate reportDate = today.minusDays(daysAgo);
+			Instant startTime = reportDate.atStartOfDay(REPORT_ZONE).toInstant();
+			Instant endTime = reportDate.plusDays(1).atStartOfDay(REPORT_ZONE).toInstant();
+			Instant createTime = endTime.plus(12, ChronoUnit.HOURS);
+			if (!createTime.isAfter(createdAfterInstant)) {
+				continue;
+			}
+			String date = reportDate.format(DateTimeFormatter.BASIC_ISO_DATE);
+			reports.add(json(
+					"id", jobId + "-" + date,
+					"jobId", jobId,
+					"startTime", startTime.toString(),
+					"endTime", endTime.toString(),
+					"createTime", createTime.toString(),
+					"downloadUrl", baseUrl() + "v1/media/" + jobId + "/" + date + "?alt=media"));
+		}
+		return reports.isEmpty() ? json() : json("reports", reports);
+	}
+
+	private String reportCsv(String path) {
+		String[] parts = path.substring("/v1/media/".length()).split("/");
+		ReportingJob job = parts.length == 2 ? reportingJobs.get(parts[0]) : null;
+		if (job == null) {
+			throw new ApiError(404, "notFound", "Report " + path + " not found.");
+		}
+		String date = parts[1];
+		LocalDate reportDate = LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+		int channelIndex = job.channelIndex;
+		String channelId = catalog.channelId(channelIndex);
+
+		StringBuilder csv = new StringBuilder(REPORT_HEADERS.get(job.reportTypeId)).append('\n');
+		for (int videoIndex = 0; videoIndex < catalog.videoCount(channelIndex); videoIndex++) {
+			if (catalog.uploadDate(channelIndex, videoIndex).isAfter(reportDate)) {
+				continue;
+			}
+			String videoId = catalog.videoId(channelIndex, videoIndex);
+			for (String subscribedStatus : List.of("subscribed", "not_subscribed")) {
+				String prefix = date + "," + channelId + "," + videoId + ",on_demand," + subscribedStatus + ",KR,";
+				String key = videoId + "|" + date + "|" + subscribedStatus;
+				long views = catalog.value(channelIndex, videoIndex, "reportViews|" + key) % 500;
+				switch (job.reportTypeId) {
+				case "channel_basic_a2" -> csv.append(prefix).append(views).append(',').append(views / 150).append(',')
+						.append(views / 25).append(",0,").append(views / 400).append(',').append(views * 3).append(",180,")
+						.append(views / 120).append(',').append(views / 900).append('\n');
+				case "channel_demographics_a1" -> {
+					String[][] segments = { { "AGE_18_24", "MALE", "30.0" }, { "AGE_18_24", "FEMALE", "25.0" },
+							{ "AGE_25_34", "MALE", "20.0" }, { "AGE_25_34", "FEMALE", "15.0" }, { "AGE_35_44", "FEMALE", "10.0" } };
+					for (String[] segment : segments) {
+						csv.append(prefix).append(segment[0]).append(',').append(segment[1]).append(',').append(segment[2]).append('\n');
+					}
+				}
+				case "channel_traffic_source_a2" -> {
+					long[] shares = { 40, 30, 20, 10 };
+					String[] sources = { "3", "5", "7", "9" };
+					for (int i = 0; i < sources.length; i++) {
+						long sourceViews = views * shares[i] / 100;
+						csv.append(prefix).append(sources[i]).append(",,").append(sourceViews).append(',').append(sourceViews * 3).append('\n');
+					}
+				}
+				case "channel_device_os_a2" -> {
+					long[] shares = { 60, 30, 10 };
+					String[] devices = { "104", "101", "105" };
+					for (int i = 0; i < devices.length; i++) {
+						long deviceViews = views * shares[i] / 100;
+						csv.append(prefix).append(devices[i]).append(",1,").append(deviceViews).append(',').append(deviceViews * 3).append('\n');
+					}
+				}
+				default -> throw new ApiError(404, "notFound", "Unknown report type " + job.reportTypeId);
+				}
+			}
+		}
+		return csv.toString();
+	}
+
+	private int requireOwnChannel(String channelOfToken) {
+		int channelIndex = catalog.channelIndex(channelOfToken);
+		if (channelIndex < 0) {
+			throw new ApiError(403, "forbidden", "The caller does not have permission.");
+		}
+		return channelIndex;
+	}
+
+	private static final class ReportingJob {
+
+		private final String id;
+		private final int channelIndex;
+		private final String reportTypeId;
+		private final String name;
+		private final Instant createTime;
+
+		private ReportingJob(String id, int channelIndex, String reportTypeId, String name, Instant createTime) {
+			this.id = id;
+			this.channelIndex = channelIndex;
+			this.reportTypeId = reportTypeId;
+			this.name = name;
+			this.createTime = createTime;
+		}
+
+		private Map<String, Object> toJson() {
+			return json("id", id, "reportTypeId", reportTypeId, "name", name, "createTime", createTime.toString());
+		}
+	}
+
+	// ------------------------------------------------------------------ HTTP
+
+	private void sendDataApi(HttpExchange exchange, Map<String, Object> response) throws IOException {
+		// 실제 API 처럼 응답 내용이 같으면 etag 도 같습니다.
+		String etag = "\"" + Long.toHexString(mixHash(objectMapper.writeValueAsString(response))) + "\"";
+		response.put("etag", etag);
+		String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+		exchange.getResponseHeaders().set("ETag", etag);
+		if (etag.equals(ifNoneMatch)) {
+			count("result.not_modified");
+			exchange.sendResponseHeaders(304, -1);
+			return;
+		}
+		sendJson(exchange, 200, response);
+	}
+
+	private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+		send(exchange, status, objectMapper.writeValueAsBytes(body));
+	}
+
+	private void sendCsv(HttpExchange exchange, String body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "text/csv; charset=UTF-8");
+		send(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void sendError(HttpExchange exchange, int status, String domain, String reason, String message) throws IOException {
+		sendJson(exchange, status, json("error", json(
+				"code", status,
+				"message", message,
+				"errors", List.of(json("domain", domain, "reason", reason, "message", message)))));
+	}
+
+	// Google API 클라이언트는 Accept-Encoding: gzip 을 보내므로 실제 API 처럼 압축해서 돌려줍니다.
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+			exchange.sendResponseHeaders(status, 0);
+			try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+				out.write(body);
+			}
+		} else {
+			exchange.sendResponseHeaders(status, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+	}
+
+	// Google API 클라이언트는 POST 본문을 gzip 으로 압축해 보냅니다.
+	private static byte[] requestBody(HttpExchange exchange) throws IOException {
+		InputStream in = exchange.getRequestBody();
+		if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+			in = new GZIPInputStream(in);
+		}
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		in.transferTo(body);
+		return body.toByteArray();
+	}
+
+	private static String channelOfToken(HttpExchange exchange) {
+		String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+		if (authorization == null || !authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+			return null;
+		}
+		return authorization.substring(("Bearer " + TOKEN_PREFIX).length());
+	}
+
+	private void simulateLatency() throws InterruptedIOException {
+		long delay = latencyMs + (latencyJitterMs > 0 ? (long) (nextDouble() * (latencyJitterMs + 1)) : 0);
+		if (delay <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.MILLISECONDS.sleep(delay);
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("Interrupted while simulating latency");
+		}
+	}
+
+	private double nextDouble() {
+		return random.nextDouble();
+	}
+
+	private void count(String operation) {
+		calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+	}
+
+	private static Map<String, List<String>> queryParams(String rawQuery) {
+		Map<String, List<String>> params = new LinkedHashMap<>();
+		for (String pair : splitOn(rawQuery, "&")) {
+			int separator = pair.indexOf('=');
+			String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+			String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+			params.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+		}
+		return params;
+	}
+
+	private static String first(Map<String, List<String>> params, String name) {
+		List<String> values = params.get(name);
+		return values == null || values.isEmpty() ? null : values.get(0);
+	}
+
+	// 목록 파라미터는 반복(id=a&id=b)이나 쉼표(id=a,b)로 올 수 있습니다.
+	private static List<String> all(Map<String, List<String>> params, String name) {
+		return params.getOrDefault(name, List.of()).stream()
+				.flatMap(value -> splitComma(value).stream())
+				.collect(Collectors.toList());
+	}
+
+	private static int intParam(Map<String, List<String>> params, String name, int defaultValue) {
+		String value = first(params, name);
+		try {
+			return value != null ? Integer.parseInt(value) : defaultValue;
+		} catch (NumberFormatException e) {
+			throw new ApiError(400, "invalidParameter", "Invalid value for " + name + ": " + value);
+		}
+	}
+
+	private static LocalDate dateParam(Map<String, List<String>> params, String name) {
+		String value = first(params, name);
+		if (value == null) {
+			throw new ApiError(400, "badRequest", "Required parameter: " + name);
+		}
+		try {
+			return LocalDate.parse(value);
+		} catch (RuntimeException e) {
+			throw new ApiError(400, "badRequest", "Invalid value for " + name + ": " + value);
+		}
+	}
+
+	private static List<String> splitComma(String value) {
+		return splitOn(value, ",");
+	}
+
+	private static List<String> splitOn(String value, String separator) {
+		if (value == null || value.isEmpty()) {
+			return List.of();
+		}
+		return Arrays.stream(value.split(separator)).map(String::trim).filter(part -> !part.isEmpty()).collect(Collectors.toList());
+	}
+
+	private static String rfc3339(LocalDate date) {
+		return date.atTime(9, 0).toInstant(ZoneOffset.UTC).toString();
+	}
+
+	private static long mixHash(String value) {
+		long hash = 0xCBF29CE484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+		}
+		return hash;
+	}
+
+	private static Map<String, Object> json(Object... keysAndValues) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+
+	/**
+	 * 4xx 로 돌려줄 요청 오류.
+	 */
+	private static final class ApiError extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int status;
+		private final String reason;
+
+		private ApiError(int status, String reason, String message) {
+			super(message);
+			this.status = status;
+			this.reason = reason;
+		}
+	}
+}
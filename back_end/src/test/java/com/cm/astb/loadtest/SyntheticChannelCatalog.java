@@ -0,0 +1,163 @@
+package com.cm.astb.loadtest;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 부하 테스트용 가상 채널/비디오 목록.
+ *
+ * 채널과 비디오는 인덱스로만 정의되며, 모든 값(구독자 수, 업로드 날짜, 일별 조회수 등)은 seed 와 인덱스의 해시로 정해지므로
+ * 같은 seed 로 다시 실행하면 같은 데이터가 나옵니다.
+ * runSalt 는 ID 에만 들어가, 실행마다 DB 에 서로 겹치지 않는 채널/비디오 ID 를 만듭니다. (데이터 값에는 영향 없음)
+ *
+ * - 채널 ID: "UClt" + runSalt(16진수 6자리) + 채널 인덱스(10진수 14자리) = 24자
+ * - 비디오 ID: runSalt(24bit) + 채널 인덱스(20bit) + 비디오 인덱스(20bit) 를 base64url 로 인코딩한 11자
+ * - 업로드 재생목록 ID: 채널 ID 의 "UC" 를 "UU" 로 바꾼 값 (YouTube 와 같음)
+ */
+final class SyntheticChannelCatalog {
+
+	static final String CHANNEL_ID_PREFIX = "UClt";
+
+	private static final int MAX_INDEX = (1 << 20) - 1;
+
+	private final long seed;
+	private final int runSalt;
+	private final int videosPerChannel;
+	private final LocalDate today;
+
+	SyntheticChannelCatalog(long seed, int runSalt, int videosPerChannel, LocalDate today) {
+		this.seed = seed;
+		this.runSalt = runSalt & 0xFFFFFF;
+		this.videosPerChannel = Math.max(1, videosPerChannel);
+		this.today = today;
+	}
+
+	/** 이번 실행의 채널 ID 접두사. DB 에서 이번 실행이 만든 행을 찾을 때 LIKE 조건으로 씁니다. */
+	String channelIdPrefix() {
+		return CHANNEL_ID_PREFIX + String.format("%06x", runSalt);
+	}
+
+	String channelId(int channelIndex) {
+		return channelIdPrefix() + String.format("%014d", channelIndex);
+	}
+
+	/**
+	 * @return 채널 인덱스. 이번 실행의 가상 채널 ID 가 아니면 -1
+	 */
+	int channelIndex(String channelId) {
+		if (channelId == null || channelId.length() != 24 || !channelId.startsWith(channelIdPrefix())) {
+			return -1;
+		}
+		try {
+			long index = Long.parseLong(channelId.substring(channelIdPrefix().length()));
+			return index <= MAX_INDEX ? (int) index : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	String uploadsPlaylistId(int channelIndex) {
+		return "UU" + channelId(channelIndex).substring(2);
+	}
+
+	/**
+	 * @return 업로드 재생목록의 채널 인덱스. 가상 채널의 업로드 재생목록이 아니면 -1
+	 */
+	int channelIndexOfPlaylist(String playlistId) {
+		if (playlistId == null || !playlistId.startsWith("UU")) {
+			return -1;
+		}
+		return channelIndex("UC" + playlistId.substring(2));
+	}
+
+	/**
+	 * 채널의 비디오 수. videosPerChannel 의 절반 ~ 1.5배 사이에서 채널마다 다릅니다.
+	 */
+	int videoCount(int channelIndex) {
+		return Math.min(MAX_INDEX, videosPerChannel / 2 + (int) (value(channelIndex, -1, "videoCount") % (videosPerChannel + 1)));
+	}
+
+	/**
+	 * 비디오 ID. 비디오 인덱스 0 이 가장 최근에 업로드된 비디오입니다. (업로드 재생목록 순서)
+	 */
+	String videoId(int channelIndex, int videoIndex) {
+		long bits = ((long) runSalt << 40) | ((long) channelIndex << 20) | videoIndex;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(bits).array());
+	}
+
+	/**
+	 * @return {채널 인덱스, 비디오 인덱스}. 이번 실행의 가상 비디오가 아니면 null
+	 */
+	int[] videoIndex(String videoId) {
+		if (videoId == null || videoId.length() != 11) {
+			return null;
+		}
+		long bits;
+		try {
+			bits = ByteBuffer.wrap(Base64.getUrlDecoder().decode(videoId)).getLong();
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		int channelIndex = (int) ((bits >>> 20) & MAX_INDEX);
+		int videoIndex = (int) (bits & MAX_INDEX);
+		if ((int) (bits >>> 40) != runSalt || !videoId.equals(videoId(channelIndex, videoIndex)) || videoIndex >= videoCount(channelIndex)) {
+			return null;
+		}
+		return new int[] { channelIndex, videoIndex };
+	}
+
+	/**
+	 * 업로드 날짜. 최근 비디오일수록 오늘에 가깝고, 비디오 사이 간격은 1~5일입니다.
+	 */
+	LocalDate uploadDate(int channelIndex, int videoIndex) {
+		return today.minusDays(1 + 3L * videoIndex + value(channelIndex, videoIndex, "uploadOffset") % 3);
+	}
+
+	long subscriberCount(int channelIndex) {
+		return 1_000 + value(channelIndex, -1, "subscribers") % 2_000_000;
+	}
+
+	long channelViewCount(int channelIndex) {
+		return subscriberCount(channelIndex) * (50 + value(channelIndex, -1, "viewsPerSubscriber") % 400);
+	}
+
+	long videoViewCount(int channelIndex, int videoIndex) {
+		return value(channelIndex, videoIndex, "videoViews") % (subscriberCount(channelIndex) * 3 + 1);
+	}
+
+	long videoLikeCount(int channelIndex, int videoIndex) {
+		return videoViewCount(channelIndex, videoIndex) / (20 + value(channelIndex, videoIndex, "likeRatio") % 60);
+	}
+
+	long videoCommentCount(int channelIndex, int videoIndex) {
+		return videoViewCount(channelIndex, videoIndex) / (200 + value(channelIndex, videoIndex, "commentRatio") % 800);
+	}
+
+	/** 재생 시간(초). 30초 ~ 1시간 */
+	int videoDurationSeconds(int channelIndex, int videoIndex) {
+		return 30 + (int) (value(channelIndex, videoIndex, "duration") % 3_570);
+	}
+
+	/**
+	 * 채널/비디오/키로 정해지는 0 이상의 의사 난수. 같은 인자에는 항상 같은 값을 돌려줍니다.
+	 *
+	 * @param videoIndex 채널 단위 값이면 -1
+	 * @param key        값의 종류와 행 키 (예: "views|2024-05-01")
+	 */
+	long value(int channelIndex, int videoIndex, String key) {
+		long hash = seed * 0x9E3779B97F4A7C15L + channelIndex;
+		hash = mix(hash * 31 + videoIndex);
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+		}
+		return mix(hash) >>> 1;
+	}
+
+	// SplitMix64 finalizer
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,171 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.api.services.youtubeAnalytics.v2.model.QueryResponse;
+import com.google.api.services.youtubeAnalytics.v2.model.ResultTableColumnHeader;
+
+class AnalyticsResultTableTest {
+
+	@Test
+	void decodesColumnsByType() {
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(
+				List.of(dimension("day"), metric("views", "INTEGER"), metric("averageViewPercentage", "FLOAT")),
+				row("2025-01-01", new BigDecimal("120"), new BigDecimal("43.75"))));
+
+		assertEquals(1, table.rowCount());
+		assertEquals(3, table.columnCount());
+		assertTrue(table.isDimension(table.requireColumn("day")));
+		assertFalse(table.isDimension(table.requireColumn("views")));
+		assertEquals("2025-01-01", table.getString(0, 0));
+		assertEquals(120L, table.getLong(0, 1));
+		assertEquals(120d, table.getDouble(0, 1));
+		assertEquals(43.75d, table.getDouble(0, 2));
+		assertEquals(Long.valueOf(120L), table.getValue(0, 1));
+		assertEquals(Double.valueOf(43.75d), table.getValue(0, 2));
+	}
+
+	@Test
+	void getLongTruncatesFractionalMetricsLikeBigDecimal() {
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(
+				List.of(metric("estimatedMinutesWatched", "FLOAT"), metric("views", "INTEGER")),
+				row(new BigDecimal("12.7"), new BigDecimal("3.9")),
+				row(new BigDecimal("-0.5"), "42"),
+				row(new BigDecimal("99.999"), null)));
+
+		assertEquals(new BigDecimal("12.7").longValue(), table.getLong(0, 0));
+		assertEquals(12L, table.getLong(0, 0));
+		assertEquals(3L, table.getLong(0, 1)); // INTEGER 열에 소수가 와도 버림
+		assertEquals(0L, table.getLong(1, 0));
+		assertEquals(42L, table.getLong(1, 1)); // 문자열 숫자
+		assertEquals(99L, table.getLong(2, 0));
+		assertEquals(0L, table.getLong(2, 1)); // 빈 값은 0
+		assertEquals(111L, table.sumLong(0));
+	}
+
+	@Test
+	void builderAppendsPagesInOrder() {
+		List<ResultTableColumnHeader> headers = List.of(dimension("day"), metric("views", "INTEGER"));
+		AnalyticsResultTable.Builder builder = AnalyticsResultTable.builder();
+		List<List<Object>> firstPage = new ArrayList<>();
+		for (int day = 1; day <= 3; day++) {
+			firstPage.add(row("2025-01-0" + day, BigDecimal.valueOf(day * 10L)));
+		}
+		builder.append(new QueryResponse().setColumnHeaders(headers).setRows(firstPage));
+		builder.append(new QueryResponse().setColumnHeaders(headers).setRows(null));
+		builder.append(response(headers, row("2025-01-04", BigDecimal.valueOf(40L)), row("2025-01-05", BigDecimal.valueOf(50L))));
+
+		AnalyticsResultTable table = builder.build();
+
+		assertEquals(5, table.rowCount());
+		for (int row = 0; row < 5; row++) {
+			assertEquals("2025-01-0" + (row + 1), table.getString(row, 0));
+			assertEquals((row + 1) * 10L, table.getLong(row, 1));
+		}
+		assertEquals(150L, table.sumLong(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> table.getLong(5, 1));
+	}
+
+	@Test
+	void builderRejectsPageWithDifferentColumns() {
+		AnalyticsResultTable.Builder builder = AnalyticsResultTable.builder()
+				.append(response(List.of(dimension("day"), metric("views", "INTEGER")), row("2025-01-01", BigDecimal.ONE)));
+
+		assertThrows(IllegalArgumentException.class, () -> builder.append(response(
+				List.of(dimension("day"), metric("likes", "INTEGER")), row("2025-01-02", BigDecimal.ONE))));
+		assertThrows(IllegalArgumentException.class, () -> builder.append(response(
+				List.of(dimension("day")), row("2025-01-02"))));
+		assertEquals(1, builder.build().rowCount());
+	}
+
+	@Test
+	void dimensionValuesShareOneInstancePerTable() {
+		String first = new String("MOBILE");
+		String second = new String("MOBILE");
+		assertNotSame(first, second);
+
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(
+				List.of(dimension("deviceType"), metric("views", "INTEGER")),
+				row(first, BigDecimal.ONE), row(second, BigDecimal.TEN)));
+
+		assertSame(table.getString(0, 0), table.getString(1, 0));
+	}
+
+	@Test
+	void dimensionTypeFallsBackToStringDataType() {
+		ResultTableColumnHeader untyped = new ResultTableColumnHeader().setName("insightTrafficSourceType").setDataType("STRING");
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(List.of(untyped, metric("views", "INTEGER")),
+				row("YT_SEARCH", BigDecimal.ONE)));
+
+		assertTrue(table.isDimension(0));
+		assertEquals("YT_SEARCH", table.getString(0, 0));
+	}
+
+	@Test
+	void rowIndexByUsesLastRowForDuplicateValues() {
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(
+				List.of(dimension("video"), metric("views", "INTEGER")),
+				row("a", BigDecimal.ONE), row("b", BigDecimal.ONE), row("a", BigDecimal.TEN)));
+
+		Map<String, Integer> rowIndexes = table.rowIndexBy("video");
+
+		assertEquals(2, rowIndexes.size());
+		assertEquals(Integer.valueOf(2), rowIndexes.get("a"));
+		assertEquals(Integer.valueOf(1), rowIndexes.get("b"));
+		assertTrue(table.rowIndexBy("missing").isEmpty());
+		assertThrows(IllegalStateException.class, () -> table.rowIndexBy("views"));
+	}
+
+	@Test
+	void wrongColumnKindAndMissingColumnsAreRejected() {
+		AnalyticsResultTable table = AnalyticsResultTable.from(response(
+				List.of(dimension("day"), metric("views", "INTEGER")), row("2025-01-01", BigDecimal.ONE)));
+
+		assertEquals(-1, table.columnIndex("likes"));
+		assertThrows(IllegalArgumentException.class, () -> table.requireColumn("likes"));
+		assertThrows(IllegalStateException.class, () -> table.getLong(0, 0));
+		assertThrows(IllegalStateException.class, () -> table.getString(0, 1));
+	}
+
+	@Test
+	void nullOrEmptyResponseGivesEmptyTable() {
+		assertTrue(AnalyticsResultTable.from(null).isEmpty());
+		assertTrue(AnalyticsResultTable.from(new QueryResponse()).isEmpty());
+
+		AnalyticsResultTable noRows = AnalyticsResultTable.from(new QueryResponse()
+				.setColumnHeaders(List.of(dimension("day"), metric("views", "INTEGER"))));
+		assertTrue(noRows.isEmpty());
+		assertEquals(1, noRows.requireColumn("views"));
+		assertEquals(0L, noRows.sumLong(1));
+	}
+
+	private static ResultTableColumnHeader dimension(String name) {
+		return new ResultTableColumnHeader().setName(name).setColumnType("DIMENSION").setDataType("STRING");
+	}
+
+	private static ResultTableColumnHeader metric(String name, String dataType) {
+		return new ResultTableColumnHeader().setName(name).setColumnType("METRIC").setDataType(dataType);
+	}
+
+	private static List<Object> row(Object... values) {
+		return Arrays.asList(values);
+	}
+
+	@SafeVarargs
+	private static QueryResponse response(List<ResultTableColumnHeader> headers, List<Object>... rows) {
+		return new QueryResponse().setColumnHeaders(headers).setRows(new ArrayList<>(Arrays.asList(rows)));
+	}
+}
@@ -0,0 +1,147 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.cm.astb.entity.CollectionShardLease;
+import com.cm.astb.repository.CollectionShardLeaseRepository;
+
+class CollectionShardLeaseServiceTest {
+
+	private static final String NODE_ID = "node-a";
+	private static final String OTHER_NODE_ID = "node-b";
+
+	private CollectionShardLeaseRepository repository;
+	private CollectionShardLeaseService service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(CollectionShardLeaseRepository.class);
+		service = new CollectionShardLeaseService(repository, mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "shardCount", 4);
+		ReflectionTestUtils.setField(service, "leaseSeconds", 120L);
+		ReflectionTestUtils.setField(service, "nodeId", NODE_ID);
+	}
+
+	@Test
+	void disabledServiceOwnsEveryShard() {
+		ReflectionTestUtils.setField(service, "enabled", false);
+
+		assertTrue(service.ownsShard(3));
+		assertTrue(service.ownsUser("google-id"));
+		assertTrue(service.isCoordinator());
+		assertTrue(service.getOwnedShards().isEmpty());
+	}
+
+	@Test
+	void expiredLeaseIsNotOwned() {
+		ownedShards().put(1, LocalDateTime.now().plusSeconds(60));
+		ownedShards().put(2, LocalDateTime.now().minusSeconds(1));
+
+		assertTrue(service.ownsShard(1));
+		assertFalse(service.ownsShard(2));
+		assertFalse(service.ownsShard(3));
+		assertFalse(service.isCoordinator());
+		assertEquals(Set.of(1), service.getOwnedShards());
+	}
+
+	@Test
+	void heartbeatTakesOverExpiredAndFreeShardsUpToFairShare() {
+		LocalDateTime now = LocalDateTime.now();
+		when(repository.findAllByOrderByShardNoAsc()).thenReturn(List.of(
+				lease(0, OTHER_NODE_ID, now.minusSeconds(10)),
+				lease(1, OTHER_NODE_ID, now.plusSeconds(60)),
+				lease(2, null, null),
+				lease(3, OTHER_NODE_ID, now.plusSeconds(60))));
+		when(repository.tryAcquire(anyInt(), eq(NODE_ID), any(), any())).thenReturn(1);
+
+		service.heartbeat();
+
+		// 살아 있는 노드 2개 → 몫은 2. 만료된 0번과 비어 있는 2번만 가져갑니다.
+		assertEquals(Set.of(0, 2), service.getOwnedShards());
+		assertTrue(service.isCoordinator());
+		verify(repository, never()).tryAcquire(eq(1), any(), any(), any());
+		verify(repository, never()).tryAcquire(eq(3), any(), any(), any());
+		assertTrue(ownedShards().get(0).isAfter(now.plusSeconds(119)));
+	}
+
+	@Test
+	void heartbeatDropsShardWhenRenewalFails() {
+		LocalDateTime now = LocalDateTime.now();
+		ownedShards().put(3, now.plusSeconds(60));
+		when(repository.tryAcquire(eq(3), eq(NODE_ID), any(), any())).thenReturn(0);
+		when(repository.findAllByOrderByShardNoAsc()).thenReturn(List.of(
+				lease(0, OTHER_NODE_ID, now.plusSeconds(60)),
+				lease(1, OTHER_NODE_ID, now.plusSeconds(60)),
+				lease(2, OTHER_NODE_ID, now.plusSeconds(60)),
+				lease(3, OTHER_NODE_ID, now.plusSeconds(60))));
+
+		service.heartbeat();
+
+		assertFalse(service.ownsShard(3));
+		assertTrue(service.getOwnedShards().isEmpty());
+	}
+
+	@Test
+	void heartbeatRenewsOwnedShardsAndReleasesExtrasWhenNodeJoins() {
+		LocalDateTime now = LocalDateTime.now();
+		ownedShards().put(0, now.plusSeconds(10));
+		ownedShards().put(1, now.plusSeconds(10));
+		ownedShards().put(2, now.plusSeconds(10));
+		when(repository.tryAcquire(anyInt(), eq(NODE_ID), any(), any())).thenReturn(1);
+		when(repository.findAllByOrderByShardNoAsc()).thenReturn(List.of(
+				lease(0, NODE_ID, now.plusSeconds(120)),
+				lease(1, NODE_ID, now.plusSeconds(120)),
+				lease(2, NODE_ID, now.plusSeconds(120)),
+				lease(3, OTHER_NODE_ID, now.plusSeconds(120))));
+
+		service.heartbeat();
+
+		// 몫이 2로 줄었으므로 번호가 가장 큰 2번을 반납하고, 조정 샤드 0번은 유지합니다.
+		assertEquals(Set.of(0, 1), service.getOwnedShards());
+		verify(repository).release(eq(2), eq(NODE_ID), any());
+		assertTrue(ownedShards().get(0).isAfter(now.plusSeconds(119)));
+	}
+
+	@Test
+	void shardOfIsStableAndWithinRange() {
+		int shardNo = service.shardOf("google-id");
+
+		assertEquals(shardNo, service.shardOf("google-id"));
+		assertTrue(shardNo >= 0 && shardNo < 4);
+		assertEquals(Math.floorMod("google-id".hashCode(), 4), shardNo);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Integer, LocalDateTime> ownedShards() {
+		return (Map<Integer, LocalDateTime>) ReflectionTestUtils.getField(service, "ownedShards");
+	}
+
+	private static CollectionShardLease lease(int shardNo, String ownerId, LocalDateTime leaseUntil) {
+		return CollectionShardLease.builder()
+				.shardNo(shardNo)
+				.ownerId(ownerId)
+				.leaseUntil(leaseUntil)
+				.updatedAt(LocalDateTime.now())
+				.build();
+	}
+}
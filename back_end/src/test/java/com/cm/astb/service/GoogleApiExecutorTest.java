@@ -0,0 +1,318 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.api.services.youtube.YouTube;
+import com.google.api.services.youtube.model.VideoListResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GoogleApiExecutorTest {
+
+	private ScriptedTransport transport;
+	private YouTube youTube;
+	private QuotaBudgetManager quotaBudgetManager;
+	private GoogleApiExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		transport = new ScriptedTransport();
+		youTube = new YouTube.Builder(transport, GsonFactory.getDefaultInstance(), null).setApplicationName("test").build();
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		quotaBudgetManager = new QuotaBudgetManager(meterRegistry);
+		ReflectionTestUtils.setField(quotaBudgetManager, "dailyLimit", 10000L);
+		ReflectionTestUtils.setField(quotaBudgetManager, "perCredentialDailyLimit", 10000L);
+
+		executor = new GoogleApiExecutor(meterRegistry, quotaBudgetManager);
+		ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+		ReflectionTestUtils.setField(executor, "initialBackoffMs", 1L);
+		ReflectionTestUtils.setField(executor, "maxBackoffMs", 4L);
+		ReflectionTestUtils.setField(executor, "maxElapsedMs", 10000L);
+		ReflectionTestUtils.setField(executor, "callTimeoutMs", 0L);
+		ReflectionTestUtils.setField(executor, "callThreads", 4);
+		ReflectionTestUtils.setField(executor, "circuitFailureThreshold", 3);
+		ReflectionTestUtils.setField(executor, "circuitOpenSeconds", 60L);
+		ReflectionTestUtils.setField(executor, "hedgeEnabled", false);
+		ReflectionTestUtils.setField(executor, "hedgeDelayMs", 1000L);
+		ReflectionTestUtils.setField(executor, "hedgeApis", List.of(GoogleApiExecutor.Api.ANALYTICS));
+		ReflectionTestUtils.setField(executor, "hedgeMaxConcurrent", 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void retriesServerErrorThenSucceeds() throws IOException {
+		executor.init();
+		transport.enqueue(error(503, "backendError"), ok("e1"));
+
+		VideoListResponse response = executor.execute(videosList());
+
+		assertEquals("e1", response.getEtag());
+		assertEquals(2, transport.getRequestCount());
+		// 처음 호출은 호출한 쪽이 acquire 로 차감하고, 재시도 한 번만 여기서 차감합니다.
+		assertEquals(1L, quotaBudgetManager.getUsedUnits());
+	}
+
+	@Test
+	void dataRetryIsSkippedWithoutBudget() throws IOException {
+		executor.init();
+		quotaBudgetManager.markExhausted("test");
+		transport.enqueue(error(503, "backendError"), ok("e1"));
+
+		GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+
+		assertEquals(503, e.getStatusCode());
+		assertEquals(1, transport.getRequestCount());
+	}
+
+	@Test
+	void retriesRateLimitedForbidden() throws IOException {
+		executor.init();
+		transport.enqueue(error(403, "rateLimitExceeded"), error(429, "rateLimitExceeded"), ok("e1"));
+
+		assertEquals("e1", executor.execute(videosList()).getEtag());
+		assertEquals(3, transport.getRequestCount());
+	}
+
+	@Test
+	void retriesNetworkError() throws IOException {
+		executor.init();
+		transport.enqueue(failing(new SocketException("Connection reset")), ok("e1"));
+
+		assertEquals("e1", executor.execute(videosList()).getEtag());
+		assertEquals(2, transport.getRequestCount());
+	}
+
+	@Test
+	void doesNotRetryClientError() throws IOException {
+		executor.init();
+		transport.enqueue(error(404, "videoNotFound"), ok("e1"));
+
+		GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+
+		assertEquals(404, e.getStatusCode());
+		assertEquals(1, transport.getRequestCount());
+	}
+
+	@Test
+	void quotaExceededIsNotRetriedAndExhaustsDataBudget() throws IOException {
+		executor.init();
+		transport.enqueue(error(403, "quotaExceeded"), ok("e1"));
+
+		GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+
+		assertEquals(403, e.getStatusCode());
+		assertEquals(1, transport.getRequestCount());
+		assertEquals(0L, quotaBudgetManager.getRemainingUnits());
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() throws IOException {
+		executor.init();
+		transport.enqueue(error(500, "backendError"), error(502, "backendError"), error(503, "backendError"), ok("e1"));
+
+		GoogleJsonResponseException e = assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+
+		assertEquals(503, e.getStatusCode());
+		assertEquals(3, transport.getRequestCount());
+	}
+
+	@Test
+	void circuitOpensAfterConsecutiveFailures() throws IOException {
+		ReflectionTestUtils.setField(executor, "maxAttempts", 1);
+		executor.init();
+		transport.enqueue(error(503, "backendError"), error(503, "backendError"), error(503, "backendError"), ok("e1"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		}
+		CircuitOpenException e = assertThrows(CircuitOpenException.class, () -> executor.execute(videosList()));
+
+		assertEquals(GoogleApiExecutor.Api.DATA, e.getApi());
+		assertEquals(3, transport.getRequestCount());
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() throws IOException {
+		ReflectionTestUtils.setField(executor, "maxAttempts", 1);
+		executor.init();
+		for (int i = 0; i < 5; i++) {
+			transport.enqueue(error(404, "videoNotFound"));
+		}
+		transport.enqueue(ok("e1"));
+
+		for (int i = 0; i < 5; i++) {
+			assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		}
+		assertEquals("e1", executor.execute(videosList()).getEtag());
+	}
+
+	@Test
+	void halfOpenProbeFailureReopensCircuit() throws IOException {
+		ReflectionTestUtils.setField(executor, "maxAttempts", 1);
+		ReflectionTestUtils.setField(executor, "circuitOpenSeconds", 0L);
+		executor.init();
+		for (int i = 0; i < 4; i++) {
+			transport.enqueue(error(503, "backendError"));
+		}
+		transport.enqueue(ok("e1"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		}
+		// 열린 시간이 지나 시험 호출 한 번이 나갑니다. 시험 호출이 실패하면 임계치와 관계없이 다시 열립니다.
+		assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		ReflectionTestUtils.setField(executor, "circuitOpenSeconds", 60L);
+
+		assertThrows(CircuitOpenException.class, () -> executor.execute(videosList()));
+		assertEquals(4, transport.getRequestCount());
+	}
+
+	@Test
+	void halfOpenProbeSuccessClosesCircuit() throws IOException {
+		ReflectionTestUtils.setField(executor, "maxAttempts", 1);
+		ReflectionTestUtils.setField(executor, "circuitOpenSeconds", 0L);
+		executor.init();
+		for (int i = 0; i < 3; i++) {
+			transport.enqueue(error(503, "backendError"));
+		}
+		transport.enqueue(ok("probe"), error(503, "backendError"), ok("e1"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		}
+		assertEquals("probe", executor.execute(videosList()).getEtag());
+		ReflectionTestUtils.setField(executor, "circuitOpenSeconds", 60L);
+
+		// 닫힌 뒤에는 연속 실패를 처음부터 다시 셉니다.
+		assertThrows(GoogleJsonResponseException.class, () -> executor.execute(videosList()));
+		assertEquals("e1", executor.execute(videosList()).getEtag());
+	}
+
+	@Test
+	void callTimeoutIsNotRetriedOnSharedRequest() throws IOException {
+		ReflectionTestUtils.setField(executor, "callTimeoutMs", 100L);
+		executor.init();
+		transport.enqueue(slow(5000L), ok("e1"));
+
+		YouTube.Videos.List request = videosList();
+		assertThrows(SocketTimeoutException.class, () -> executor.execute(request));
+
+		assertEquals(1, transport.getRequestCount());
+	}
+
+	@Test
+	void callTimeoutIsRetriedWithFreshRequest() throws IOException {
+		ReflectionTestUtils.setField(executor, "callTimeoutMs", 100L);
+		executor.init();
+		transport.enqueue(slow(5000L), ok("e1"));
+
+		VideoListResponse response = executor.execute(() -> videosList());
+
+		assertEquals("e1", response.getEtag());
+		assertEquals(2, transport.getRequestCount());
+	}
+
+	@Test
+	void operationNameFollowsRequestClass() throws IOException {
+		assertEquals("videos.list", GoogleApiExecutor.operationName(videosList()));
+		assertEquals(GoogleApiExecutor.Api.DATA, GoogleApiExecutor.Api.of(youTube));
+	}
+
+	private YouTube.Videos.List videosList() throws IOException {
+		return youTube.videos().list(List.of("statistics")).setId(List.of("video-1"));
+	}
+
+	private static MockLowLevelHttpRequest ok(String etag) {
+		return new MockLowLevelHttpRequest().setResponse(new MockLowLevelHttpResponse()
+				.setContentType("application/json; charset=UTF-8")
+				.setContent("{\"etag\":\"" + etag + "\",\"items\":[]}"));
+	}
+
+	private static MockLowLevelHttpRequest error(int status, String reason) {
+		String message = "error " + status;
+		return new MockLowLevelHttpRequest().setResponse(new MockLowLevelHttpResponse()
+				.setStatusCode(status)
+				.setContentType("application/json; charset=UTF-8")
+				.setContent("{\"error\":{\"code\":" + status + ",\"message\":\"" + message + "\",\"errors\":[{\"domain\":\"youtube\",\"reason\":\""
+						+ reason + "\",\"message\":\"" + message + "\"}]}}"));
+	}
+
+	private static MockLowLevelHttpRequest failing(IOException failure) {
+		return new MockLowLevelHttpRequest() {
+			@Override
+			public LowLevelHttpResponse execute() throws IOException {
+				throw failure;
+			}
+		};
+	}
+
+	private static MockLowLevelHttpRequest slow(long delayMs) {
+		return new MockLowLevelHttpRequest() {
+			@Override
+			public LowLevelHttpResponse execute() throws IOException {
+				try {
+					Thread.sleep(delayMs);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted");
+				}
+				return ok("slow").execute();
+			}
+		};
+	}
+
+	/**
+	 * 미리 넣어 둔 응답을 요청 순서대로 돌려주는 전송 계층.
+	 */
+	private static final class ScriptedTransport extends MockHttpTransport {
+
+		private final Deque<MockLowLevelHttpRequest> requests = new ArrayDeque<>();
+		private final AtomicInteger requestCount = new AtomicInteger();
+
+		synchronized void enqueue(MockLowLevelHttpRequest... scripted) {
+			requests.addAll(List.of(scripted));
+		}
+
+		int getRequestCount() {
+			return requestCount.get();
+		}
+
+		@Override
+		public synchronized LowLevelHttpRequest buildRequest(String method, String url) {
+			requestCount.incrementAndGet();
+			MockLowLevelHttpRequest request = requests.poll();
+			if (request == null) {
+				throw new IllegalStateException("No scripted response for " + method + " " + url);
+			}
+			request.setUrl(url);
+			return request;
+		}
+	}
+}
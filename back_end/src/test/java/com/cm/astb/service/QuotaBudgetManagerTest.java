@@ -0,0 +1,174 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cm.astb.service.QuotaBudgetManager.Operation;
+import com.cm.astb.service.QuotaBudgetManager.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class QuotaBudgetManagerTest {
+
+	private QuotaBudgetManager manager;
+
+	@BeforeEach
+	void setUp() {
+		manager = new QuotaBudgetManager(new SimpleMeterRegistry());
+		// 전체 1000 / credential 1000, NORMAL 90%, LOW 50%, CRITICAL 전용 30%
+		ReflectionTestUtils.setField(manager, "dailyLimit", 1000L);
+		ReflectionTestUtils.setField(manager, "perCredentialDailyLimit", 1000L);
+		ReflectionTestUtils.setField(manager, "normalCeilingRatio", 0.9);
+		ReflectionTestUtils.setField(manager, "lowCeilingRatio", 0.5);
+		ReflectionTestUtils.setField(manager, "criticalReserveRatio", 0.3);
+	}
+
+	@Test
+	void lowPriorityStopsAtLowCeiling() throws QuotaExceededException {
+		consume("user-1", Operation.SEARCH_LIST, Priority.LOW, 5);
+
+		QuotaExceededException e = assertThrows(QuotaExceededException.class,
+				() -> manager.acquire("user-1", Operation.SEARCH_LIST, Priority.LOW));
+		assertEquals(Priority.LOW, e.getPriority());
+		assertEquals(Operation.SEARCH_LIST, e.getOperation());
+		assertEquals(500L, manager.getUsedUnits());
+
+		// LOW 가 멈춘 뒤에도 NORMAL/CRITICAL 은 계속 쓸 수 있어야 합니다.
+		assertTrue(manager.hasBudget("user-1", Operation.SEARCH_LIST, Priority.NORMAL));
+		manager.acquire("user-1", Operation.SEARCH_LIST, Priority.NORMAL);
+	}
+
+	@Test
+	void normalPriorityLeavesCriticalReserve() throws QuotaExceededException {
+		// normal-ceiling-ratio(0.9)보다 critical 예약분(1 - 0.3)이 작으므로 NORMAL 은 700 까지만 씁니다.
+		consume("user-1", Operation.SEARCH_LIST, Priority.NORMAL, 7);
+
+		assertFalse(manager.hasBudget(Operation.VIDEOS_LIST, Priority.NORMAL));
+		assertThrows(QuotaExceededException.class, () -> manager.acquire("user-1", Operation.VIDEOS_LIST, Priority.NORMAL));
+
+		consume("user-1", Operation.SEARCH_LIST, Priority.CRITICAL, 3);
+		assertEquals(1000L, manager.getUsedUnits());
+		assertEquals(0L, manager.getRemainingUnits());
+		assertThrows(QuotaExceededException.class, () -> manager.acquire("user-1", Operation.VIDEOS_LIST, Priority.CRITICAL));
+	}
+
+	@Test
+	void normalCeilingRatioAppliesWhenBelowReserve() throws QuotaExceededException {
+		ReflectionTestUtils.setField(manager, "normalCeilingRatio", 0.6);
+
+		consume("user-1", Operation.SEARCH_LIST, Priority.NORMAL, 6);
+
+		assertThrows(QuotaExceededException.class, () -> manager.acquire("user-1", Operation.VIDEOS_LIST, Priority.NORMAL));
+	}
+
+	@Test
+	void perCredentialLimitIsSeparateFromGlobalBudget() throws QuotaExceededException {
+		ReflectionTestUtils.setField(manager, "perCredentialDailyLimit", 200L);
+
+		consume("user-1", Operation.SEARCH_LIST, Priority.CRITICAL, 2);
+
+		assertThrows(QuotaExceededException.class, () -> manager.acquire("user-1", Operation.VIDEOS_LIST, Priority.CRITICAL));
+		assertTrue(manager.hasBudget("user-2", Operation.SEARCH_LIST, Priority.CRITICAL));
+		manager.acquire("user-2", Operation.SEARCH_LIST, Priority.CRITICAL);
+
+		assertEquals(200L, manager.getUsedUnitsForCredential("user-1"));
+		assertEquals(100L, manager.getUsedUnitsForCredential("user-2"));
+		assertEquals(300L, manager.getUsedUnits());
+	}
+
+	@Test
+	void nullCredentialIsChargedToApiKey() throws QuotaExceededException {
+		manager.acquire(null, Operation.VIDEOS_LIST, Priority.NORMAL);
+
+		assertEquals(1L, manager.getUsedUnitsForCredential(QuotaBudgetManager.API_KEY_CREDENTIAL));
+	}
+
+	@Test
+	void markExhaustedBlocksEveryPriority() {
+		manager.markExhausted("quotaExceeded");
+
+		assertEquals(0L, manager.getRemainingUnits());
+		assertFalse(manager.hasBudget(Operation.VIDEOS_LIST, Priority.CRITICAL));
+		assertThrows(QuotaExceededException.class, () -> manager.acquire("user-1", Operation.VIDEOS_LIST, Priority.CRITICAL));
+	}
+
+	@Test
+	void hedgeStaysWithinLowCeiling() throws QuotaExceededException {
+		consume("user-1", Operation.SEARCH_LIST, Priority.NORMAL, 4);
+
+		assertTrue(manager.tryAcquireHedge(Operation.SEARCH_LIST));
+		assertEquals(500L, manager.getUsedUnits());
+		assertFalse(manager.tryAcquireHedge(Operation.VIDEOS_LIST));
+		assertFalse(manager.tryAcquireHedge(null));
+		assertEquals(500L, manager.getUsedUnits());
+		// 헤지는 전체 예산에만 차감하고 credential 사용량에는 더하지 않습니다.
+		assertEquals(400L, manager.getUsedUnitsForCredential("user-1"));
+	}
+
+	@Test
+	void retryMayUseWholeDailyBudget() throws QuotaExceededException {
+		consume("user-1", Operation.SEARCH_LIST, Priority.NORMAL, 7);
+
+		// NORMAL 한도(700)를 다 썼어도 이미 허용된 호출의 재시도는 하루 예산까지 차감합니다.
+		assertTrue(manager.tryAcquireRetry(Operation.SEARCH_LIST));
+		assertEquals(800L, manager.getUsedUnits());
+		assertEquals(700L, manager.getUsedUnitsForCredential("user-1"));
+		assertTrue(manager.tryAcquireRetry(null));
+		assertEquals(800L, manager.getUsedUnits());
+
+		manager.markExhausted("quotaExceeded");
+		assertFalse(manager.tryAcquireRetry(Operation.VIDEOS_LIST));
+		assertEquals(1000L, manager.getUsedUnits());
+	}
+
+	@Test
+	void usageResetsOnNewQuotaDay() throws QuotaExceededException {
+		consume("user-1", Operation.SEARCH_LIST, Priority.CRITICAL, 3);
+		manager.markExhausted("quotaExceeded");
+
+		ReflectionTestUtils.setField(manager, "quotaDay", LocalDate.now().minusDays(2));
+
+		assertEquals(0L, manager.getUsedUnits());
+		assertEquals(0L, manager.getUsedUnitsForCredential("user-1"));
+		assertTrue(manager.hasBudget("user-1", Operation.SEARCH_LIST, Priority.LOW));
+	}
+
+	@Test
+	void deferredWorkWaitsForNextQuotaDayAndKeepsLatestPerName() {
+		AtomicInteger first = new AtomicInteger();
+		AtomicInteger second = new AtomicInteger();
+		manager.deferUntilReset("channel-refresh", first::incrementAndGet);
+		manager.deferUntilReset("channel-refresh", second::incrementAndGet);
+
+		assertEquals(1, manager.getDeferredWorkCount());
+		manager.runDeferredWork();
+		assertEquals(1, manager.getDeferredWorkCount());
+		assertEquals(0, first.get());
+		assertEquals(0, second.get());
+	}
+
+	@Test
+	void operationResolvesFromMethodName() {
+		assertEquals(Operation.SEARCH_LIST, Operation.ofMethod("search.list"));
+		assertEquals(Operation.VIDEOS_LIST, Operation.ofMethod("videos.list"));
+		assertNull(Operation.ofMethod("videos.insert"));
+		assertEquals(100, Operation.SEARCH_LIST.getCost());
+		assertEquals(1, Operation.CHANNELS_LIST.getCost());
+	}
+
+	private void consume(String credentialKey, Operation operation, Priority priority, int times) throws QuotaExceededException {
+		for (int i = 0; i < times; i++) {
+			manager.acquire(credentialKey, operation, priority);
+		}
+	}
+}
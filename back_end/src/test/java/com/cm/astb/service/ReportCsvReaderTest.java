@@ -0,0 +1,87 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class ReportCsvReaderTest {
+
+	private static final String REPORT = "date,video_id,views,watch_time_minutes,traffic_source_detail\r\n"
+			+ "20250101,video-1,120,35.7,\"search,home\"\r\n"
+			+ "\r\n"
+			+ "20250101,video-2,,12.0,\"say \"\"hi\"\"\"\r\n";
+
+	@Test
+	void readsPlainCsv() throws IOException {
+		assertReport(new ByteArrayInputStream(REPORT.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void detectsGzipByMagicBytes() throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+			gzip.write(REPORT.getBytes(StandardCharsets.UTF_8));
+		}
+
+		assertReport(new ByteArrayInputStream(compressed.toByteArray()));
+	}
+
+	@Test
+	void readsUtf8Values() throws IOException {
+		String report = "channel_id,title\nchannel-1,한글 제목\n";
+		try (ReportCsvReader reader = new ReportCsvReader(new ByteArrayInputStream(report.getBytes(StandardCharsets.UTF_8)))) {
+			assertTrue(reader.next());
+			assertEquals("한글 제목", reader.get("title"));
+		}
+	}
+
+	@Test
+	void emptyOrHeaderOnlyInputHasNoRows() throws IOException {
+		try (ReportCsvReader reader = new ReportCsvReader(new ByteArrayInputStream(new byte[0]))) {
+			assertFalse(reader.hasColumn("date"));
+			assertFalse(reader.next());
+		}
+		try (ReportCsvReader reader = new ReportCsvReader(new ByteArrayInputStream("date,views\n".getBytes(StandardCharsets.UTF_8)))) {
+			assertTrue(reader.hasColumn("views"));
+			assertFalse(reader.next());
+			assertNull(reader.get("views"));
+			assertEquals(0L, reader.getRowCount());
+		}
+	}
+
+	private static void assertReport(InputStream inputStream) throws IOException {
+		try (ReportCsvReader reader = new ReportCsvReader(inputStream)) {
+			assertTrue(reader.hasColumn("views"));
+			assertFalse(reader.hasColumn("likes"));
+
+			assertTrue(reader.next());
+			assertEquals("video-1", reader.get("video_id"));
+			assertEquals(120L, reader.getLong("views"));
+			assertEquals(35L, reader.getLong("watch_time_minutes"));
+			assertEquals(35.7d, reader.getDouble("watch_time_minutes"));
+			assertEquals("search,home", reader.get("traffic_source_detail"));
+			assertNull(reader.get("likes"));
+
+			// 빈 줄은 건너뜁니다.
+			assertTrue(reader.next());
+			assertEquals("video-2", reader.get("video_id"));
+			assertNull(reader.get("views"));
+			assertEquals(0L, reader.getLong("views"));
+			assertEquals(12L, reader.getLong("watch_time_minutes"));
+			assertEquals("say \"hi\"", reader.get("traffic_source_detail"));
+
+			assertFalse(reader.next());
+			assertEquals(2L, reader.getRowCount());
+		}
+	}
+}
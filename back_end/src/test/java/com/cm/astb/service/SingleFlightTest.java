@@ -0,0 +1,152 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private SingleFlight<String> singleFlight;
+	private ExecutorService executor;
+	private CountDownLatch leaderStarted;
+	private CountDownLatch releaseLeader;
+	private AtomicInteger executions;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		singleFlight = new SingleFlight<>("test", meterRegistry);
+		executor = Executors.newCachedThreadPool();
+		leaderStarted = new CountDownLatch(1);
+		releaseLeader = new CountDownLatch(1);
+		executions = new AtomicInteger();
+	}
+
+	@AfterEach
+	void tearDown() {
+		releaseLeader.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallsShareLeaderResult() throws Exception {
+		String value = new String("value");
+		Future<String> leader = executor.submit(() -> singleFlight.execute("channel-1", blockingCall(() -> value)));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		List<Future<String>> waiters = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			waiters.add(executor.submit(() -> singleFlight.execute("channel-1", countingCall("other"))));
+		}
+		awaitSharedCalls(3);
+		releaseLeader.countDown();
+
+		assertSame(value, leader.get(5, TimeUnit.SECONDS));
+		for (Future<String> waiter : waiters) {
+			assertSame(value, waiter.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void waitersReceiveLeaderIOException() throws Exception {
+		IOException failure = new IOException("backend error");
+		Future<String> leader = executor.submit(() -> singleFlight.execute("channel-1", blockingCall(() -> {
+			throw failure;
+		})));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+		Future<String> waiter = executor.submit(() -> singleFlight.execute("channel-1", countingCall("other")));
+		awaitSharedCalls(1);
+		releaseLeader.countDown();
+
+		assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+		assertSame(failure, assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void waiterRunsOwnCallWhenLeaderCredentialFails() throws Exception {
+		GeneralSecurityException failure = new GeneralSecurityException("invalid credential");
+		Future<String> leader = executor.submit(() -> singleFlight.execute("channel-1", blockingCall(() -> {
+			throw failure;
+		})));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+		Future<String> waiter = executor.submit(() -> singleFlight.execute("channel-1", countingCall("own")));
+		awaitSharedCalls(1);
+		releaseLeader.countDown();
+
+		assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+		assertEquals("own", waiter.get(5, TimeUnit.SECONDS));
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void differentKeysDoNotShare() throws Exception {
+		Future<String> leader = executor.submit(() -> singleFlight.execute("channel-1", blockingCall(() -> "first")));
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+		assertEquals("second", singleFlight.execute("channel-2", countingCall("second")));
+
+		releaseLeader.countDown();
+		assertEquals("first", leader.get(5, TimeUnit.SECONDS));
+		assertEquals(2, executions.get());
+	}
+
+	@Test
+	void callAfterLeaderFinishesRunsAgain() throws Exception {
+		assertEquals("first", singleFlight.execute("channel-1", countingCall("first")));
+		assertEquals("second", singleFlight.execute("channel-1", countingCall("second")));
+
+		assertEquals(2, executions.get());
+	}
+
+	// leader 로 실행되면 releaseLeader 가 열릴 때까지 기다렸다가 result 를 실행합니다.
+	private SingleFlight.Call<String> blockingCall(SingleFlight.Call<String> result) {
+		return () -> {
+			executions.incrementAndGet();
+			leaderStarted.countDown();
+			try {
+				releaseLeader.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return result.call();
+		};
+	}
+
+	private SingleFlight.Call<String> countingCall(String value) {
+		return () -> {
+			executions.incrementAndGet();
+			return value;
+		};
+	}
+
+	// 기다리는 호출이 모두 leader 의 결과를 기다리기 시작할 때까지 대기합니다.
+	private void awaitSharedCalls(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.counter("singleflight.calls", "name", "test", "result", "shared").count() < expected) {
+			assertTrue(System.nanoTime() < deadline, "waiters did not join the in-flight call");
+			Thread.sleep(5);
+		}
+	}
+}
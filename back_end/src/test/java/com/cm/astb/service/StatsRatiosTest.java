@@ -0,0 +1,33 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+class StatsRatiosTest {
+
+	@Test
+	void roundsToOneDecimalPercent() {
+		assertEquals(new BigDecimal("33.3"), StatsRatios.percentOf(1, 3));
+		assertEquals(new BigDecimal("66.7"), StatsRatios.percentOf(2, 3));
+		assertEquals(new BigDecimal("12.5"), StatsRatios.percentOf(1, 8));
+		assertEquals(new BigDecimal("100.0"), StatsRatios.percentOf(7, 7));
+		assertEquals(new BigDecimal("0.0"), StatsRatios.percentOf(0, 7));
+	}
+
+	@Test
+	void roundsRatioToThreeDecimalsFirst() {
+		// 1/16 = 0.0625 → 0.063 → 6.3 (Analytics 수집 경로와 같은 값)
+		assertEquals(new BigDecimal("6.3"), StatsRatios.percentOf(1, 16));
+		// 1/3000 = 0.000333 → 0.000 → 0.0
+		assertEquals(new BigDecimal("0.0"), StatsRatios.percentOf(1, 3000));
+	}
+
+	@Test
+	void nonPositiveTotalGivesZero() {
+		assertEquals(BigDecimal.ZERO, StatsRatios.percentOf(5, 0));
+		assertEquals(BigDecimal.ZERO, StatsRatios.percentOf(5, -1));
+	}
+}
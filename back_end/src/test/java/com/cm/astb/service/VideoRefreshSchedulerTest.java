@@ -0,0 +1,157 @@
+package com.cm.astb.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cm.astb.dto.VideoRefreshPlanDto;
+import com.cm.astb.entity.VideoStat;
+import com.cm.astb.entity.VideoStatsId;
+import com.cm.astb.entity.YouTubeVideo;
+import com.cm.astb.repository.VideoStatRepository;
+import com.cm.astb.service.VideoRefreshScheduler.Tier;
+
+class VideoRefreshSchedulerTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+	private VideoStatRepository videoStatRepository;
+	private VideoRefreshScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		videoStatRepository = mock(VideoStatRepository.class);
+		scheduler = new VideoRefreshScheduler(videoStatRepository);
+		ReflectionTestUtils.setField(scheduler, "hotMaxAgeDays", 7);
+		ReflectionTestUtils.setField(scheduler, "hotMinDailyViews", 1000d);
+		ReflectionTestUtils.setField(scheduler, "coldMinAgeDays", 180);
+		ReflectionTestUtils.setField(scheduler, "coldMaxDailyViews", 10d);
+		ReflectionTestUtils.setField(scheduler, "velocityWindowDays", 7);
+		ReflectionTestUtils.setField(scheduler, "coldIntervalDays", 7);
+		ReflectionTestUtils.setField(scheduler, "hotIntervalHours", 6);
+	}
+
+	@Test
+	void recentUploadIsHotWithoutHistory() {
+		assertEquals(Tier.HOT, scheduler.classify(video(1L, 3), List.of(), TODAY));
+		assertEquals(Tier.HOT, scheduler.classify(video(1L, 7), List.of(), TODAY));
+	}
+
+	@Test
+	void fastGrowingOldVideoIsHot() {
+		List<VideoStat> stats = List.of(stat(1L, 7, 1_000L), stat(1L, 4, 5_000L), stat(1L, 1, 13_000L));
+
+		// (13000 - 1000) / 6일 = 2000/일
+		assertEquals(Tier.HOT, scheduler.classify(video(1L, 400), stats, TODAY));
+	}
+
+	@Test
+	void oldSlowVideoIsCold() {
+		List<VideoStat> stats = List.of(stat(1L, 7, 500L), stat(1L, 1, 530L));
+
+		assertEquals(Tier.COLD, scheduler.classify(video(1L, 400), stats, TODAY));
+		// 오래되지 않은 비디오는 느려도 WARM 입니다.
+		assertEquals(Tier.WARM, scheduler.classify(video(1L, 60), stats, TODAY));
+	}
+
+	@Test
+	void oldVideoWithoutHistoryStaysWarm() {
+		assertEquals(Tier.WARM, scheduler.classify(video(1L, 400), List.of(), TODAY));
+	}
+
+	@Test
+	void steadyOldVideoIsWarm() {
+		List<VideoStat> stats = List.of(stat(1L, 7, 10_000L), stat(1L, 1, 10_600L));
+
+		// 100/일: COLD 기준(10)보다 빠르고 HOT 기준(1000)보다 느립니다.
+		assertEquals(Tier.WARM, scheduler.classify(video(1L, 400), stats, TODAY));
+	}
+
+	@Test
+	void dailyPassSpreadsColdVideosOverInterval() {
+		long offset = Math.floorMod(-TODAY.toEpochDay(), 7);
+		YouTubeVideo coldNotDue = video(offset + 1, 400);   // 최근 통계가 있고 오늘은 이 비디오의 갱신일이 아님
+		YouTubeVideo coldScheduled = video(offset + 7, 400); // 최근 통계가 있지만 오늘이 이 비디오의 갱신일
+		YouTubeVideo coldStale = video(100L, 400);           // 마지막 통계가 주기(7일)만큼 지남
+		YouTubeVideo warm = video(101L, 60);
+		YouTubeVideo hot = video(102L, 2);
+
+		List<VideoStat> history = new ArrayList<>();
+		history.add(stat(coldNotDue.getVideoId(), 1, 500L));
+		history.add(stat(coldScheduled.getVideoId(), 1, 500L));
+		history.add(stat(coldStale.getVideoId(), 7, 500L));
+		when(videoStatRepository.findByIdVideoIdInAndIdStatsDateGreaterThanEqual(anyList(), any())).thenReturn(history);
+
+		VideoRefreshPlanDto plan = scheduler.planDailyPass("channel-1", List.of(coldNotDue, coldScheduled, coldStale, warm, hot), TODAY);
+
+		assertEquals(List.of(coldScheduled.getVideoKey(), coldStale.getVideoKey(), warm.getVideoKey(), hot.getVideoKey()),
+				plan.getVideoKeys());
+		assertEquals(5, plan.getTotalVideos());
+		assertEquals(3, plan.getTierCounts().get("COLD"));
+		assertEquals(2, plan.getDueCounts().get("COLD"));
+		assertEquals(1, plan.getDueCounts().get("HOT"));
+	}
+
+	@Test
+	void hotPassAllowsHalfIntervalOfSlack() {
+		LocalDateTime now = TODAY.atTime(14, 0);
+		YouTubeVideo refreshedByPreviousPass = video(1L, 2); // 08:00 패스가 08:05 에 기록 → 6시간이 안 됐지만 갱신 대상
+		YouTubeVideo refreshedRecently = video(2L, 2);       // 12:30 에 갱신 → 3시간이 안 지남
+		YouTubeVideo neverRefreshed = video(3L, 2);
+		YouTubeVideo notYetPublished = video(4L, 0);
+		notYetPublished.setUploadedAt(now.plusHours(1));
+		YouTubeVideo warm = video(5L, 60);
+
+		List<VideoStat> history = new ArrayList<>();
+		history.add(refreshed(1L, TODAY.atTime(8, 5)));
+		history.add(refreshed(2L, TODAY.atTime(12, 30)));
+		when(videoStatRepository.findByIdVideoIdInAndIdStatsDateGreaterThanEqual(anyList(), any())).thenReturn(history);
+
+		VideoRefreshPlanDto plan = scheduler.planHotPass("channel-1",
+				List.of(refreshedByPreviousPass, refreshedRecently, neverRefreshed, notYetPublished, warm), now);
+
+		assertEquals(List.of(refreshedByPreviousPass.getVideoKey(), neverRefreshed.getVideoKey()), plan.getVideoKeys());
+		assertEquals(4, plan.getTotalVideos());
+		assertEquals(3, plan.getTierCounts().get("HOT"));
+		assertEquals(1, plan.getTierCounts().get("WARM"));
+		assertEquals(2, plan.getDueCounts().get("HOT"));
+	}
+
+	private static YouTubeVideo video(long videoId, int ageDays) {
+		YouTubeVideo video = new YouTubeVideo();
+		video.setVideoId(videoId);
+		video.setVideoKey("key-" + videoId);
+		video.setChannelId("channel-1");
+		video.setVideoTitle("video " + videoId);
+		video.setUploadedAt(TODAY.minusDays(ageDays).atTime(12, 0));
+		return video;
+	}
+
+	private static VideoStat stat(long videoId, int daysAgo, long viewCount) {
+		LocalDateTime statsDate = TODAY.minusDays(daysAgo).atStartOfDay();
+		return VideoStat.builder()
+				.id(new VideoStatsId(videoId, statsDate))
+				.viewCount(viewCount)
+				.updatedAt(statsDate.plusHours(3))
+				.build();
+	}
+
+	private static VideoStat refreshed(long videoId, LocalDateTime updatedAt) {
+		return VideoStat.builder()
+				.id(new VideoStatsId(videoId, updatedAt.toLocalDate().atStartOfDay()))
+				.viewCount(1_000L)
+				.updatedAt(updatedAt)
+				.build();
+	}
+}